@@ -0,0 +1,188 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.commandline;
+
+import org.languagetool.CheckResults;
+import org.languagetool.DetectedLanguage;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.markup.AnnotatedTextBuilder;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.tools.RuleMatchesAsJsonSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks many files in parallel ({@code --batch}). Every worker thread uses its own {@link JLanguageTool},
+ * created lazily by the given factory. These instances share the pattern rules, taggers, and dictionaries
+ * of the {@link Language}, which are loaded only once. Results are printed in input order, so the output
+ * is the same as for a sequential run. Only a few files more than there are threads are kept in memory.
+ * @since 6.9
+ */
+class BatchChecker {
+
+  @FunctionalInterface
+  interface TextReader {
+    String read(String filename) throws IOException;
+  }
+
+  private final Supplier<JLanguageTool> ltFactory;
+  private final TextReader textReader;
+  private final CommandLineOptions options;
+  private final int threads;
+
+  BatchChecker(Supplier<JLanguageTool> ltFactory, TextReader textReader, CommandLineOptions options) {
+    this.ltFactory = Objects.requireNonNull(ltFactory);
+    this.textReader = Objects.requireNonNull(textReader);
+    this.options = Objects.requireNonNull(options);
+    this.threads = options.getThreads() > 0 ? options.getThreads() : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * @param input a directory, all files below it are checked, ordered by path; or a text file
+   *              with one file name per line (empty lines and lines starting with {@code #} are ignored)
+   */
+  static List<File> getFiles(File input, String encoding) throws IOException {
+    if (input.isDirectory()) {
+      try (Stream<Path> paths = Files.walk(input.toPath())) {
+        return paths.filter(Files::isRegularFile).sorted().map(Path::toFile).collect(Collectors.toList());
+      }
+    }
+    Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    return Files.readAllLines(input.toPath(), charset).stream()
+      .map(String::trim)
+      .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+      .map(File::new)
+      .collect(Collectors.toList());
+  }
+
+  void run(List<File> files) throws IOException, InterruptedException {
+    ThreadLocal<JLanguageTool> lt = ThreadLocal.withInitial(ltFactory);
+    ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+      Thread thread = new Thread(r, "lt-batch-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    PrintStream jsonOut = new PrintStream(System.out, true, "UTF-8");
+    RuleMatchesAsJsonSerializer serializer = new RuleMatchesAsJsonSerializer();
+    Deque<Future<FileResult>> pending = new ArrayDeque<>();
+    Iterator<File> fileIterator = files.iterator();
+    long chars = 0;
+    long sentences = 0;
+    long startTime = System.nanoTime();
+    try {
+      while (fileIterator.hasNext() || !pending.isEmpty()) {
+        // keep all threads busy, but don't read all files into memory at once:
+        while (fileIterator.hasNext() && pending.size() < threads * 2) {
+          File file = fileIterator.next();
+          pending.add(executor.submit(() -> check(file, lt.get())));
+        }
+        FileResult result = getResult(pending.poll());
+        print(result, serializer, jsonOut);
+        chars += result.text.length();
+        sentences += result.sentenceCount;
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    printStats(files.size(), chars, sentences, System.nanoTime() - startTime);
+  }
+
+  private FileResult check(File file, JLanguageTool lt) {
+    try {
+      String text = textReader.read(file.getPath());
+      long startTime = System.currentTimeMillis();
+      CheckResults checkResults = lt.check2(new AnnotatedTextBuilder().addText(text).build(), true,
+        JLanguageTool.ParagraphHandling.NORMAL, null, JLanguageTool.Mode.ALL, options.getLevel(), null);
+      List<RuleMatch> matches = checkResults.getRuleMatches();
+      // each file is checked as a whole, like in a sequential run, so line numbers start at 0:
+      CommandLineTools.prepareMatches(matches, 0);
+      long millis = System.currentTimeMillis() - startTime;
+      int sentenceCount = checkResults.getSentenceRanges().size();
+      List<String> unknownWords = options.isListUnknown() ? lt.getUnknownWords() : Collections.emptyList();
+      return new FileResult(file, text, lt.getLanguage(), matches, sentenceCount, millis, unknownWords);
+    } catch (Exception e) {
+      throw new RuntimeException("Could not check text in file " + file, e);
+    }
+  }
+
+  private static FileResult getResult(Future<FileResult> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private void print(FileResult result, RuleMatchesAsJsonSerializer serializer, PrintStream jsonOut) {
+    System.err.println("Working on " + result.file + "...");
+    if (options.isJsonFormat()) {
+      jsonOut.print(serializer.ruleMatchesToJson(result.matches, result.text, CommandLineTools.DEFAULT_CONTEXT_SIZE,
+        new DetectedLanguage(result.language, result.language)));
+    } else {
+      CommandLineTools.printMatches(result.matches, 0, result.text, CommandLineTools.DEFAULT_CONTEXT_SIZE,
+        result.language, options.isVerbose());
+      CommandLineTools.displayTimeStatsForMillis(result.millis, result.sentenceCount);
+      if (options.isListUnknown()) {
+        System.out.println("Unknown words: " + result.unknownWords);
+      }
+    }
+  }
+
+  private void printStats(int fileCount, long chars, long sentences, long nanos) {
+    double seconds = Math.max(nanos, 1) / 1_000_000_000.0;
+    System.err.printf(Locale.ENGLISH,
+      "Checked %d files (%d characters, %d sentences) in %dms with %d threads: %.1f chars/sec, %.1f sentences/sec%n",
+      fileCount, chars, sentences, nanos / 1_000_000, threads, chars / seconds, sentences / seconds);
+  }
+
+  private static class FileResult {
+    private final File file;
+    private final String text;
+    private final Language language;
+    private final List<RuleMatch> matches;
+    private final int sentenceCount;
+    private final long millis;
+    private final List<String> unknownWords;
+    FileResult(File file, String text, Language language, List<RuleMatch> matches, int sentenceCount, long millis, List<String> unknownWords) {
+      this.file = file;
+      this.text = text;
+      this.language = language;
+      this.matches = matches;
+      this.sentenceCount = sentenceCount;
+      this.millis = millis;
+      this.unknownWords = unknownWords;
+    }
+  }
+
+}
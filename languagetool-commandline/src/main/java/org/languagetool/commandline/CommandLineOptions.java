@@ -61,6 +61,8 @@ public class CommandLineOptions {
   private boolean lineByLine = false;
   private boolean enableTempOff = false;
   private boolean cleanOverlapping = false;
+  private boolean batch = false;
+  private int threads = 0;
   private JLanguageTool.Level level = JLanguageTool.Level.DEFAULT;
   @Nullable
   private Language language = null;
@@ -141,6 +143,35 @@ public class CommandLineOptions {
     this.cleanOverlapping = cleanOverlapping;
   }
 
+  /**
+   * @since 6.9
+   */
+  public boolean isBatch() {
+    return batch;
+  }
+
+  /**
+   * @since 6.9
+   */
+  public void setBatch(boolean batch) {
+    this.batch = batch;
+  }
+
+  /**
+   * @return the number of files checked in parallel in batch mode, {@code 0} for one per processor
+   * @since 6.9
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * @since 6.9
+   */
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
   public boolean isRecursive() {
     return recursive;
   }
@@ -70,6 +70,19 @@ class CommandLineParser {
         }
       } else if (args[i].equals("-r") || args[i].equals("--recursive")) {
         options.setRecursive(true);
+      } else if (args[i].equals("--batch")) {
+        options.setBatch(true);
+      } else if (args[i].equals("--threads")) {
+        checkArguments("--threads", i, args);
+        String threads = args[++i];
+        try {
+          options.setThreads(Integer.parseInt(threads));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid number of threads: '" + threads + "'");
+        }
+        if (options.getThreads() < 1) {
+          throw new IllegalArgumentException("Number of threads must be at least 1: " + threads);
+        }
       } else if (args[i].equals("-b2") || args[i].equals("--bitext")) {
         options.setBitext(true);
       } else if (args[i].equals("-eo") || args[i].equals("--enabledonly")) {
@@ -174,6 +187,16 @@ class CommandLineParser {
         throw new UnknownParameterException("Unknown parameter: " + args[i]);
       }
     }
+    if (options.isBatch()) {
+      if (options.isBitext() || options.isLineByLine() || options.isProfile() || options.isTaggerOnly()
+          || options.isApplySuggestions() || options.isAutoDetect()) {
+        throw new IllegalArgumentException("Batch mode cannot be combined with bitext, line-by-line, profile, " +
+          "taggeronly, apply, or autoDetect");
+      }
+      if (options.getFilename() == null || "-".equals(options.getFilename())) {
+        throw new IllegalArgumentException("Batch mode needs a directory or a file with a list of files, it cannot read from STDIN");
+      }
+    }
     return options;
   }
 
@@ -186,6 +209,10 @@ class CommandLineParser {
             + " FILE                      plain text file to be checked\n"
             + " Available options:\n"
             + "  -r, --recursive          work recursively on directory, not on a single file\n"
+            + "  --batch                  check many files in parallel: FILE is a directory (checked recursively)\n"
+            + "                           or a text file with one file name per line; results are printed in\n"
+            + "                           input order, followed by throughput statistics on STDERR\n"
+            + "  --threads N              number of files checked in parallel in batch mode (default: one per processor)\n"
             + "  -c, --encoding ENC       character set of the input text, e.g. utf-8 or latin1\n"
             + "  -b                       assume that a single line break marks the end of a paragraph\n"
             + "  -l, --language LANG      the language code of the text, e.g. en for English, en-GB for British English\n"
@@ -219,7 +246,8 @@ class CommandLineParser {
             + "                           ngram occurrence counts; activates the confusion rule if supported;\n"
             + "                           see https://dev.languagetool.org/finding-errors-using-n-gram-data\n"
             + "  --fasttextmodel FILE     fasttext language detection model (optional), see https://fasttext.cc/docs/en/language-identification.html\n"
-            + "  --fasttextbinary FILE    fasttext executable (optional), see https://fasttext.cc/docs/en/support.html\n"
+            + "  --fasttextbinary FILE    fasttext executable, only needed for models that cannot be loaded without it (optional),\n"
+            + "                           see https://fasttext.cc/docs/en/support.html\n"
             + "  --xmlfilter              [deprecated] remove XML/HTML elements from input before checking\n"
             + "  --line-by-line           work on file line by line (for development, e.g. inside an IDE)\n"
             + "  --enable-temp-off        enable all temp_off rules (for testing and development)\n"
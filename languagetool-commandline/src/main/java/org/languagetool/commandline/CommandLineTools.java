@@ -55,7 +55,7 @@ import static org.languagetool.JLanguageTool.Level.*;
  */
 public final class CommandLineTools {
 
-  private static final int DEFAULT_CONTEXT_SIZE = 45;
+  static final int DEFAULT_CONTEXT_SIZE = 45;
 
   private CommandLineTools() {
   }
@@ -117,14 +117,7 @@ public final class CommandLineTools {
     long startTime = System.currentTimeMillis();
     List<RuleMatch> ruleMatches = lt.check(new AnnotatedTextBuilder().addText(contents).build(), true, JLanguageTool.ParagraphHandling.NORMAL,
       null, JLanguageTool.Mode.ALL, level);
-    ruleMatches.parallelStream().forEach(r -> {
-      // adjust line numbers
-      r.setLine(r.getLine() + lineOffset);
-      r.setEndLine(r.getEndLine() + lineOffset);
-
-      // calculate lazy suggestions in parallel and cache them
-      r.getSuggestedReplacementObjects();
-    });
+    prepareMatches(ruleMatches, lineOffset);
     if (isJsonFormat) {
       RuleMatchesAsJsonSerializer serializer = new RuleMatchesAsJsonSerializer();
       String json = serializer.ruleMatchesToJson(ruleMatches, contents, contextSize,
@@ -147,6 +140,20 @@ public final class CommandLineTools {
     return ruleMatches.size();
   }
 
+  /**
+   * Adds the line number offset to the matches and calculates their lazy suggestions, so printing them is fast.
+   */
+  static void prepareMatches(List<RuleMatch> ruleMatches, int lineOffset) {
+    ruleMatches.parallelStream().forEach(r -> {
+      // adjust line numbers
+      r.setLine(r.getLine() + lineOffset);
+      r.setEndLine(r.getEndLine() + lineOffset);
+
+      // calculate lazy suggestions in parallel and cache them
+      r.getSuggestedReplacementObjects();
+    });
+  }
+
   private static void printActivatedAntiPatterns(String contents, JLanguageTool lt) throws IOException {
     List<AnalyzedSentence> sentences;
     lt.setOutput(null);
@@ -202,8 +209,10 @@ public final class CommandLineTools {
   }
 
   private static void displayTimeStats(long startTime, long sentCount) {
-    long endTime = System.currentTimeMillis();
-    long time = endTime - startTime;
+    displayTimeStatsForMillis(System.currentTimeMillis() - startTime, sentCount);
+  }
+
+  static void displayTimeStatsForMillis(long time, long sentCount) {
     float timeInSeconds = time / 1000.0f;
     float sentencesPerSecond = sentCount / timeInSeconds;
     System.out.printf(Locale.ENGLISH,
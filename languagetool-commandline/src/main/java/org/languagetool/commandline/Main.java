@@ -63,6 +63,8 @@ class Main {
   private MultiThreadedJLanguageTool srcLt;
   private List<BitextRule> bRules;
   private Rule currentRule;
+  private final List<AbstractPatternRule> externalRules = new ArrayList<>();
+  private final List<AbstractPatternRule> falseFriendRules = new ArrayList<>();
 
   Main(CommandLineOptions options) throws IOException {
     this.options = options;
@@ -86,7 +88,7 @@ class Main {
   private void addExternalRules(String filename, Language lang) throws IOException {
     PatternRuleLoader ruleLoader = new PatternRuleLoader();
     try (InputStream is = new FileInputStream(filename)) {
-      List<AbstractPatternRule> externalRules = ruleLoader.getRules(is, filename, lang);
+      externalRules.addAll(ruleLoader.getRules(is, filename, lang));
       for (AbstractPatternRule externalRule : externalRules) {
         lt.addRule(externalRule);
       }
@@ -288,6 +290,39 @@ class Main {
     return lt.getLanguage().getSentenceTokenizer().singleLineBreaksMarksPara() || "".equals(line);
   }
 
+  private void runBatch(String filename, String encoding, boolean xmlFiltering) throws IOException, InterruptedException {
+    List<File> files = BatchChecker.getFiles(new File(filename), encoding);
+    BatchChecker checker = new BatchChecker(this::createBatchWorker, file -> readText(file, encoding, xmlFiltering), options);
+    checker.run(files);
+  }
+
+  /**
+   * Creates a non-multithreaded copy of {@link #lt} for a batch worker thread, the parallelism
+   * comes from checking several files at once.
+   */
+  private JLanguageTool createBatchWorker() {
+    try {
+      JLanguageTool workerLt = new JLanguageTool(options.getLanguage(), options.getMotherTongue());
+      workerLt.setCleanOverlappingMatches(options.isCleanOverlapping());
+      for (AbstractPatternRule externalRule : externalRules) {
+        workerLt.addRule(externalRule);
+      }
+      if (options.getLanguageModel() != null) {
+        workerLt.activateLanguageModelRules(options.getLanguageModel());
+      }
+      workerLt.activateRemoteRules(options.getRemoteRulesFile() != null ? new File(options.getRemoteRulesFile()) : null);
+      Tools.selectRules(workerLt, options.getDisabledCategories(), options.getEnabledCategories(),
+              new HashSet<>(options.getDisabledRules()), new HashSet<>(options.getEnabledRules()), options.isUseEnabledOnly(), options.isEnableTempOff());
+      for (AbstractPatternRule ffRule : falseFriendRules) {
+        workerLt.addRule(ffRule);
+      }
+      workerLt.setListUnknownWords(options.isListUnknown());
+      return workerLt;
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create LanguageTool instance for batch mode", e);
+    }
+  }
+
   private InputStreamReader getInputStreamReader(String filename, String encoding) throws IOException {
     String charsetName = encoding != null ? encoding : Charset.defaultCharset().name();
     InputStream is = System.in;
@@ -339,6 +374,10 @@ class Main {
     if (options.isVerbose()) {
       lt.setOutput(System.err);
     }
+    return readText(filename, encoding, xmlFiltering);
+  }
+
+  private String readText(String filename, String encoding, boolean xmlFiltering) throws IOException {
     // don't use StringTools.readStream() as that might add newlines which aren't there:
     try (InputStreamReader reader = getInputStreamReader(filename, encoding)) {
       String fileContents = readerToString(reader);
@@ -428,6 +467,7 @@ class Main {
       for (AbstractPatternRule ffRule : ffRules) {
         prg.lt.addRule(ffRule);
       }
+      prg.falseFriendRules.addAll(ffRules);
     }
     if (prg.lt.getAllActiveRules().isEmpty()) {
       List<String> catIds = options.getEnabledCategories().stream().map(i -> i.toString()).collect(Collectors.toList());
@@ -457,7 +497,14 @@ class Main {
       File bitextRuleFile = options.getBitextRuleFile() != null ? new File(options.getBitextRuleFile()) : null;
       prg.setBitextMode(options.getMotherTongue(), options.getDisabledRules(), options.getEnabledRules(), bitextRuleFile);
     }
-    if (options.isRecursive()) {
+    if (options.isBatch()) {
+      try {
+        prg.runBatch(options.getFilename(), options.getEncoding(), options.isXmlFiltering());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Batch check was interrupted", e);
+      }
+    } else if (options.isRecursive()) {
       prg.runRecursive(options.getFilename(), options.getEncoding(), options.isXmlFiltering(), options.getLevel());
     } else {
       if (options.isLineByLine()) {
@@ -43,6 +43,18 @@ public class CommandLineParserTest {
       parser.parseOptions(new String[]{"--apply", "--taggeronly"});
       fail();
     } catch (IllegalArgumentException ignored) {}
+    try {
+      parser.parseOptions(new String[]{"--batch", "--line-by-line", "dir"});
+      fail();
+    } catch (IllegalArgumentException ignored) {}
+    try {
+      parser.parseOptions(new String[]{"--batch"});
+      fail();
+    } catch (IllegalArgumentException ignored) {}
+    try {
+      parser.parseOptions(new String[]{"--batch", "--threads", "0", "dir"});
+      fail();
+    } catch (IllegalArgumentException ignored) {}
   }
 
   @Test
@@ -70,6 +82,11 @@ public class CommandLineParserTest {
     assertEquals("filename.txt", options.getFilename());
     assertTrue(options.isVerbose());
 
+    options = parser.parseOptions(new String[]{"--batch", "--threads", "4", "dir"});
+    assertTrue(options.isBatch());
+    assertEquals(4, options.getThreads());
+    assertEquals("dir", options.getFilename());
+
     options = parser.parseOptions(new String[]{"--version"});
     assertTrue(options.isPrintVersion());
 
@@ -629,6 +629,28 @@ public class MainTest extends AbstractSecurityTestCase {
     assertFalse(output.contains("ENGLISH_WORD_REPEAT_RULE"));
   }
 
+  @Test
+  public void testBatchMode() throws Exception {
+    File input1 = writeToTempFile("This is an test.");
+    File input2 = writeToTempFile("This is is a test.");
+    File input3 = writeToTempFile("This is a test.");
+    File fileList = writeToTempFile(input1.getAbsolutePath() + "\n\n" + input2.getAbsolutePath() + "\n# comment\n" + input3.getAbsolutePath());
+    String[] args = {"-l", "en", "--batch", "--threads", "2", fileList.getAbsolutePath()};
+    Main.main(args);
+    String stdout = new String(this.out.toByteArray());
+    String stderr = new String(this.err.toByteArray());
+    int pos1 = stdout.indexOf("Rule ID: EN_A_VS_AN");
+    int pos2 = stdout.indexOf("Rule ID: ENGLISH_WORD_REPEAT_RULE");
+    assertTrue(stdout, pos1 >= 0 && pos2 > pos1);
+    assertTrue(stdout, stdout.contains("1.) Line 1, column 9, Rule ID: EN_A_VS_AN"));
+    // per-file stats like in a sequential run:
+    assertThat(stdout, StringUtils.countMatches(stdout, "for 1 sentences"), is(3));
+    assertTrue(stderr.indexOf("Working on " + input1) < stderr.indexOf("Working on " + input2));
+    assertTrue(stderr.indexOf("Working on " + input2) < stderr.indexOf("Working on " + input3));
+    assertTrue(stderr, stderr.contains("Checked 3 files"));
+    assertTrue(stderr, stderr.contains("sentences/sec"));
+  }
+
   private File writeToTempFile(String content) throws IOException {
     File tempFile = createTempFile();
     try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
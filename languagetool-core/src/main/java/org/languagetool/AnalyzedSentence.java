@@ -38,8 +38,9 @@ public final class AnalyzedSentence {
   private final AnalyzedTokenReadings[] nonBlankTokens;
   private final AnalyzedTokenReadings[] nonBlankPreDisambigTokens;
   private final int[] whPositions;  // maps positions without whitespace to positions that include whitespaces
-  private final Map<String, List<Integer>> tokenOffsets;
-  private final Map<String, List<Integer>> lemmaOffsets;
+  // built on first use, as not all sentences need them (e.g. cached ones):
+  private volatile OffsetIndex tokenOffsets;
+  private volatile OffsetIndex lemmaOffsets;
 
   /**
    * Creates an AnalyzedSentence from the given {@link AnalyzedTokenReadings}. Whitespace is also a token.
@@ -57,15 +58,13 @@ public final class AnalyzedSentence {
     this.whPositions = mapping;
     this.nonBlankTokens = getNonBlankReadings(tokens, whCounter, nonWhCounter, mapping).toArray(new AnalyzedTokenReadings[0]);
     this.nonBlankPreDisambigTokens = getNonBlankReadings(preDisambigTokens, whCounter, nonWhCounter, mapping).toArray(new AnalyzedTokenReadings[0]);
-    tokenOffsets = indexTokens(nonBlankTokens);
-    lemmaOffsets = indexLemmas(nonBlankTokens);
   }
 
   @NotNull
   private List<AnalyzedTokenReadings> getNonBlankReadings(AnalyzedTokenReadings[] tokens, int whCounter, int nonWhCounter, int[] mapping) {
     List<AnalyzedTokenReadings> l = new ArrayList<>();
     for (AnalyzedTokenReadings token : tokens) {
-      if (!token.isWhitespace() || token.isSentenceStart() || token.isSentenceEnd() || token.isParagraphEnd()) {
+      if (isNonBlank(token)) {
         l.add(token);
         mapping[nonWhCounter] = whCounter;
         nonWhCounter++;
@@ -75,47 +74,142 @@ public final class AnalyzedSentence {
     return l;
   }
 
+  private static boolean isNonBlank(AnalyzedTokenReadings token) {
+    return !token.isWhitespace() || token.isSentenceStart() || token.isSentenceEnd() || token.isParagraphEnd();
+  }
+
+  private AnalyzedSentence(AnalyzedTokenReadings[] tokens, AnalyzedTokenReadings[] preDisambigTokens, int[] mapping,
+                           AnalyzedTokenReadings[] nonBlankTokens, AnalyzedTokenReadings[] nonBlankPreDisambigTokens,
+                           @Nullable OffsetIndex tokenOffsets, @Nullable OffsetIndex lemmaOffsets) {
+    this.tokens = tokens;
+    this.preDisambigTokens = preDisambigTokens;
+    this.whPositions = mapping;
+    this.nonBlankTokens = nonBlankTokens;
+    this.nonBlankPreDisambigTokens = nonBlankPreDisambigTokens;
+    this.tokenOffsets = tokenOffsets;
+    this.lemmaOffsets = lemmaOffsets;
+  }
+
   private AnalyzedSentence(AnalyzedTokenReadings[] tokens, int[] mapping, AnalyzedTokenReadings[] nonBlankTokens, AnalyzedTokenReadings[] nonBlankPreDisambigTokens) {
     this.tokens = tokens;
     this.preDisambigTokens = tokens;
     this.whPositions = mapping;
     this.nonBlankTokens = nonBlankTokens;
     this.nonBlankPreDisambigTokens = nonBlankPreDisambigTokens;
-    tokenOffsets = indexTokens(nonBlankTokens);
-    lemmaOffsets = indexLemmas(nonBlankTokens);
   }
 
-  private static Map<String, List<Integer>> indexTokens(AnalyzedTokenReadings[] tokens) {
-    Map<String, List<Integer>> result = new HashMap<>(tokens.length);
+  private OffsetIndex getTokenIndex() {
+    OffsetIndex result = tokenOffsets;
+    if (result == null) {
+      tokenOffsets = result = indexTokens(nonBlankTokens);
+    }
+    return result;
+  }
+
+  private OffsetIndex getLemmaIndex() {
+    OffsetIndex result = lemmaOffsets;
+    if (result == null) {
+      lemmaOffsets = result = indexLemmas(nonBlankTokens);
+    }
+    return result;
+  }
+
+  private static OffsetIndex indexTokens(AnalyzedTokenReadings[] tokens) {
+    String[] keys = new String[tokens.length];
+    int[] positions = new int[tokens.length];
     for (int i = 0; i < tokens.length; i++) {
-      result.computeIfAbsent(tokens[i].getToken().toLowerCase(), __ -> new ArrayList<>(1)).add(i);
+      keys[i] = tokens[i].getToken().toLowerCase();
+      positions[i] = i;
     }
-    return makeUnmodifiable(result);
+    return new OffsetIndex(keys, positions, tokens.length);
   }
 
-  private static Map<String, List<Integer>> indexLemmas(AnalyzedTokenReadings[] tokens) {
-    Map<String, List<Integer>> result = new HashMap<>(tokens.length);
+  private static OffsetIndex indexLemmas(AnalyzedTokenReadings[] tokens) {
+    int readingCount = 0;
+    for (AnalyzedTokenReadings tr : tokens) {
+      readingCount += tr.getReadingsLength();
+    }
+    String[] keys = new String[readingCount];
+    int[] positions = new int[readingCount];
+    int count = 0;
     for (int i = 0; i < tokens.length; i++) {
       AnalyzedTokenReadings tr = tokens[i];
+      int tokenStart = count;
       int readingsLength = tr.getReadingsLength();
       for (int j = 0; j < readingsLength; j++) {
         AnalyzedToken token = tr.getAnalyzedToken(j);
         String lemma = token.getLemma();
         String key = (lemma != null ? lemma : token.getToken()).toLowerCase();
-        List<Integer> list = result.computeIfAbsent(key, __ -> new ArrayList<>(1));
-        if (list.isEmpty() || list.get(list.size() - 1) != i) {
-          list.add(i);
+        if (!contains(keys, tokenStart, count, key)) {
+          keys[count] = key;
+          positions[count] = i;
+          count++;
         }
       }
     }
-    return makeUnmodifiable(result);
+    return new OffsetIndex(keys, positions, count);
+  }
+
+  private static boolean contains(String[] keys, int from, int to, String key) {
+    for (int i = from; i < to; i++) {
+      if (keys[i].equals(key)) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  private static Map<String, List<Integer>> makeUnmodifiable(Map<String, List<Integer>> result) {
-    for (Map.Entry<String, List<Integer>> entry : result.entrySet()) {
-      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+  /**
+   * Creates the sentence for the next step of a step-by-step analysis like rule-based disambiguation:
+   * {@code newTokens} become the tokens, the tokens of this sentence become the pre-disambiguation tokens
+   * (like {@code new AnalyzedSentence(newTokens, getTokens())}). Tokens that have been replaced, or whose
+   * readings have been added to, must be in {@code changedPositions}. Unless these changes add a token or
+   * lemma that's not in this sentence's offsets at that position, the offsets are re-used instead of being
+   * built again. They might then contain offsets of readings that have been removed in the meantime. That's
+   * fine for skipping rules that cannot match, but the final result of the analysis should be created with
+   * a constructor.
+   * @param changedPositions positions in {@code newTokens}, i.e. including whitespace
+   * @since 6.9
+   */
+  @ApiStatus.Internal
+  public AnalyzedSentence withChangedTokens(AnalyzedTokenReadings[] newTokens, BitSet changedPositions) {
+    if (newTokens.length != tokens.length) {
+      return new AnalyzedSentence(newTokens, tokens);
+    }
+    boolean offsetsCoverChanges = true;
+    for (int i = changedPositions.nextSetBit(0); i >= 0; i = changedPositions.nextSetBit(i + 1)) {
+      if (isNonBlank(newTokens[i]) != isNonBlank(tokens[i])) {
+        return new AnalyzedSentence(newTokens, tokens);
+      }
+      if (offsetsCoverChanges && isNonBlank(newTokens[i])) {
+        int nonBlankPos = Arrays.binarySearch(whPositions, 0, nonBlankTokens.length, i);
+        offsetsCoverChanges = offsetsCover(newTokens[i], nonBlankPos);
+      }
+    }
+    if (!offsetsCoverChanges) {
+      return new AnalyzedSentence(newTokens, tokens);
+    }
+    AnalyzedTokenReadings[] newNonBlankTokens = new AnalyzedTokenReadings[nonBlankTokens.length];
+    for (int i = 0; i < newNonBlankTokens.length; i++) {
+      newNonBlankTokens[i] = newTokens[whPositions[i]];
+    }
+    // the offsets have been built by offsetsCover() if there are changed positions, otherwise the new sentence builds them:
+    return new AnalyzedSentence(newTokens, tokens, whPositions, newNonBlankTokens, nonBlankTokens, tokenOffsets, lemmaOffsets);
+  }
+
+  private boolean offsetsCover(AnalyzedTokenReadings token, int nonBlankPos) {
+    if (!getTokenIndex().contains(token.getToken().toLowerCase(), nonBlankPos)) {
+      return false;
+    }
+    int readingsLength = token.getReadingsLength();
+    for (int j = 0; j < readingsLength; j++) {
+      AnalyzedToken reading = token.getAnalyzedToken(j);
+      String lemma = reading.getLemma();
+      if (!getLemmaIndex().contains((lemma != null ? lemma : reading.getToken()).toLowerCase(), nonBlankPos)) {
+        return false;
+      }
     }
-    return Collections.unmodifiableMap(result);
+    return true;
   }
 
   /**
@@ -322,7 +416,7 @@ public final class AnalyzedSentence {
    * @since 2.4
    */
   public Set<String> getTokenSet() {
-    return tokenOffsets.keySet();
+    return getTokenIndex().keySet();
   }
 
   /**
@@ -331,7 +425,7 @@ public final class AnalyzedSentence {
    * @since 2.5
    */
   public Set<String> getLemmaSet() {
-    return lemmaOffsets.keySet();
+    return getLemmaIndex().keySet();
   }
 
   /**
@@ -342,7 +436,7 @@ public final class AnalyzedSentence {
   @Nullable
   @ApiStatus.Internal
   public List<Integer> getTokenOffsets(String token) {
-    return tokenOffsets.get(token);
+    return getTokenIndex().get(token);
   }
 
   /**
@@ -353,7 +447,7 @@ public final class AnalyzedSentence {
   @Nullable
   @ApiStatus.Internal
   public List<Integer> getLemmaOffsets(String token) {
-    return lemmaOffsets.get(token);
+    return getLemmaIndex().get(token);
   }
 
   @SuppressWarnings("ControlFlowStatementWithoutBraces")
@@ -35,20 +35,17 @@ public final class AnalyzedToken {
   private final String token;
   private final String posTag;
   private final String lemma;
-  private final String lemmaOrToken;  // used only for matching with Elements
 
   private boolean isWhitespaceBefore;
   private boolean hasNoPOSTag;
+  // shared between the readings of many tokens, see ReadingsCache:
+  private boolean shared;
+  private volatile AnalyzedToken otherWhitespaceBefore;
 
   public AnalyzedToken(String token, String posTag, String lemma) {
     this.token = intern(Objects.requireNonNull(token, "token cannot be null"));
     this.posTag = posTag != null ? intern(posTag.trim()) : null;
     this.lemma = lemma != null ? intern(lemma) : null;
-    if (this.lemma == null) {
-      lemmaOrToken = this.token;
-    } else {
-      lemmaOrToken = this.lemma;
-    }
     hasNoPOSTag = (posTag == null 
         || JLanguageTool.SENTENCE_END_TAGNAME.equals(posTag)
         || JLanguageTool.PARAGRAPH_END_TAGNAME.equals(posTag));
@@ -75,6 +72,10 @@ public final class AnalyzedToken {
     return lemma;
   }
 
+  /**
+   * Note: use {@link AnalyzedTokenReadings#setWhitespaceBefore(String)} for tokens that are
+   * part of an {@link AnalyzedTokenReadings}, as their readings may be shared.
+   */
   public void setWhitespaceBefore(boolean whitespaceBefore) {
     isWhitespaceBefore = whitespaceBefore;
   }
@@ -128,10 +129,64 @@ public final class AnalyzedToken {
   public void setNoPOSTag(boolean noTag) {
     hasNoPOSTag = noTag;
   }
+
+  /**
+   * Mark this token as shared between the readings of many tokens. It must not be modified anymore,
+   * {@link #withWhitespaceBefore(boolean)} and {@link #withNoPOSTag(boolean)} return modified copies then.
+   */
+  void share() {
+    shared = true;
+  }
+
+  boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * Like {@link #setWhitespaceBefore(boolean)}, but returns a shared copy instead of modifying a shared token.
+   */
+  AnalyzedToken withWhitespaceBefore(boolean whitespaceBefore) {
+    if (isWhitespaceBefore == whitespaceBefore) {
+      return this;
+    }
+    if (!shared) {
+      isWhitespaceBefore = whitespaceBefore;
+      return this;
+    }
+    // tokens occur both with and without whitespace before, so keep the copy:
+    AnalyzedToken result = otherWhitespaceBefore;
+    if (result == null) {
+      result = copy();
+      result.isWhitespaceBefore = whitespaceBefore;
+      result.shared = true;
+      result.otherWhitespaceBefore = this;
+      otherWhitespaceBefore = result;
+    }
+    return result;
+  }
+
+  /**
+   * Like {@link #setNoPOSTag(boolean)}, but returns a copy instead of modifying a shared token.
+   */
+  AnalyzedToken withNoPOSTag(boolean noTag) {
+    if (hasNoPOSTag == noTag) {
+      return this;
+    }
+    AnalyzedToken result = shared ? copy() : this;
+    result.hasNoPOSTag = noTag;
+    return result;
+  }
+
+  private AnalyzedToken copy() {
+    AnalyzedToken copy = new AnalyzedToken(token, posTag, lemma);
+    copy.isWhitespaceBefore = isWhitespaceBefore;
+    copy.hasNoPOSTag = hasNoPOSTag;
+    return copy;
+  }
   
   @Override
   public String toString() {
-    return lemmaOrToken + '/' + posTag;
+    return (lemma != null ? lemma : token) + "/" + posTag;
   }
 
   @Override
@@ -330,13 +330,11 @@ public final class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     if (anTokReadings[anTokReadings.length - 1].getPOSTag() != null) {
       l.add(anTokReadings[anTokReadings.length - 1]);
     }
-    token.setWhitespaceBefore(isWhitespaceBefore);
-    l.add(token);
+    l.add(token.withWhitespaceBefore(isWhitespaceBefore));
     anTokReadings = l.toArray(new AnalyzedToken[0]);
     if (token.getToken().length() > this.token.length()) { //in case a longer token is added
       this.token = token.getToken();
     }
-    anTokReadings[anTokReadings.length - 1].setWhitespaceBefore(isWhitespaceBefore);
     isParaEnd = hasPosTag(PARAGRAPH_END_TAGNAME);
     isSentEnd = hasPosTag(SENTENCE_END_TAGNAME);
     setNoRealPOStag();
@@ -508,8 +506,8 @@ public final class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
 
   public void setWhitespaceBefore(String prevToken) {
     isWhitespaceBefore = !prevToken.isEmpty() && StringTools.isWhitespace(prevToken);
-    for (AnalyzedToken aTok : anTokReadings) {
-      aTok.setWhitespaceBefore(isWhitespaceBefore);
+    for (int i = 0; i < anTokReadings.length; i++) {
+      anTokReadings[i] = anTokReadings[i].withWhitespaceBefore(isWhitespaceBefore);
     }
     if (isWhitespaceBefore) {
       whitespaceBeforeChar = prevToken;
@@ -583,8 +581,8 @@ public final class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
         break;
       }
     }
-    for (AnalyzedToken an: anTokReadings) {
-      an.setNoPOSTag(hasNoPOStag);
+    for (int i = 0; i < anTokReadings.length; i++) {
+      anTokReadings[i] = anTokReadings[i].withNoPOSTag(hasNoPOStag);
     }
   }
 
@@ -36,6 +36,7 @@ import org.languagetool.rules.patterns.*;
 import org.languagetool.rules.spelling.SpellingCheckRule;
 import org.languagetool.tools.LoggingTools;
 import org.languagetool.tools.LtThreadPoolFactory;
+import org.languagetool.tools.RuleProfiler;
 import org.languagetool.tools.TelemetryProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -502,6 +503,15 @@ public class JLanguageTool {
     this.checkCancelledCallback = callback;
   }
 
+  /**
+   * @return true if the callback set with {@link #setCheckCancelledCallback(CheckCancelledCallback)}
+   * reports that the result of the current check is not needed anymore
+   * @since 6.9
+   */
+  protected boolean isCheckCancelled() {
+    return checkCancelledCallback != null && checkCancelledCallback.checkCancelled();
+  }
+
   /**
    * Gets the ResourceBundle (i18n strings) for the default language of the user's system.
    */
@@ -1109,7 +1119,7 @@ public class JLanguageTool {
     List<Integer> requestSize = new ArrayList<>();
     ExecutorService remoteRulesThreadPool =
       mode == Mode.TEXTLEVEL_ONLY || remoteRules.isEmpty() ? null :
-      LtThreadPoolFactory.getFixedThreadPoolExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL).orElse(null);
+      LtThreadPoolFactory.getExecutorService(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL).orElse(null);
     if (remoteRulesThreadPool != null) {
       // trigger remote rules to run on whole text at once, at the start, then we wait for the results
       remoteRuleTasks = new ArrayList<>();
@@ -1285,6 +1295,9 @@ public class JLanguageTool {
       }
       // fetch results from remote rules
       for (int taskIndex = 0; taskIndex < remoteRuleTasks.size(); taskIndex++) {
+        if (isCheckCancelled()) {
+          break;  // remaining tasks get cancelled below
+        }
         FutureTask<RemoteRuleResult> task = remoteRuleTasks.get(taskIndex);
         RemoteRule rule = remoteRules.get(taskIndex);
         String ruleKey = rule.getId();
@@ -1589,6 +1602,15 @@ public class JLanguageTool {
     if (paraMode == ParagraphHandling.ONLYPARA) {
       return Collections.emptyList();
     }
+    List<RuleMatch> sentenceMatches = matchRules(rules, analyzedSentence, checkRemoteRules, wordCounter, null);
+    return filterSentenceMatches(sentenceMatches, analyzedSentence);
+  }
+
+  /**
+   * @param matchesByRule if not {@code null}, the matches get also added here, by the full id of the rule that created them
+   */
+  private List<RuleMatch> matchRules(List<Rule> rules, AnalyzedSentence analyzedSentence, boolean checkRemoteRules, int wordCounter,
+                                     @Nullable Map<String, List<RuleMatch>> matchesByRule) {
     List<RuleMatch> sentenceMatches = new ArrayList<>();
     List<String> errorRateLog = new ArrayList<>();
     float tmpErrorsPerWord = 0.0f;
@@ -1600,8 +1622,15 @@ public class JLanguageTool {
       if (checkCancelledCallback != null && checkCancelledCallback.checkCancelled()) {
         break;
       }
+      RuleProfiler.Sample sample = RuleProfiler.startSample();
       RuleMatch[] thisMatches = rule.match(analyzedSentence);
+      if (sample != null) {
+        sample.stop(language, rule, thisMatches.length);
+      }
       Collections.addAll(sentenceMatches, thisMatches);
+      if (matchesByRule != null && thisMatches.length > 0) {
+        matchesByRule.put(rule.getFullId(), Arrays.asList(thisMatches));
+      }
       if (wordCounter > 0) {
         //check if the maxErrorsPerWordRate is already reached for the full text with this sentence and rule  
         float errorsPerWord = sentenceMatches.size() / (float) wordCounter;
@@ -1620,6 +1649,10 @@ public class JLanguageTool {
         }
       }
     }
+    return sentenceMatches;
+  }
+
+  private List<RuleMatch> filterSentenceMatches(List<RuleMatch> sentenceMatches, AnalyzedSentence analyzedSentence) {
     if (sentenceMatches.isEmpty()) {
       return sentenceMatches;
     }
@@ -1774,7 +1807,8 @@ public class JLanguageTool {
       if (language.getPostDisambiguationChunker() != null) {
         language.getPostDisambiguationChunker().addChunkTags(Arrays.asList(analyzedSentence.getTokens()));
       }
-      if (cache != null) {
+      // a cancelled disambiguation stops early, its result must not be used by other checks:
+      if (cache != null && !isCheckCancelled()) {
         cache.put(cacheKey, analyzedSentence);
       }
       return analyzedSentence;
@@ -2083,10 +2117,23 @@ public class JLanguageTool {
     private final Mode mode;
     private final Level level;
     private final Set<ToneTag> toneTags;
+    private final boolean cacheSentenceMatches;
 
     TextCheckCallable(RuleSet rules, List<SentenceData> sentences,
                       ParagraphHandling paraMode, AnnotatedText annotatedText,
                       RuleMatchListener listener, Mode mode, Level level, boolean checkRemoteRules, Set<ToneTag> toneTags) {
+      this(rules, sentences, paraMode, annotatedText, listener, mode, level, checkRemoteRules, toneTags, true);
+    }
+
+    /**
+     * @param cacheSentenceMatches whether the matches of a sentence may be taken from and put into the cache, must be
+     *                             {@code false} if {@code rules} are only some of the rules (the cache key doesn't
+     *                             include the rules)
+     */
+    TextCheckCallable(RuleSet rules, List<SentenceData> sentences,
+                      ParagraphHandling paraMode, AnnotatedText annotatedText,
+                      RuleMatchListener listener, Mode mode, Level level, boolean checkRemoteRules, Set<ToneTag> toneTags,
+                      boolean cacheSentenceMatches) {
       this.rules = rules;
       this.checkRemoteRules = checkRemoteRules;
       this.sentences = Objects.requireNonNull(sentences);
@@ -2096,6 +2143,7 @@ public class JLanguageTool {
       this.mode = Objects.requireNonNull(mode);
       this.level = Objects.requireNonNull(level);
       this.toneTags = toneTags;
+      this.cacheSentenceMatches = cacheSentenceMatches;
     }
 
     @Override
@@ -2135,7 +2183,11 @@ public class JLanguageTool {
           if (analyzedSentences == null) {
             analyzedSentences = sentences.stream().map(s -> s.analyzed).collect(Collectors.toList());
           }
+          RuleProfiler.Sample sample = RuleProfiler.startSample();
           RuleMatch[] matches = ((TextLevelRule) rule).match(analyzedSentences, annotatedText);
+          if (sample != null) {
+            sample.stop(language, rule, matches.length);
+          }
           List<RuleMatch> adaptedMatches = new ArrayList<>();
           for (RuleMatch match : matches) {
             LineColumnPosition from;
@@ -2183,6 +2235,8 @@ public class JLanguageTool {
       int wordCounter = 0;
       float tmpErrorsPerWord = 0.0f;
       List<String> errorRateLog = new ArrayList<>();
+      // no sentence-level rules are run with ONLYPARA, so its (empty) matches must not replace the real ones in the cache:
+      boolean useCache = cache != null && cacheSentenceMatches && paraMode != ParagraphHandling.ONLYPARA;
       for (int i = 0, sentencesSize = sentences.size(); i < sentencesSize; i++) {
         SentenceData sentence = sentences.get(i);
         wordCounter += sentence.wordCount;
@@ -2201,7 +2255,7 @@ public class JLanguageTool {
           //}
           List<RuleMatch> sentenceMatches = null;
           InputSentence cacheKey = null;
-          if (cache != null) {
+          if (useCache) {
             cacheKey = new InputSentence(sentence.analyzed, language, motherTongue,
                     disabledRules, disabledRuleCategories,
                     enabledRules, enabledRuleCategories, userConfig, altLanguages, mode, level, toneTags);
@@ -2209,10 +2263,15 @@ public class JLanguageTool {
           }
           if (sentenceMatches == null) {
             List<Rule> rules = new ArrayList<>(this.rules.rulesForSentence(sentence.analyzed));
-            rules.addAll(userConfig.getRules());
-            sentenceMatches = checkAnalyzedSentence(paraMode, rules, sentence.analyzed, checkRemoteRules, textWordCounter);
+            if (useCache) {
+              sentenceMatches = checkAnalyzedSentenceWithPartialResults(rules, userConfig.getRules(), sentence.analyzed, textWordCounter);
+            } else {
+              rules.addAll(userConfig.getRules());
+              sentenceMatches = checkAnalyzedSentence(paraMode, rules, sentence.analyzed, checkRemoteRules, textWordCounter);
+            }
           }
-          if (cache != null) {
+          // the rules stop early when the check gets cancelled, so the matches might be incomplete:
+          if (useCache && !isCheckCancelled()) {
             cache.put(cacheKey, sentenceMatches);
           }
           if (!sentenceMatches.isEmpty()) {
@@ -2261,6 +2320,54 @@ public class JLanguageTool {
       return new CheckResults(ruleMatches, ignoreRanges, extendedSentenceRanges);
     }
 
+    /**
+     * Like {@link #checkAnalyzedSentence}, but only runs the rules that haven't been run on the same sentence
+     * before, e.g. with another level or other tone tags. The other rules' matches are taken from the cache.
+     * The rules from the user config always run and their matches don't get cached, as their ids may be
+     * the same as those of built-in rules.
+     */
+    private List<RuleMatch> checkAnalyzedSentenceWithPartialResults(List<Rule> rules, List<Rule> userConfigRules,
+                                                                    AnalyzedSentence analyzedSentence, int wordCounter) {
+      PartialResults.Key key = new PartialResults.Key(analyzedSentence.getText(), language, motherTongue, userConfig,
+        userConfig != null ? userConfig.getTextSessionId() : null, altLanguages);
+      PartialResults partialResults = cache.getPartialResults(key);
+      List<Rule> newRules = new ArrayList<>();
+      boolean[] isNew = new boolean[rules.size()];
+      for (int i = 0; i < rules.size(); i++) {
+        Rule rule = rules.get(i);
+        // remote rules aren't covered by the cache:
+        if (rule instanceof RemoteRule || !partialResults.isChecked(rule.getFullId())) {
+          newRules.add(rule);
+          isNew[i] = true;
+        }
+      }
+      Map<String, List<RuleMatch>> newMatchesByRule = new HashMap<>();
+      if (!newRules.isEmpty()) {
+        matchRules(newRules, analyzedSentence, checkRemoteRules, wordCounter, newMatchesByRule);
+        if (checkCancelledCallback == null || !checkCancelledCallback.checkCancelled()) {
+          partialResults.add(this.rules.allRuleFullIds(), newMatchesByRule);
+          cache.put(key, partialResults);
+        }
+      }
+      // keep the order of matches the same as when all rules are run:
+      List<RuleMatch> sentenceMatches = new ArrayList<>();
+      for (int i = 0; i < rules.size(); i++) {
+        Rule rule = rules.get(i);
+        if (rule instanceof TextLevelRule) {
+          continue;
+        }
+        if (isNew[i]) {
+          sentenceMatches.addAll(newMatchesByRule.getOrDefault(rule.getFullId(), Collections.emptyList()));
+        } else {
+          sentenceMatches.addAll(partialResults.getMatches(rule.getFullId()));
+        }
+      }
+      if (!userConfigRules.isEmpty()) {
+        sentenceMatches.addAll(matchRules(userConfigRules, analyzedSentence, checkRemoteRules, wordCounter, null));
+      }
+      return filterSentenceMatches(sentenceMatches, analyzedSentence);
+    }
+
     private LineColumnPosition findLineColumn(int offset) {
       if (sentences.isEmpty()) return new LineColumnPosition(0, 0);
 
@@ -91,7 +91,19 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
    */
   public MultiThreadedJLanguageTool(Language language, Language motherTongue, int threadPoolSize,
                                     GlobalConfig globalConfig, UserConfig userConfig) {
-    super(language, Collections.emptyList(), motherTongue, null, globalConfig, userConfig);
+    this(language, motherTongue, threadPoolSize, globalConfig, userConfig, null);
+  }
+
+  /**
+   * @see #shutdown()
+   * @param threadPoolSize the number of concurrent threads (use 0 or negative value for a default)
+   * @param cache a cache to speed up checking if the same sentences get checked more than once,
+   *              {@code null} to deactivate the cache
+   * @since 6.9
+   */
+  public MultiThreadedJLanguageTool(Language language, Language motherTongue, int threadPoolSize,
+                                    GlobalConfig globalConfig, UserConfig userConfig, ResultCache cache) {
+    super(language, Collections.emptyList(), motherTongue, cache, globalConfig, userConfig);
     this.threadPoolSize = threadPoolSize <= 0 ? getDefaultThreadCount() : threadPoolSize;
     threadPool = new ForkJoinPool(this.threadPoolSize, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
   }
@@ -188,16 +200,17 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
     List<Future<?>> futures = IntStream.range(0, getThreadPoolSize()).mapToObj(__ -> getExecutorService().submit(() -> {
       while (true) {
         int index = ruleIndex.getAndIncrement();
-        if (index >= allRules.size()) return null;
+        if (index >= allRules.size() || isCheckCancelled()) return null;
 
         Rule rule = allRules.get(index);
         BitSet applicable = map.get(rule);
         if (applicable == null) continue;
 
-        // less need for special treatment of remote rules when execution is already parallel
+        // less need for special treatment of remote rules when execution is already parallel,
+        // the cached matches of a sentence are those of all rules, so they can't be used for a single rule:
         CheckResults res = new TextCheckCallable(RuleSet.plain(Collections.singletonList(rule)),
           RuleSet.filterList(applicable, sentences),
-          paraMode, annotatedText, listener, mode, level, true, toneTags).call();
+          paraMode, annotatedText, listener, mode, level, true, toneTags, false).call();
         if (!res.getRuleMatches().isEmpty()) {
           synchronized (ruleMatches) {
             ruleMatches.put(index, res.getRuleMatches());
@@ -214,6 +227,11 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
         future.get();
       }
     } catch (InterruptedException | ExecutionException e) {
+      // don't keep the workers busy with a check whose result will never be used:
+      futures.forEach(future -> future.cancel(true));
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
       throw new RuntimeException(e);
     }
 
@@ -0,0 +1,166 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Maps the lowercase tokens or lemmas of a sentence to their positions, for {@link AnalyzedSentence#getTokenOffsets(String)}
+ * and {@link AnalyzedSentence#getLemmaOffsets(String)}. An open-addressing hash table whose positions are all kept
+ * in one array, as this gets created for almost every sentence.
+ * @since 6.9
+ */
+final class OffsetIndex {
+
+  private final String[] keys;  // null for empty slots
+  private final int[] starts;   // the positions of the key in slot i are offsets[starts[i]] to offsets[starts[i + 1] - 1]
+  private final int[] offsets;
+  private final int size;
+  private final Set<String> keySet = new KeySet();
+
+  /**
+   * @param pairKeys the keys, one per position they occur at
+   * @param pairPositions the positions, in ascending order
+   * @param pairCount the number of valid entries in {@code pairKeys} and {@code pairPositions}
+   */
+  OffsetIndex(String[] pairKeys, int[] pairPositions, int pairCount) {
+    // a power of two with at most 50% load:
+    int capacity = Integer.highestOneBit(Math.max(2 * pairCount - 1, 1)) << 1;
+    keys = new String[capacity];
+    starts = new int[capacity + 1];
+    int[] slots = new int[pairCount];
+    int keyCount = 0;
+    for (int i = 0; i < pairCount; i++) {
+      int slot = find(pairKeys[i]);
+      if (keys[slot] == null) {
+        keys[slot] = pairKeys[i];
+        keyCount++;
+      }
+      slots[i] = slot;
+      starts[slot]++;
+    }
+    size = keyCount;
+    for (int i = 1; i < capacity; i++) {
+      starts[i] += starts[i - 1];
+    }
+    starts[capacity] = pairCount;
+    // filling backwards keeps the positions of a key in ascending order and moves starts[i] to the start of slot i:
+    offsets = new int[pairCount];
+    for (int i = pairCount - 1; i >= 0; i--) {
+      offsets[--starts[slots[i]]] = pairPositions[i];
+    }
+  }
+
+  private int find(String key) {
+    int mask = keys.length - 1;
+    int h = key.hashCode();
+    int slot = (h ^ (h >>> 16)) & mask;
+    while (keys[slot] != null && !keys[slot].equals(key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * @return the positions of {@code key} in ascending order, or {@code null} if it doesn't occur
+   */
+  @Nullable
+  List<Integer> get(@Nullable String key) {
+    if (key == null) {
+      return null;
+    }
+    int slot = find(key);
+    return keys[slot] != null ? new Offsets(starts[slot], starts[slot + 1]) : null;
+  }
+
+  boolean contains(String key, int position) {
+    int slot = find(key);
+    return keys[slot] != null && Arrays.binarySearch(offsets, starts[slot], starts[slot + 1], position) >= 0;
+  }
+
+  Set<String> keySet() {
+    return keySet;
+  }
+
+  private final class Offsets extends AbstractList<Integer> implements RandomAccess {
+    private final int from;
+    private final int to;
+
+    private Offsets(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public Integer get(int index) {
+      Objects.checkIndex(index, to - from);
+      return offsets[from + index];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  private final class KeySet extends AbstractSet<String> {
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<>() {
+        private int slot = nextSlot(0);
+
+        private int nextSlot(int start) {
+          int i = start;
+          while (i < keys.length && keys[i] == null) {
+            i++;
+          }
+          return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return slot < keys.length;
+        }
+
+        @Override
+        public String next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          String key = keys[slot];
+          slot = nextSlot(slot + 1);
+          return key;
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof String key && keys[find(key)] != null;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+}
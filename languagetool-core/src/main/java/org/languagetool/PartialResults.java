@@ -0,0 +1,110 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.languagetool.rules.RuleMatch;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * For internal use only. The sentence-level matches of one sentence, per rule, before matches of disabled rules
+ * are removed and before filters are applied. Unlike the matches cached for an {@link InputSentence}, these
+ * don't depend on the level, the tone tags, or the enabled and disabled rules, so a check that differs only
+ * in these needs to run only the rules that haven't been run on the sentence yet.
+ * @since 6.9
+ */
+final class PartialResults {
+
+  // a sentence is usually checked with only a few different rule sets, more are not remembered:
+  private static final int MAX_RULE_SETS = 8;
+
+  /**
+   * Everything the matches of a sentence-level rule may depend on, except the rule itself.
+   */
+  record Key(String text, Language lang, Language motherTongue, UserConfig userConfig, Long textSessionID, List<Language> altLanguages) {
+  }
+
+  // the full ids of the rules that have been run, each set is shared by all sentences checked with the same rules:
+  private final List<Set<String>> checkedRules = new CopyOnWriteArrayList<>();
+  private final Map<String, List<RuleMatch>> matchesByRule = new ConcurrentHashMap<>();
+
+  /**
+   * @param ruleId the full id of a rule
+   */
+  boolean isChecked(String ruleId) {
+    for (Set<String> ruleIds : checkedRules) {
+      if (ruleIds.contains(ruleId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param ruleId the full id of a rule for which {@link #isChecked(String)} is true
+   * @return copies of the rule's matches, as filters may modify matches
+   */
+  List<RuleMatch> getMatches(String ruleId) {
+    List<RuleMatch> matches = matchesByRule.get(ruleId);
+    if (matches == null) {
+      return Collections.emptyList();
+    }
+    List<RuleMatch> result = new ArrayList<>(matches.size());
+    for (RuleMatch match : matches) {
+      result.add(copy(match));
+    }
+    return result;
+  }
+
+  /**
+   * @param ruleIds the full ids of all rules that have been run on the sentence or couldn't match it,
+   *                should be the same object for all sentences checked with the same rules
+   * @param newMatchesByRule the matches of the rules that have been run, by the rule's full id
+   */
+  void add(Set<String> ruleIds, Map<String, List<RuleMatch>> newMatchesByRule) {
+    boolean known = checkedRules.stream().anyMatch(set -> set == ruleIds);
+    if (!known && checkedRules.size() >= MAX_RULE_SETS) {
+      return;  // isChecked() would never be true for these rules, so their matches would never be used
+    }
+    for (Map.Entry<String, List<RuleMatch>> entry : newMatchesByRule.entrySet()) {
+      List<RuleMatch> matches = new ArrayList<>(entry.getValue().size());
+      for (RuleMatch match : entry.getValue()) {
+        matches.add(copy(match));
+      }
+      matchesByRule.put(entry.getKey(), matches);
+    }
+    // matches first, so that a concurrent isChecked() never finds a rule without its matches:
+    if (!known) {
+      checkedRules.add(ruleIds);
+    }
+  }
+
+  int getMatchCount() {
+    return matchesByRule.values().stream().mapToInt(List::size).sum();
+  }
+
+  private static RuleMatch copy(RuleMatch match) {
+    RuleMatch copy = new RuleMatch(match);
+    copy.setNewLanguageMatches(match.getNewLanguageMatches());
+    return copy;
+  }
+
+}
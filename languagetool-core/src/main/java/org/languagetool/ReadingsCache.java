@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Flyweight store for the readings of word forms: the tagger's readings of a word form are created once
+ * and shared by all its occurrences, instead of creating new {@link AnalyzedToken}s per occurrence. This
+ * keeps e.g. the sentences in {@link ResultCache} small. The shared tokens are never modified,
+ * {@link AnalyzedTokenReadings} replaces them with copies when needed (e.g. when the disambiguator
+ * changes readings).
+ * @since 6.9
+ */
+@ApiStatus.Internal
+public final class ReadingsCache {
+
+  private final Cache<String, List<AnalyzedToken>> cache;
+
+  /**
+   * @param maxSize maximum number of word forms
+   */
+  public ReadingsCache(long maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @param tagger computes the readings of {@code word} if they're not cached yet; must not depend on anything but {@code word}
+   * @return an immutable list of shared readings
+   */
+  public List<AnalyzedToken> get(String word, Function<String, List<AnalyzedToken>> tagger) {
+    List<AnalyzedToken> readings = cache.getIfPresent(word);
+    if (readings == null) {
+      // let AnalyzedTokenReadings set up the tokens like for any occurrence before they get shared:
+      AnalyzedTokenReadings tokenReadings = new AnalyzedTokenReadings(tagger.apply(word), 0);
+      readings = List.copyOf(tokenReadings.getReadings());
+      for (AnalyzedToken reading : readings) {
+        reading.share();
+      }
+      cache.put(word, readings);
+    }
+    return readings;
+  }
+
+}
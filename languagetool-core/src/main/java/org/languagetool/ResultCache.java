@@ -50,6 +50,7 @@ public class ResultCache {
   private final Cache<InputSentence, Map<String, List<RuleMatch>>> remoteMatchesCache;
   private final Cache<InputSentence, List<ProtoResultCache.CachedResultMatch>> matchesCache;
   private final Cache<SimpleInputSentence, AnalyzedSentence> sentenceCache;
+  private final Cache<PartialResults.Key, PartialResults> partialResultsCache;
 
   /**
    * Create a cache that expires items 5 minutes after the latest read access.
@@ -83,6 +84,11 @@ public class ResultCache {
             recordStats().
             expireAfterAccess(expireAfter, timeUnit).
             build();
+    partialResultsCache = CacheBuilder.newBuilder().
+            maximumWeight(maxSize/2).weigher(new PartialResultsWeigher()).
+            recordStats().
+            expireAfterAccess(expireAfter, timeUnit).
+            build();
   }
   
   static class MatchesWeigher implements Weigher<InputSentence, List<ProtoResultCache.CachedResultMatch>> {
@@ -110,6 +116,13 @@ public class ResultCache {
     }
   }
   
+  static class PartialResultsWeigher implements Weigher<PartialResults.Key, PartialResults> {
+    @Override
+    public int weigh(PartialResults.Key key, @NotNull PartialResults results) {
+      return 1 + key.text().length() / 75 + results.getMatchCount();
+    }
+  }
+
   public double hitRate() {
     return (matchesCache.stats().hitRate() + sentenceCache.stats().hitRate()) / 2.0;
   }
@@ -140,6 +153,21 @@ public class ResultCache {
     sentenceCache.put(key, aSentence);
   }
 
+  /**
+   * @return the cached per-rule matches, or new empty ones that need to be added with {@link #put(PartialResults.Key, PartialResults)}
+   */
+  PartialResults getPartialResults(PartialResults.Key key) {
+    PartialResults results = partialResultsCache.getIfPresent(key);
+    return results != null ? results : new PartialResults();
+  }
+
+  /**
+   * Call again after adding matches to {@code results} so its size in the cache gets updated.
+   */
+  void put(PartialResults.Key key, PartialResults results) {
+    partialResultsCache.put(key, results);
+  }
+
   /** @since 4.1 */
   public Cache<InputSentence, List<ProtoResultCache.CachedResultMatch>> getMatchesCache() {
     return matchesCache;
@@ -120,6 +120,21 @@ public class DefaultLanguageIdentifier extends LanguageIdentifier {
   }
 
   void enableFasttext(File fasttextBinary, File fasttextModel) {
+    if (fasttextModel != null) {
+      try {
+        fastTextDetector = new FastTextDetector(fasttextModel);
+        logger.info("Loaded fastText model for language identification @ {}", fasttextModel);
+        if (fasttextBinary != null) {
+          logger.info("fastText binary @ {} is not used, it's not needed anymore", fasttextBinary);
+        }
+        return;
+      } catch (IOException e) {
+        if (fasttextBinary == null) {
+          throw new RuntimeException("Could not load fasttext model for language identification @ " + fasttextModel, e);
+        }
+        logger.warn("Could not load fastText model @ {}, falling back to fastText binary @ {}", fasttextModel, fasttextBinary, e);
+      }
+    }
     if (fasttextBinary != null && fasttextModel != null) {
       try {
         fastTextDetector = new FastTextDetector(fasttextModel, fasttextBinary);
@@ -41,7 +41,7 @@ public enum LanguageIdentifierService {
    *                           If 0 the default value of 1000 is used.
    *                           Don't use values between 1-100, as this would decrease accuracy.
    * @param ngramLangIdentData - the ngramLangIdentData file, if {@code null} ngram will not be initialized.
-   * @param fasttextBinary     - the fasttext binary file, if {@code null} fasttext will not be initialized.
+   * @param fasttextBinary     - the fasttext binary file, only used if the model cannot be loaded without it (optional since 6.9).
    * @param fasttextModel      - the fasttext model file, if {@code null} fasttext will not be initialized.
    * @return new {@code LanguageIdentifier} or existing if already initialized.
    * @since 5.8
@@ -0,0 +1,159 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.StrictMath.log;
+
+/**
+ * The bigram probabilities of all languages of {@link NGramDetector} as log probabilities in
+ * primitive arrays: an open-addressing hash table maps a bigram of vocabulary ids to a row, and
+ * each row lists the languages that have a probability for that bigram. Immutable and thus thread-safe.
+ * @since 6.9
+ */
+final class BigramLogProbs {
+
+  private final int languageCount;
+  private final double logEpsilon;
+  private final long[] tableKeys;
+  private final int[] tableRows;  // row + 1, 0 for empty slots
+  private final int tableBits;
+  private final int[] rowStart;
+  private final int[] languages;
+  private final double[] logProbs;
+
+  /**
+   * @param bigrams the bigrams of each language, in the order of the languages
+   * @param epsilon the probability of bigrams not listed for a language
+   */
+  BigramLogProbs(List<LanguageBigrams> bigrams, double epsilon) {
+    languageCount = bigrams.size();
+    logEpsilon = log(epsilon);
+    int total = bigrams.stream().mapToInt(b -> b.keys.length).sum();
+    tableBits = Math.max(4, 33 - Integer.numberOfLeadingZeros(Math.max(total, 1)));  // load factor <= 0.5
+    tableKeys = new long[1 << tableBits];
+    tableRows = new int[1 << tableBits];
+    int[] rowOfEntry = new int[total];
+    int[] rowCounts = new int[total + 1];
+    int rows = 0;
+    int entry = 0;
+    for (LanguageBigrams languageBigrams : bigrams) {
+      for (long key : languageBigrams.keys) {
+        int slot = findSlot(key);
+        if (tableRows[slot] == 0) {
+          tableKeys[slot] = key;
+          tableRows[slot] = ++rows;
+        }
+        int row = tableRows[slot] - 1;
+        rowOfEntry[entry++] = row;
+        rowCounts[row + 1]++;
+      }
+    }
+    rowStart = new int[rows + 1];
+    for (int row = 0; row < rows; row++) {
+      rowStart[row + 1] = rowStart[row] + rowCounts[row + 1];
+    }
+    int[] next = Arrays.copyOf(rowStart, rows);
+    languages = new int[total];
+    logProbs = new double[total];
+    entry = 0;
+    for (int lang = 0; lang < languageCount; lang++) {
+      LanguageBigrams languageBigrams = bigrams.get(lang);
+      for (int i = 0; i < languageBigrams.keys.length; i++) {
+        int pos = next[rowOfEntry[entry++]]++;
+        languages[pos] = lang;
+        logProbs[pos] = log(languageBigrams.probs[i]);
+      }
+    }
+  }
+
+  private static long key(int first, int second) {
+    return ((long) first << 32) | (second & 0xFFFFFFFFL);
+  }
+
+  private int findSlot(long key) {
+    int mask = tableKeys.length - 1;
+    int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - tableBits));
+    while (tableRows[slot] != 0 && tableKeys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * @param tokens vocabulary ids
+   * @return for each language, the sum of the log probabilities of all bigrams in {@code tokens}
+   */
+  double[] score(int[] tokens) {
+    double[] scores = new double[languageCount];
+    double[] bigramScores = new double[languageCount];
+    for (int i = 1; i < tokens.length; i++) {
+      int slot = findSlot(key(tokens[i - 1], tokens[i]));
+      if (tableRows[slot] == 0) {
+        for (int lang = 0; lang < languageCount; lang++) {
+          scores[lang] += logEpsilon;
+        }
+        continue;
+      }
+      int row = tableRows[slot] - 1;
+      Arrays.fill(bigramScores, logEpsilon);
+      for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+        bigramScores[languages[k]] = logProbs[k];
+      }
+      for (int lang = 0; lang < languageCount; lang++) {
+        scores[lang] += bigramScores[lang];
+      }
+    }
+    return scores;
+  }
+
+  /**
+   * The bigram probabilities of one language.
+   */
+  static final class LanguageBigrams {
+
+    private final long[] keys;
+    private final double[] probs;
+
+    private LanguageBigrams(long[] keys, double[] probs) {
+      this.keys = keys;
+      this.probs = probs;
+    }
+
+    /**
+     * @param lines lines in the format {@code {first id} {second id} {probability}}, other lines are ignored
+     */
+    static LanguageBigrams parse(List<String> lines) {
+      long[] keys = new long[lines.size()];
+      double[] probs = new double[lines.size()];
+      int size = 0;
+      for (String line : lines) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length == 3) {
+          keys[size] = key(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+          probs[size++] = Double.parseDouble(parts[2]);
+        }
+      }
+      return new LanguageBigrams(Arrays.copyOf(keys, size), Arrays.copyOf(probs, size));
+    }
+  }
+
+}
@@ -32,82 +32,86 @@ import java.util.regex.Pattern;
  */
 public class CommonWordsDetector {
 
-  private final static Map<String, List<Language>> word2langs = Collections.synchronizedMap(new HashMap<>());
-  private final static Pattern numberPattern = Pattern.compile("[0-9.,%-]+");
-  
   private final static Language esLang = Languages.getLanguageForShortCode("es");
   private final static Language caLang = Languages.getLanguageForShortCode("ca");
   private final static Language ptLang = Languages.getLanguageForShortCode("pt");
-  // but -cion can be Esperanto; ía(n) can be Galician
-  private final static Pattern spanishPattern = Pattern.compile("^[a-zñ]+(ón|cion|aban|ábamos|ábais|íamos|íais|[úí]a[sn]?|úe[ns]?)$");
-  private final static Pattern notSpanishPattern = Pattern.compile("^[lmndts]['’].*$|^.*(ns|[áéó].i[oa]s?)$|^.*(ss|[çàèòïâêôãõìù]|l·l).*$");
-  private final static Pattern notCatalanPattern = Pattern.compile("^.*([áéó].i[oa]s?|d[oa]s)$|^.*[áâêôãõìùñ].*$");
-  private final static Pattern portuguesePattern = Pattern.compile("^.*([áó]ri[oa]|ério)s?$"); // éria can be French
   private static final Pattern PUNCT_PATTERN = Pattern.compile("[(),.:;!?„“\"¡¿\\s\\[\\]{}-«»”]");
   private static final Pattern CHARS_PATTERN = Pattern.compile("\\p{L}+$");
   private static final Pattern SPACE_OR_HYPHEN_PATTERN = Pattern.compile("[ -]");
 
+  private static volatile WordIndex wordIndex;
+
   public CommonWordsDetector() throws IOException {
-    synchronized (word2langs) {
-      if (word2langs.isEmpty()) {
-        for (Language lang : Languages.get()) {
-          if (lang.isVariant() &&
-              !lang.getShortCode().equals("no")) {  // ugly hack to quick fix https://github.com/languagetooler-gmbh/languagetool-premium/issues/822 
-            continue;
+    if (wordIndex == null) {
+      synchronized (CommonWordsDetector.class) {
+        if (wordIndex == null) {
+          wordIndex = loadWordIndex();
+        }
+      }
+    }
+  }
+
+  private static WordIndex loadWordIndex() throws IOException {
+    List<Language> languages = new ArrayList<>();
+    Map<String, int[]> word2langs = new HashMap<>();
+    for (Language lang : Languages.get()) {
+      if (lang.isVariant() &&
+          !lang.getShortCode().equals("no")) {  // ugly hack to quick fix https://github.com/languagetooler-gmbh/languagetool-premium/issues/822 
+        continue;
+      }
+      ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+      String path = lang.getCommonWordsPath();
+      InputStream stream = null;
+      try {
+        if (path != null) {
+          if (dataBroker.resourceExists(path)) {
+            stream = dataBroker.getFromResourceDirAsStream(path);
+          } else if (new File(path).exists()) {
+            stream = new FileInputStream(path);
+          } else {
+            throw new IOException("Common words file not found for " + lang + ": " + path);
+          }
+        } else {
+          if (!lang.getShortCode().matches("ja|km")) {
+            System.out.println("WARN: no common words file defined for " + lang + " - this language might not be correctly auto-detected");
           }
-          ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
-          String path = lang.getCommonWordsPath();
-          InputStream stream = null;
-          try {
-            if (path != null) {
-              if (dataBroker.resourceExists(path)) {
-                stream = dataBroker.getFromResourceDirAsStream(path);
-              } else if (new File(path).exists()) {
-                stream = new FileInputStream(path);
-              } else {
-                throw new IOException("Common words file not found for " + lang + ": " + path);
-              }
-            } else {
-              if (!lang.getShortCode().matches("ja|km")) {
-                System.out.println("WARN: no common words file defined for " + lang + " - this language might not be correctly auto-detected");
-              }
+          continue;
+        }
+        int langIndex = languages.size();
+        languages.add(lang);
+        try (Scanner scanner = new Scanner(stream, "utf-8")) {
+          while (scanner.hasNextLine()) {
+            String line = scanner.nextLine();
+            if (line.isEmpty() || line.startsWith("#")) {
               continue;
             }
-            try (Scanner scanner = new Scanner(stream, "utf-8")) {
-              while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                if (line.isEmpty() || line.startsWith("#")) {
-                  continue;
-                }
-                String key = line.toLowerCase();
-                if (key.length() == 1 && Character.isSpaceChar(key.charAt(0))) {
-                  continue;
-                }
-                List<Language> languages = word2langs.get(key);
-                if (languages == null) {
-                  // word2langs is static, so this can be accessed from multiple threads concurrently -> prevent exceptions
-                  List<Language> l = Collections.synchronizedList(new LinkedList<>());
-                  l.add(lang);
-                  word2langs.put(key, l);
-                } else {
-                  if (!languages.contains(lang)) {
-                    languages.add(lang);
-                  }
-                }
-              }
+            String key = line.toLowerCase();
+            if (key.length() == 1 && Character.isSpaceChar(key.charAt(0))) {
+              continue;
             }
-          } finally {
-            if (stream != null) {
-              stream.close();
+            int[] langIndexes = word2langs.get(key);
+            if (langIndexes == null) {
+              word2langs.put(key, new int[]{langIndex});
+            } else if (langIndexes[langIndexes.length - 1] != langIndex) {
+              int[] newLangIndexes = Arrays.copyOf(langIndexes, langIndexes.length + 1);
+              newLangIndexes[langIndexes.length] = langIndex;
+              word2langs.put(key, newLangIndexes);
             }
           }
         }
+      } finally {
+        if (stream != null) {
+          stream.close();
+        }
       }
     }
+    return new WordIndex(languages, word2langs);
   }
 
   public Map<Language, Integer> getKnownWordsPerLanguage(String text) {
-    Map<Language,Integer> result = new HashMap<>();
+    WordIndex index = wordIndex;
+    int[] counts = new int[index.languages.length];
+    boolean[] found = new boolean[index.languages.length];
     String auxText = PUNCT_PATTERN.matcher(text).replaceAll(" ");
     if (!auxText.endsWith(" ") && StringUtils.countMatches(auxText, " ") > 0) {
       // last word might not be finished yet, so ignore
@@ -117,35 +121,93 @@ public class CommonWordsDetector {
     // will also need to be tokenized the same way. Also, this is quite fast.
     String[] words = SPACE_OR_HYPHEN_PATTERN.split(auxText);
     for (String word : words) {
-      if (numberPattern.matcher(word).matches()) {
+      if (word.isEmpty() || isNumber(word)) {
         continue;
       }
       String lcWord = word.toLowerCase();
-      List<Language> languages = word2langs.get(lcWord);
-      if (languages != null) {
-        for (Language lang : languages) {
-          //System.out.println(lcWord + " -> " + lang);
-          result.put(lang, result.getOrDefault(lang, 0) + 1);
+      int[] langIndexes = index.word2langs.get(lcWord);
+      boolean knownAsPt = false;
+      boolean knownAsEs = false;
+      boolean knownAsCa = false;
+      if (langIndexes != null) {
+        for (int langIndex : langIndexes) {
+          counts[langIndex]++;
+          found[langIndex] = true;
+          knownAsPt |= langIndex == index.ptIndex;
+          knownAsEs |= langIndex == index.esIndex;
+          knownAsCa |= langIndex == index.caIndex;
         }
       }
       //Portuguese
-      if ((languages == null || !languages.contains(ptLang)) && portuguesePattern.matcher(lcWord).matches()) {
-        result.put(ptLang, result.getOrDefault(ptLang, 0) + 1);
+      if (!knownAsPt && CommonWordsHeuristics.isPortuguese(lcWord)) {
+        counts[index.ptIndex]++;
+        found[index.ptIndex] = true;
       }
       //Spanish
-      if ((languages == null || !languages.contains(esLang)) && spanishPattern.matcher(lcWord).matches()) {
-        result.put(esLang, result.getOrDefault(esLang, 0) + 1);
+      if (!knownAsEs && CommonWordsHeuristics.isSpanish(lcWord)) {
+        counts[index.esIndex]++;
+        found[index.esIndex] = true;
       }
-      if ((languages == null || !languages.contains(esLang)) && notSpanishPattern.matcher(lcWord).matches()) {
-        result.put(esLang, result.getOrDefault(esLang, 0) - 1);
+      if (!knownAsEs && CommonWordsHeuristics.isNotSpanish(lcWord)) {
+        counts[index.esIndex]--;
+        found[index.esIndex] = true;
       }
       //Catalan
-      if ((languages == null || !languages.contains(caLang)) && notCatalanPattern.matcher(lcWord).matches()) {
-        result.put(caLang, result.getOrDefault(caLang, 0) - 1);
+      if (!knownAsCa && CommonWordsHeuristics.isNotCatalan(lcWord)) {
+        counts[index.caIndex]--;
+        found[index.caIndex] = true;
+      }
+    }
+    Map<Language,Integer> result = new HashMap<>();
+    for (int i = 0; i < found.length; i++) {
+      if (found[i]) {
+        result.put(index.languages[i], counts[i]);
       }
     }
     //System.out.println("==> " + result);
     return result;
   }
-  
+
+  // same as matching [0-9.,%-]+
+  private static boolean isNumber(String word) {
+    for (int i = 0; i < word.length(); i++) {
+      char c = word.charAt(i);
+      if ((c < '0' || c > '9') && c != '.' && c != ',' && c != '%' && c != '-') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * All common words, mapped to the indexes of their languages in ascending order, so that one
+   * lookup per word is enough. Immutable after loading, so no synchronization is needed for lookups.
+   */
+  private static final class WordIndex {
+    // languages with common words, plus those used by CommonWordsHeuristics:
+    private final Language[] languages;
+    private final Map<String, int[]> word2langs;
+    private final int esIndex;
+    private final int caIndex;
+    private final int ptIndex;
+
+    WordIndex(List<Language> languages, Map<String, int[]> word2langs) {
+      List<Language> allLanguages = new ArrayList<>(languages);
+      this.esIndex = indexOf(allLanguages, esLang);
+      this.caIndex = indexOf(allLanguages, caLang);
+      this.ptIndex = indexOf(allLanguages, ptLang);
+      this.languages = allLanguages.toArray(new Language[0]);
+      this.word2langs = word2langs;
+    }
+
+    private static int indexOf(List<Language> languages, Language lang) {
+      int index = languages.indexOf(lang);
+      if (index == -1) {
+        languages.add(lang);
+        index = languages.size() - 1;
+      }
+      return index;
+    }
+  }
+
 }
@@ -0,0 +1,94 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+/**
+ * Word-level hints for some languages that are hard to tell apart by common words alone.
+ * Same as these regular expressions, but without running a regex per word:
+ * <ul>
+ *   <li>Portuguese: {@code ^.*([áó]ri[oa]|ério)s?$} (éria can be French)</li>
+ *   <li>Spanish: {@code ^[a-zñ]+(ón|cion|aban|ábamos|ábais|íamos|íais|[úí]a[sn]?|úe[ns]?)$}
+ *   (but -cion can be Esperanto; ía(n) can be Galician)</li>
+ *   <li>not Spanish: {@code ^[lmndts]['’].*$|^.*(ns|[áéó].i[oa]s?)$|^.*(ss|[çàèòïâêôãõìù]|l·l).*$}</li>
+ *   <li>not Catalan: {@code ^.*([áéó].i[oa]s?|d[oa]s)$|^.*[áâêôãõìùñ].*$}</li>
+ * </ul>
+ * All methods expect a lowercase word.
+ * @since 6.9
+ */
+final class CommonWordsHeuristics {
+
+  private static final SuffixTrie portugueseSuffixes = new SuffixTrie("[áó]ri[oa]s?", "érios?");
+  private static final SuffixTrie spanishSuffixes = new SuffixTrie("ón", "cion", "aban", "ábamos", "ábais", "íamos", "íais", "[úí]a[sn]?", "úe[ns]?");
+  private static final SuffixTrie notSpanishSuffixes = new SuffixTrie("ns", "[áéó].i[oa]s?");
+  private static final SuffixTrie notCatalanSuffixes = new SuffixTrie("[áéó].i[oa]s?", "d[oa]s");
+
+  private CommonWordsHeuristics() {
+  }
+
+  static boolean isPortuguese(String word) {
+    return !hasLineTerminator(word) && portugueseSuffixes.isSuffixOf(word);
+  }
+
+  static boolean isSpanish(String word) {
+    int letters = 0;
+    while (letters < word.length() && isSpanishBaseLetter(word.charAt(letters))) {
+      letters++;
+    }
+    return spanishSuffixes.matches(word, 1, letters);
+  }
+
+  static boolean isNotSpanish(String word) {
+    if (hasLineTerminator(word)) {
+      return false;
+    }
+    if (word.length() >= 2 && "lmndts".indexOf(word.charAt(0)) != -1 && "'’".indexOf(word.charAt(1)) != -1) {
+      return true;
+    }
+    return notSpanishSuffixes.isSuffixOf(word) || word.contains("ss") || word.contains("l·l") || containsAny(word, "çàèòïâêôãõìù");
+  }
+
+  static boolean isNotCatalan(String word) {
+    return !hasLineTerminator(word) && (notCatalanSuffixes.isSuffixOf(word) || containsAny(word, "áâêôãõìùñ"));
+  }
+
+  private static boolean isSpanishBaseLetter(char c) {
+    return (c >= 'a' && c <= 'z') || c == 'ñ';
+  }
+
+  private static boolean containsAny(String word, String chars) {
+    for (int i = 0; i < word.length(); i++) {
+      if (chars.indexOf(word.charAt(i)) != -1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // '.' in the regular expressions doesn't match these:
+  private static boolean hasLineTerminator(String word) {
+    for (int i = 0; i < word.length(); i++) {
+      char c = word.charAt(i);
+      if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -29,6 +29,9 @@ import java.util.*;
 import java.util.regex.Pattern;
 
 /**
+ * Language identification with a fastText model. With {@link #FastTextDetector(File)}, the model
+ * is loaded into this JVM and any number of threads can run detection at the same time. Otherwise,
+ * an external {@code fasttext} process is used and all calls are serialized.
  * @since 5.0
  */
 public class FastTextDetector {
@@ -44,6 +47,7 @@ public class FastTextDetector {
   
   private File modelPath;
   private File binaryPath;
+  private final FastTextModel model;  // null if the external process is used
 
   public static class FastTextException extends RuntimeException {
     private final boolean disabled;
@@ -64,8 +68,19 @@ public class FastTextDetector {
   public FastTextDetector(File modelPath, File binaryPath) throws IOException {
     this.modelPath = modelPath;
     this.binaryPath = binaryPath;
+    this.model = null;
     init();
   }
+
+  /**
+   * Use the model without an external process. Supports models in the format of fastText 0.2 and
+   * later, like {@code lid.176.bin} and {@code lid.176.ftz}.
+   * @since 6.9
+   */
+  public FastTextDetector(File modelPath) throws IOException {
+    this.modelPath = modelPath;
+    this.model = FastTextModel.load(modelPath);
+  }
   
   private void init() throws IOException{
     fasttextProcess = new ProcessBuilder(binaryPath.getPath(), "predict-prob", modelPath.getPath(), "-", "" + K_HIGHEST_SCORES).start();
@@ -80,10 +95,22 @@ public class FastTextDetector {
     fasttextProcess = null;
     fasttextIn = null;
     fasttextOut = null;
+    model = null;
   }
 
   public Map<String, Double> runFasttext(String text, List<String> additionalLanguageCodes) throws IOException {
     String joined = text.replace('\n', ' ').toLowerCase(Locale.ROOT);
+    if (model != null) {
+      Map<String, Double> predictions = model.predict(joined, K_HIGHEST_SCORES);
+      if (predictions.isEmpty()) {
+        throw new FastTextException("fastText model returned no prediction for: '" + joined + "'", false);
+      }
+      Map<String, Double> probabilities = new HashMap<>();
+      for (Map.Entry<String, Double> entry : predictions.entrySet()) {
+        addProbability(probabilities, entry.getKey(), entry.getValue(), additionalLanguageCodes);
+      }
+      return probabilities;
+    }
     char[] cbuf = new char[BUFFER_SIZE];
     synchronized (this) {
       fasttextOut.write(joined + System.lineSeparator());
@@ -123,18 +150,22 @@ public class FastTextDetector {
     }
     Map<String, Double> probabilities = new HashMap<>();
     for (int i = 0; i < values.length; i += 2) {
-      String lang = values[i];
-      String langCode = lang.substring(lang.lastIndexOf("__") + 2);
-      String prob = values[i + 1];
-      Double probValue = Double.parseDouble(prob);
-      if (LanguageIdentifierService.INSTANCE.canLanguageBeDetected(langCode, additionalLanguageCodes)) {
-        probabilities.put(langCode, probValue);
-      }
+      addProbability(probabilities, values[i], Double.parseDouble(values[i + 1]), additionalLanguageCodes);
     }
     return probabilities;
   }
 
+  private static void addProbability(Map<String, Double> probabilities, String label, double probability, List<String> additionalLanguageCodes) {
+    String langCode = label.substring(label.lastIndexOf("__") + 2);
+    if (LanguageIdentifierService.INSTANCE.canLanguageBeDetected(langCode, additionalLanguageCodes)) {
+      probabilities.put(langCode, probability);
+    }
+  }
+
   public synchronized boolean restartProcess() throws IOException {
+    if (model != null) {
+      return false;  // there's no process that could be restarted
+    }
     try {
       runFasttext("This is a test text that should work.", Collections.emptyList());
     } catch (IOException | FastTextException e) {
@@ -150,7 +181,9 @@ public class FastTextDetector {
   }
 
   void destroy() {
-    fasttextProcess.destroy();
+    if (fasttextProcess != null) {
+      fasttextProcess.destroy();
+    }
   }
 
 }
@@ -0,0 +1,608 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A supervised fastText model ({@code .bin} or quantized {@code .ftz} file as written by fastText 0.2 and later),
+ * used for prediction like {@code fasttext predict-prob}. The embedding matrices are memory-mapped and
+ * only read, so one instance can be used by any number of threads without locking.
+ * @since 6.9
+ */
+final class FastTextModel {
+
+  private static final int MAGIC = 793712314;
+  private static final int MIN_VERSION = 11;
+  private static final int MAX_VERSION = 12;
+  private static final int MODEL_SUPERVISED = 3;
+  private static final int LOSS_HS = 1;
+  private static final int LOSS_NS = 2;
+  private static final int LOSS_SOFTMAX = 3;
+  private static final int LOSS_OVA = 4;
+  private static final String EOS = "</s>";
+  private static final String LABEL_PREFIX = "__label__";
+  private static final byte BOW = '<';
+  private static final byte EOW = '>';
+  private static final int KSUB = 256;  // number of centroids per sub-quantizer
+
+  private final int dim;
+  private final int wordNgrams;
+  private final int loss;
+  private final int bucket;
+  private final int minn;
+  private final int maxn;
+  private final int nwords;
+  private final Map<String, Integer> wordIds;
+  private final String[] labels;
+  private final Map<Integer, Integer> pruneIndex;  // null if the model has not been pruned
+  private final Matrix input;
+  private final Matrix output;
+  // Huffman tree for hierarchical softmax, the labels are the leaves:
+  private final int[] treeLeft;
+  private final int[] treeRight;
+
+  static FastTextModel load(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("fastText model is too large to be memory-mapped: " + file + " (" + channel.size() + " bytes)");
+      }
+      // the mapping stays valid after the channel has been closed:
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new FastTextModel(buffer.order(ByteOrder.LITTLE_ENDIAN));
+    } catch (BufferUnderflowException e) {
+      throw new IOException("fastText model is truncated: " + file, e);
+    } catch (IOException e) {
+      throw new IOException("Could not load fastText model " + file + ": " + e.getMessage(), e);
+    }
+  }
+
+  FastTextModel(ByteBuffer in) throws IOException {
+    if (in.getInt() != MAGIC) {
+      throw new IOException("Not a fastText model, magic number doesn't match");
+    }
+    int version = in.getInt();
+    if (version < MIN_VERSION || version > MAX_VERSION) {
+      throw new IOException("Unsupported fastText model version " + version + ", supported: " + MIN_VERSION + " to " + MAX_VERSION);
+    }
+    dim = in.getInt();
+    in.getInt();  // ws
+    in.getInt();  // epoch
+    in.getInt();  // minCount
+    in.getInt();  // neg
+    wordNgrams = in.getInt();
+    loss = in.getInt();
+    int model = in.getInt();
+    bucket = in.getInt();
+    minn = in.getInt();
+    int maxn = in.getInt();
+    in.getInt();  // lrUpdateRate
+    in.getDouble();  // t
+    if (model != MODEL_SUPERVISED) {
+      throw new IOException("Only supervised fastText models can be used for prediction, got model type " + model);
+    }
+    if (loss != LOSS_HS && loss != LOSS_NS && loss != LOSS_SOFTMAX && loss != LOSS_OVA) {
+      throw new IOException("Unknown loss type in fastText model: " + loss);
+    }
+    // like fastText: old supervised models don't use character n-grams
+    this.maxn = version == 11 ? 0 : maxn;
+
+    int size = in.getInt();
+    nwords = in.getInt();
+    int nlabels = in.getInt();
+    in.getLong();  // ntokens
+    long pruneIndexSize = in.getLong();
+    if (size != nwords + nlabels || nlabels <= 0) {
+      throw new IOException("Invalid fastText dictionary: " + size + " entries, " + nwords + " words, " + nlabels + " labels");
+    }
+    wordIds = new HashMap<>((int) (nwords / 0.75f) + 1);
+    labels = new String[nlabels];
+    long[] labelCounts = new long[nlabels];
+    for (int i = 0; i < size; i++) {
+      String entry = readString(in);
+      long count = in.getLong();
+      in.get();  // entry type, words come before labels
+      if (i < nwords) {
+        wordIds.put(entry, i);
+      } else {
+        labels[i - nwords] = entry;
+        labelCounts[i - nwords] = count;
+      }
+    }
+    // like fastText: -1 if the model has not been pruned, 0 if it has been pruned so that no n-gram is left
+    if (pruneIndexSize >= 0) {
+      pruneIndex = new HashMap<>();
+      for (long i = 0; i < pruneIndexSize; i++) {
+        pruneIndex.put(in.getInt(), in.getInt());
+      }
+    } else {
+      pruneIndex = null;
+    }
+
+    boolean quantInput = in.get() != 0;
+    input = quantInput ? QuantMatrix.read(in) : DenseMatrix.read(in);
+    if (!quantInput && pruneIndex != null) {
+      throw new IOException("Invalid fastText model: dictionary is pruned, but input matrix is not quantized");
+    }
+    boolean quantOutput = in.get() != 0;
+    output = quantInput && quantOutput ? QuantMatrix.read(in) : DenseMatrix.read(in);
+    if (input.cols() != dim || output.cols() != dim) {
+      throw new IOException("Invalid fastText model: matrix dimensions " + input.cols() + "/" + output.cols() + " don't match " + dim);
+    }
+
+    if (loss == LOSS_HS) {
+      treeLeft = new int[2 * nlabels - 1];
+      treeRight = new int[2 * nlabels - 1];
+      buildTree(labelCounts);
+    } else {
+      treeLeft = null;
+      treeRight = null;
+    }
+  }
+
+  private static String readString(ByteBuffer in) {
+    int start = in.position();
+    while (in.get() != 0) {
+      // just skip to the end of the zero-terminated string
+    }
+    byte[] bytes = new byte[in.position() - start - 1];
+    in.position(start);
+    in.get(bytes);
+    in.get();
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Same as {@code HierarchicalSoftmaxLoss::buildTree()} in fastText. */
+  private void buildTree(long[] counts) {
+    int osz = counts.length;
+    long[] treeCount = new long[2 * osz - 1];
+    Arrays.fill(treeLeft, -1);
+    Arrays.fill(treeRight, -1);
+    Arrays.fill(treeCount, 1_000_000_000_000_000L);
+    System.arraycopy(counts, 0, treeCount, 0, osz);
+    int leaf = osz - 1;
+    int node = osz;
+    for (int i = osz; i < 2 * osz - 1; i++) {
+      int[] mini = new int[2];
+      for (int j = 0; j < 2; j++) {
+        if (leaf >= 0 && treeCount[leaf] < treeCount[node]) {
+          mini[j] = leaf--;
+        } else {
+          mini[j] = node++;
+        }
+      }
+      treeLeft[i] = mini[0];
+      treeRight[i] = mini[1];
+      treeCount[i] = treeCount[mini[0]] + treeCount[mini[1]];
+    }
+  }
+
+  /**
+   * @param text a single line of text, fastText expects it to be lowercase for language identification
+   * @param k the maximum number of labels to return
+   * @return labels (including their {@code __label__} prefix) and their probabilities, most probable first,
+   * like the output of {@code fasttext predict-prob} with threshold 0
+   */
+  Map<String, Double> predict(String text, int k) {
+    IntList ids = getInputIds(text);
+    if (ids.size == 0 || k <= 0) {
+      return Collections.emptyMap();
+    }
+    float[] hidden = new float[dim];
+    for (int i = 0; i < ids.size; i++) {
+      input.addRowTo(hidden, ids.values[i]);
+    }
+    float scale = 1.0f / ids.size;
+    for (int i = 0; i < dim; i++) {
+      hidden[i] *= scale;
+    }
+    Predictions predictions = new Predictions(Math.min(k, labels.length));
+    if (loss == LOSS_HS) {
+      dfs(2 * labels.length - 2, 0.0f, hidden, predictions);
+    } else {
+      float[] out = new float[labels.length];
+      for (int i = 0; i < out.length; i++) {
+        out[i] = output.dotRow(hidden, i);
+      }
+      if (loss == LOSS_SOFTMAX) {
+        softmax(out);
+      } else {
+        for (int i = 0; i < out.length; i++) {
+          out[i] = sigmoid(out[i]);
+        }
+      }
+      for (int i = 0; i < out.length; i++) {
+        predictions.offer(stdLog(out[i]), i);
+      }
+    }
+    return predictions.toMap(labels);
+  }
+
+  private void dfs(int node, float score, float[] hidden, Predictions predictions) {
+    if (score < stdLog(0.0f) || (predictions.isFull() && score < predictions.lowestScore())) {
+      return;
+    }
+    if (treeLeft[node] == -1 && treeRight[node] == -1) {
+      predictions.offer(score, node);
+      return;
+    }
+    float f = sigmoid(output.dotRow(hidden, node - labels.length));
+    dfs(treeLeft[node], score + stdLog(1.0f - f), hidden, predictions);
+    dfs(treeRight[node], score + stdLog(f), hidden, predictions);
+  }
+
+  private static void softmax(float[] out) {
+    float max = out[0];
+    for (float value : out) {
+      max = Math.max(value, max);
+    }
+    float z = 0.0f;
+    for (int i = 0; i < out.length; i++) {
+      out[i] = (float) Math.exp(out[i] - max);
+      z += out[i];
+    }
+    for (int i = 0; i < out.length; i++) {
+      out[i] /= z;
+    }
+  }
+
+  private static float sigmoid(float x) {
+    return (float) (1.0 / (1.0 + Math.exp(-x)));
+  }
+
+  private static float stdLog(float x) {
+    return (float) Math.log(x + 1e-5);
+  }
+
+  /**
+   * Same as {@code Dictionary::getLine()} in fastText: the ids of the words, their character n-grams
+   * and the word n-grams of the first line of {@code text}.
+   */
+  IntList getInputIds(String text) {
+    IntList ids = new IntList();
+    IntList wordHashes = new IntList();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      char c = i < text.length() ? text.charAt(i) : '\n';
+      if (isSeparator(c)) {
+        if (start != -1) {
+          addToken(text.substring(start, i), ids, wordHashes);
+          start = -1;
+        }
+        if (c == '\n') {
+          addToken(EOS, ids, wordHashes);
+          break;
+        }
+      } else if (start == -1) {
+        start = i;
+      }
+    }
+    if (wordNgrams > 1) {
+      for (int i = 0; i < wordHashes.size; i++) {
+        long h = wordHashes.values[i];
+        for (int j = i + 1; j < wordHashes.size && j < i + wordNgrams; j++) {
+          h = h * 116049371 + wordHashes.values[j];
+          addHash(ids, (int) Long.remainderUnsigned(h, bucket));
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\u000B' || c == '\f' || c == '\0';
+  }
+
+  private void addToken(String token, IntList ids, IntList wordHashes) {
+    if (token.startsWith(LABEL_PREFIX)) {
+      return;
+    }
+    byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+    Integer wordId = wordIds.get(token);
+    if (wordId != null) {
+      ids.add(wordId);
+    }
+    if (!token.equals(EOS) && (wordId == null || maxn > 0)) {
+      addSubwords(ids, bytes);
+    }
+    wordHashes.add(hash(bytes, 0, bytes.length));
+  }
+
+  /** Same as {@code Dictionary::computeSubwords()} in fastText, working on UTF-8 bytes. */
+  private void addSubwords(IntList ids, byte[] token) {
+    if (bucket == 0) {
+      return;
+    }
+    byte[] word = new byte[token.length + 2];
+    word[0] = BOW;
+    System.arraycopy(token, 0, word, 1, token.length);
+    word[word.length - 1] = EOW;
+    for (int i = 0; i < word.length; i++) {
+      if ((word[i] & 0xC0) == 0x80) {
+        continue;
+      }
+      int j = i;
+      for (int n = 1; j < word.length && n <= maxn; n++) {
+        j++;
+        while (j < word.length && (word[j] & 0xC0) == 0x80) {
+          j++;
+        }
+        if (n >= minn && !(n == 1 && (i == 0 || j == word.length))) {
+          addHash(ids, (int) (Integer.toUnsignedLong(hash(word, i, j)) % bucket));
+        }
+      }
+    }
+  }
+
+  private void addHash(IntList ids, int hash) {
+    if (pruneIndex != null) {
+      Integer prunedHash = pruneIndex.get(hash);
+      if (prunedHash != null) {
+        ids.add(nwords + prunedHash);
+      }
+    } else {
+      ids.add(nwords + hash);
+    }
+  }
+
+  /** FNV-1a, with bytes sign-extended like in fastText. */
+  static int hash(byte[] bytes, int from, int to) {
+    int h = (int) 2166136261L;
+    for (int i = from; i < to; i++) {
+      h ^= bytes[i];
+      h *= 16777619;
+    }
+    return h;
+  }
+
+  static final class IntList {
+    private int[] values = new int[32];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+  /** The k best predictions, with log probabilities as scores. */
+  private static final class Predictions {
+    private final float[] scores;
+    private final int[] ids;
+    private int size;
+
+    Predictions(int k) {
+      scores = new float[k];
+      ids = new int[k];
+    }
+
+    boolean isFull() {
+      return size == scores.length;
+    }
+
+    float lowestScore() {
+      return scores[lowestIndex()];
+    }
+
+    void offer(float score, int id) {
+      if (!isFull()) {
+        scores[size] = score;
+        ids[size++] = id;
+      } else {
+        int lowest = lowestIndex();
+        if (score > scores[lowest]) {
+          scores[lowest] = score;
+          ids[lowest] = id;
+        }
+      }
+    }
+
+    private int lowestIndex() {
+      int lowest = 0;
+      for (int i = 1; i < size; i++) {
+        if (scores[i] < scores[lowest]) {
+          lowest = i;
+        }
+      }
+      return lowest;
+    }
+
+    Map<String, Double> toMap(String[] labels) {
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (i1, i2) -> Float.compare(scores[i2], scores[i1]));
+      Map<String, Double> result = new LinkedHashMap<>();
+      for (int i : order) {
+        result.put(labels[ids[i]], Math.exp(scores[i]));
+      }
+      return result;
+    }
+  }
+
+  private interface Matrix {
+    int cols();
+    void addRowTo(float[] x, int row);
+    float dotRow(float[] x, int row);
+  }
+
+  private static ByteBuffer slice(ByteBuffer in, long length) throws IOException {
+    if (length < 0 || length > in.remaining()) {
+      throw new IOException("Invalid fastText model: matrix of " + length + " bytes exceeds the file size");
+    }
+    ByteBuffer slice = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+    slice.limit((int) length);
+    in.position(in.position() + (int) length);
+    return slice;
+  }
+
+  private static final class DenseMatrix implements Matrix {
+    private final FloatBuffer data;
+    private final int n;
+
+    private DenseMatrix(FloatBuffer data, int n) {
+      this.data = data;
+      this.n = n;
+    }
+
+    static DenseMatrix read(ByteBuffer in) throws IOException {
+      long m = in.getLong();
+      long n = in.getLong();
+      return new DenseMatrix(slice(in, m * n * Float.BYTES).asFloatBuffer(), (int) n);
+    }
+
+    @Override
+    public int cols() {
+      return n;
+    }
+
+    @Override
+    public void addRowTo(float[] x, int row) {
+      int offset = row * n;
+      for (int i = 0; i < n; i++) {
+        x[i] += data.get(offset + i);
+      }
+    }
+
+    @Override
+    public float dotRow(float[] x, int row) {
+      int offset = row * n;
+      float result = 0.0f;
+      for (int i = 0; i < n; i++) {
+        result += x[i] * data.get(offset + i);
+      }
+      return result;
+    }
+  }
+
+  /** Same as {@code QuantMatrix} and {@code ProductQuantizer} in fastText, with 8 bits per code. */
+  private static final class QuantMatrix implements Matrix {
+    private final int n;
+    private final ByteBuffer codes;
+    private final ProductQuantizer pq;
+    private final ByteBuffer normCodes;  // null if the norms are not quantized
+    private final ProductQuantizer npq;
+
+    private QuantMatrix(int n, ByteBuffer codes, ProductQuantizer pq, ByteBuffer normCodes, ProductQuantizer npq) {
+      this.n = n;
+      this.codes = codes;
+      this.pq = pq;
+      this.normCodes = normCodes;
+      this.npq = npq;
+    }
+
+    static QuantMatrix read(ByteBuffer in) throws IOException {
+      boolean qnorm = in.get() != 0;
+      long m = in.getLong();
+      long n = in.getLong();
+      int codeSize = in.getInt();
+      ByteBuffer codes = slice(in, codeSize);
+      ProductQuantizer pq = ProductQuantizer.read(in);
+      if (qnorm) {
+        ByteBuffer normCodes = slice(in, m);
+        return new QuantMatrix((int) n, codes, pq, normCodes, ProductQuantizer.read(in));
+      }
+      return new QuantMatrix((int) n, codes, pq, null, null);
+    }
+
+    private float norm(int row) {
+      return normCodes != null ? npq.centroids[normCodes.get(row) & 0xFF] : 1.0f;
+    }
+
+    @Override
+    public int cols() {
+      return n;
+    }
+
+    @Override
+    public void addRowTo(float[] x, int row) {
+      float alpha = norm(row);
+      int codeOffset = pq.nsubq * row;
+      for (int m = 0; m < pq.nsubq; m++) {
+        int centroid = pq.centroidOffset(m, codes.get(codeOffset + m) & 0xFF);
+        int d = m == pq.nsubq - 1 ? pq.lastdsub : pq.dsub;
+        for (int i = 0; i < d; i++) {
+          x[m * pq.dsub + i] += alpha * pq.centroids[centroid + i];
+        }
+      }
+    }
+
+    @Override
+    public float dotRow(float[] x, int row) {
+      float result = 0.0f;
+      int codeOffset = pq.nsubq * row;
+      for (int m = 0; m < pq.nsubq; m++) {
+        int centroid = pq.centroidOffset(m, codes.get(codeOffset + m) & 0xFF);
+        int d = m == pq.nsubq - 1 ? pq.lastdsub : pq.dsub;
+        for (int i = 0; i < d; i++) {
+          result += x[m * pq.dsub + i] * pq.centroids[centroid + i];
+        }
+      }
+      return result * norm(row);
+    }
+  }
+
+  private static final class ProductQuantizer {
+    private final int nsubq;
+    private final int dsub;
+    private final int lastdsub;
+    private final float[] centroids;
+
+    private ProductQuantizer(int nsubq, int dsub, int lastdsub, float[] centroids) {
+      this.nsubq = nsubq;
+      this.dsub = dsub;
+      this.lastdsub = lastdsub;
+      this.centroids = centroids;
+    }
+
+    static ProductQuantizer read(ByteBuffer in) throws IOException {
+      int dim = in.getInt();
+      int nsubq = in.getInt();
+      int dsub = in.getInt();
+      int lastdsub = in.getInt();
+      float[] centroids = new float[dim * KSUB];
+      slice(in, (long) centroids.length * Float.BYTES).asFloatBuffer().get(centroids);
+      return new ProductQuantizer(nsubq, dsub, lastdsub, centroids);
+    }
+
+    int centroidOffset(int m, int code) {
+      if (m == nsubq - 1) {
+        return m * KSUB * dsub + code * lastdsub;
+      }
+      return (m * KSUB + code) * dsub;
+    }
+  }
+
+}
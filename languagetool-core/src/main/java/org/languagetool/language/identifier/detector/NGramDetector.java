@@ -29,7 +29,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
-import static java.lang.StrictMath.log;
+import static java.lang.StrictMath.exp;
 import static java.lang.StrictMath.min;
 import static java.util.regex.Pattern.compile;
 
@@ -48,9 +48,10 @@ public class NGramDetector {
   private static final Pattern WHITESPACE = compile("\\s+");
 
   private final Map<String, Integer> vocab;
+  private final int maxTokenLength;
   private final List<String[]> codes; // Elem format = {Name, 2-code (or "NULL"), 3-code}
 
-  private final List<Map<String, Double>> knpBigramProbs;
+  private final BigramLogProbs bigramLogProbs;
   private final int thresholdsStart;
   private final List<double[]> thresholds;
 
@@ -83,6 +84,7 @@ public class NGramDetector {
         i++;
       }
     }
+    maxTokenLength = vocab.keySet().stream().mapToInt(String::length).max().orElse(0);
 
     //Load thresholds
     thresholds = new ArrayList<>();
@@ -97,45 +99,38 @@ public class NGramDetector {
     }
 
     //Load transition matrices - Line format = {i} {j} {val}
-    knpBigramProbs = expectedFiles().stream().map(this::readLines).parallel().map(NGramDetector::loadDict).collect(Collectors.toList());
+    List<BigramLogProbs.LanguageBigrams> bigrams = expectedFiles().stream().map(this::readLines).parallel()
+      .map(BigramLogProbs.LanguageBigrams::parse).collect(Collectors.toList());
+    bigramLogProbs = new BigramLogProbs(bigrams, EPSILON);
   }
 
   public Map<String, Double> detectLanguages(String text, List<String> additionalLanguageCodes) {
-    List<Integer> enc = encode(text);
-    List<Double> finalProbs = new ArrayList<>();
-    List<int[]> keys = keys(enc);
-
-    for (int i = 0; i < codes.size(); i++) {
-      double val = 0;
-      for (int[] key: keys) {
-        double prob = knpBigramProbs.get(i).getOrDefault(key[0] + "_" + key[1], EPSILON);
-        val += log(prob);
-      }
-      finalProbs.add(val);
-    }
+    double[] finalProbs = bigramLogProbs.score(encode(text));
 
     Map<String, Double> result = new HashMap<>();
 
     if (text.length() >= this.thresholdsStart) {
       int argMax = 0;
-      for (int i = 1; i < finalProbs.size(); i++) {
-        if (finalProbs.get(i) > finalProbs.get(argMax)) {
+      for (int i = 1; i < finalProbs.length; i++) {
+        if (finalProbs[i] > finalProbs[argMax]) {
           argMax = i;
         }
       }
       int thresholdIndex = min(text.length(), maxLength) - this.thresholdsStart;
-      if (finalProbs.get(argMax) < thresholds.get(thresholdIndex)[argMax]) {
+      if (finalProbs[argMax] < thresholds.get(thresholdIndex)[argMax]) {
         result.put(NoopLanguage.SHORT_CODE, 100.0);
         return result;
       }
     }
 
-    finalProbs = finalProbs.stream().map(StrictMath::exp).collect(Collectors.toList());
-    finalProbs = normalize(finalProbs);
+    for (int i = 0; i < finalProbs.length; i++) {
+      finalProbs[i] = exp(finalProbs[i]);
+    }
+    normalize(finalProbs);
     for (int i = 0; i < codes.size(); i++) {
       String langCode = codes.get(i)[1].equals("NULL") ? codes.get(i)[2] : codes.get(i)[1]; //2-character code if possible
       if (LanguageIdentifierService.INSTANCE.canLanguageBeDetected(langCode, additionalLanguageCodes)) {
-        result.put(langCode, finalProbs.get(i));
+        result.put(langCode, finalProbs[i]);
       }
     }
 
@@ -161,16 +156,6 @@ public class NGramDetector {
     return result;
   }
 
-  private static Map<String, Double> loadDict(List<String> lines)  {
-    Map<String, Double> tm = new HashMap<>();
-    for (String line : lines) {
-      String[] parts = line.trim().split(" ");
-      String key = String.join("_", Arrays.copyOfRange(parts, 0, parts.length-1));
-      tm.put(key, Double.parseDouble(parts[parts.length-1]));
-    }
-    return tm;
-  }
-
   private List<String> expectedFiles() {
     List<String> result = new ArrayList<>();
     for (int i = 0; i < codes.size(); i++) {
@@ -180,9 +165,10 @@ public class NGramDetector {
     return result;
   }
 
-  private List<Integer> encode(String text) {
-    List<Integer> result = new ArrayList<>();
-    result.add(1); //Start of sentence token
+  private int[] encode(String text) {
+    int[] result = new int[min(text.length(), maxLength) + 2];
+    int size = 0;
+    result[size++] = 1; //Start of sentence token
     if (text.length() > maxLength) {
       text = text.substring(0, maxLength);
     }
@@ -198,14 +184,16 @@ public class NGramDetector {
     text = TAMIL.matcher(text).replaceAll("<TA>");
     text = WHITESPACE.matcher(text).replaceAll("▁");
     if (text.length() == 0) {
-      return result;
+      return Arrays.copyOf(result, size);
     }
     text = "▁" + text;
     int cur = 0;
     while (cur < text.length()) {
       int tok = 0;
       int ci = 1;
-      for (int i = cur + 1; i <= text.length(); i++) {
+      // longer substrings cannot be in the vocabulary:
+      int end = min(text.length(), cur + maxTokenLength);
+      for (int i = cur + 1; i <= end; i++) {
         int maybeTok = vocab.getOrDefault(text.substring(cur, i), -1);
         if (maybeTok > -1) {
           tok = maybeTok;
@@ -213,22 +201,18 @@ public class NGramDetector {
         }
       }
       cur += ci;
-      result.add(tok);
+      if (size == result.length) {
+        result = Arrays.copyOf(result, size * 2);
+      }
+      result[size++] = tok;
     }
-    return result;
+    return Arrays.copyOf(result, size);
   }
 
-  private List<int[]> keys(List<Integer> enc) {
-    //For now just bigrams
-    List<int[]> result = new ArrayList<>();
-    for (int i = 1; i < enc.size(); i++) {
-      result.add(new int[]{enc.get(i-1), enc.get(i)});
+  private static void normalize(double[] vals) {
+    double tot = Arrays.stream(vals).sum();
+    for (int i = 0; i < vals.length; i++) {
+      vals[i] /= tot;
     }
-    return result;
-  }
-
-  private List<Double> normalize(List<Double> vals) {
-    double tot = vals.stream().mapToDouble(f -> f).sum();
-    return vals.stream().map(n -> n/tot).collect(Collectors.toList());
   }
 }
@@ -0,0 +1,149 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches the end of words against a set of suffixes by walking a trie of the reversed suffixes,
+ * starting with the last character of the word. Suffix patterns can contain character classes
+ * like {@code [áó]}, {@code .} for any character, and {@code ?} to make the preceding character
+ * or class optional.
+ * @since 6.9
+ */
+final class SuffixTrie {
+
+  private static final char ANY = '\0';
+
+  private final Node root = new Node();
+
+  SuffixTrie(String... patterns) {
+    for (String pattern : patterns) {
+      for (String suffix : expand(pattern)) {
+        add(suffix);
+      }
+    }
+  }
+
+  private static List<String> expand(String pattern) {
+    List<String> result = Collections.singletonList("");
+    int i = 0;
+    while (i < pattern.length()) {
+      String options;
+      if (pattern.charAt(i) == '[') {
+        int end = pattern.indexOf(']', i);
+        options = pattern.substring(i + 1, end);
+        i = end + 1;
+      } else {
+        options = pattern.charAt(i) == '.' ? String.valueOf(ANY) : String.valueOf(pattern.charAt(i));
+        i++;
+      }
+      boolean optional = i < pattern.length() && pattern.charAt(i) == '?';
+      if (optional) {
+        i++;
+      }
+      List<String> expanded = new ArrayList<>();
+      for (String prefix : result) {
+        if (optional) {
+          expanded.add(prefix);
+        }
+        for (char c : options.toCharArray()) {
+          expanded.add(prefix + c);
+        }
+      }
+      result = expanded;
+    }
+    return result;
+  }
+
+  private void add(String suffix) {
+    Node node = root;
+    for (int i = suffix.length() - 1; i >= 0; i--) {
+      node = node.getOrAddChild(suffix.charAt(i));
+    }
+    node.terminal = true;
+  }
+
+  /**
+   * @return whether {@code word} ends with one of the suffixes
+   */
+  boolean isSuffixOf(String word) {
+    return matches(word, 0, word.length());
+  }
+
+  /**
+   * @return whether {@code word} ends with one of the suffixes that starts at an index
+   * from {@code minStart} to {@code maxStart} (both inclusive) of {@code word}
+   */
+  boolean matches(String word, int minStart, int maxStart) {
+    return matches(root, word, word.length(), minStart, maxStart);
+  }
+
+  private static boolean matches(Node node, String word, int start, int minStart, int maxStart) {
+    if (node.terminal && start >= minStart && start <= maxStart) {
+      return true;
+    }
+    if (start <= minStart) {
+      return false;
+    }
+    char c = word.charAt(start - 1);
+    Node child = node.getChild(c);
+    if (child != null && matches(child, word, start - 1, minStart, maxStart)) {
+      return true;
+    }
+    Node any = node.getChild(ANY);
+    if (any != null) {
+      // like '.' in a regex, match a whole code point:
+      boolean surrogatePair = start >= 2 && Character.isLowSurrogate(c) && Character.isHighSurrogate(word.charAt(start - 2));
+      return matches(any, word, surrogatePair ? start - 2 : start - 1, minStart, maxStart);
+    }
+    return false;
+  }
+
+  private static final class Node {
+    private char[] keys = new char[0];
+    private Node[] children = new Node[0];
+    private boolean terminal;
+
+    Node getChild(char c) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == c) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    Node getOrAddChild(char c) {
+      Node child = getChild(c);
+      if (child == null) {
+        child = new Node();
+        keys = Arrays.copyOf(keys, keys.length + 1);
+        children = Arrays.copyOf(children, children.length + 1);
+        keys[keys.length - 1] = c;
+        children[children.length - 1] = child;
+      }
+      return child;
+    }
+  }
+
+}
@@ -41,13 +41,24 @@ public class AnnotatedText {
   }
 
   private final List<TextPart> parts;
-  private final Map<Integer, MappingValue> mapping;  // plain text position to original text (with markup) position
+  // plain text position to original text (with markup) position, sorted by plain text position
+  // so a position can be looked up with binary search:
+  private final int[] mappingPositions;
+  private final MappingValue[] mappingValues;
   private final Map<MetaDataKey, String> metaData;
   private final Map<String, String> customMetaData;
 
-  AnnotatedText(List<TextPart> parts, Map<Integer, MappingValue> mapping, Map<MetaDataKey, String> metaData, Map<String, String> customMetaData) {
+  /**
+   * @param mappingPositions plain text positions in strictly ascending order
+   * @param mappingValues the original text positions for {@code mappingPositions}
+   */
+  AnnotatedText(List<TextPart> parts, int[] mappingPositions, MappingValue[] mappingValues, Map<MetaDataKey, String> metaData, Map<String, String> customMetaData) {
+    if (mappingPositions.length != mappingValues.length) {
+      throw new IllegalArgumentException("Mapping positions and values must have the same length: " + mappingPositions.length + " != " + mappingValues.length);
+    }
     this.parts = Objects.requireNonNull(parts);
-    this.mapping = Objects.requireNonNull(mapping);
+    this.mappingPositions = mappingPositions;
+    this.mappingValues = mappingValues;
     this.metaData = Objects.requireNonNull(metaData);
     this.customMetaData = Objects.requireNonNull(customMetaData);
   }
@@ -110,26 +121,18 @@ public class AnnotatedText {
     if (plainTextPosition < 0) {
       throw new IllegalArgumentException("plainTextPosition must be >= 0: " + plainTextPosition);
     }
-    if (mapping.isEmpty()) {
+    if (mappingPositions.length == 0) {
       return 0;
     }
-    int minDiff = Integer.MAX_VALUE;
-    MappingValue bestMatch = null;
-    // algorithm: find the closest lower position
-    for (Map.Entry<Integer, MappingValue> entry : mapping.entrySet()) {
-      int maybeClosePosition = entry.getKey();
-      if (plainTextPosition < maybeClosePosition) {
-        int diff = maybeClosePosition - plainTextPosition;
-        if (diff > 0 && diff < minDiff) {
-          bestMatch = entry.getValue();
-          minDiff = diff;
-        }
-      }
-    }
-    if (bestMatch == null) {
-      String msg = "mappings: " + (mapping.size() < 5 ? mapping : mapping.size());
+    // algorithm: find the closest mapping position that's larger than plainTextPosition
+    int idx = Arrays.binarySearch(mappingPositions, plainTextPosition);
+    int closest = idx >= 0 ? idx + 1 : -idx - 1;
+    if (closest >= mappingPositions.length) {
+      String msg = "mappings: " + (mappingPositions.length < 5 ? getMappingAsString() : mappingPositions.length);
       throw new RuntimeException("Could not map " + plainTextPosition + " to original position. isToPos: " + isToPos + ", " + msg);
     }
+    MappingValue bestMatch = mappingValues[closest];
+    int minDiff = mappingPositions[closest] - plainTextPosition;
     // we remove markup total length if usage of fake markup and need from position
     if (!isToPos && bestMatch.getFakeMarkupLength() > 0) {
       minDiff = bestMatch.getFakeMarkupLength();
@@ -140,6 +143,14 @@ public class AnnotatedText {
     return bestMatch.getTotalPosition() - minDiff;
   }
   
+  private String getMappingAsString() {
+    StringJoiner sj = new StringJoiner(", ", "{", "}");
+    for (int i = 0; i < mappingPositions.length; i++) {
+      sj.add(mappingPositions[i] + "=" + mappingValues[i]);
+    }
+    return sj.toString();
+  }
+
   /**
    * @since 3.9
    */
@@ -19,6 +19,7 @@
 package org.languagetool.markup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -129,27 +130,36 @@ public class AnnotatedTextBuilder {
   public AnnotatedText build() {
     int plainTextPosition = 0;
     int totalPosition = 0;
-    Map<Integer, MappingValue> mapping = new HashMap<>();
+    // plainTextPosition never decreases, so the mapping can be collected in ascending order,
+    // a position that's already mapped can only be the last one:
+    int[] positions = new int[parts.size()];
+    MappingValue[] values = new MappingValue[parts.size()];
+    int size = 0;
     for (int i = 0; i < parts.size(); i++) {
       TextPart part = parts.get(i);
       if (part.getType() == TextPart.Type.TEXT) {
         plainTextPosition += part.getPart().length();
         totalPosition += part.getPart().length();
         MappingValue mappingValue = new MappingValue(totalPosition);
-        mapping.put(plainTextPosition, mappingValue);
+        if (size > 0 && positions[size - 1] == plainTextPosition) {
+          values[size - 1] = mappingValue;
+        } else {
+          positions[size] = plainTextPosition;
+          values[size++] = mappingValue;
+        }
       } else if (part.getType() == TextPart.Type.MARKUP) {
         totalPosition += part.getPart().length();
         if (hasFakeContent(i, parts)) {
           plainTextPosition += parts.get(i + 1).getPart().length();
           i++;
-          if (mapping.get(plainTextPosition) == null) {
-            MappingValue mappingValue = new MappingValue(totalPosition, part.getPart().length());
-            mapping.put(plainTextPosition, mappingValue);
+          if (size == 0 || positions[size - 1] != plainTextPosition) {
+            positions[size] = plainTextPosition;
+            values[size++] = new MappingValue(totalPosition, part.getPart().length());
           }
         }
       }
     }
-    return new AnnotatedText(parts, mapping, metaData, customMetaData);
+    return new AnnotatedText(parts, Arrays.copyOf(positions, size), Arrays.copyOf(values, size), metaData, customMetaData);
   }
 
   private boolean hasFakeContent(int i, List<TextPart> parts) {
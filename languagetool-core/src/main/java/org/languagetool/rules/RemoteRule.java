@@ -317,7 +317,7 @@ public abstract class RemoteRule extends Rule {
   @Override
   public RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
     FutureTask<RemoteRuleResult> task = run(Collections.singletonList(sentence));
-    Optional<ThreadPoolExecutor> executor = LtThreadPoolFactory.getFixedThreadPoolExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL);
+    Optional<ExecutorService> executor = LtThreadPoolFactory.getExecutorService(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL);
     try {
       long timeout = getTimeout(sentence.getText().length());
       if (executor.isPresent()) {
@@ -4091,6 +4091,120 @@ public final class MLServerProto {
      */
     org.languagetool.rules.ml.MLServerProto.MatchOrBuilder getMatchesOrBuilder(
         int index);
+
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    java.util.List<org.languagetool.rules.ml.MLServerProto.Match> 
+        getHiddenMatchesList();
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    org.languagetool.rules.ml.MLServerProto.Match getHiddenMatches(int index);
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    int getHiddenMatchesCount();
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    java.util.List<? extends org.languagetool.rules.ml.MLServerProto.MatchOrBuilder> 
+        getHiddenMatchesOrBuilderList();
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    org.languagetool.rules.ml.MLServerProto.MatchOrBuilder getHiddenMatchesOrBuilder(
+        int index);
+
+    /**
+     * <pre>
+     * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+     * </pre>
+     *
+     * <code>string incompleteResultsReason = 4;</code>
+     * @return The incompleteResultsReason.
+     */
+    java.lang.String getIncompleteResultsReason();
+    /**
+     * <pre>
+     * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+     * </pre>
+     *
+     * <code>string incompleteResultsReason = 4;</code>
+     * @return The bytes for incompleteResultsReason.
+     */
+    com.google.protobuf.ByteString
+        getIncompleteResultsReasonBytes();
+
+    /**
+     * <pre>
+     * code of the language used for checking
+     * </pre>
+     *
+     * <code>string language = 5;</code>
+     * @return The language.
+     */
+    java.lang.String getLanguage();
+    /**
+     * <pre>
+     * code of the language used for checking
+     * </pre>
+     *
+     * <code>string language = 5;</code>
+     * @return The bytes for language.
+     */
+    com.google.protobuf.ByteString
+        getLanguageBytes();
+
+    /**
+     * <pre>
+     * code of the language detected in the text
+     * </pre>
+     *
+     * <code>string detectedLanguage = 6;</code>
+     * @return The detectedLanguage.
+     */
+    java.lang.String getDetectedLanguage();
+    /**
+     * <pre>
+     * code of the language detected in the text
+     * </pre>
+     *
+     * <code>string detectedLanguage = 6;</code>
+     * @return The bytes for detectedLanguage.
+     */
+    com.google.protobuf.ByteString
+        getDetectedLanguageBytes();
+
+    /**
+     * <pre>
+     * confidence of the language detection, from 0 to 1
+     * </pre>
+     *
+     * <code>float detectedLanguageConfidence = 7;</code>
+     * @return The detectedLanguageConfidence.
+     */
+    float getDetectedLanguageConfidence();
   }
   /**
    * Protobuf type {@code lt_ml_server.ProcessResponse}
@@ -4107,6 +4221,10 @@ public final class MLServerProto {
     private ProcessResponse() {
       rawMatches_ = java.util.Collections.emptyList();
       matches_ = java.util.Collections.emptyList();
+      hiddenMatches_ = java.util.Collections.emptyList();
+      incompleteResultsReason_ = "";
+      language_ = "";
+      detectedLanguage_ = "";
     }
 
     @java.lang.Override
@@ -4211,6 +4329,223 @@ public final class MLServerProto {
       return matches_.get(index);
     }
 
+    public static final int HIDDENHIDDENMATCHES_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private java.util.List<org.languagetool.rules.ml.MLServerProto.Match> hiddenMatches_;
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.languagetool.rules.ml.MLServerProto.Match> getHiddenMatchesList() {
+      return hiddenMatches_;
+    }
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.languagetool.rules.ml.MLServerProto.MatchOrBuilder> 
+        getHiddenMatchesOrBuilderList() {
+      return hiddenMatches_;
+    }
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    @java.lang.Override
+    public int getHiddenMatchesCount() {
+      return hiddenMatches_.size();
+    }
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    @java.lang.Override
+    public org.languagetool.rules.ml.MLServerProto.Match getHiddenMatches(int index) {
+      return hiddenMatches_.get(index);
+    }
+    /**
+     * <pre>
+     * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+     * </pre>
+     *
+     * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+     */
+    @java.lang.Override
+    public org.languagetool.rules.ml.MLServerProto.MatchOrBuilder getHiddenMatchesOrBuilder(
+        int index) {
+      return hiddenMatches_.get(index);
+    }
+
+    public static final int INCOMPLETERESULTSREASON_FIELD_NUMBER = 4;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object incompleteResultsReason_ = "";
+    /**
+     * <pre>
+     * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+     * </pre>
+     *
+     * <code>string incompleteResultsReason = 4;</code>
+     * @return The incompleteResultsReason.
+     */
+    @java.lang.Override
+    public java.lang.String getIncompleteResultsReason() {
+      java.lang.Object ref = incompleteResultsReason_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        incompleteResultsReason_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+     * </pre>
+     *
+     * <code>string incompleteResultsReason = 4;</code>
+     * @return The bytes for incompleteResultsReason.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getIncompleteResultsReasonBytes() {
+      java.lang.Object ref = incompleteResultsReason_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        incompleteResultsReason_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int LANGUAGE_FIELD_NUMBER = 5;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object language_ = "";
+    /**
+     * <pre>
+     * code of the language used for checking
+     * </pre>
+     *
+     * <code>string language = 5;</code>
+     * @return The language.
+     */
+    @java.lang.Override
+    public java.lang.String getLanguage() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        language_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * code of the language used for checking
+     * </pre>
+     *
+     * <code>string language = 5;</code>
+     * @return The bytes for language.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getLanguageBytes() {
+      java.lang.Object ref = language_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        language_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int DETECTEDLANGUAGE_FIELD_NUMBER = 6;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object detectedLanguage_ = "";
+    /**
+     * <pre>
+     * code of the language detected in the text
+     * </pre>
+     *
+     * <code>string detectedLanguage = 6;</code>
+     * @return The detectedLanguage.
+     */
+    @java.lang.Override
+    public java.lang.String getDetectedLanguage() {
+      java.lang.Object ref = detectedLanguage_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        detectedLanguage_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * code of the language detected in the text
+     * </pre>
+     *
+     * <code>string detectedLanguage = 6;</code>
+     * @return The bytes for detectedLanguage.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getDetectedLanguageBytes() {
+      java.lang.Object ref = detectedLanguage_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        detectedLanguage_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int DETECTEDLANGUAGECONFIDENCE_FIELD_NUMBER = 7;
+    private float detectedLanguageConfidence_ = 0F;
+    /**
+     * <pre>
+     * confidence of the language detection, from 0 to 1
+     * </pre>
+     *
+     * <code>float detectedLanguageConfidence = 7;</code>
+     * @return The detectedLanguageConfidence.
+     */
+    @java.lang.Override
+    public float getDetectedLanguageConfidence() {
+      return detectedLanguageConfidence_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -4231,6 +4566,21 @@ public final class MLServerProto {
       for (int i = 0; i < matches_.size(); i++) {
         output.writeMessage(2, matches_.get(i));
       }
+      for (int i = 0; i < hiddenMatches_.size(); i++) {
+        output.writeMessage(3, hiddenMatches_.get(i));
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(incompleteResultsReason_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, incompleteResultsReason_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(language_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, language_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(detectedLanguage_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 6, detectedLanguage_);
+      }
+      if (java.lang.Float.floatToRawIntBits(detectedLanguageConfidence_) != 0) {
+        output.writeFloat(7, detectedLanguageConfidence_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -4248,6 +4598,23 @@ public final class MLServerProto {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(2, matches_.get(i));
       }
+      for (int i = 0; i < hiddenMatches_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, hiddenMatches_.get(i));
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(incompleteResultsReason_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, incompleteResultsReason_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(language_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, language_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(detectedLanguage_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, detectedLanguage_);
+      }
+      if (java.lang.Float.floatToRawIntBits(detectedLanguageConfidence_) != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFloatSize(7, detectedLanguageConfidence_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -4267,6 +4634,17 @@ public final class MLServerProto {
           .equals(other.getRawMatchesList())) return false;
       if (!getMatchesList()
           .equals(other.getMatchesList())) return false;
+      if (!getHiddenMatchesList()
+          .equals(other.getHiddenMatchesList())) return false;
+      if (!getIncompleteResultsReason()
+          .equals(other.getIncompleteResultsReason())) return false;
+      if (!getLanguage()
+          .equals(other.getLanguage())) return false;
+      if (!getDetectedLanguage()
+          .equals(other.getDetectedLanguage())) return false;
+      if (java.lang.Float.floatToIntBits(getDetectedLanguageConfidence())
+          != java.lang.Float.floatToIntBits(
+              other.getDetectedLanguageConfidence())) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -4286,6 +4664,19 @@ public final class MLServerProto {
         hash = (37 * hash) + MATCHES_FIELD_NUMBER;
         hash = (53 * hash) + getMatchesList().hashCode();
       }
+      if (getHiddenMatchesCount() > 0) {
+        hash = (37 * hash) + HIDDENMATCHES_FIELD_NUMBER;
+        hash = (53 * hash) + getHiddenMatchesList().hashCode();
+      }
+      hash = (37 * hash) + INCOMPLETERESULTSREASON_FIELD_NUMBER;
+      hash = (53 * hash) + getIncompleteResultsReason().hashCode();
+      hash = (37 * hash) + LANGUAGE_FIELD_NUMBER;
+      hash = (53 * hash) + getLanguage().hashCode();
+      hash = (37 * hash) + DETECTEDLANGUAGE_FIELD_NUMBER;
+      hash = (53 * hash) + getDetectedLanguage().hashCode();
+      hash = (37 * hash) + DETECTEDLANGUAGECONFIDENCE_FIELD_NUMBER;
+      hash = (53 * hash) + java.lang.Float.floatToIntBits(
+          getDetectedLanguageConfidence());
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -4431,6 +4822,17 @@ public final class MLServerProto {
           matchesBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000002);
+        if (hiddenMatchesBuilder_ == null) {
+          hiddenMatches_ = java.util.Collections.emptyList();
+        } else {
+          hiddenMatches_ = null;
+          hiddenMatchesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        incompleteResultsReason_ = "";
+        language_ = "";
+        detectedLanguage_ = "";
+        detectedLanguageConfidence_ = 0F;
         return this;
       }
 
@@ -4482,10 +4884,31 @@ public final class MLServerProto {
         } else {
           result.matches_ = matchesBuilder_.build();
         }
+        if (hiddenMatchesBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) != 0)) {
+            hiddenMatches_ = java.util.Collections.unmodifiableList(hiddenMatches_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.hiddenMatches_ = hiddenMatches_;
+        } else {
+          result.hiddenMatches_ = hiddenMatchesBuilder_.build();
+        }
       }
 
       private void buildPartial0(org.languagetool.rules.ml.MLServerProto.ProcessResponse result) {
         int from_bitField0_ = bitField0_;
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.incompleteResultsReason_ = incompleteResultsReason_;
+        }
+        if (((from_bitField0_ & 0x00000010) != 0)) {
+          result.language_ = language_;
+        }
+        if (((from_bitField0_ & 0x00000020) != 0)) {
+          result.detectedLanguage_ = detectedLanguage_;
+        }
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          result.detectedLanguageConfidence_ = detectedLanguageConfidence_;
+        }
       }
 
       @java.lang.Override
@@ -4584,6 +5007,50 @@ public final class MLServerProto {
             }
           }
         }
+        if (hiddenMatchesBuilder_ == null) {
+          if (!other.hiddenMatches_.isEmpty()) {
+            if (hiddenMatches_.isEmpty()) {
+              hiddenMatches_ = other.hiddenMatches_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureHiddenMatchesIsMutable();
+              hiddenMatches_.addAll(other.hiddenMatches_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.hiddenMatches_.isEmpty()) {
+            if (hiddenMatchesBuilder_.isEmpty()) {
+              hiddenMatchesBuilder_.dispose();
+              hiddenMatchesBuilder_ = null;
+              hiddenMatches_ = other.hiddenMatches_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              hiddenMatchesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getHiddenMatchesFieldBuilder() : null;
+            } else {
+              hiddenMatchesBuilder_.addAllMessages(other.hiddenMatches_);
+            }
+          }
+        }
+        if (!other.getIncompleteResultsReason().isEmpty()) {
+          incompleteResultsReason_ = other.incompleteResultsReason_;
+          bitField0_ |= 0x00000008;
+          onChanged();
+        }
+        if (!other.getLanguage().isEmpty()) {
+          language_ = other.language_;
+          bitField0_ |= 0x00000010;
+          onChanged();
+        }
+        if (!other.getDetectedLanguage().isEmpty()) {
+          detectedLanguage_ = other.detectedLanguage_;
+          bitField0_ |= 0x00000020;
+          onChanged();
+        }
+        if (other.getDetectedLanguageConfidence() != 0F) {
+          setDetectedLanguageConfidence(other.getDetectedLanguageConfidence());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -4636,6 +5103,39 @@ public final class MLServerProto {
                 }
                 break;
               } // case 18
+              case 26: {
+                org.languagetool.rules.ml.MLServerProto.Match m =
+                    input.readMessage(
+                        org.languagetool.rules.ml.MLServerProto.Match.parser(),
+                        extensionRegistry);
+                if (hiddenMatchesBuilder_ == null) {
+                  ensureHiddenMatchesIsMutable();
+                  hiddenMatches_.add(m);
+                } else {
+                  hiddenMatchesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 26
+              case 34: {
+                incompleteResultsReason_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000008;
+                break;
+              } // case 34
+              case 42: {
+                language_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000010;
+                break;
+              } // case 42
+              case 50: {
+                detectedLanguage_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000020;
+                break;
+              } // case 50
+              case 61: {
+                detectedLanguageConfidence_ = input.readFloat();
+                bitField0_ |= 0x00000040;
+                break;
+              } // case 61
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -5132,6 +5632,638 @@ public final class MLServerProto {
         }
         return matchesBuilder_;
       }
+
+      private java.util.List<org.languagetool.rules.ml.MLServerProto.Match> hiddenMatches_ =
+        java.util.Collections.emptyList();
+      private void ensureHiddenMatchesIsMutable() {
+        if (!((bitField0_ & 0x00000004) != 0)) {
+          hiddenMatches_ = new java.util.ArrayList<org.languagetool.rules.ml.MLServerProto.Match>(hiddenMatches_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.languagetool.rules.ml.MLServerProto.Match, org.languagetool.rules.ml.MLServerProto.Match.Builder, org.languagetool.rules.ml.MLServerProto.MatchOrBuilder> hiddenMatchesBuilder_;
+
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public java.util.List<org.languagetool.rules.ml.MLServerProto.Match> getHiddenMatchesList() {
+        if (hiddenMatchesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(hiddenMatches_);
+        } else {
+          return hiddenMatchesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public int getHiddenMatchesCount() {
+        if (hiddenMatchesBuilder_ == null) {
+          return hiddenMatches_.size();
+        } else {
+          return hiddenMatchesBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public org.languagetool.rules.ml.MLServerProto.Match getHiddenMatches(int index) {
+        if (hiddenMatchesBuilder_ == null) {
+          return hiddenMatches_.get(index);
+        } else {
+          return hiddenMatchesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder setHiddenMatches(
+          int index, org.languagetool.rules.ml.MLServerProto.Match value) {
+        if (hiddenMatchesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.set(index, value);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder setHiddenMatches(
+          int index, org.languagetool.rules.ml.MLServerProto.Match.Builder builderForValue) {
+        if (hiddenMatchesBuilder_ == null) {
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder addHiddenMatches(org.languagetool.rules.ml.MLServerProto.Match value) {
+        if (hiddenMatchesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.add(value);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder addHiddenMatches(
+          int index, org.languagetool.rules.ml.MLServerProto.Match value) {
+        if (hiddenMatchesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.add(index, value);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder addHiddenMatches(
+          org.languagetool.rules.ml.MLServerProto.Match.Builder builderForValue) {
+        if (hiddenMatchesBuilder_ == null) {
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.add(builderForValue.build());
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder addHiddenMatches(
+          int index, org.languagetool.rules.ml.MLServerProto.Match.Builder builderForValue) {
+        if (hiddenMatchesBuilder_ == null) {
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder addAllHiddenMatches(
+          java.lang.Iterable<? extends org.languagetool.rules.ml.MLServerProto.Match> values) {
+        if (hiddenMatchesBuilder_ == null) {
+          ensureHiddenMatchesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, hiddenMatches_);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder clearHiddenMatches() {
+        if (hiddenMatchesBuilder_ == null) {
+          hiddenMatches_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public Builder removeHiddenMatches(int index) {
+        if (hiddenMatchesBuilder_ == null) {
+          ensureHiddenMatchesIsMutable();
+          hiddenMatches_.remove(index);
+          onChanged();
+        } else {
+          hiddenMatchesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public org.languagetool.rules.ml.MLServerProto.Match.Builder getHiddenMatchesBuilder(
+          int index) {
+        return getHiddenMatchesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public org.languagetool.rules.ml.MLServerProto.MatchOrBuilder getHiddenMatchesOrBuilder(
+          int index) {
+        if (hiddenMatchesBuilder_ == null) {
+          return hiddenMatches_.get(index);  } else {
+          return hiddenMatchesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public java.util.List<? extends org.languagetool.rules.ml.MLServerProto.MatchOrBuilder> 
+           getHiddenMatchesOrBuilderList() {
+        if (hiddenMatchesBuilder_ != null) {
+          return hiddenMatchesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(hiddenMatches_);
+        }
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public org.languagetool.rules.ml.MLServerProto.Match.Builder addHiddenMatchesBuilder() {
+        return getHiddenMatchesFieldBuilder().addBuilder(
+            org.languagetool.rules.ml.MLServerProto.Match.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public org.languagetool.rules.ml.MLServerProto.Match.Builder addHiddenMatchesBuilder(
+          int index) {
+        return getHiddenMatchesFieldBuilder().addBuilder(
+            index, org.languagetool.rules.ml.MLServerProto.Match.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * matches that are only shown as hints, like 'hiddenMatches' in the JSON response
+       * </pre>
+       *
+       * <code>repeated .lt_ml_server.Match hiddenMatches = 3;</code>
+       */
+      public java.util.List<org.languagetool.rules.ml.MLServerProto.Match.Builder> 
+           getHiddenMatchesBuilderList() {
+        return getHiddenMatchesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.languagetool.rules.ml.MLServerProto.Match, org.languagetool.rules.ml.MLServerProto.Match.Builder, org.languagetool.rules.ml.MLServerProto.MatchOrBuilder> 
+          getHiddenMatchesFieldBuilder() {
+        if (hiddenMatchesBuilder_ == null) {
+          hiddenMatchesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.languagetool.rules.ml.MLServerProto.Match, org.languagetool.rules.ml.MLServerProto.Match.Builder, org.languagetool.rules.ml.MLServerProto.MatchOrBuilder>(
+                  hiddenMatches_,
+                  ((bitField0_ & 0x00000004) != 0),
+                  getParentForChildren(),
+                  isClean());
+          hiddenMatches_ = null;
+        }
+        return hiddenMatchesBuilder_;
+      }
+
+      private java.lang.Object incompleteResultsReason_ = "";
+      /**
+       * <pre>
+       * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+       * </pre>
+       *
+       * <code>string incompleteResultsReason = 4;</code>
+       * @return The incompleteResultsReason.
+       */
+      public java.lang.String getIncompleteResultsReason() {
+        java.lang.Object ref = incompleteResultsReason_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          incompleteResultsReason_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+       * </pre>
+       *
+       * <code>string incompleteResultsReason = 4;</code>
+       * @return The bytes for incompleteResultsReason.
+       */
+      public com.google.protobuf.ByteString
+          getIncompleteResultsReasonBytes() {
+        java.lang.Object ref = incompleteResultsReason_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          incompleteResultsReason_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+       * </pre>
+       *
+       * <code>string incompleteResultsReason = 4;</code>
+       * @param value The incompleteResultsReason to set.
+       * @return This builder for chaining.
+       */
+      public Builder setIncompleteResultsReason(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        incompleteResultsReason_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+       * </pre>
+       *
+       * <code>string incompleteResultsReason = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearIncompleteResultsReason() {
+        incompleteResultsReason_ = getDefaultInstance().getIncompleteResultsReason();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * not empty if the results are incomplete, e.g. because of a timeout (like 'warnings' in the JSON response)
+       * </pre>
+       *
+       * <code>string incompleteResultsReason = 4;</code>
+       * @param value The bytes for incompleteResultsReason to set.
+       * @return This builder for chaining.
+       */
+      public Builder setIncompleteResultsReasonBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        incompleteResultsReason_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object language_ = "";
+      /**
+       * <pre>
+       * code of the language used for checking
+       * </pre>
+       *
+       * <code>string language = 5;</code>
+       * @return The language.
+       */
+      public java.lang.String getLanguage() {
+        java.lang.Object ref = language_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          language_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * code of the language used for checking
+       * </pre>
+       *
+       * <code>string language = 5;</code>
+       * @return The bytes for language.
+       */
+      public com.google.protobuf.ByteString
+          getLanguageBytes() {
+        java.lang.Object ref = language_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          language_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * code of the language used for checking
+       * </pre>
+       *
+       * <code>string language = 5;</code>
+       * @param value The language to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLanguage(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        language_ = value;
+        bitField0_ |= 0x00000010;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * code of the language used for checking
+       * </pre>
+       *
+       * <code>string language = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLanguage() {
+        language_ = getDefaultInstance().getLanguage();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * code of the language used for checking
+       * </pre>
+       *
+       * <code>string language = 5;</code>
+       * @param value The bytes for language to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLanguageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        language_ = value;
+        bitField0_ |= 0x00000010;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object detectedLanguage_ = "";
+      /**
+       * <pre>
+       * code of the language detected in the text
+       * </pre>
+       *
+       * <code>string detectedLanguage = 6;</code>
+       * @return The detectedLanguage.
+       */
+      public java.lang.String getDetectedLanguage() {
+        java.lang.Object ref = detectedLanguage_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          detectedLanguage_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * code of the language detected in the text
+       * </pre>
+       *
+       * <code>string detectedLanguage = 6;</code>
+       * @return The bytes for detectedLanguage.
+       */
+      public com.google.protobuf.ByteString
+          getDetectedLanguageBytes() {
+        java.lang.Object ref = detectedLanguage_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          detectedLanguage_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * code of the language detected in the text
+       * </pre>
+       *
+       * <code>string detectedLanguage = 6;</code>
+       * @param value The detectedLanguage to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDetectedLanguage(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        detectedLanguage_ = value;
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * code of the language detected in the text
+       * </pre>
+       *
+       * <code>string detectedLanguage = 6;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDetectedLanguage() {
+        detectedLanguage_ = getDefaultInstance().getDetectedLanguage();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * code of the language detected in the text
+       * </pre>
+       *
+       * <code>string detectedLanguage = 6;</code>
+       * @param value The bytes for detectedLanguage to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDetectedLanguageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        detectedLanguage_ = value;
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+
+      private float detectedLanguageConfidence_ ;
+      /**
+       * <pre>
+       * confidence of the language detection, from 0 to 1
+       * </pre>
+       *
+       * <code>float detectedLanguageConfidence = 7;</code>
+       * @return The detectedLanguageConfidence.
+       */
+      @java.lang.Override
+      public float getDetectedLanguageConfidence() {
+        return detectedLanguageConfidence_;
+      }
+      /**
+       * <pre>
+       * confidence of the language detection, from 0 to 1
+       * </pre>
+       *
+       * <code>float detectedLanguageConfidence = 7;</code>
+       * @param value The detectedLanguageConfidence to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDetectedLanguageConfidence(float value) {
+
+        detectedLanguageConfidence_ = value;
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * confidence of the language detection, from 0 to 1
+       * </pre>
+       *
+       * <code>float detectedLanguageConfidence = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDetectedLanguageConfidence() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        detectedLanguageConfidence_ = 0F;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -20167,64 +21299,68 @@ public final class MLServerProto {
       "dSentence\"u\n\016ProcessRequest\0221\n\tsentences" +
       "\030\001 \003(\0132\036.lt_ml_server.AnalyzedSentence\0220" +
       "\n\007options\030\002 \001(\0132\037.lt_ml_server.Processin" +
-      "gOptions\"`\n\017ProcessResponse\022\'\n\nrawMatche" +
-      "s\030\001 \003(\0132\023.lt_ml_server.Match\022$\n\007matches\030" +
-      "\002 \003(\0132\023.lt_ml_server.Match\"v\n\024AnalyzedMa" +
-      "tchRequest\0221\n\tsentences\030\001 \003(\0132\036.lt_ml_se" +
-      "rver.AnalyzedSentence\022\024\n\014inputLogging\030\002 " +
-      "\001(\010\022\025\n\rtextSessionID\030\003 \003(\003\"U\n\020AnalyzedSe" +
-      "ntence\022\014\n\004text\030\001 \001(\t\0223\n\006tokens\030\002 \003(\0132#.l" +
-      "t_ml_server.AnalyzedTokenReadings\"k\n\025Ana" +
-      "lyzedTokenReadings\022-\n\010readings\030\001 \003(\0132\033.l" +
-      "t_ml_server.AnalyzedToken\022\021\n\tchunkTags\030\002" +
-      " \003(\t\022\020\n\010startPos\030\003 \001(\005\"=\n\rAnalyzedToken\022" +
-      "\r\n\005token\030\001 \001(\t\022\016\n\006posTag\030\002 \001(\t\022\r\n\005lemma\030" +
-      "\003 \001(\t\"\201\001\n\025PostProcessingRequest\022\021\n\tsente" +
-      "nces\030\001 \003(\t\022(\n\007matches\030\002 \003(\0132\027.lt_ml_serv" +
-      "er.MatchList\022\024\n\014inputLogging\030\003 \001(\010\022\025\n\rte" +
-      "xtSessionID\030\004 \003(\003\"N\n\014MatchRequest\022\021\n\tsen" +
-      "tences\030\001 \003(\t\022\024\n\014inputLogging\030\002 \001(\010\022\025\n\rte" +
-      "xtSessionID\030\003 \003(\003\"A\n\rMatchResponse\0220\n\017se" +
-      "ntenceMatches\030\001 \003(\0132\027.lt_ml_server.Match" +
-      "List\"1\n\tMatchList\022$\n\007matches\030\001 \003(\0132\023.lt_" +
-      "ml_server.Match\"\256\003\n\005Match\022\016\n\006offset\030\001 \001(" +
-      "\r\022\016\n\006length\030\002 \001(\r\022\n\n\002id\030\003 \001(\t\022\016\n\006sub_id\030" +
-      "\004 \001(\t\022\023\n\013suggestions\030\005 \003(\t\022\027\n\017ruleDescri" +
-      "ption\030\006 \001(\t\022\030\n\020matchDescription\030\007 \001(\t\022\035\n" +
-      "\025matchShortDescription\030\010 \001(\t\022\013\n\003url\030\t \001(" +
-      "\t\022A\n\025suggestedReplacements\030\n \003(\0132\".lt_ml" +
-      "_server.SuggestedReplacement\022\023\n\013autoCorr" +
-      "ect\030\013 \001(\010\022+\n\004type\030\014 \001(\0162\035.lt_ml_server.M" +
-      "atch.MatchType\022\033\n\023contextForSureMatch\030\r " +
-      "\001(\021\022 \n\004rule\030\016 \001(\0132\022.lt_ml_server.Rule\"1\n" +
-      "\tMatchType\022\017\n\013UnknownWord\020\000\022\010\n\004Hint\020\001\022\t\n" +
-      "\005Other\020\002\"\251\002\n\004Rule\022\022\n\nsourceFile\030\001 \001(\t\022\021\n" +
-      "\tissueType\030\002 \001(\t\022\017\n\007tempOff\030\003 \001(\010\022,\n\010cat" +
-      "egory\030\004 \001(\0132\032.lt_ml_server.RuleCategory\022" +
-      "\021\n\tisPremium\030\005 \001(\010\022$\n\004tags\030\006 \003(\0162\026.lt_ml" +
-      "_server.Rule.Tag\"\201\001\n\003Tag\022\t\n\005picky\020\000\022\014\n\010a" +
-      "cademic\020\001\022\013\n\007clarity\020\002\022\020\n\014professional\020\003" +
-      "\022\014\n\010creative\020\004\022\014\n\010customer\020\005\022\n\n\006jobapp\020\006" +
-      "\022\r\n\tobjective\020\007\022\013\n\007elegant\020\010\"(\n\014RuleCate" +
-      "gory\022\n\n\002id\030\001 \001(\t\022\014\n\004name\030\002 \001(\t\"\342\001\n\024Sugge" +
-      "stedReplacement\022\023\n\013replacement\030\001 \001(\t\022\023\n\013" +
-      "description\030\002 \001(\t\022\016\n\006suffix\030\003 \001(\t\022\022\n\ncon" +
-      "fidence\030\004 \001(\002\022?\n\004type\030\005 \001(\01621.lt_ml_serv" +
-      "er.SuggestedReplacement.SuggestionType\";" +
-      "\n\016SuggestionType\022\013\n\007Default\020\000\022\017\n\013Transla" +
-      "tion\020\001\022\013\n\007Curated\020\0022\246\001\n\020ProcessingServer" +
-      "\022H\n\007Analyze\022\034.lt_ml_server.AnalyzeReques" +
-      "t\032\035.lt_ml_server.AnalyzeResponse\"\000\022H\n\007Pr" +
-      "ocess\022\034.lt_ml_server.ProcessRequest\032\035.lt" +
-      "_ml_server.ProcessResponse\"\0002\242\001\n\010MLServe" +
-      "r\022B\n\005Match\022\032.lt_ml_server.MatchRequest\032\033" +
-      ".lt_ml_server.MatchResponse\"\000\022R\n\rMatchAn" +
-      "alyzed\022\".lt_ml_server.AnalyzedMatchReque" +
-      "st\032\033.lt_ml_server.MatchResponse\"\0002e\n\024Pos" +
-      "tProcessingServer\022M\n\007Process\022#.lt_ml_ser" +
-      "ver.PostProcessingRequest\032\033.lt_ml_server" +
-      ".MatchResponse\"\000B*\n\031org.languagetool.rul" +
-      "es.mlB\rMLServerProtob\006proto3"
+      "gOptions\"\375\001\n\017ProcessResponse\022\'\n\nrawMatch" +
+      "es\030\001 \003(\0132\023.lt_ml_server.Match\022$\n\007matches" +
+      "\030\002 \003(\0132\023.lt_ml_server.Match\022*\n\rhiddenMat" +
+      "ches\030\003 \003(\0132\023.lt_ml_server.Match\022\037\n\027incom" +
+      "pleteResultsReason\030\004 \001(\t\022\020\n\010language\030\005 \001" +
+      "(\t\022\030\n\020detectedLanguage\030\006 \001(\t\022\"\n\032detected" +
+      "LanguageConfidence\030\007 \001(\002\"v\n\024AnalyzedMatc" +
+      "hRequest\0221\n\tsentences\030\001 \003(\0132\036.lt_ml_serv" +
+      "er.AnalyzedSentence\022\024\n\014inputLogging\030\002 \001(" +
+      "\010\022\025\n\rtextSessionID\030\003 \003(\003\"U\n\020AnalyzedSent" +
+      "ence\022\014\n\004text\030\001 \001(\t\0223\n\006tokens\030\002 \003(\0132#.lt_" +
+      "ml_server.AnalyzedTokenReadings\"k\n\025Analy" +
+      "zedTokenReadings\022-\n\010readings\030\001 \003(\0132\033.lt_" +
+      "ml_server.AnalyzedToken\022\021\n\tchunkTags\030\002 \003" +
+      "(\t\022\020\n\010startPos\030\003 \001(\005\"=\n\rAnalyzedToken\022\r\n" +
+      "\005token\030\001 \001(\t\022\016\n\006posTag\030\002 \001(\t\022\r\n\005lemma\030\003 " +
+      "\001(\t\"\201\001\n\025PostProcessingRequest\022\021\n\tsentenc" +
+      "es\030\001 \003(\t\022(\n\007matches\030\002 \003(\0132\027.lt_ml_server" +
+      ".MatchList\022\024\n\014inputLogging\030\003 \001(\010\022\025\n\rtext" +
+      "SessionID\030\004 \003(\003\"N\n\014MatchRequest\022\021\n\tsente" +
+      "nces\030\001 \003(\t\022\024\n\014inputLogging\030\002 \001(\010\022\025\n\rtext" +
+      "SessionID\030\003 \003(\003\"A\n\rMatchResponse\0220\n\017sent" +
+      "enceMatches\030\001 \003(\0132\027.lt_ml_server.MatchLi" +
+      "st\"1\n\tMatchList\022$\n\007matches\030\001 \003(\0132\023.lt_ml" +
+      "_server.Match\"\256\003\n\005Match\022\016\n\006offset\030\001 \001(\r\022" +
+      "\016\n\006length\030\002 \001(\r\022\n\n\002id\030\003 \001(\t\022\016\n\006sub_id\030\004 " +
+      "\001(\t\022\023\n\013suggestions\030\005 \003(\t\022\027\n\017ruleDescript" +
+      "ion\030\006 \001(\t\022\030\n\020matchDescription\030\007 \001(\t\022\035\n\025m" +
+      "atchShortDescription\030\010 \001(\t\022\013\n\003url\030\t \001(\t\022" +
+      "A\n\025suggestedReplacements\030\n \003(\0132\".lt_ml_s" +
+      "erver.SuggestedReplacement\022\023\n\013autoCorrec" +
+      "t\030\013 \001(\010\022+\n\004type\030\014 \001(\0162\035.lt_ml_server.Mat" +
+      "ch.MatchType\022\033\n\023contextForSureMatch\030\r \001(" +
+      "\021\022 \n\004rule\030\016 \001(\0132\022.lt_ml_server.Rule\"1\n\tM" +
+      "atchType\022\017\n\013UnknownWord\020\000\022\010\n\004Hint\020\001\022\t\n\005O" +
+      "ther\020\002\"\251\002\n\004Rule\022\022\n\nsourceFile\030\001 \001(\t\022\021\n\ti" +
+      "ssueType\030\002 \001(\t\022\017\n\007tempOff\030\003 \001(\010\022,\n\010categ" +
+      "ory\030\004 \001(\0132\032.lt_ml_server.RuleCategory\022\021\n" +
+      "\tisPremium\030\005 \001(\010\022$\n\004tags\030\006 \003(\0162\026.lt_ml_s" +
+      "erver.Rule.Tag\"\201\001\n\003Tag\022\t\n\005picky\020\000\022\014\n\010aca" +
+      "demic\020\001\022\013\n\007clarity\020\002\022\020\n\014professional\020\003\022\014" +
+      "\n\010creative\020\004\022\014\n\010customer\020\005\022\n\n\006jobapp\020\006\022\r" +
+      "\n\tobjective\020\007\022\013\n\007elegant\020\010\"(\n\014RuleCatego" +
+      "ry\022\n\n\002id\030\001 \001(\t\022\014\n\004name\030\002 \001(\t\"\342\001\n\024Suggest" +
+      "edReplacement\022\023\n\013replacement\030\001 \001(\t\022\023\n\013de" +
+      "scription\030\002 \001(\t\022\016\n\006suffix\030\003 \001(\t\022\022\n\nconfi" +
+      "dence\030\004 \001(\002\022?\n\004type\030\005 \001(\01621.lt_ml_server" +
+      ".SuggestedReplacement.SuggestionType\";\n\016" +
+      "SuggestionType\022\013\n\007Default\020\000\022\017\n\013Translati" +
+      "on\020\001\022\013\n\007Curated\020\0022\246\001\n\020ProcessingServer\022H" +
+      "\n\007Analyze\022\034.lt_ml_server.AnalyzeRequest\032" +
+      "\035.lt_ml_server.AnalyzeResponse\"\000\022H\n\007Proc" +
+      "ess\022\034.lt_ml_server.ProcessRequest\032\035.lt_m" +
+      "l_server.ProcessResponse\"\0002\242\001\n\010MLServer\022" +
+      "B\n\005Match\022\032.lt_ml_server.MatchRequest\032\033.l" +
+      "t_ml_server.MatchResponse\"\000\022R\n\rMatchAnal" +
+      "yzed\022\".lt_ml_server.AnalyzedMatchRequest" +
+      "\032\033.lt_ml_server.MatchResponse\"\0002e\n\024PostP" +
+      "rocessingServer\022M\n\007Process\022#.lt_ml_serve" +
+      "r.PostProcessingRequest\032\033.lt_ml_server.M" +
+      "atchResponse\"\000B*\n\031org.languagetool.rules" +
+      ".mlB\rMLServerProtob\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -20259,7 +21395,7 @@ public final class MLServerProto {
     internal_static_lt_ml_server_ProcessResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_lt_ml_server_ProcessResponse_descriptor,
-        new java.lang.String[] { "RawMatches", "Matches", });
+        new java.lang.String[] { "RawMatches", "Matches", "HiddenMatches", "IncompleteResultsReason", "Language", "DetectedLanguage", "DetectedLanguageConfidence", });
     internal_static_lt_ml_server_AnalyzedMatchRequest_descriptor =
       getDescriptor().getMessageTypes().get(5);
     internal_static_lt_ml_server_AnalyzedMatchRequest_fieldAccessorTable = new
@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 @ApiStatus.Internal
 public abstract class RuleSet {
   private volatile Set<String> ruleIds;
+  private volatile Set<String> ruleFullIds;
 
   /**
    * @return all rules in this set, not filtered
@@ -58,6 +59,18 @@ public abstract class RuleSet {
     return result;
   }
 
+  /**
+   * @return the full ids (including the sub id) of {@link #allRules()}
+   * @since 6.9
+   */
+  public Set<String> allRuleFullIds() {
+    Set<String> result = ruleFullIds;
+    if (result == null) {
+      ruleFullIds = result = Collections.unmodifiableSet(allRules().stream().map(Rule::getFullId).collect(Collectors.toSet()));
+    }
+    return result;
+  }
+
   /**
    * @return a simple RuleSet that returns all the rules from {@link #rulesForSentence}
    */
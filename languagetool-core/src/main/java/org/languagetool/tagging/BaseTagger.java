@@ -41,6 +41,7 @@ public abstract class BaseTagger implements Tagger {
   private static final String CUSTOM_MANUAL_ADDITIONS_FILE = "/added_custom.txt";
   private static final String MANUAL_REMOVALS_FILE = "/removed.txt";
   private static final String CUSTOM_MANUAL_REMOVALS_FILE = "/removed_custom.txt";
+  private static final int READINGS_CACHE_SIZE = 50_000;
 
   protected final WordTagger wordTagger;
   protected final Locale locale;
@@ -48,6 +49,8 @@ public abstract class BaseTagger implements Tagger {
   private final boolean tagLowercaseWithUppercase;
   private final String dictionaryPath;
   private final Dictionary dictionary;
+  // readings shared by all occurrences of a word form:
+  private final ReadingsCache readingsCache = new ReadingsCache(READINGS_CACHE_SIZE);
 
   /**
    * Get the filenames for manual additions, e.g., {@code /en/added.txt}.
@@ -173,7 +176,7 @@ public abstract class BaseTagger implements Tagger {
     List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
     int pos = 0;
     for (String word : sentenceTokens) {
-      List<AnalyzedToken> l = getAnalyzedTokens(word);
+      List<AnalyzedToken> l = readingsCache.get(word, this::getAnalyzedTokens);
       tokenReadings.add(new AnalyzedTokenReadings(l, pos));
       pos += word.length();
     }
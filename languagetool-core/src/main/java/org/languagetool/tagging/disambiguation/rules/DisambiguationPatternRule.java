@@ -102,6 +102,16 @@ public class DisambiguationPatternRule extends AbstractTokenBasedRule {
     return canBeIgnoredFor(sentence) ? sentence : new DisambiguationPatternRuleReplacer(this).replace(sentence);
   }
 
+  /**
+   * Like {@link #replace(AnalyzedSentence)}, but changes the workspace's tokens in place.
+   * @since 6.9
+   */
+  void replace(DisambiguationWorkspace workspace) throws IOException {
+    if (!canBeIgnoredFor(workspace.getSentence())) {
+      new DisambiguationPatternRuleReplacer(this).replace(workspace);
+    }
+  }
+
   public void setExamples(List<DisambiguatedExample> examples) {
     this.examples = Objects.requireNonNull(examples);
   }
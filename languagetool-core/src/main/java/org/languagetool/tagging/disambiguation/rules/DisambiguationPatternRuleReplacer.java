@@ -48,10 +48,19 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
   }
 
   AnalyzedSentence replace(AnalyzedSentence sentence) throws IOException {
+    DisambiguationWorkspace workspace = new DisambiguationWorkspace(sentence);
+    replace(workspace);
+    return workspace.toSentence();
+  }
+
+  /**
+   * Applies the rule to the workspace's tokens in place. All matches are found on the
+   * workspace's sentence as it was before this call.
+   * @since 6.9
+   */
+  void replace(DisambiguationWorkspace workspace) throws IOException {
+    AnalyzedSentence sentence = workspace.getSentence();
     AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
-    AnalyzedTokenReadings[] preDisambigTokens = sentence.getTokens();
-    AnalyzedTokenReadings[][] whTokens = {sentence.getTokens()};
-    boolean[] changed = {false};
 
     doMatch(sentence, tokens, (tokenPositions, firstMatchToken, lastMatchToken, firstMarkerMatchToken, lastMarkerMatchToken) -> {
       int ruleMatchFromPos = -1;
@@ -68,14 +77,10 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
       }
       int matchingTokens = (int)Arrays.stream(tokenPositions).filter(i -> i != 0).count();
       if (keepDespiteFilter(tokens, tokenPositions, firstMatchToken, lastMatchToken) && keepByDisambig(sentence, ruleMatchFromPos, ruleMatchToPos)) {
-        whTokens[0] = executeAction(sentence, whTokens[0], unifiedTokens, firstMatchToken, lastMarkerMatchToken, matchingTokens, tokenPositions);
-        changed[0] = true;
+        executeAction(sentence, workspace, unifiedTokens, firstMatchToken, lastMarkerMatchToken, matchingTokens, tokenPositions);
+        workspace.setModified();
       }
     });
-    if (changed[0]) {
-      return new AnalyzedSentence(whTokens[0], preDisambigTokens);
-    }
-    return sentence;
   }
 
   private boolean keepByDisambig(AnalyzedSentence sentence, int ruleMatchFromPos, int ruleMatchToPos) throws IOException {
@@ -108,12 +113,12 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
     return true;
   }
 
-  private AnalyzedTokenReadings[] executeAction(AnalyzedSentence sentence,
-                                                AnalyzedTokenReadings[] whiteTokens,
-                                                AnalyzedTokenReadings[] unifiedTokens,
-                                                int firstMatchToken, int lastMatchToken,
-                                                int matchingTokens, int[] tokenPositions) {
-    AnalyzedTokenReadings[] whTokens = whiteTokens.clone();
+  private void executeAction(AnalyzedSentence sentence,
+                             DisambiguationWorkspace workspace,
+                             AnalyzedTokenReadings[] unifiedTokens,
+                             int firstMatchToken, int lastMatchToken,
+                             int matchingTokens, int[] tokenPositions) {
+    AnalyzedTokenReadings[] whTokens = workspace.getTokens();
     DisambiguationPatternRule rule = (DisambiguationPatternRule) this.rule;
 
     int correctedStPos = 0;
@@ -169,7 +174,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
         }
         for (int i = 0; i < unifiedTokens.length; i++) {
           int position = sentence.getOriginalPosition(firstMatchToken + correctedStPos + i);
-          whTokens[position] = new AnalyzedTokenReadings(whTokens[position], unifiedTokens[i].getReadings(), rule.getFullId());
+          workspace.setToken(position, new AnalyzedTokenReadings(whTokens[position], unifiedTokens[i].getReadings(), rule.getFullId()));
         }
       }
       break;
@@ -180,6 +185,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
           for (int i = 0; i < newTokenReadings.length; i++) {
             int position = sentence.getOriginalPosition(firstMatchToken + correctedStPos + i);
             whTokens[position].removeReading(newTokenReadings[i], rule.getFullId());
+            workspace.changed(position);
           }
         }
       } else if (!StringTools.isEmpty(disambiguatedPOS)) { // negative filtering
@@ -190,6 +196,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
           if (analyzedToken.getPOSTag() != null && p.matcher(analyzedToken.getPOSTag()).matches()) {
             int position = sentence.getOriginalPosition(firstMatchToken + correctedStPos);
             whTokens[position].removeReading(analyzedToken, rule.getFullId());
+            workspace.changed(position);
           }
         }
       }
@@ -224,6 +231,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
           }
           if (!exists) {
             whTokens[position].addReading(newTok, rule.getFullId());
+            workspace.changed(position);
           }
         }
       }
@@ -265,7 +273,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
             Match.IncludeRange.NONE);
 
         MatchState matchState = tmpMatchToken.createState(rule.getLanguage().getSynthesizer(), whTokens[position]);
-        whTokens[position] = new AnalyzedTokenReadings(whTokens[position], matchState.filterReadings().getReadings(), rule.getFullId());
+        workspace.setToken(position, new AnalyzedTokenReadings(whTokens[position], matchState.filterReadings().getReadings(), rule.getFullId()));
       }
       break;
     case IMMUNIZE:
@@ -297,7 +305,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
         }
         if (newPOSmatches) {
           MatchState matchState = tmpMatchToken.createState(rule.getLanguage().getSynthesizer(), whTokens[fromPos]);
-          whTokens[fromPos] = new AnalyzedTokenReadings(whTokens[fromPos], matchState.filterReadings().getReadings(), rule.getFullId());
+          workspace.setToken(fromPos, new AnalyzedTokenReadings(whTokens[fromPos], matchState.filterReadings().getReadings(), rule.getFullId()));
           
         }
         break;
@@ -325,7 +333,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
               AnalyzedTokenReadings toReplace = new AnalyzedTokenReadings(
                   analyzedToken,
                   whTokens[fromPos].getStartPos());
-              whTokens[position] = new AnalyzedTokenReadings(whTokens[position], toReplace.getReadings(), rule.getFullId());
+              workspace.setToken(position, new AnalyzedTokenReadings(whTokens[position], toReplace.getReadings(), rule.getFullId()));
             }
           }
         } else if (matchElement == null) {
@@ -343,16 +351,14 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
           AnalyzedToken analyzedToken = new AnalyzedToken(whTokens[fromPos].getToken(), disambiguatedPOS, lemma);
           AnalyzedTokenReadings toReplace = new AnalyzedTokenReadings(
               analyzedToken, whTokens[fromPos].getStartPos());
-          whTokens[fromPos] = new AnalyzedTokenReadings(whTokens[fromPos], toReplace.getReadings(), rule.getFullId());
+          workspace.setToken(fromPos, new AnalyzedTokenReadings(whTokens[fromPos], toReplace.getReadings(), rule.getFullId()));
         } else {
           // using the match element
           MatchState matchElementState = matchElement.createState(rule.getLanguage().getSynthesizer(), whTokens[fromPos]);
-          whTokens[fromPos] = new AnalyzedTokenReadings(whTokens[fromPos], matchElementState.filterReadings().getReadings(), rule.getFullId());
+          workspace.setToken(fromPos, new AnalyzedTokenReadings(whTokens[fromPos], matchElementState.filterReadings().getReadings(), rule.getFullId()));
           matchElementState.filterReadings();
         }
       }
-
-    return whTokens;
   }
 
 }
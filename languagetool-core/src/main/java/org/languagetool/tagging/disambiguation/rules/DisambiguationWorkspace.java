@@ -0,0 +1,99 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.disambiguation.rules;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
+
+import java.util.BitSet;
+
+/**
+ * The tokens of a sentence while it's going through the disambiguation rules. Rules change
+ * the tokens in place, an {@link AnalyzedSentence} is only created when the next rule needs one
+ * for matching, and it re-uses the token and lemma offsets of the previous one where possible.
+ * @since 6.9
+ */
+class DisambiguationWorkspace {
+
+  private final AnalyzedTokenReadings[] tokens;
+  private final BitSet changedPositions = new BitSet();
+
+  private AnalyzedSentence sentence;
+  private boolean modified;
+  private boolean approximateOffsets;
+
+  DisambiguationWorkspace(AnalyzedSentence sentence) {
+    this.sentence = sentence;
+    this.tokens = sentence.getTokens().clone();
+  }
+
+  /**
+   * The sentence with all changes so far. Its tokens are not affected by later calls
+   * to {@link #setToken(int, AnalyzedTokenReadings)}.
+   */
+  AnalyzedSentence getSentence() {
+    if (modified) {
+      sentence = sentence.withChangedTokens(tokens.clone(), changedPositions);
+      approximateOffsets = true;
+      changedPositions.clear();
+      modified = false;
+    }
+    return sentence;
+  }
+
+  /**
+   * The tokens including whitespace, to be changed in place.
+   */
+  AnalyzedTokenReadings[] getTokens() {
+    return tokens;
+  }
+
+  void setToken(int position, AnalyzedTokenReadings token) {
+    tokens[position] = token;
+    changedPositions.set(position);
+  }
+
+  /**
+   * Call after readings of the token at {@code position} have been changed in place.
+   */
+  void changed(int position) {
+    changedPositions.set(position);
+  }
+
+  /**
+   * Call after a rule has been applied, so the next {@link #getSentence()} considers its changes.
+   */
+  void setModified() {
+    modified = true;
+  }
+
+  /**
+   * The final result, like the one of applying the rules one by one with
+   * {@link DisambiguationPatternRule#replace(AnalyzedSentence)}.
+   */
+  AnalyzedSentence toSentence() {
+    if (modified) {
+      return new AnalyzedSentence(tokens.clone(), sentence.getTokens());
+    } else if (approximateOffsets) {
+      return new AnalyzedSentence(sentence.getTokens(), sentence.getPreDisambigTokens());
+    }
+    return sentence;
+  }
+
+}
@@ -78,13 +78,15 @@ public class XmlRuleDisambiguator extends AbstractDisambiguator {
   @Override
   public AnalyzedSentence disambiguate(AnalyzedSentence sentence,
       @Nullable JLanguageTool.CheckCancelledCallback checkCanceled) throws IOException {
+    // the rules change the workspace's tokens, so there's no copy of the sentence for each matching rule:
+    DisambiguationWorkspace workspace = new DisambiguationWorkspace(sentence);
     for (Rule rule : disambiguationRules.rulesForSentence(sentence)) {
       if (checkCanceled != null && checkCanceled.checkCancelled()) {
         break;
       }
-      sentence = ((DisambiguationPatternRule) rule).replace(sentence);
+      ((DisambiguationPatternRule) rule).replace(workspace);
     }
-    return sentence;
+    return workspace.toSentence();
   }
 
   /**
@@ -41,6 +41,7 @@ public final class LtThreadPoolFactory {
   // we need more maximum threads for timed out requests that haven't been interrupted/cancelled (or reacted to that) yet
 
   private static final ConcurrentMap<String, ThreadPoolExecutor> executorServices = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, ExecutorService> virtualThreadExecutors = new ConcurrentHashMap<>();
 
   private static final Counter rejectedTasks = Counter.build("languagetool_threadpool_rejected_tasks",
     "Rejected tasks by threadpool").labelNames("pool").register();
@@ -143,13 +144,97 @@ public final class LtThreadPoolFactory {
       // fair = true helps with respecting keep-alive time
       queue = new ArrayBlockingQueue<>(maxTaskInQueue, true);
     }
-    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+    ThreadFactory threadFactory = getThreadFactory(identifier, isDaemon, exceptionHandler);
+    ThreadPoolExecutor newThreadPoolExecutor = new LtThreadPoolExecutor(identifier, corePool, maxThreads, keepAliveTimeSeconds, SECONDS, queue, threadFactory, handler);
+    return newThreadPoolExecutor;
+  }
+
+  @NotNull
+  private static ThreadFactory getThreadFactory(@NotNull String identifier, boolean isDaemon, @NotNull Thread.UncaughtExceptionHandler exceptionHandler) {
+    return new ThreadFactoryBuilder()
       .setNameFormat(identifier + "-%d")
       .setDaemon(isDaemon)
       .setUncaughtExceptionHandler(exceptionHandler)
       .build();
-    ThreadPoolExecutor newThreadPoolExecutor = new LtThreadPoolExecutor(identifier, corePool, maxThreads, keepAliveTimeSeconds, SECONDS, queue, threadFactory, handler);
-    return newThreadPoolExecutor;
+  }
+
+  /**
+   * Create a thread pool that runs waiting tasks in their natural order instead of first-in-first-out.
+   * The queue is unbounded, callers need to limit its size themselves. Only use {@link ThreadPoolExecutor#execute(Runnable)}
+   * with {@link Comparable} tasks on this pool, as {@code submit()} wraps tasks into futures that cannot be compared.
+   * @param identifier       Name of the thread-pool, will be used as name of the threads in the threadPool
+   * @param maxThreads       Number of parallel threads running in this pool
+   * @param isDaemon         Run the threads as daemon threads
+   * @param exceptionHandler Handler for exceptions in Thread
+   * @return a ThreadPoolExecutor with a {@link PriorityBlockingQueue}
+   * @since 6.9
+   */
+  public static ThreadPoolExecutor createPriorityThreadPoolExecutor(@NotNull String identifier, int maxThreads, boolean isDaemon, @NotNull Thread.UncaughtExceptionHandler exceptionHandler) {
+    log.debug(LoggingTools.SYSTEM, String.format("Create new priority threadPool with maxThreads: %d identifier: %s daemon: %s", maxThreads, identifier, isDaemon));
+    ThreadFactory threadFactory = getThreadFactory(identifier, isDaemon, exceptionHandler);
+    return new LtThreadPoolExecutor(identifier, maxThreads, maxThreads, 60, SECONDS, new PriorityBlockingQueue<>(), threadFactory, handler);
+  }
+
+  /**
+   * @return true if the running JVM can create virtual threads (Java 21 or later)
+   * @since 6.9
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create an executor that starts a new virtual thread for each task. Use this for tasks that
+   * mostly block on I/O (e.g. remote rules, HTTP request handling), not for CPU-bound work.
+   * As this code is compiled for Java 17, the virtual thread API is accessed via reflection.
+   * @param identifier Name of the executor, will be used as prefix of the thread names
+   * @param reuse      True if the executor should be reused, i.e. be available via {@link #getExecutorService(String)}
+   * @throws UnsupportedOperationException if the JVM doesn't support virtual threads, see {@link #isVirtualThreadSupported()}
+   * @since 6.9
+   */
+  public static ExecutorService createVirtualThreadExecutor(@NotNull String identifier, boolean reuse) {
+    if (reuse) {
+      return virtualThreadExecutors.computeIfAbsent(identifier, LtThreadPoolFactory::getNewVirtualThreadExecutor);
+    } else {
+      return getNewVirtualThreadExecutor(identifier);
+    }
+  }
+
+  @NotNull
+  private static ExecutorService getNewVirtualThreadExecutor(@NotNull String identifier) {
+    if (!isVirtualThreadSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running on Java " + System.getProperty("java.version"));
+    }
+    log.debug(LoggingTools.SYSTEM, "Create new virtual thread executor with identifier: {}", identifier);
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, identifier + "-", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Could not create virtual thread executor '" + identifier + "'", e);
+    }
+  }
+
+  /**
+   * Like {@link #getFixedThreadPoolExecutor(String)}, but also finds executors created
+   * with {@link #createVirtualThreadExecutor(String, boolean)}.
+   * @param identifier Name of an already created executor
+   * @return An optional of ExecutorService, the default pool if no executor with that name exists
+   * @since 6.9
+   */
+  public static Optional<ExecutorService> getExecutorService(@NotNull String identifier) {
+    ExecutorService virtualThreadExecutor = virtualThreadExecutors.get(identifier);
+    if (virtualThreadExecutor != null) {
+      return Optional.of(virtualThreadExecutor);
+    }
+    return getFixedThreadPoolExecutor(identifier).map(ExecutorService.class::cast);
   }
 
   /**
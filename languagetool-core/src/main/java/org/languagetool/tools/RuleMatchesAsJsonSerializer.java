@@ -18,6 +18,7 @@
  */
 package org.languagetool.tools;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.commons.lang3.StringUtils;
@@ -27,6 +28,7 @@ import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -104,25 +106,10 @@ public class RuleMatchesAsJsonSerializer {
    */
   public String ruleMatchesToJson2(List<CheckResults> res, List<RuleMatch> hiddenMatches, AnnotatedText text, int contextSize,
                                    DetectedLanguage detectedLang, String incompleteResultsReason, boolean showPremiumHint, JLanguageTool.Mode mode) {
-    ContextTools contextTools = new ContextTools();
-    contextTools.setEscapeHtml(false);
-    contextTools.setContextSize(contextSize);
-    contextTools.setErrorMarker(START_MARKER, "");
     StringWriter sw = new StringWriter();
     try {
       try (JsonGenerator g = factory.createGenerator(sw)) {
-        g.writeStartObject();
-        writeSoftwareSection(g, showPremiumHint);
-        writeWarningsSection(g, incompleteResultsReason);
-        writeLanguageSection(g, detectedLang);
-        writeMatchesSection("matches", g, res, text, contextTools);
-        if (hiddenMatches != null && hiddenMatches.size() > 0) {
-          writeMatchesSection("hiddenMatches", g, Collections.singletonList(new CheckResults(hiddenMatches, Collections.emptyList())), text, contextTools);
-        }
-        writeIgnoreRanges(g, res);
-        writeSentenceRanges(g, res);
-        writeExtendedSentenceRanges(g, res);
-        g.writeEndObject();
+        writeJson(g, res, hiddenMatches, text, contextSize, detectedLang, incompleteResultsReason, showPremiumHint);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -130,6 +117,42 @@ public class RuleMatchesAsJsonSerializer {
     return sw.toString();
   }
 
+  /**
+   * Like {@link #ruleMatchesToJson2(List, List, AnnotatedText, int, DetectedLanguage, String, boolean, JLanguageTool.Mode)},
+   * but writes the JSON as UTF-8 to {@code out} while it's being created, so the complete JSON is never kept in memory.
+   * {@code out} is flushed, but not closed.
+   * @since 6.9
+   */
+  public void ruleMatchesToJson2(List<CheckResults> res, List<RuleMatch> hiddenMatches, AnnotatedText text, int contextSize,
+                                 DetectedLanguage detectedLang, String incompleteResultsReason, boolean showPremiumHint, JLanguageTool.Mode mode,
+                                 OutputStream out) throws IOException {
+    try (JsonGenerator g = factory.createGenerator(out, JsonEncoding.UTF8)) {
+      g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      writeJson(g, res, hiddenMatches, text, contextSize, detectedLang, incompleteResultsReason, showPremiumHint);
+    }
+  }
+
+  private void writeJson(JsonGenerator g, List<CheckResults> res, List<RuleMatch> hiddenMatches, AnnotatedText text, int contextSize,
+                         DetectedLanguage detectedLang, String incompleteResultsReason, boolean showPremiumHint) throws IOException {
+    ContextTools contextTools = new ContextTools();
+    contextTools.setEscapeHtml(false);
+    contextTools.setContextSize(contextSize);
+    contextTools.setErrorMarker(START_MARKER, "");
+    String textWithMarkup = compactMode != 1 ? text.getTextWithMarkup() : null;  // only needed for the context
+    g.writeStartObject();
+    writeSoftwareSection(g, showPremiumHint);
+    writeWarningsSection(g, incompleteResultsReason);
+    writeLanguageSection(g, detectedLang);
+    writeMatchesSection("matches", g, res, textWithMarkup, contextTools);
+    if (hiddenMatches != null && hiddenMatches.size() > 0) {
+      writeMatchesSection("hiddenMatches", g, Collections.singletonList(new CheckResults(hiddenMatches, Collections.emptyList())), textWithMarkup, contextTools);
+    }
+    writeIgnoreRanges(g, res);
+    writeSentenceRanges(g, res);
+    writeExtendedSentenceRanges(g, res);
+    g.writeEndObject();
+  }
+
   private void writeSoftwareSection(JsonGenerator g, boolean showPremiumHint) throws IOException {
     if (compactMode == 1) {
       return;
@@ -180,7 +203,7 @@ public class RuleMatchesAsJsonSerializer {
     g.writeEndObject();
   }
 
-  private void writeMatchesSection(String sectionName, JsonGenerator g, List<CheckResults> res, AnnotatedText text, ContextTools contextTools) throws IOException {
+  private void writeMatchesSection(String sectionName, JsonGenerator g, List<CheckResults> res, String textWithMarkup, ContextTools contextTools) throws IOException {
     g.writeArrayFieldStart(sectionName);
     for (CheckResults r : res) {
       for (RuleMatch match : r.getRuleMatches()) {
@@ -192,7 +215,7 @@ public class RuleMatchesAsJsonSerializer {
         writeReplacements(g, match);
         g.writeNumberField("offset", match.getFromPos());
         g.writeNumberField("length", match.getToPos()-match.getFromPos());
-        writeContext(g, match, text, contextTools);
+        writeContext(g, match, textWithMarkup, contextTools);
         g.writeObjectFieldStart("type");
         g.writeStringField("typeName", match.getType().toString());
         g.writeEndObject();
@@ -303,9 +326,9 @@ public class RuleMatchesAsJsonSerializer {
     g.writeEndArray();
   }
 
-  private void writeContext(JsonGenerator g, RuleMatch match, AnnotatedText text, ContextTools contextTools) throws IOException {
+  private void writeContext(JsonGenerator g, RuleMatch match, String textWithMarkup, ContextTools contextTools) throws IOException {
     if (compactMode != 1) {
-      String context = contextTools.getContext(match.getFromPos(), match.getToPos(), text.getTextWithMarkup());
+      String context = contextTools.getContext(match.getFromPos(), match.getToPos(), textWithMarkup);
       int contextOffset = context.indexOf(START_MARKER);
       context = StringUtils.replaceOnce(context, START_MARKER, "");
       g.writeObjectFieldStart("context");
@@ -0,0 +1,198 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.Language;
+import org.languagetool.rules.Rule;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time, matches, and allocated memory of rule calls, aggregated per language and rule.
+ * Only a random sample of rule calls is measured (see {@link #setSampleRate(double)}), so this can
+ * be enabled on production traffic. Disabled by default.
+ * <p>Usage, where {@code sample} is {@code null} for calls that are not measured:</p>
+ * <pre>
+ * RuleProfiler.Sample sample = RuleProfiler.startSample();
+ * RuleMatch[] matches = rule.match(sentence);
+ * if (sample != null) {
+ *   sample.stop(language, rule, matches.length);
+ * }
+ * </pre>
+ * @since 6.9
+ */
+public final class RuleProfiler {
+
+  private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private static final boolean allocationSupported = threadBean instanceof com.sun.management.ThreadMXBean &&
+    ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported();
+  private static final Map<String, RuleStats> stats = new ConcurrentHashMap<>();
+  private static final ThreadLocal<Sample> samples = ThreadLocal.withInitial(Sample::new);
+
+  private static volatile double sampleRate = 0;
+
+  private RuleProfiler() {
+  }
+
+  /**
+   * @param rate the share of rule calls to measure, e.g. {@code 0.01} for 1%; {@code 0} disables profiling
+   */
+  public static void setSampleRate(double rate) {
+    if (rate < 0 || rate > 1) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + rate);
+    }
+    sampleRate = rate;
+  }
+
+  public static double getSampleRate() {
+    return sampleRate;
+  }
+
+  public static boolean isEnabled() {
+    return sampleRate > 0;
+  }
+
+  /**
+   * @return a started measurement if this call should be measured, {@code null} otherwise. The object is
+   * re-used per thread, so call {@link Sample#stop(Language, Rule, int)} before starting another sample.
+   */
+  @Nullable
+  public static Sample startSample() {
+    double rate = sampleRate;
+    if (rate <= 0 || rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+      return null;
+    }
+    Sample sample = samples.get();
+    sample.startAllocatedBytes = getAllocatedBytes();
+    sample.startNanos = System.nanoTime();
+    return sample;
+  }
+
+  private static long getAllocatedBytes() {
+    return allocationSupported ? ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes() : 0;
+  }
+
+  /**
+   * @return the statistics of all measured rules, values are not extrapolated by the sample rate
+   */
+  public static Collection<RuleStats> getStats() {
+    return stats.values();
+  }
+
+  /**
+   * @param order e.g. {@link RuleStats#BY_TIME}
+   * @param language the language's short code, or {@code null} for all languages
+   */
+  public static List<RuleStats> getTopRules(int limit, Comparator<RuleStats> order, @Nullable String language) {
+    return stats.values().stream()
+      .filter(s -> language == null || s.getLanguage().equals(language))
+      .sorted(order)
+      .limit(limit)
+      .collect(Collectors.toList());
+  }
+
+  public static void reset() {
+    stats.clear();
+  }
+
+  public static final class Sample {
+
+    private long startNanos;
+    private long startAllocatedBytes;
+
+    private Sample() {
+    }
+
+    public void stop(Language language, Rule rule, int matchCount) {
+      long nanos = System.nanoTime() - startNanos;
+      long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+      String key = language.getShortCode() + "/" + rule.getFullId();
+      RuleStats ruleStats = stats.computeIfAbsent(key, k -> new RuleStats(language.getShortCode(), rule.getFullId()));
+      ruleStats.calls.increment();
+      ruleStats.nanos.add(nanos);
+      ruleStats.matches.add(matchCount);
+      ruleStats.allocatedBytes.add(allocatedBytes);
+    }
+  }
+
+  public static final class RuleStats {
+
+    public static final Comparator<RuleStats> BY_TIME = Comparator.comparingLong(RuleStats::getNanos).reversed();
+    public static final Comparator<RuleStats> BY_ALLOCATION = Comparator.comparingLong(RuleStats::getAllocatedBytes).reversed();
+    public static final Comparator<RuleStats> BY_MATCHES = Comparator.comparingLong(RuleStats::getMatches).reversed();
+
+    private final String language;
+    private final String ruleId;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private RuleStats(String language, String ruleId) {
+      this.language = language;
+      this.ruleId = ruleId;
+    }
+
+    public String getLanguage() {
+      return language;
+    }
+
+    /** @return the rule's full id, i.e. including the sub id, if any */
+    public String getRuleId() {
+      return ruleId;
+    }
+
+    /** @return number of measured calls */
+    public long getCalls() {
+      return calls.sum();
+    }
+
+    /** @return wall time of the measured calls in nanoseconds */
+    public long getNanos() {
+      return nanos.sum();
+    }
+
+    /** @return number of matches found in the measured calls */
+    public long getMatches() {
+      return matches.sum();
+    }
+
+    /** @return bytes allocated by the measured calls, 0 if the JVM doesn't support measuring this */
+    public long getAllocatedBytes() {
+      return allocatedBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+      return language + "/" + ruleId + ": " + getCalls() + " calls, " + getNanos() / 1_000_000 + "ms, " +
+        getMatches() + " matches, " + getAllocatedBytes() + " bytes";
+    }
+  }
+
+}
@@ -21,8 +21,12 @@ package org.languagetool;
 
 import org.junit.Test;
 
+import java.util.BitSet;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 public class AnalyzedSentenceTest {
 
@@ -53,4 +57,31 @@ public class AnalyzedSentenceTest {
     assertNotEquals(sentence, copySentence);
   }
 
+  @Test
+  public void testWithChangedTokens() {
+    AnalyzedTokenReadings[] words = new AnalyzedTokenReadings[4];
+    words[0] = new AnalyzedTokenReadings(new AnalyzedToken("", "SENT_START", null));
+    words[1] = new AnalyzedTokenReadings(new AnalyzedToken("word", "POS", "lemma"));
+    words[2] = new AnalyzedTokenReadings(new AnalyzedToken(" ", null, null));
+    words[3] = new AnalyzedTokenReadings(new AnalyzedToken("more", "POS", "more"));
+    AnalyzedSentence sentence = new AnalyzedSentence(words);
+
+    AnalyzedTokenReadings[] newWords = words.clone();
+    newWords[3] = new AnalyzedTokenReadings(newWords[3], Collections.singletonList(new AnalyzedToken("more", "POS2", "more")), "");
+    BitSet changed = new BitSet();
+    changed.set(3);
+    AnalyzedSentence newSentence = sentence.withChangedTokens(newWords, changed);
+    assertSame(newWords[3], newSentence.getTokensWithoutWhitespace()[2]);
+    assertSame(words[3], newSentence.getPreDisambigTokensWithoutWhitespace()[2]);
+    assertEquals(Collections.singletonList(2), newSentence.getLemmaOffsets("more"));
+
+    AnalyzedTokenReadings[] newWords2 = newWords.clone();
+    newWords2[1] = new AnalyzedTokenReadings(newWords2[1], Collections.singletonList(new AnalyzedToken("word", "POS", "newlemma")), "");
+    changed.clear();
+    changed.set(1);
+    AnalyzedSentence newSentence2 = newSentence.withChangedTokens(newWords2, changed);
+    assertEquals(new AnalyzedSentence(newWords2, newWords), newSentence2);
+    assertEquals(Collections.singletonList(1), newSentence2.getLemmaOffsets("newlemma"));
+  }
+
 }
@@ -21,12 +21,15 @@ package org.languagetool;
 import org.junit.Test;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.Tag;
 import org.languagetool.rules.patterns.PatternRule;
 import org.languagetool.rules.patterns.PatternRuleBuilderHelper;
 import org.languagetool.rules.patterns.PatternToken;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -76,4 +79,91 @@ public class JLanguageToolTest {
     assertThat(ruleMatches.size(), is(1));
   }
 
+  @Test
+  public void testCacheRunsOnlyMissingRules() throws IOException {
+    CountingRule defaultRule = new CountingRule("COUNTING_DEFAULT", "test");
+    CountingRule pickyRule = new CountingRule("COUNTING_PICKY", "my");
+    pickyRule.setTags(Collections.singletonList(Tag.picky));
+    JLanguageTool lt = new JLanguageTool(LANG, null, new ResultCache(1000));
+    lt.addRule(defaultRule);
+    lt.addRule(pickyRule);
+    assertThat(getCountingRuleIds(lt.check("This is my test", JLanguageTool.Level.DEFAULT)), is(List.of("COUNTING_DEFAULT")));
+    assertThat(getCountingRuleIds(lt.check("This is my test", JLanguageTool.Level.PICKY)), is(List.of("COUNTING_PICKY", "COUNTING_DEFAULT")));
+    assertThat(defaultRule.calls, is(1));
+    assertThat(pickyRule.calls, is(1));
+    lt.disableRule("COUNTING_DEFAULT");
+    assertThat(getCountingRuleIds(lt.check("This is my test", JLanguageTool.Level.PICKY)), is(List.of("COUNTING_PICKY")));
+    assertThat(pickyRule.calls, is(1));
+    assertThat(getCountingRuleIds(lt.check("This is another test", JLanguageTool.Level.PICKY)), is(List.of()));
+    assertThat(pickyRule.calls, is(2));
+  }
+
+  @Test
+  public void testCacheWithUserRuleOfSameId() throws IOException {
+    CountingRule builtInRule = new CountingRule("COUNTING_SAME_ID", "test");
+    CountingRule userRule = new CountingRule("COUNTING_SAME_ID", "my");
+    UserConfig userConfig = new UserConfig(Collections.emptyList(), Collections.singletonList(userRule), new HashMap<>(), -1, 1L, "fake", null, null, false, null, null, false, null);
+    JLanguageTool lt = new JLanguageTool(LANG, null, new ResultCache(1000), userConfig);
+    lt.addRule(builtInRule);
+    // the second check can only use the partial results, as the level differs:
+    for (JLanguageTool.Level level : Arrays.asList(JLanguageTool.Level.DEFAULT, JLanguageTool.Level.PICKY)) {
+      List<String> messages = lt.check("This is my test", level).stream()
+        .filter(match -> match.getRule() instanceof CountingRule)
+        .map(RuleMatch::getMessage).sorted().collect(Collectors.toList());
+      assertThat(messages, is(List.of("Found 'my'", "Found 'test'")));
+    }
+    assertThat(builtInRule.calls, is(1));
+    assertThat(userRule.calls, is(2));
+  }
+
+  @Test
+  public void testCancelledCheckIsNotCached() throws IOException {
+    CountingRule rule1 = new CountingRule("COUNTING_MY", "my");
+    CountingRule rule2 = new CountingRule("COUNTING_TEST", "test");
+    JLanguageTool lt = new JLanguageTool(LANG, null, new ResultCache(1000));
+    lt.addRule(rule1);
+    lt.addRule(rule2);
+    AtomicBoolean cancel = new AtomicBoolean(true);
+    // cancelled after the first of the two rules has run:
+    lt.setCheckCancelledCallback(() -> cancel.get() && rule1.calls + rule2.calls > 0);
+    assertThat(getCountingRuleIds(lt.check("This is my test")).size(), is(0));
+    cancel.set(false);
+    assertThat(getCountingRuleIds(lt.check("This is my test")).size(), is(2));
+  }
+
+  private List<String> getCountingRuleIds(List<RuleMatch> matches) {
+    return matches.stream().map(match -> match.getRule().getId()).filter(id -> id.startsWith("COUNTING_")).collect(Collectors.toList());
+  }
+
+  private static class CountingRule extends Rule {
+    private final String id;
+    private final String word;
+    private int calls;
+
+    CountingRule(String id, String word) {
+      this.id = id;
+      this.word = word;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return "matches '" + word + "'";
+    }
+
+    @Override
+    public RuleMatch[] match(AnalyzedSentence sentence) {
+      calls++;
+      int pos = sentence.getText().indexOf(word);
+      if (pos == -1) {
+        return RuleMatch.EMPTY_ARRAY;
+      }
+      return new RuleMatch[] {new RuleMatch(this, sentence, pos, pos + word.length(), "Found '" + word + "'")};
+    }
+  }
+
 }
@@ -20,6 +20,7 @@ package org.languagetool;
 
 import org.junit.Test;
 import org.languagetool.language.Demo;
+import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.MultipleWhitespaceRule;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
@@ -52,6 +53,45 @@ public class MultiThreadedJLanguageToolTest {
     assertEquals(ruleMatchIds1, ruleMatchIds2);
   }
   
+  @Test
+  public void testCheckWithCache() throws IOException {
+    JLanguageTool lt1 = new JLanguageTool(new Demo());
+    lt1.setCleanOverlappingMatches(false);
+    List<String> expected = getRuleMatchIds(lt1);
+    MultiThreadedJLanguageTool lt2 = new MultiThreadedJLanguageTool(new Demo(), null, 0, null, null, new ResultCache(1000));
+    lt2.setCleanOverlappingMatches(false);
+    assertEquals(expected, getRuleMatchIds(lt2));
+    assertEquals(expected, getRuleMatchIds(lt2));  // now from the cache
+    lt2.shutdown();
+  }
+
+  @Test
+  public void testCheckWithCacheAndLevels() throws IOException {
+    String input = "A small toast. No error here. Foo go bar. First goes last there, please!";
+    JLanguageTool lt1 = new JLanguageTool(new Demo());
+    lt1.setCleanOverlappingMatches(false);
+    List<String> expected = toRuleIds(lt1.check(input, JLanguageTool.Level.PICKY));
+    MultiThreadedJLanguageTool lt2 = new MultiThreadedJLanguageTool(new Demo(), null, 0, null, null, new ResultCache(1000));
+    lt2.setCleanOverlappingMatches(false);
+    lt2.check(input, JLanguageTool.Level.DEFAULT);
+    assertEquals(expected, toRuleIds(lt2.check(input, JLanguageTool.Level.PICKY)));
+    lt2.shutdown();
+  }
+
+  @Test
+  public void testIncrementalCheckWithCache() throws IOException {
+    // the sequence of checks the GUI runs: a full check, then the edited paragraph and the text-level rules only
+    String text = "A small toast. No error here.\n\nFoo go bar. First goes last there, please!";
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), null, 0, null, null, new ResultCache(1000));
+    lt.setCleanOverlappingMatches(false);
+    List<String> expected = toRuleIds(lt.check(text));
+    lt.check(text.substring(text.indexOf("Foo")), true, JLanguageTool.ParagraphHandling.ONLYNONPARA);
+    lt.check(new AnnotatedTextBuilder().addText(text).build(), true, JLanguageTool.ParagraphHandling.ONLYPARA,
+      null, JLanguageTool.Mode.ALL, JLanguageTool.Level.DEFAULT);
+    assertEquals(expected, toRuleIds(lt.check(text)));
+    lt.shutdown();
+  }
+
   @Test
   public void testShutdownException() throws IOException {
     MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
@@ -84,7 +124,10 @@ public class MultiThreadedJLanguageToolTest {
 
   private List<String> getRuleMatchIds(JLanguageTool lt) throws IOException {
     String input = "A small toast. No error here. Foo go bar. First goes last there, please!";
-    List<RuleMatch> matches = lt.check(input);
+    return toRuleIds(lt.check(input));
+  }
+
+  private List<String> toRuleIds(List<RuleMatch> matches) {
     List<String> ruleMatchIds = new ArrayList<>();
     for (RuleMatch match : matches) {
       ruleMatchIds.add(match.getRule().getId());
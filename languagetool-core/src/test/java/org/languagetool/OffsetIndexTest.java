@@ -0,0 +1,59 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class OffsetIndexTest {
+
+  @Test
+  public void testIndex() {
+    String[] keys = {"a", "b", "a", "c", "b", "a"};
+    int[] positions = {0, 1, 2, 2, 4, 5};
+    OffsetIndex index = new OffsetIndex(keys, positions, keys.length);
+    assertThat(index.get("a"), is(List.of(0, 2, 5)));
+    assertThat(index.get("b"), is(List.of(1, 4)));
+    assertThat(index.get("c"), is(List.of(2)));
+    assertNull(index.get("d"));
+    assertNull(index.get(null));
+    assertTrue(index.contains("a", 5));
+    assertFalse(index.contains("a", 4));
+    assertFalse(index.contains("d", 0));
+    assertThat(index.keySet(), is(new HashSet<>(Arrays.asList("a", "b", "c"))));
+    assertThat(index.keySet().size(), is(3));
+    assertTrue(index.keySet().contains("c"));
+    assertFalse(index.keySet().contains("d"));
+  }
+
+  @Test
+  public void testEmpty() {
+    OffsetIndex index = new OffsetIndex(new String[0], new int[0], 0);
+    assertNull(index.get("a"));
+    assertTrue(index.keySet().isEmpty());
+  }
+
+}
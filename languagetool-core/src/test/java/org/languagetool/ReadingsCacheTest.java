@@ -0,0 +1,72 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class ReadingsCacheTest {
+
+  @Test
+  public void testSharedReadings() {
+    ReadingsCache cache = new ReadingsCache(10);
+    List<String> taggedWords = new ArrayList<>();
+    List<AnalyzedToken> readings1 = cache.get("walks", word -> {
+      taggedWords.add(word);
+      return Arrays.asList(new AnalyzedToken(word, "VBZ", "walk"), new AnalyzedToken(word, "NNS", "walk"));
+    });
+    List<AnalyzedToken> readings2 = cache.get("walks", word -> {
+      taggedWords.add(word);
+      return Arrays.asList(new AnalyzedToken(word, "VBZ", "walk"), new AnalyzedToken(word, "NNS", "walk"));
+    });
+    assertThat(readings2, sameInstance(readings1));
+    assertThat(taggedWords, is(List.of("walks")));
+    assertTrue(readings1.get(0).isShared());
+  }
+
+  @Test
+  public void testCopyOnWrite() {
+    ReadingsCache cache = new ReadingsCache(10);
+    List<AnalyzedToken> readings = cache.get("walks", word -> Arrays.asList(new AnalyzedToken(word, "VBZ", "walk"), new AnalyzedToken(word, "NNS", "walk")));
+    AnalyzedToken shared = readings.get(0);
+
+    AnalyzedTokenReadings tokenReadings1 = new AnalyzedTokenReadings(readings, 0);
+    tokenReadings1.setWhitespaceBefore(" ");
+    assertTrue(tokenReadings1.getAnalyzedToken(0).isWhitespaceBefore());
+    assertFalse(shared.isWhitespaceBefore());
+    AnalyzedTokenReadings tokenReadings2 = new AnalyzedTokenReadings(readings, 5);
+    tokenReadings2.setWhitespaceBefore(" ");
+    // the copy with whitespace before is shared, too:
+    assertThat(tokenReadings2.getAnalyzedToken(0), sameInstance(tokenReadings1.getAnalyzedToken(0)));
+
+    tokenReadings2.removeReading(new AnalyzedToken("walks", "NNS", "walk"), "test");
+    assertThat(tokenReadings2.getReadingsLength(), is(1));
+    assertThat(readings.size(), is(2));
+    assertThat(readings.get(1).getPOSTag(), is("NNS"));
+  }
+
+}
@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class BigramLogProbsTest {
+
+  private static final double EPSILON = 1e-4;
+
+  @Test
+  public void testScoreLikeMapLookup() {
+    List<List<String>> lines = Arrays.asList(
+      Arrays.asList("1 2 0.5", "2 3 0.25", "3 3 0.1", "0 0 0.3"),
+      Arrays.asList("1 2 0.2", "3 1 0.7", "invalid line"),
+      Collections.emptyList());
+    List<BigramLogProbs.LanguageBigrams> bigrams = new ArrayList<>();
+    for (List<String> langLines : lines) {
+      bigrams.add(BigramLogProbs.LanguageBigrams.parse(langLines));
+    }
+    BigramLogProbs logProbs = new BigramLogProbs(bigrams, EPSILON);
+    int[][] texts = {{1, 2, 3, 3, 1, 2}, {0, 0}, {5, 6, 7}, {1}, {}};
+    for (int[] text : texts) {
+      assertArrayEquals(Arrays.toString(text), scoreWithMaps(lines, text), logProbs.score(text), 0.0);
+    }
+  }
+
+  // the way NGramDetector used to do it
+  private double[] scoreWithMaps(List<List<String>> lines, int[] tokens) {
+    double[] result = new double[lines.size()];
+    for (int lang = 0; lang < lines.size(); lang++) {
+      Map<String, Double> probs = new HashMap<>();
+      for (String line : lines.get(lang)) {
+        String[] parts = line.split(" ");
+        if (parts.length == 3) {
+          probs.put(parts[0] + "_" + parts[1], Double.parseDouble(parts[2]));
+        }
+      }
+      for (int i = 1; i < tokens.length; i++) {
+        result[lang] += StrictMath.log(probs.getOrDefault(tokens[i - 1] + "_" + tokens[i], EPSILON));
+      }
+    }
+    return result;
+  }
+
+}
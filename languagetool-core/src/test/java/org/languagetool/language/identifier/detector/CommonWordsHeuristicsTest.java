@@ -0,0 +1,53 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class CommonWordsHeuristicsTest {
+
+  // the regular expressions CommonWordsDetector used to run for every word:
+  private static final Pattern spanishPattern = Pattern.compile("^[a-zñ]+(ón|cion|aban|ábamos|ábais|íamos|íais|[úí]a[sn]?|úe[ns]?)$");
+  private static final Pattern notSpanishPattern = Pattern.compile("^[lmndts]['’].*$|^.*(ns|[áéó].i[oa]s?)$|^.*(ss|[çàèòïâêôãõìù]|l·l).*$");
+  private static final Pattern notCatalanPattern = Pattern.compile("^.*([áéó].i[oa]s?|d[oa]s)$|^.*[áâêôãõìùñ].*$");
+  private static final Pattern portuguesePattern = Pattern.compile("^.*([áó]ri[oa]|ério)s?$");
+
+  @Test
+  public void testSameAsRegex() {
+    List<String> words = Arrays.asList("", "a", "ón", "canción", "cancion", "nación", "acción", "trabajaban", "aban",
+      "cantábamos", "cantábais", "teníamos", "teníais", "había", "habían", "hacías", "continúa", "actúen", "evalúes",
+      "úa", "cañón", "ñandú", "Canción", "l'home", "d’aquí", "l'", "x'y", "camins", "ns", "glòria", "àrea",
+      "passar", "col·lecció", "história", "históricos", "exercício", "só", "dos", "das", "todas", "pão", "niño",
+      "ária", "salário", "contrários", "mistério", "séria", "misérias", "á😀io", "ó😀ia",
+      "a ss", "ss ", "ária\u0085", "tério\n", "xério", "éx", "úes", "canciones", "día", "días");
+    for (String word : words) {
+      assertEquals(word, spanishPattern.matcher(word).matches(), CommonWordsHeuristics.isSpanish(word));
+      assertEquals(word, notSpanishPattern.matcher(word).matches(), CommonWordsHeuristics.isNotSpanish(word));
+      assertEquals(word, notCatalanPattern.matcher(word).matches(), CommonWordsHeuristics.isNotCatalan(word));
+      assertEquals(word, portuguesePattern.matcher(word).matches(), CommonWordsHeuristics.isPortuguese(word));
+    }
+  }
+
+}
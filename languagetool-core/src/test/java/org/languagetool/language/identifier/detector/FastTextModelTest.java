@@ -0,0 +1,233 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.language.identifier.detector;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FastTextModelTest {
+
+  private static final int LOSS_HS = 1;
+  private static final int LOSS_SOFTMAX = 3;
+
+  @Test
+  public void testHash() {
+    // FNV-1a reference value:
+    assertThat(FastTextModel.hash("a".getBytes(StandardCharsets.UTF_8), 0, 1), is(0xe40c292c));
+  }
+
+  @Test
+  public void testSoftmax() throws IOException {
+    float[][] input = {{0, 0}, {4, 0}, {0, 4}};  // </s>, hello, hallo
+    float[][] output = {{1, 0}, {0, 1}};         // en, de
+    FastTextModel model = FastTextModel.load(writeModel(LOSS_SOFTMAX, 0, 0, 0, new String[]{"</s>", "hello", "hallo"},
+      new long[]{10, 5}, input, output));
+    Map<String, Double> result = model.predict("hello", 5);
+    assertThat(new ArrayList<>(result.keySet()).toString(), is("[__label__en, __label__de]"));
+    double en = Math.exp(2) / (Math.exp(2) + 1);
+    assertEquals(en, result.get("__label__en"), 0.0001);
+    assertEquals(1 - en, result.get("__label__de"), 0.0001);
+    assertThat(model.predict("hallo hallo", 1).keySet().toString(), is("[__label__de]"));
+    assertEquals(0.5, model.predict("unknown", 1).values().iterator().next(), 0.0001);
+  }
+
+  @Test
+  public void testHierarchicalSoftmaxWithCharNgrams() throws IOException {
+    int bucket = 100;
+    float[][] input = new float[1 + bucket][2];  // </s> and the buckets
+    for (String ngram : new String[]{"<ab", "abc", "bc>"}) {
+      byte[] bytes = ngram.getBytes(StandardCharsets.UTF_8);
+      input[1 + (int) (Integer.toUnsignedLong(FastTextModel.hash(bytes, 0, bytes.length)) % bucket)] = new float[]{3, 0};
+    }
+    float[][] output = {{1, 0}};  // one inner node of the Huffman tree, 'en' is on the right as it's more frequent
+    FastTextModel model = FastTextModel.load(writeModel(LOSS_HS, 3, 3, bucket, new String[]{"</s>"}, new long[]{10, 5}, input, output));
+    assertThat(model.getInputIds("abc").toArray().length, is(4));
+    Map<String, Double> result = model.predict("abc", 5);
+    assertThat(new ArrayList<>(result.keySet()).toString(), is("[__label__en, __label__de]"));
+    double en = 1 / (1 + Math.exp(-3 * 3 / 4.0));
+    assertEquals(en, result.get("__label__en"), 0.0001);
+    assertEquals(1 - en, result.get("__label__de"), 0.0001);
+  }
+
+  @Test
+  public void testQuantized() throws IOException {
+    float[][] input = {{0, 0}, {4, 0}, {0, 4}};  // </s>, hello, hallo
+    float[][] output = {{1, 0}, {0, 1}};         // en, de
+    FastTextModel model = FastTextModel.load(writeModel(LOSS_SOFTMAX, 0, 0, 0, new String[]{"</s>", "hello", "hallo"},
+      new long[]{10, 5}, input, output, null, true));
+    Map<String, Double> result = model.predict("hello", 5);
+    assertThat(new ArrayList<>(result.keySet()).toString(), is("[__label__en, __label__de]"));
+    double en = Math.exp(2) / (Math.exp(2) + 1);
+    assertEquals(en, result.get("__label__en"), 0.0001);
+    assertEquals(1 - en, result.get("__label__de"), 0.0001);
+    assertThat(model.predict("hallo hallo", 1).keySet().toString(), is("[__label__de]"));
+  }
+
+  @Test
+  public void testPrunedDictionary() throws IOException {
+    int bucket = 100;
+    Map<Integer, Integer> pruneIndex = new HashMap<>();
+    pruneIndex.put(bucketOf("<ab", bucket), 0);
+    pruneIndex.put(bucketOf("abc", bucket), 1);  // "bc>" has been pruned
+    float[][] input = {{0, 0}, {3, 0}, {3, 0}};  // </s> and the buckets left after pruning
+    float[][] output = {{1, 0}};
+    FastTextModel model = FastTextModel.load(writeModel(LOSS_HS, 3, 3, bucket, new String[]{"</s>"}, new long[]{10, 5},
+      input, output, pruneIndex, true));
+    assertThat(model.getInputIds("abc").toArray().length, is(3));
+    double en = 1 / (1 + Math.exp(-3 * 2 / 3.0));
+    assertEquals(en, model.predict("abc", 5).get("__label__en"), 0.0001);
+
+    // pruned so that no n-gram is left, like in fastText only the word ids are used then:
+    FastTextModel noNgrams = FastTextModel.load(writeModel(LOSS_HS, 3, 3, bucket, new String[]{"</s>"}, new long[]{10, 5},
+      new float[][]{{0, 0}}, output, new HashMap<>(), true));
+    assertThat(noNgrams.getInputIds("abc").toArray().length, is(1));
+    assertEquals(0.5, noNgrams.predict("abc", 5).get("__label__en"), 0.0001);
+  }
+
+  @Test
+  public void testInvalidFile() throws IOException {
+    File file = File.createTempFile("fasttext-test", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+    try {
+      FastTextModel.load(file);
+      fail();
+    } catch (IOException expected) {}
+  }
+
+  private static int bucketOf(String ngram, int bucket) {
+    byte[] bytes = ngram.getBytes(StandardCharsets.UTF_8);
+    return (int) (Integer.toUnsignedLong(FastTextModel.hash(bytes, 0, bytes.length)) % bucket);
+  }
+
+  private File writeModel(int loss, int minn, int maxn, int bucket, String[] words, long[] labelCounts,
+                          float[][] input, float[][] output) throws IOException {
+    return writeModel(loss, minn, maxn, bucket, words, labelCounts, input, output, null, false);
+  }
+
+  /**
+   * @param pruneIndex bucket to row mapping of a pruned dictionary, or {@code null}
+   * @param quantized write the matrices like {@code fasttext quantize} does, the input matrix with quantized norms
+   */
+  private File writeModel(int loss, int minn, int maxn, int bucket, String[] words, long[] labelCounts,
+                          float[][] input, float[][] output, Map<Integer, Integer> pruneIndex, boolean quantized) throws IOException {
+    List<String> labels = new ArrayList<>();
+    labels.add("__label__en");
+    labels.add("__label__de");
+    ByteBuffer buffer = ByteBuffer.allocate(200_000).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(793712314).putInt(12);
+    int dim = input[0].length;
+    // dim, ws, epoch, minCount, neg, wordNgrams, loss, model, bucket, minn, maxn, lrUpdateRate, t:
+    buffer.putInt(dim).putInt(5).putInt(5).putInt(1).putInt(5).putInt(1).putInt(loss).putInt(3)
+      .putInt(bucket).putInt(minn).putInt(maxn).putInt(100).putDouble(1e-4);
+    buffer.putInt(words.length + labels.size()).putInt(words.length).putInt(labels.size()).putLong(100).putLong(pruneIndex == null ? -1 : pruneIndex.size());
+    for (String word : words) {
+      buffer.put(word.getBytes(StandardCharsets.UTF_8)).put((byte) 0).putLong(1).put((byte) 0);
+    }
+    for (int i = 0; i < labels.size(); i++) {
+      buffer.put(labels.get(i).getBytes(StandardCharsets.UTF_8)).put((byte) 0).putLong(labelCounts[i]).put((byte) 1);
+    }
+    if (pruneIndex != null) {
+      for (Map.Entry<Integer, Integer> entry : pruneIndex.entrySet()) {
+        buffer.putInt(entry.getKey()).putInt(entry.getValue());
+      }
+    }
+    if (quantized) {
+      buffer.put((byte) 1);
+      putQuantMatrix(buffer, input, true);
+      buffer.put((byte) 1);
+      putQuantMatrix(buffer, output, false);
+    } else {
+      buffer.put((byte) 0);
+      putMatrix(buffer, input);
+      buffer.put((byte) 0);
+      putMatrix(buffer, output);
+    }
+    File file = File.createTempFile("fasttext-test", ".bin");
+    file.deleteOnExit();
+    byte[] bytes = new byte[buffer.position()];
+    buffer.flip();
+    buffer.get(bytes);
+    Files.write(file.toPath(), bytes);
+    return file;
+  }
+
+  private void putMatrix(ByteBuffer buffer, float[][] matrix) {
+    buffer.putLong(matrix.length).putLong(matrix[0].length);
+    for (float[] row : matrix) {
+      for (float value : row) {
+        buffer.putFloat(value);
+      }
+    }
+  }
+
+  /**
+   * A quantized matrix with a single sub-quantizer: every row is its own centroid, so the values
+   * are the same as in the dense matrix. With {@code qnorm}, the centroids are unit vectors and
+   * the row norms are quantized separately.
+   */
+  private void putQuantMatrix(ByteBuffer buffer, float[][] matrix, boolean qnorm) {
+    int dim = matrix[0].length;
+    float[] norms = new float[matrix.length];
+    for (int i = 0; i < matrix.length; i++) {
+      double sum = 0;
+      for (float value : matrix[i]) {
+        sum += value * value;
+      }
+      norms[i] = qnorm && sum > 0 ? (float) Math.sqrt(sum) : 1;
+    }
+    buffer.put((byte) (qnorm ? 1 : 0)).putLong(matrix.length).putLong(dim);
+    buffer.putInt(matrix.length);  // code size: one code per row
+    for (int i = 0; i < matrix.length; i++) {
+      buffer.put((byte) i);
+    }
+    // product quantizer: dim, nsubq, dsub, lastdsub, and 256 centroids
+    buffer.putInt(dim).putInt(1).putInt(dim).putInt(dim);
+    for (int code = 0; code < 256; code++) {
+      for (int i = 0; i < dim; i++) {
+        buffer.putFloat(code < matrix.length ? matrix[code][i] / norms[code] : 0);
+      }
+    }
+    if (qnorm) {
+      for (int i = 0; i < matrix.length; i++) {
+        buffer.put((byte) i);
+      }
+      buffer.putInt(1).putInt(1).putInt(1).putInt(1);
+      for (int code = 0; code < 256; code++) {
+        buffer.putFloat(code < matrix.length ? norms[code] : 0);
+      }
+    }
+  }
+
+}
@@ -71,4 +71,21 @@ public class AnnotatedTextTest {
     assertThat(contextTools.getContext(14, 18, text.getTextWithMarkup()), is("hello <p>more #xxxx# text!"));
   }
 
+  @Test
+  public void testManyParts() {
+    AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      builder.addText("a").addMarkup("<b>");
+    }
+    AnnotatedText text = builder.build();
+    for (int i = 0; i < 20_000; i++) {
+      assertThat(text.getOriginalTextPositionFor(i, false), is(i * 4));
+      assertThat(text.getOriginalTextPositionFor(i, true), is(i * 4));
+    }
+    try {
+      text.getOriginalTextPositionFor(20_000, true);
+      fail();
+    } catch (RuntimeException expected) {}
+  }
+
 }
@@ -24,6 +24,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -64,6 +65,19 @@ public class LtThreadPoolFactoryTest {
     assertEquals(LtThreadPoolFactory.defaultPool, LtThreadPoolFactory.getFixedThreadPoolExecutor("Test-Pool-notCached").get());
   }
 
+  @Test
+  public void virtualThreadExecutorTest() throws Exception {
+    if (!LtThreadPoolFactory.isVirtualThreadSupported()) {
+      assertThrows(UnsupportedOperationException.class, () -> LtThreadPoolFactory.createVirtualThreadExecutor("Test-Pool-virtual", true));
+      assertEquals(LtThreadPoolFactory.defaultPool, LtThreadPoolFactory.getExecutorService("Test-Pool-virtual").get());
+      return;
+    }
+    ExecutorService executor = LtThreadPoolFactory.createVirtualThreadExecutor("Test-Pool-virtual", true);
+    assertEquals(executor, LtThreadPoolFactory.getExecutorService("Test-Pool-virtual").get());
+    String threadName = executor.submit(() -> Thread.currentThread().getName()).get();
+    assertTrue(threadName.startsWith("Test-Pool-virtual-"));
+  }
+
   @Test
   @Ignore //Could fail if CI is to slow and will slow down the CI build; test local
   public void stressedQueueTest() {
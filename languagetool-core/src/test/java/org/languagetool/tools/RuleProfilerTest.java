@@ -0,0 +1,64 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import org.junit.After;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.TestTools;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RuleProfilerTest {
+
+  @After
+  public void tearDown() {
+    RuleProfiler.setSampleRate(0);
+    RuleProfiler.reset();
+  }
+
+  @Test
+  public void testProfiling() throws Exception {
+    JLanguageTool lt = new JLanguageTool(TestTools.getDemoLanguage());
+    lt.check("This is a test. And another one.");
+    assertTrue(RuleProfiler.getStats().isEmpty());
+
+    RuleProfiler.setSampleRate(1);
+    lt.check("This is a test. And another one.");
+    assertFalse(RuleProfiler.getStats().isEmpty());
+    for (RuleProfiler.RuleStats stats : RuleProfiler.getStats()) {
+      assertEquals(TestTools.getDemoLanguage().getShortCode(), stats.getLanguage());
+      assertTrue(stats.getCalls() > 0);
+    }
+    List<RuleProfiler.RuleStats> top = RuleProfiler.getTopRules(1, RuleProfiler.RuleStats.BY_TIME, null);
+    assertEquals(1, top.size());
+    for (RuleProfiler.RuleStats stats : RuleProfiler.getStats()) {
+      assertTrue(top.get(0).getNanos() >= stats.getNanos());
+    }
+    assertTrue(RuleProfiler.getTopRules(10, RuleProfiler.RuleStats.BY_TIME, "yy").isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSampleRate() {
+    RuleProfiler.setSampleRate(1.5);
+  }
+
+}
@@ -34,6 +34,8 @@ public class NGramLangIdentifierPerformanceTest {
   private static final File ngramZip = new File("/home/languagetool/ngram-lang-id/model_ml50_new.zip");
   private static final Path input = Paths.get("/home/dnaber/data/corpus/tatoeba/20191014/sentences_shuf.txt");
   private static final int limit = 10_000;
+  // DefaultLanguageIdentifier uses NGramDetector for texts up to this length:
+  private static final int shortTextThreshold = 50;
 
   public void testPerformance() throws IOException {
     System.out.println("Loading ngrams...");
@@ -43,6 +45,8 @@ public class NGramLangIdentifierPerformanceTest {
     double totalMillis = 0;
     long totalLength = 0;
     long totalRuns = 0;
+    double shortMillis = 0;
+    long shortRuns = 0;
     System.out.println("Loading input...");
     List<String> lines = Files.readAllLines(input);
     System.out.println("Loaded " + lines.size() + " lines.");
@@ -55,6 +59,10 @@ public class NGramLangIdentifierPerformanceTest {
         totalMillis += runTimeMillis;
         totalLength += line.length();
         totalRuns++;
+        if (line.length() <= shortTextThreshold) {
+          shortMillis += runTimeMillis;
+          shortRuns++;
+        }
         //System.out.println(line.length() + " chars took " + runTimeMillis + "ms -> " + detectLanguages);
         //System.out.println(line.length() + " chars took " + runTimeMillis + "ms");
         if (runTimeMillis > 5) {
@@ -72,6 +80,7 @@ public class NGramLangIdentifierPerformanceTest {
     System.out.println("Runs: " + totalRuns);
     System.out.printf(Locale.ENGLISH, "Avg. length: %.2f chars\n", (double)totalLength/totalRuns);
     System.out.printf(Locale.ENGLISH, "Avg: %.2fms\n", totalMillis/totalRuns);
+    System.out.printf(Locale.ENGLISH, "Avg. for %d texts with <= %d chars: %.3fms\n", shortRuns, shortTextThreshold, shortMillis/shortRuns);
   }
 
   public static void main(String[] args) throws IOException {
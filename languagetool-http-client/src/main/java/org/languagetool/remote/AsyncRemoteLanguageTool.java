@@ -0,0 +1,229 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Non-blocking variant of {@link RemoteLanguageTool} for clients that send many requests, e.g.
+ * services that call a LanguageTool cluster. All requests share one {@link HttpClient}, which keeps
+ * connections open and re-uses them, so the TCP and TLS handshakes are only needed for the first
+ * requests. The client prefers HTTP/2 (negotiated with TLS, or as an upgrade for {@code http} URLs
+ * with the server's {@code frontEnd=jetty}), which sends concurrent requests over the same
+ * connection, and falls back to HTTP/1.1 with keep-alive otherwise.
+ * An instance is thread-safe and should be re-used.
+ *
+ * @since 6.9
+ */
+public class AsyncRemoteLanguageTool {
+
+  private static final String V2_CHECK = "/v2/check";
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+  private static final int CHUNK_OVERLAP = 100;  // characters
+
+  private final RemoteLanguageTool remoteLanguageTool;  // for creating requests and parsing responses
+  private final URI checkUri;
+  private final HttpClient httpClient;
+  private final Duration timeout;
+  private final int compressionThreshold;
+
+  /**
+   * @param serverBaseUrl for example {@code https://languagetool.org/api} (not ending in slash)
+   */
+  public AsyncRemoteLanguageTool(URL serverBaseUrl) {
+    this(serverBaseUrl, DEFAULT_TIMEOUT, -1);
+  }
+
+  /**
+   * @param serverBaseUrl for example {@code https://languagetool.org/api} (not ending in slash)
+   * @param timeout the maximum time for connecting and for each request
+   * @param compressionThreshold request bodies of at least this many bytes are sent gzip-compressed,
+   *                             {@code -1} to never compress - compressed requests need LanguageTool server 6.9 or later
+   */
+  public AsyncRemoteLanguageTool(URL serverBaseUrl, Duration timeout, int compressionThreshold) {
+    this.remoteLanguageTool = new RemoteLanguageTool(serverBaseUrl);
+    this.checkUri = URI.create(serverBaseUrl + V2_CHECK);
+    this.timeout = Objects.requireNonNull(timeout);
+    this.compressionThreshold = compressionThreshold;
+    this.httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .followRedirects(HttpClient.Redirect.NEVER)
+      .connectTimeout(timeout)
+      .build();
+  }
+
+  /**
+   * @param text     the text to be checked
+   * @param langCode the language code like {@code en} or {@code en-US}
+   * @see RemoteLanguageTool#check(String, String)
+   */
+  public CompletableFuture<RemoteResult> check(String text, String langCode) {
+    return check(text, new CheckConfigurationBuilder(langCode).build(), null);
+  }
+
+  public CompletableFuture<RemoteResult> check(String text, CheckConfiguration config) {
+    return check(text, config, null);
+  }
+
+  /**
+   * @return a future that completes with the result, or exceptionally with a {@link RuntimeException}
+   * if the server can't be reached or returns an error
+   */
+  public CompletableFuture<RemoteResult> check(String text, CheckConfiguration config, Map<String, String> customParams) {
+    HttpRequest request;
+    try {
+      request = createRequest(remoteLanguageTool.getUrlParams(text, config, customParams));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+      .handle((response, throwable) -> {
+        if (throwable != null) {
+          Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+          if (cause instanceof ConnectException) {
+            throw new RuntimeException("Could not connect to server at " + checkUri, cause);
+          }
+          throw new RuntimeException(cause);
+        }
+        return parseResponse(response);
+      });
+  }
+
+  /**
+   * Check several texts with the same configuration, with at most {@code maxParallel} requests running at the same time.
+   * This is meant for many short texts, for which the network round trip takes longer than the check itself.
+   * @return a future that completes with the results in the order of {@code texts}, or exceptionally
+   * as soon as one of the checks has failed, in which case no further requests are sent
+   */
+  public CompletableFuture<List<RemoteResult>> checkAll(List<String> texts, CheckConfiguration config, int maxParallel) {
+    if (maxParallel < 1) {
+      throw new IllegalArgumentException("maxParallel must be >= 1: " + maxParallel);
+    }
+    RemoteResult[] results = new RemoteResult[texts.size()];
+    CompletableFuture<List<RemoteResult>> allDone = new CompletableFuture<>();
+    AtomicInteger nextIndex = new AtomicInteger();
+    AtomicInteger pending = new AtomicInteger(texts.size());
+    if (texts.isEmpty()) {
+      allDone.complete(Collections.emptyList());
+    }
+    for (int i = 0; i < Math.min(maxParallel, texts.size()); i++) {
+      checkNext(texts, config, results, nextIndex, pending, allDone);
+    }
+    return allDone;
+  }
+
+  /**
+   * Check a long document by splitting it into chunks of at most {@code maxChunkLength} characters, which are
+   * checked in parallel, so the work gets distributed over the servers behind a load balancer. Chunks end at
+   * paragraph boundaries where possible, otherwise neighbouring chunks overlap a bit. Text-level rules, which
+   * need to see the whole document, are run in one more request with {@code mode=textLevelOnly} for the
+   * whole text, unless {@code config} uses {@code mode=allButTextLevelOnly}. This request is still subject to
+   * the server's text length limit.
+   * Note that with language auto-detection, the language is detected per chunk.
+   * @param maxChunkLength the maximum length of a chunk, not counting the overlap of up to 100 characters on each side
+   * @param maxParallel the maximum number of chunks being checked at the same time
+   * @return a future that completes with the matches of the whole document, with offsets relative to {@code text}
+   */
+  public CompletableFuture<RemoteResult> checkDocument(String text, CheckConfiguration config, int maxChunkLength, int maxParallel) {
+    List<DocumentSplitter.Chunk> chunks = DocumentSplitter.split(text, maxChunkLength, CHUNK_OVERLAP);
+    if (chunks.size() == 1 || "textLevelOnly".equals(config.getMode())) {
+      return check(text, config);
+    }
+    List<String> chunkTexts = new ArrayList<>();
+    for (DocumentSplitter.Chunk chunk : chunks) {
+      chunkTexts.add(chunk.getText(text));
+    }
+    CompletableFuture<List<RemoteResult>> chunkResults = checkAll(chunkTexts, config.withMode("allButTextLevelOnly"), maxParallel);
+    CompletableFuture<RemoteResult> textLevelResult = "allButTextLevelOnly".equals(config.getMode()) ?
+      CompletableFuture.completedFuture(null) : check(text, config.withMode("textLevelOnly"));
+    return chunkResults.thenCombine(textLevelResult, (results, textLevel) -> DocumentSplitter.merge(chunks, results, textLevel));
+  }
+
+  private void checkNext(List<String> texts, CheckConfiguration config, RemoteResult[] results, AtomicInteger nextIndex,
+                         AtomicInteger pending, CompletableFuture<List<RemoteResult>> allDone) {
+    int index = nextIndex.getAndIncrement();
+    if (index >= texts.size() || allDone.isDone()) {
+      return;
+    }
+    check(texts.get(index), config).whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        allDone.completeExceptionally(throwable);
+        return;
+      }
+      results[index] = result;
+      if (pending.decrementAndGet() == 0) {
+        // the write to 'results' happens-before the decrement that reaches 0, so all results are visible:
+        allDone.complete(Arrays.asList(results));
+      } else {
+        checkNext(texts, config, results, nextIndex, pending, allDone);
+      }
+    });
+  }
+
+  private HttpRequest createRequest(String urlParameters) {
+    byte[] postData = urlParameters.getBytes(StandardCharsets.UTF_8);
+    HttpRequest.Builder builder = HttpRequest.newBuilder(checkUri)
+      .timeout(timeout)
+      .header("Content-Type", "application/x-www-form-urlencoded; charset=utf-8");
+    if (compressionThreshold >= 0 && postData.length >= compressionThreshold) {
+      builder.header("Content-Encoding", "gzip");
+      postData = gzip(postData);
+    }
+    return builder.POST(HttpRequest.BodyPublishers.ofByteArray(postData)).build();
+  }
+
+  private static byte[] gzip(byte[] data) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+    try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+      gzipOut.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);  // not expected, data is written to memory
+    }
+    return out.toByteArray();
+  }
+
+  private RemoteResult parseResponse(HttpResponse<byte[]> response) {
+    if (response.statusCode() != 200) {
+      String error = new String(response.body(), StandardCharsets.UTF_8);
+      throw new RuntimeException("Got error: " + error + " - HTTP response code " + response.statusCode());
+    }
+    try {
+      return remoteLanguageTool.parseJson(new ByteArrayInputStream(response.body()));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
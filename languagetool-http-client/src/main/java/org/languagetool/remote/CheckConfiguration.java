@@ -120,4 +120,13 @@ public class CheckConfiguration {
   public String getAPIKey() {
     return apiKey;
   }
+
+  /**
+   * A copy of this configuration with another {@code mode}.
+   * @since 6.9
+   */
+  CheckConfiguration withMode(String mode) {
+    return new CheckConfiguration(langCode, motherTongueLangCode, guessLanguage, enabledRuleIds, enabledOnly,
+                                  disabledRuleIds, mode, level, ruleValues, textSessionID, username, apiKey);
+  }
 }
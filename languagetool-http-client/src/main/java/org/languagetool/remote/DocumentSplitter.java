@@ -0,0 +1,183 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.remote;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Splits a document into chunks that can be checked in parallel and merges the results.
+ * Chunks end at paragraph boundaries if possible. If a chunk needs to end inside a paragraph, the
+ * neighbouring chunks overlap, so the text around the boundary is checked with context on both sides,
+ * and each match is only taken from the chunk in which it starts.
+ * @since 6.9
+ */
+final class DocumentSplitter {
+
+  private DocumentSplitter() {
+  }
+
+  /**
+   * @param start start of the part of the document whose matches are taken from this chunk
+   * @param end end of the part of the document whose matches are taken from this chunk
+   * @param contextStart start of the text sent to the server, {@code <= start}
+   * @param contextEnd end of the text sent to the server, {@code >= end}
+   */
+  record Chunk(int start, int end, int contextStart, int contextEnd) {
+    String getText(String document) {
+      return document.substring(contextStart, contextEnd);
+    }
+  }
+
+  static List<Chunk> split(String text, int maxChunkLength, int overlap) {
+    if (maxChunkLength < 1) {
+      throw new IllegalArgumentException("maxChunkLength must be >= 1: " + maxChunkLength);
+    }
+    List<Integer> boundaries = new ArrayList<>();
+    boundaries.add(0);
+    int start = 0;
+    while (text.length() - start > maxChunkLength) {
+      start = findBoundary(text, start, start + maxChunkLength);
+      boundaries.add(start);
+    }
+    boundaries.add(text.length());
+    List<Chunk> chunks = new ArrayList<>();
+    for (int i = 0; i < boundaries.size() - 1; i++) {
+      int chunkStart = boundaries.get(i);
+      int chunkEnd = boundaries.get(i + 1);
+      int contextStart = isParagraphBoundary(text, chunkStart) ? chunkStart : getContextStart(text, chunkStart, overlap);
+      int contextEnd = isParagraphBoundary(text, chunkEnd) ? chunkEnd : getContextEnd(text, chunkEnd, overlap);
+      chunks.add(new Chunk(chunkStart, chunkEnd, contextStart, contextEnd));
+    }
+    return chunks;
+  }
+
+  /**
+   * The best position between {@code start} (exclusive) and {@code limit} (inclusive) to end a chunk: after an
+   * empty line, after a line break, after the end of a sentence, after whitespace, or at {@code limit} if there's no such position.
+   * Line and sentence ends are only used in the second half of the range, to avoid tiny chunks.
+   */
+  private static int findBoundary(String text, int start, int limit) {
+    int min = start + (limit - start) / 2;
+    int pos = text.lastIndexOf("\n\n", limit - 2);
+    if (pos >= min) {
+      return pos + 2;
+    }
+    pos = text.lastIndexOf('\n', limit - 1);
+    if (pos >= min) {
+      return pos + 1;
+    }
+    for (int i = limit - 1; i > min; i--) {
+      char c = text.charAt(i - 1);
+      if ((c == '.' || c == '!' || c == '?') && Character.isWhitespace(text.charAt(i))) {
+        return i + 1;
+      }
+    }
+    for (int i = limit - 1; i > start; i--) {
+      if (Character.isWhitespace(text.charAt(i))) {
+        return i + 1;
+      }
+    }
+    return Character.isLowSurrogate(text.charAt(limit)) && limit - 1 > start ? limit - 1 : limit;
+  }
+
+  private static boolean isParagraphBoundary(String text, int pos) {
+    return pos == 0 || pos == text.length() || pos >= 2 && text.charAt(pos - 1) == '\n' && text.charAt(pos - 2) == '\n';
+  }
+
+  /**
+   * About {@code overlap} characters before {@code pos}, but at the start of a word and not before the paragraph.
+   */
+  private static int getContextStart(String text, int pos, int overlap) {
+    int min = Math.max(0, pos - overlap);
+    int paragraphStart = text.lastIndexOf("\n\n", pos - 1);
+    if (paragraphStart >= 0) {
+      min = Math.max(min, paragraphStart + 2);
+    }
+    for (int i = min; i < pos; i++) {
+      if (i == 0 || Character.isWhitespace(text.charAt(i - 1))) {
+        return i;
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * About {@code overlap} characters after {@code pos}, but at the end of a word and not after the paragraph.
+   */
+  private static int getContextEnd(String text, int pos, int overlap) {
+    int max = Math.min(text.length(), pos + overlap);
+    int paragraphEnd = text.indexOf("\n\n", pos);
+    if (paragraphEnd >= 0) {
+      max = Math.min(max, paragraphEnd);
+    }
+    for (int i = max; i > pos; i--) {
+      if (i == text.length() || Character.isWhitespace(text.charAt(i))) {
+        return i;
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * @param results the results for {@code chunks}, in the same order, with offsets relative to the chunk's text
+   * @param textLevelResult the result of checking the whole document with text-level rules only, if any
+   * @return one result with the matches of all chunks, with offsets relative to the document
+   */
+  static RemoteResult merge(List<Chunk> chunks, List<RemoteResult> results, @Nullable RemoteResult textLevelResult) {
+    Set<String> seen = new HashSet<>();
+    List<RemoteRuleMatch> matches = new ArrayList<>();
+    List<RemoteIgnoreRange> ignoreRanges = new ArrayList<>();
+    for (int i = 0; i < chunks.size(); i++) {
+      Chunk chunk = chunks.get(i);
+      boolean isLast = i == chunks.size() - 1;
+      for (RemoteRuleMatch match : results.get(i).getMatches()) {
+        int offset = chunk.contextStart() + match.getErrorOffset();
+        // matches in the overlap are taken from the chunk they belong to:
+        if (offset >= chunk.start() && (offset < chunk.end() || isLast)) {
+          addIfNew(match.withErrorOffset(offset), matches, seen);
+        }
+      }
+      for (RemoteIgnoreRange range : results.get(i).getIgnoreRanges()) {
+        int from = chunk.contextStart() + range.getFrom();
+        if (from >= chunk.start() && (from < chunk.end() || isLast)) {
+          ignoreRanges.add(new RemoteIgnoreRange(from, chunk.contextStart() + range.getTo(), range.getLanguageCode()));
+        }
+      }
+    }
+    if (textLevelResult != null) {
+      for (RemoteRuleMatch match : textLevelResult.getMatches()) {
+        addIfNew(match, matches, seen);
+      }
+    }
+    matches.sort(Comparator.comparingInt(RemoteRuleMatch::getErrorOffset));
+    RemoteResult first = results.get(0);
+    return new RemoteResult(first.getLanguage(), first.getLanguageCode(), first.getLanguageDetectedCode(),
+      first.getLanguageDetectedName(), matches, ignoreRanges, first.getRemoteServer());
+  }
+
+  private static void addIfNew(RemoteRuleMatch match, List<RemoteRuleMatch> matches, Set<String> seen) {
+    String key = match.getRuleId() + "/" + match.getRuleSubId().orElse("") + "@" + match.getErrorOffset() + "+" + match.getErrorLength();
+    if (seen.add(key)) {
+      matches.add(match);
+    }
+  }
+
+}
@@ -77,7 +77,7 @@ public class RemoteLanguageTool {
     return check(getUrlParams(text, config, customParams));
   }
 
-  private String getUrlParams(String text, CheckConfiguration config, Map<String, String> customParams) {
+  String getUrlParams(String text, CheckConfiguration config, Map<String, String> customParams) {
     StringBuilder params = new StringBuilder();
     append(params, "text", text);
     if (config.getMotherTongueLangCode() != null) {
@@ -265,7 +265,7 @@ public class RemoteLanguageTool {
     return sb.toString();
   }
 
-  private RemoteResult parseJson(InputStream inputStream) throws XMLStreamException, IOException {
+  RemoteResult parseJson(InputStream inputStream) throws XMLStreamException, IOException {
     Map map = mapper.readValue(inputStream, Map.class);
     Map<String, String> languageObj = (Map<String, String>) map.get("language");
     String language = languageObj.get("name");
@@ -159,6 +159,22 @@ public class RemoteRuleMatch {
     this.locQualityIssueType = locQualityIssueType;
   }
 
+  /**
+   * A copy of this match that starts at {@code offset}.
+   * @since 6.9
+   */
+  RemoteRuleMatch withErrorOffset(int offset) {
+    RemoteRuleMatch match = new RemoteRuleMatch(ruleId, ruleDescription, msg, context, contextOffset, offset, errorLength);
+    match.subId = subId;
+    match.shortMsg = shortMsg;
+    match.replacements = replacements;
+    match.url = url;
+    match.category = category;
+    match.categoryId = categoryId;
+    match.locQualityIssueType = locQualityIssueType;
+    return match;
+  }
+
   @Override
   public String toString() {
     return ruleId + "@" + offset + "-" + (offset + errorLength);
@@ -0,0 +1,132 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.remote;
+
+import org.junit.Test;
+import org.languagetool.server.HTTPServer;
+import org.languagetool.server.HTTPServerConfig;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class AsyncRemoteLanguageToolIntegrationTest {
+
+  private static final String serverUrl = "http://" + HTTPServerConfig.DEFAULT_HOST + ":" + HTTPTools.getDefaultPort();
+
+  @Test
+  public void testClient() throws MalformedURLException {
+    HTTPServer server = new HTTPServer(new HTTPServerConfig(HTTPTools.getDefaultPort()));
+    try {
+      server.run();
+      // compressionThreshold 0 -> all requests are sent gzip-compressed:
+      for (int compressionThreshold : new int[]{-1, 0}) {
+        AsyncRemoteLanguageTool lt = new AsyncRemoteLanguageTool(new URL(serverUrl), Duration.ofSeconds(30), compressionThreshold);
+        CompletableFuture<RemoteResult> result1 = lt.check("This is a correct sentence.", "en");
+        CompletableFuture<RemoteResult> result2 = lt.check("A sentence with a error, and and another one", "en");
+        assertThat(result1.join().getMatches().size(), is(0));
+        assertThat(result2.join().getMatches().size(), is(2));
+        assertThat(result2.join().getMatches().get(0).getRuleId(), is("EN_A_VS_AN"));
+        assertThat(result2.join().getLanguageCode(), is("en"));
+
+        CheckConfiguration disabledConfig = new CheckConfigurationBuilder("en").disabledRuleIds("EN_A_VS_AN").build();
+        RemoteResult result3 = lt.check("A sentence with a error, and and another one", disabledConfig).join();
+        assertThat(result3.getMatches().size(), is(1));
+        assertThat(result3.getMatches().get(0).getRuleId(), is("ENGLISH_WORD_REPEAT_RULE"));
+
+        try {
+          lt.check("foo", "xy").join();
+          fail();
+        } catch (CompletionException e) {
+          assertTrue(e.getCause().getMessage().contains("is not a language code known to LanguageTool"));
+        }
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testCheckAll() throws MalformedURLException {
+    HTTPServer server = new HTTPServer(new HTTPServerConfig(HTTPTools.getDefaultPort()));
+    try {
+      server.run();
+      AsyncRemoteLanguageTool lt = new AsyncRemoteLanguageTool(new URL(serverUrl));
+      CheckConfiguration config = new CheckConfigurationBuilder("en").build();
+      List<String> texts = Arrays.asList("This is a correct sentence.", "A sentence with a error.", "And and another one.",
+        "This is fine.", "This is an test.", "Yet another correct sentence.");
+      List<RemoteResult> results = lt.checkAll(texts, config, 2).join();
+      assertThat(results.size(), is(6));
+      int[] expectedMatches = {0, 1, 1, 0, 1, 0};
+      for (int i = 0; i < texts.size(); i++) {
+        assertThat(texts.get(i), results.get(i).getMatches().size(), is(expectedMatches[i]));
+      }
+      assertThat(lt.checkAll(Collections.emptyList(), config, 2).join().size(), is(0));
+      try {
+        lt.checkAll(texts, new CheckConfigurationBuilder("xy").build(), 2).join();
+        fail();
+      } catch (CompletionException expected) {
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testCheckDocument() throws MalformedURLException {
+    HTTPServer server = new HTTPServer(new HTTPServerConfig(HTTPTools.getDefaultPort()));
+    try {
+      server.run();
+      AsyncRemoteLanguageTool lt = new AsyncRemoteLanguageTool(new URL(serverUrl));
+      CheckConfiguration config = new CheckConfigurationBuilder("en-US").build();
+      String text = "This is a sentence with a error.\n\nThis is is a second paragraph. It has more than one sentence, " +
+        "and it is long enough to be split in the middle of the paragraph. Here is an mistake.\n\n" +
+        "A third paragraph with an tyop.";
+      RemoteResult expected = lt.check(text, config).join();
+      RemoteResult result = lt.checkDocument(text, config, 60, 3).join();
+      assertThat(result.getMatches().toString(), is(expected.getMatches().toString()));
+      assertTrue(result.getMatches().size() >= 4);
+      assertThat(result.getLanguageCode(), is("en-US"));
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test(expected = CompletionException.class)
+  public void testInvalidServer() throws MalformedURLException {
+    AsyncRemoteLanguageTool lt = new AsyncRemoteLanguageTool(new URL("http://does-not-exist"));
+    lt.check("foo", "en").join();
+  }
+
+  @Test(expected = CompletionException.class)
+  public void testInvalidProtocol() throws MalformedURLException {
+    AsyncRemoteLanguageTool lt = new AsyncRemoteLanguageTool(new URL("ftp://" + HTTPServerConfig.DEFAULT_HOST + ":" + HTTPServerConfig.DEFAULT_PORT));
+    lt.check("foo", "en").join();
+  }
+
+}
@@ -0,0 +1,104 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.remote;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class DocumentSplitterTest {
+
+  private static final RemoteServer server = new RemoteServer("LanguageTool", "6.9", "");
+
+  @Test
+  public void testShortText() {
+    assertThat(DocumentSplitter.split("A short text.", 100, 10), is(Collections.singletonList(new DocumentSplitter.Chunk(0, 13, 0, 13))));
+    assertThat(DocumentSplitter.split("", 100, 10), is(Collections.singletonList(new DocumentSplitter.Chunk(0, 0, 0, 0))));
+  }
+
+  @Test
+  public void testSplitAtParagraphs() {
+    String text = "First paragraph.\n\nSecond paragraph.\n\nThird paragraph.";
+    List<DocumentSplitter.Chunk> chunks = DocumentSplitter.split(text, 40, 10);
+    assertThat(chunks.size(), is(2));
+    assertThat(chunks.get(0).getText(text), is("First paragraph.\n\nSecond paragraph.\n\n"));
+    assertThat(chunks.get(1).getText(text), is("Third paragraph."));
+    assertContiguous(text, chunks, 40);
+  }
+
+  @Test
+  public void testSplitInsideParagraph() {
+    String text = "This is a sentence. This is another sentence. And one more sentence. The last sentence.";
+    List<DocumentSplitter.Chunk> chunks = DocumentSplitter.split(text, 50, 10);
+    assertThat(chunks.get(0).getText(text), is("This is a sentence. This is another sentence. And one"));
+    assertThat(chunks.get(0).end(), is(46));
+    assertThat(chunks.get(1).getText(text), is("sentence. And one more sentence. The last sentence."));
+    assertContiguous(text, chunks, 50);
+  }
+
+  @Test
+  public void testSplitWithoutWhitespace() {
+    String text = "x".repeat(9) + "😀" + "y".repeat(20);
+    List<DocumentSplitter.Chunk> chunks = DocumentSplitter.split(text, 10, 5);
+    assertThat(chunks.get(0).end(), is(9));  // not between the surrogates
+    assertContiguous(text, chunks, 10);
+  }
+
+  @Test
+  public void testMerge() {
+    String text = "This is a sentence. This is another sentence. And one more sentence. The last sentence.";
+    List<DocumentSplitter.Chunk> chunks = DocumentSplitter.split(text, 50, 10);
+    RemoteResult result1 = result(match("RULE_A", 5, 2), match("RULE_B", 50, 3));  // RULE_B is in the overlap
+    RemoteResult result2 = result(match("RULE_B", 18, 3), match("RULE_C", 2, 5), match("RULE_D", 40, 4));  // RULE_C is in the overlap
+    RemoteResult textLevel = result(match("RULE_B", 54, 3), match("RULE_T", 0, 4));
+    RemoteResult merged = DocumentSplitter.merge(chunks, Arrays.asList(result1, result2), textLevel);
+    assertThat(merged.getMatches().toString(), is("[RULE_T@0-4, RULE_A@5-7, RULE_B@54-57, RULE_D@76-80]"));
+    assertThat(merged.getLanguageCode(), is("en-US"));
+    assertThat(merged.getMatches().get(2).getContext(), is("context"));
+    assertThat(merged.getMatches().get(2).getReplacements().get(), is(Collections.singletonList("fix")));
+  }
+
+  private void assertContiguous(String text, List<DocumentSplitter.Chunk> chunks, int maxChunkLength) {
+    int pos = 0;
+    for (DocumentSplitter.Chunk chunk : chunks) {
+      assertThat(chunk.start(), is(pos));
+      assertTrue(chunk.end() - chunk.start() <= maxChunkLength);
+      assertTrue(chunk.contextStart() <= chunk.start() && chunk.contextEnd() >= chunk.end());
+      pos = chunk.end();
+    }
+    assertThat(pos, is(text.length()));
+  }
+
+  private RemoteResult result(RemoteRuleMatch... matches) {
+    return new RemoteResult("English (US)", "en-US", null, null, Arrays.asList(matches), Collections.emptyList(), server);
+  }
+
+  private RemoteRuleMatch match(String ruleId, int offset, int length) {
+    RemoteRuleMatch match = new RemoteRuleMatch(ruleId, "desc", "msg", "context", 0, offset, length);
+    match.setReplacements(Collections.singletonList("fix"));
+    return match;
+  }
+
+}
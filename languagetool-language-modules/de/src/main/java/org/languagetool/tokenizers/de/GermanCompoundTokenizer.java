@@ -19,17 +19,22 @@
 package org.languagetool.tokenizers.de;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import de.danielnaber.jwordsplitter.EmbeddedGermanDictionary;
 import de.danielnaber.jwordsplitter.GermanWordSplitter;
 import de.danielnaber.jwordsplitter.InputTooLongException;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.NotNull;
 import org.languagetool.tokenizers.Tokenizer;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -57,7 +62,23 @@ public class GermanCompoundTokenizer implements Tokenizer {
     }
   });
 
+  // splitting is expensive and the tagger, speller, and synthesizer split the same words again and again,
+  // so cache the results, including those for words that cannot be split:
+  private static final int MAX_CACHE_SIZE = 100_000;
+
   private final ExtendedGermanWordSplitter wordSplitter;
+  private final LoadingCache<String, String[]> splitCache = CacheBuilder.newBuilder()
+    .maximumSize(MAX_CACHE_SIZE)
+    .build(new CacheLoader<String, String[]>() {
+      @Override
+      public String[] load(@NotNull String word) {
+        try {
+          return wordSplitter.splitWord(word).toArray(new String[0]);
+        } catch (InputTooLongException e) {
+          return new String[]{word};
+        }
+      }
+    });
 
   public GermanCompoundTokenizer() throws IOException {
     this(true);
@@ -308,13 +329,13 @@ public class GermanCompoundTokenizer implements Tokenizer {
     wordSplitter.addException("Wehrmachts", asList("Wehrmachts"));
   }
 
+  /**
+   * @return the parts of the word, or the word itself if it cannot be split. The list is a copy
+   * that callers may modify.
+   */
   @Override
   public List<String> tokenize(String word) {
-    try {
-      return wordSplitter.splitWord(word);
-    } catch (InputTooLongException e) {
-      return Collections.singletonList(word);
-    }
+    return new ArrayList<>(Arrays.asList(splitCache.getUnchecked(word)));
   }
 
   public static GermanCompoundTokenizer getStrictInstance() {
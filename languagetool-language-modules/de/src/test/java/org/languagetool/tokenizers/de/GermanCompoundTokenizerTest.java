@@ -38,6 +38,17 @@ public class GermanCompoundTokenizerTest {
     assertThat(tokenizer.tokenize("Firefox-Add-on").toString(), is("[Firefox, , Add-on]"));  // why the space?
   }
 
+  @Test
+  public void testCachedResultsCanBeModified() throws IOException {
+    GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer(true);
+    List<String> parts = tokenizer.tokenize("Bahnhofsuhr");
+    parts.remove(0);
+    assertThat(tokenizer.tokenize("Bahnhofsuhr").toString(), is("[Bahnhofs, uhr]"));
+    List<String> noCompound = tokenizer.tokenize("Haus");
+    noCompound.add("x");
+    assertThat(tokenizer.tokenize("Haus").toString(), is("[Haus]"));
+  }
+
   @Test
   @Ignore("for interactive use only")
   public void testInteractively() throws IOException {
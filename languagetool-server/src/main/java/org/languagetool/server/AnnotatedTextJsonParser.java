@@ -0,0 +1,149 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.languagetool.markup.AnnotatedText;
+import org.languagetool.markup.AnnotatedTextBuilder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates an {@link AnnotatedText} from the JSON of the {@code data} parameter. The JSON is read
+ * token by token and fed into an {@link AnnotatedTextBuilder}, no tree of JSON nodes is created,
+ * which matters for documents with many thousands of markup parts. Expected format:
+ * <pre>
+ * {"text": "...", "metaData": {"key": "value"}}
+ * </pre>
+ * or
+ * <pre>
+ * {"annotation": [{"text": "text"}, {"markup": "&lt;b&gt;"}, {"text": "more text"}, {"markup": "&lt;/b&gt;"},
+ *                 {"markup": "&lt;p&gt;", "interpretAs": "\n\n"}]}
+ * </pre>
+ * @since 6.9
+ */
+final class AnnotatedTextJsonParser {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private AnnotatedTextJsonParser() {
+  }
+
+  static AnnotatedText parse(String data) {
+    try (JsonParser parser = mapper.getFactory().createParser(data)) {
+      return parse(parser);
+    } catch (JsonProcessingException e) {
+      throw new BadRequestException("Could not parse JSON from 'data' parameter", e);
+    } catch (IOException e) {
+      throw new RuntimeException(e);  // not expected, data is read from a String
+    }
+  }
+
+  private static AnnotatedText parse(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new BadRequestException("'data' key in JSON requires 'text' or 'annotation' key");
+    }
+    AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+    String text = null;
+    boolean hasAnnotation = false;
+    Map<String, String> metaData = new LinkedHashMap<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken token = parser.nextToken();
+      if ("text".equals(field)) {
+        text = getValueAsText(parser);
+      } else if ("annotation".equals(field)) {
+        hasAnnotation = true;
+        if (token == JsonToken.START_ARRAY) {
+          addAnnotation(parser, builder);
+        } else {
+          parser.skipChildren();
+        }
+      } else if ("metaData".equals(field) && token == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String key = parser.currentName();
+          parser.nextToken();
+          metaData.put(key, getValueAsText(parser));
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (text != null && hasAnnotation) {
+      throw new BadRequestException("'data' key in JSON requires either 'text' or 'annotation' key, not both");
+    } else if (text != null) {
+      builder.addText(text);
+      for (Map.Entry<String, String> entry : metaData.entrySet()) {
+        try {
+          builder.addGlobalMetaData(AnnotatedText.MetaDataKey.valueOf(entry.getKey()), entry.getValue());
+        } catch (IllegalArgumentException e) {
+          builder.addGlobalMetaData(entry.getKey(), entry.getValue());
+        }
+      }
+    } else if (!hasAnnotation) {
+      throw new BadRequestException("'data' key in JSON requires 'text' or 'annotation' key");
+    }
+    if (parser.nextToken() != null) {
+      throw new BadRequestException("Could not parse JSON from 'data' parameter: unexpected content after the JSON object");
+    }
+    return builder.build();
+  }
+
+  private static void addAnnotation(JsonParser parser, AnnotatedTextBuilder builder) throws IOException {
+    // each entry is small, so it's read as a tree to keep the validation and error messages of the tree-based parsing:
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      JsonNode node = mapper.readTree(parser);
+      if (node.get("text") != null && node.get("markup") != null) {
+        throw new BadRequestException("Only either 'text' or 'markup' are supported in an object in 'annotation' list, not both: " + node);
+      } else if (node.get("text") != null && node.get("interpretAs") != null) {
+        throw new BadRequestException("'text' cannot be used with 'interpretAs' (only 'markup' can): " + node);
+      } else if (node.get("text") != null) {
+        builder.addText(node.get("text").asText());
+      } else if (node.get("markup") != null) {
+        if (node.get("interpretAs") != null) {
+          builder.addMarkup(node.get("markup").asText(), node.get("interpretAs").asText());
+        } else {
+          builder.addMarkup(node.get("markup").asText());
+        }
+      } else {
+        throw new BadRequestException("Only 'text' and 'markup' are supported in 'annotation' list: " + node);
+      }
+    }
+  }
+
+  /**
+   * Like {@code JsonNode.asText()}: the value of a scalar, {@code "null"} for null and
+   * an empty string for objects and arrays.
+   */
+  private static String getValueAsText(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return "";
+    }
+    return parser.getText();
+  }
+
+}
@@ -20,8 +20,6 @@ package org.languagetool.server;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.net.httpserver.HttpExchange;
 import io.opentelemetry.api.common.Attributes;
@@ -37,6 +35,7 @@ import org.languagetool.rules.IncorrectExample;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleOption;
 import org.languagetool.rules.TextLevelRule;
+import org.languagetool.tools.RuleProfiler;
 import org.languagetool.tools.TelemetryProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +43,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -62,6 +64,7 @@ class ApiV2 {
   private static final String JSON_CONTENT_TYPE = "application/json";
   private static final String TEXT_CONTENT_TYPE = "text/plain";
   private static final String ENCODING = "UTF-8";
+  static final String RULE_PROFILE_ACCESS_TOKEN_HEADER = "X-Rule-Profile-Access-Token";
 
   private final TextChecker textChecker;
   private final String allowOriginUrl;
@@ -97,6 +100,9 @@ class ApiV2 {
     } else if (path.equals("admin/refreshUser")) {
       // private (i.e. undocumented) API for our own use only
       TelemetryProvider.INSTANCE.createSpan(spanName, Attributes.empty(), () -> handleRefreshUserInfoRequest(httpExchange, parameters, config));
+    } else if (path.equals("admin/ruleProfile")) {
+      // private (i.e. undocumented) API for our own use only
+      TelemetryProvider.INSTANCE.createSpan(spanName, Attributes.empty(), () -> handleRuleProfileRequest(httpExchange, parameters, remoteAddress, config));
     } else if (path.equals("users/me")) {
       // private (i.e. undocumented) API for our own use only
       TelemetryProvider.INSTANCE.createSpan(spanName, Attributes.empty(), () -> 
@@ -149,22 +155,7 @@ class ApiV2 {
     } else if (parameters.containsKey("text")) {
       aText = new AnnotatedTextBuilder().addText(parameters.get("text")).build();
     } else if (parameters.containsKey("data")) {
-      ObjectMapper mapper = new ObjectMapper();
-      JsonNode data;
-      try {
-        data = mapper.readTree(parameters.get("data"));
-      } catch (JsonProcessingException e) {
-        throw new BadRequestException("Could not parse JSON from 'data' parameter", e);
-      }
-      if (data.get("text") != null && data.get("annotation") != null) {
-        throw new BadRequestException("'data' key in JSON requires either 'text' or 'annotation' key, not both");
-      } else if (data.get("text") != null) {
-        aText = getAnnotatedTextFromString(data, data.get("text").asText());
-      } else if (data.get("annotation") != null) {
-        aText = getAnnotatedTextFromJson(data);
-      } else {
-        throw new BadRequestException("'data' key in JSON requires 'text' or 'annotation' key");
-      }
+      aText = AnnotatedTextJsonParser.parse(parameters.get("data"));
     } else {
       throw new BadRequestException("Missing 'text' or 'data' parameter");
     }
@@ -340,6 +331,69 @@ class ApiV2 {
     }
   }
 
+  /*
+   * List the rules that used the most time (or memory, or had the most matches) on the checks so far,
+   * see 'ruleProfilingSampleRate' -> for internal use, only accessible with the 'ruleProfileAccessToken'
+   * or, if that's not configured, from localhost. Note that a proxy on the same host makes all requests
+   * look like they come from localhost unless 'trustXForwardForHeader' is set, so configure the token then.
+   */
+  private void handleRuleProfileRequest(HttpExchange httpExchange, Map<String, String> params, String remoteAddress, HTTPServerConfig config) throws Exception {
+    ensureGetMethod(httpExchange, "/admin/ruleProfile");
+    String accessToken = config.getRuleProfileAccessToken();
+    if (accessToken != null) {
+      String requestToken = httpExchange.getRequestHeaders().getFirst(RULE_PROFILE_ACCESS_TOKEN_HEADER);
+      if (requestToken == null || !MessageDigest.isEqual(accessToken.getBytes(StandardCharsets.UTF_8), requestToken.getBytes(StandardCharsets.UTF_8))) {
+        throw new AuthException("/admin/ruleProfile requires a valid " + RULE_PROFILE_ACCESS_TOKEN_HEADER + " header");
+      }
+    } else if (remoteAddress == null || !InetAddress.getByName(remoteAddress).isLoopbackAddress()) {
+      throw new AuthException("/admin/ruleProfile can only be accessed from localhost");
+    }
+    if (!RuleProfiler.isEnabled()) {
+      throw new BadRequestException("Rule profiling is not enabled, set 'ruleProfilingSampleRate' in the server configuration");
+    }
+    int top = parseTop(params.getOrDefault("top", "20"));
+    String sort = params.getOrDefault("sort", "time");
+    Comparator<RuleProfiler.RuleStats> order;
+    switch (sort) {
+      case "time": order = RuleProfiler.RuleStats.BY_TIME; break;
+      case "allocation": order = RuleProfiler.RuleStats.BY_ALLOCATION; break;
+      case "matches": order = RuleProfiler.RuleStats.BY_MATCHES; break;
+      default: throw new BadRequestException("Unknown value for 'sort', use 'time', 'allocation', or 'matches': " + sort);
+    }
+    List<RuleProfiler.RuleStats> topRules = RuleProfiler.getTopRules(top, order, params.get("language"));
+    StringWriter sw = new StringWriter();
+    try (JsonGenerator g = factory.createGenerator(sw)) {
+      g.writeStartObject();
+      g.writeNumberField("sampleRate", RuleProfiler.getSampleRate());
+      g.writeArrayFieldStart("rules");
+      for (RuleProfiler.RuleStats stats : topRules) {
+        g.writeStartObject();
+        g.writeStringField("language", stats.getLanguage());
+        g.writeStringField("ruleId", stats.getRuleId());
+        g.writeNumberField("sampledCalls", stats.getCalls());
+        g.writeNumberField("sampledMillis", stats.getNanos() / 1_000_000);
+        g.writeNumberField("sampledMatches", stats.getMatches());
+        g.writeNumberField("sampledAllocatedBytes", stats.getAllocatedBytes());
+        g.writeNumberField("avgMicrosPerCall", stats.getCalls() > 0 ? stats.getNanos() / 1000 / stats.getCalls() : 0);
+        g.writeEndObject();
+      }
+      g.writeEndArray();
+      g.writeEndObject();
+    }
+    sendJson(httpExchange, sw);
+  }
+
+  private static int parseTop(String top) {
+    try {
+      int result = Integer.parseInt(top.trim());
+      if (result >= 0) {
+        return result;
+      }
+    } catch (NumberFormatException ignored) {
+    }
+    throw new BadRequestException("Invalid value for 'top', use a number >= 0: " + top);
+  }
+
   /*
    * Provide information on user that requests this, e.g. for add-on to acquire token + other information
    * Expects user + password via HTTP Basic Auth
@@ -450,55 +504,6 @@ class ApiV2 {
     ServerMetricsCollector.getInstance().logResponse(HttpURLConnection.HTTP_OK);
   }
 
-  private AnnotatedText getAnnotatedTextFromString(JsonNode data, String text) {
-    AnnotatedTextBuilder textBuilder = new AnnotatedTextBuilder().addText(text);
-    if (data.has("metaData")) {
-      JsonNode metaData = data.get("metaData");
-      Iterator<String> it = metaData.fieldNames();
-      while (it.hasNext()) {
-        String key = it.next();
-        String val = metaData.get(key).asText();
-        try {
-          AnnotatedText.MetaDataKey metaDataKey = AnnotatedText.MetaDataKey.valueOf(key);
-          textBuilder.addGlobalMetaData(metaDataKey, val);
-        } catch (IllegalArgumentException e) {
-          textBuilder.addGlobalMetaData(key, val);
-        }
-      }
-    }
-    return textBuilder.build();
-  }
-
-  private AnnotatedText getAnnotatedTextFromJson(JsonNode data) {
-    AnnotatedTextBuilder atb = new AnnotatedTextBuilder();
-    // Expected format:
-    // annotation: [
-    //   {text: 'text'},
-    //   {markup: '<b>'}
-    //   {text: 'more text'},
-    //   {markup: '</b>'}
-    // ]
-    //
-    for (JsonNode node : data.get("annotation")) {
-      if (node.get("text") != null && node.get("markup") != null) {
-        throw new BadRequestException("Only either 'text' or 'markup' are supported in an object in 'annotation' list, not both: " + node);
-      } else if (node.get("text") != null && node.get("interpretAs") != null) {
-        throw new BadRequestException("'text' cannot be used with 'interpretAs' (only 'markup' can): " + node);
-      } else if (node.get("text") != null) {
-        atb.addText(node.get("text").asText());
-      } else if (node.get("markup") != null) {
-        if (node.get("interpretAs") != null) {
-          atb.addMarkup(node.get("markup").asText(), node.get("interpretAs").asText());
-        } else {
-          atb.addMarkup(node.get("markup").asText());
-        }
-      } else {
-        throw new BadRequestException("Only 'text' and 'markup' are supported in 'annotation' list: " + node);
-      }
-    }
-    return atb.build();
-  }
-
   String getLanguages() throws IOException {
     StringWriter sw = new StringWriter();
     try (JsonGenerator g = factory.createGenerator(sw)) {
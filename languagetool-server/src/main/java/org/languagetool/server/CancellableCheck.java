@@ -0,0 +1,65 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.server.ServerMetricsCollector.CancelReason;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A submitted check that can be cancelled from other threads, e.g. because a newer request
+ * supersedes it or the client has disconnected. Remembers why it was cancelled, so the thread
+ * waiting for the result can report the right reason.
+ * @since 6.9
+ */
+final class CancellableCheck {
+
+  private final Future<?> future;
+  private final AtomicReference<CancelReason> cancelReason = new AtomicReference<>();
+
+  CancellableCheck(Future<?> future) {
+    this.future = future;
+  }
+
+  /**
+   * Cancel the check and interrupt it if it's running. If the check gets cancelled more than
+   * once, the first reason is kept.
+   * @return true if the check was cancelled by this call
+   */
+  boolean cancel(CancelReason reason) {
+    // set before cancelling, so the reason is visible when future.get() throws a CancellationException:
+    cancelReason.compareAndSet(null, reason);
+    return future.cancel(true);
+  }
+
+  /**
+   * @return the reason of the first {@link #cancel(CancelReason)} call, or {@code null} if the check wasn't cancelled that way
+   */
+  @Nullable
+  CancelReason getCancelReason() {
+    return cancelReason.get();
+  }
+
+  Future<?> getFuture() {
+    return future;
+  }
+
+}
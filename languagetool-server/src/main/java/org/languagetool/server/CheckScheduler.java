@@ -0,0 +1,183 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.tools.LtThreadPoolFactory;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs text checks on a fixed number of threads, but orders waiting checks by priority instead of
+ * first-in-first-out, so that short interactive checks don't wait behind large documents.
+ * When a check is queued, it gets a deadline:
+ * <pre>now + (estimated cost + estimated cost of the same user's waiting checks) / weight of the user's tier</pre>
+ * Waiting checks run in order of their deadline. Cheap checks thus run first, but as the deadline
+ * doesn't change while waiting, expensive checks will run eventually (aging). Because a user's waiting
+ * checks push back the same user's new checks, a user with many documents cannot block others.
+ * The cost of a check is estimated from the text length and the average time per character
+ * of previous checks with the same language, level, and remote rule usage.
+ * @since 6.9
+ */
+@Slf4j
+class CheckScheduler {
+
+  enum Tier {
+    ANONYMOUS(1), USER(2), PREMIUM(4);
+
+    private final int weight;
+
+    Tier(int weight) {
+      this.weight = weight;
+    }
+
+    static Tier of(UserLimits limits) {
+      if (limits.hasPremium()) {
+        return PREMIUM;
+      }
+      return limits.getPremiumUid() != null ? USER : ANONYMOUS;
+    }
+  }
+
+  private static final double DEFAULT_MILLIS_PER_KILO_CHAR = 25;
+  private static final double MOVING_AVERAGE_WEIGHT = 0.05;  // weight of the latest check in the moving average
+  private static final long MIN_COST_MILLIS = 5;  // overhead of any check, e.g. for very short texts
+
+  private final ThreadPoolExecutor executor;
+  private final int maxQueueSize;
+  private final AtomicLong sequence = new AtomicLong();
+  // estimated cost in milliseconds of checks that are still waiting, by user (or IP)
+  private final Map<String, Long> queuedCost = new ConcurrentHashMap<>();
+  // moving average of check time per 1000 characters, by language, level, and remote rule usage
+  private final Map<String, Double> millisPerKiloChar = new ConcurrentHashMap<>();
+
+  /**
+   * @param maxQueueSize checks submitted when this number of checks is waiting already are rejected, 0 means no limit
+   */
+  CheckScheduler(int maxThreads, int maxQueueSize) {
+    this.executor = LtThreadPoolFactory.createPriorityThreadPoolExecutor(LtThreadPoolFactory.TEXT_CHECKER_POOL, maxThreads, false,
+      (thread, throwable) -> log.error("Thread: " + thread.getName() + " failed with: " + throwable.getMessage()));
+    this.maxQueueSize = maxQueueSize;
+  }
+
+  ThreadPoolExecutor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * @throws RejectedExecutionException if too many checks are waiting already
+   */
+  <T> Future<T> submit(Callable<T> check, int textLength, Language lang, JLanguageTool.Level level, boolean remoteRules,
+                       UserLimits limits, @Nullable String remoteAddress) {
+    if (maxQueueSize > 0 && executor.getQueue().size() >= maxQueueSize) {
+      throw new RejectedExecutionException("Too many checks waiting: " + executor.getQueue().size());
+    }
+    Tier tier = Tier.of(limits);
+    String user = limits.getPremiumUid() != null ? "uid:" + limits.getPremiumUid() : "ip:" + remoteAddress;
+    String costKey = lang.getShortCode() + "/" + level + "/" + remoteRules;
+    long cost = estimateCostMillis(costKey, textLength);
+    long waitingCost = queuedCost.merge(user, cost, Long::sum);
+    long deadline = System.currentTimeMillis() + waitingCost / tier.weight;
+    ScheduledCheck<T> task = new ScheduledCheck<>(check, deadline, tier, user, cost, costKey, textLength);
+    ServerMetricsCollector.getInstance().logCheckQueued(tier.name());
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.dequeued();
+      throw e;
+    }
+    return task;
+  }
+
+  long estimateCostMillis(String costKey, int textLength) {
+    double millisPerChar = millisPerKiloChar.getOrDefault(costKey, DEFAULT_MILLIS_PER_KILO_CHAR) / 1000.0;
+    return Math.max(MIN_COST_MILLIS, Math.round(millisPerChar * textLength));
+  }
+
+  void learnCost(String costKey, int textLength, long millis) {
+    if (textLength < 100) {
+      return;  // time is dominated by overhead, not useful to learn the time per character
+    }
+    double observed = millis * 1000.0 / textLength;
+    millisPerKiloChar.merge(costKey, observed, (old, latest) -> old + MOVING_AVERAGE_WEIGHT * (latest - old));
+  }
+
+  private final class ScheduledCheck<T> extends FutureTask<T> implements Comparable<ScheduledCheck<?>> {
+
+    private final long deadline;
+    private final long seq = sequence.incrementAndGet();
+    private final long queuedAt = System.currentTimeMillis();
+    private final Tier tier;
+    private final String user;
+    private final long cost;
+    private final String costKey;
+    private final int textLength;
+    private final AtomicBoolean waiting = new AtomicBoolean(true);
+
+    ScheduledCheck(Callable<T> callable, long deadline, Tier tier, String user, long cost, String costKey, int textLength) {
+      super(callable);
+      this.deadline = deadline;
+      this.tier = tier;
+      this.user = user;
+      this.cost = cost;
+      this.costKey = costKey;
+      this.textLength = textLength;
+    }
+
+    @Override
+    public void run() {
+      boolean started = dequeued();
+      long startTime = System.currentTimeMillis();
+      super.run();
+      if (started && !isCancelled()) {
+        learnCost(costKey, textLength, System.currentTimeMillis() - startTime);
+      }
+    }
+
+    @Override
+    protected void done() {
+      dequeued();  // cancelled while still waiting
+    }
+
+    /**
+     * @return true if the check was still waiting
+     */
+    boolean dequeued() {
+      if (waiting.compareAndSet(true, false)) {
+        queuedCost.computeIfPresent(user, (k, v) -> v - cost <= 0 ? null : v - cost);
+        ServerMetricsCollector.getInstance().logCheckDequeued(tier.name(), System.currentTimeMillis() - queuedAt);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public int compareTo(@NotNull ScheduledCheck<?> other) {
+      int result = Long.compare(deadline, other.deadline);
+      return result != 0 ? result : Long.compare(seq, other.seq);
+    }
+  }
+}
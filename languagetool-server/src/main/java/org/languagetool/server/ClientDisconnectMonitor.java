@@ -0,0 +1,175 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notices when clients close their connection while their check is still running, so the check
+ * can be cancelled. Neither {@code com.sun.net.httpserver} nor Jetty's implementation of it tell
+ * the handler about that, so this looks at the state of the TCP connections in {@code /proc/net/tcp}
+ * and {@code /proc/net/tcp6} (Linux only): a connection closed by the client stays in state
+ * {@code CLOSE_WAIT} until the server closes it, too. One thread checks all watched connections,
+ * so reading the tables costs the same for one or many running checks.
+ * @since 6.9
+ */
+@Slf4j
+final class ClientDisconnectMonitor {
+
+  private static final List<Path> TCP_TABLES = Arrays.asList(Paths.get("/proc/net/tcp"), Paths.get("/proc/net/tcp6"));
+  private static final String CLOSE_WAIT = "08";
+
+  private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService executor;
+
+  /**
+   * @param intervalMillis how often to look for closed connections
+   */
+  ClientDisconnectMonitor(long intervalMillis) {
+    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "lt-client-disconnect-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::checkConnections, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  static boolean isSupported() {
+    return Files.isReadable(TCP_TABLES.get(0));
+  }
+
+  /**
+   * Run {@code onDisconnect} once, on the monitor's thread, when the client closes the connection
+   * between {@code local} and {@code remote}.
+   * @return a watch that must be closed when the result has been sent
+   */
+  Watch watch(InetSocketAddress local, InetSocketAddress remote, Runnable onDisconnect) {
+    Watch watch = new Watch(getConnectionKeys(local, remote, ByteOrder.nativeOrder()), onDisconnect);
+    watches.add(watch);
+    return watch;
+  }
+
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void checkConnections() {
+    if (watches.isEmpty()) {
+      return;
+    }
+    Set<String> closedConnections = new HashSet<>();
+    try {
+      for (Path table : TCP_TABLES) {
+        if (Files.isReadable(table)) {
+          closedConnections.addAll(getClosedConnections(Files.readAllLines(table)));
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Could not read TCP connection states", e);
+      return;
+    }
+    for (Watch watch : watches) {
+      if (!Collections.disjoint(watch.connectionKeys, closedConnections) && watches.remove(watch)) {
+        try {
+          watch.onDisconnect.run();
+        } catch (RuntimeException e) {
+          log.warn("Could not handle client disconnect", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param lines the lines of {@code /proc/net/tcp} or {@code /proc/net/tcp6}
+   * @return the connections in state {@code CLOSE_WAIT}, as {@code local-remote} in the table's format
+   */
+  static Set<String> getClosedConnections(List<String> lines) {
+    Set<String> result = new HashSet<>();
+    for (String line : lines) {
+      // e.g. "  0: 0100007F:1F90 0100007F:C350 08 00000000:00000000 00:00000000 00000000 ...", the first line is a header
+      String[] parts = line.trim().split("\\s+");
+      if (parts.length > 3 && parts[3].equals(CLOSE_WAIT)) {
+        result.add(parts[1] + "-" + parts[2]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The keys the connection can have in the tables. An IPv4 connection can also be listed in
+   * {@code tcp6} with IPv4-mapped addresses.
+   * @param byteOrder the byte order of the machine, the kernel prints the addresses as 32-bit words in that order
+   */
+  static Set<String> getConnectionKeys(InetSocketAddress local, InetSocketAddress remote, ByteOrder byteOrder) {
+    Set<String> keys = new HashSet<>();
+    keys.add(format(local, false, byteOrder) + "-" + format(remote, false, byteOrder));
+    if (local.getAddress() instanceof Inet4Address && remote.getAddress() instanceof Inet4Address) {
+      keys.add(format(local, true, byteOrder) + "-" + format(remote, true, byteOrder));
+    }
+    return keys;
+  }
+
+  private static String format(InetSocketAddress address, boolean ipv4Mapped, ByteOrder byteOrder) {
+    byte[] bytes = address.getAddress().getAddress();
+    if (ipv4Mapped) {
+      byte[] mapped = new byte[16];
+      mapped[10] = (byte) 0xff;
+      mapped[11] = (byte) 0xff;
+      System.arraycopy(bytes, 0, mapped, 12, 4);
+      bytes = mapped;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
+    StringBuilder sb = new StringBuilder();
+    while (buffer.hasRemaining()) {
+      sb.append(String.format("%08X", buffer.getInt()));
+    }
+    return sb.append(String.format(":%04X", address.getPort())).toString();
+  }
+
+  final class Watch implements AutoCloseable {
+
+    private final Set<String> connectionKeys;
+    private final Runnable onDisconnect;
+
+    private Watch(Set<String> connectionKeys, Runnable onDisconnect) {
+      this.connectionKeys = connectionKeys;
+      this.onDisconnect = onDisconnect;
+    }
+
+    @Override
+    public void close() {
+      watches.remove(this);
+    }
+  }
+
+}
@@ -24,10 +24,14 @@ package org.languagetool.server;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.languagetool.CheckResults;
+import org.languagetool.rules.RuleMatch;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @since 4.3
@@ -43,13 +47,14 @@ class DatabaseLogger {
   static int SQL_BATCH_WAITING_TIME = 10000; // milliseconds to wait until batch gets committed anyway
   
   private static final int MAX_QUEUE_SIZE = 50000; // drop entries after limit is reached, to avoid running out of memory
+  private static final int DROP_MESSAGE_INTERVAL = 1000; // print a message for every n-th dropped entry only
 
   /**
    * @return an instance that will be disabled until initialized by DatabaseAccess
    */
   public static DatabaseLogger getInstance() {
     if (instance == null) {
-      instance = new DatabaseLogger();
+      instance = new DatabaseLogger(MAX_QUEUE_SIZE);
     }
     return instance;
   }
@@ -89,6 +94,9 @@ class DatabaseLogger {
               batchSize++;
             }
           }
+          for (DatabaseLogEntry entry : ruleMatchCounts.drain(System.currentTimeMillis(), false)) {
+            session.insert(entry.getMappingIdentifier(), entry.getMapping());
+          }
           session.commit();
         }
       } catch (Exception e) {
@@ -100,15 +108,21 @@ class DatabaseLogger {
     }
   }
 
-  private final BlockingQueue<DatabaseLogEntry> messages = new LinkedBlockingQueue<>();
+  private final BlockingQueue<DatabaseLogEntry> messages;
+  private final RuleMatchCounts ruleMatchCounts = new RuleMatchCounts();
+  private final AtomicLong droppedEntries = new AtomicLong();
   private SqlSessionFactory sessionFactory = null;
   private WorkerThread worker = null;
   private boolean disabled = true;
 
-  private DatabaseLogger() {
+  /**
+   * @param maxQueueSize entries logged while this many entries are waiting to be written get dropped
+   */
+  DatabaseLogger(int maxQueueSize) {
+    messages = new LinkedBlockingQueue<>(maxQueueSize);
   }
 
-  private void start(SqlSessionFactory factory) {
+  void start(SqlSessionFactory factory) {
     sessionFactory = factory;
     disabled = false;
     worker = new WorkerThread();
@@ -126,20 +140,44 @@ class DatabaseLogger {
     return !this.disabled;
   }
 
+  /**
+   * Queue the entry to be written to the database. Never blocks: if the database can't keep up
+   * and the queue is full, the entry is dropped.
+   */
   public void log(DatabaseLogEntry entry) {
-    try {
-      if (!disabled) {
-        if (messages.size() < MAX_QUEUE_SIZE) {
-          messages.put(entry);
-        } else {
-          ServerTools.print("Logging queue has reached size limit; discarding new messages.");
+    if (!disabled && !messages.offer(entry)) {
+      long dropped = droppedEntries.incrementAndGet();
+      ServerMetricsCollector.getInstance().logDatabaseLogDropped(entry.getClass().getSimpleName());
+      if (dropped % DROP_MESSAGE_INTERVAL == 1) {
+        ServerTools.print("Logging queue has reached size limit; discarding new messages. Dropped so far: " + dropped);
+      }
+    }
+  }
+
+  /**
+   * Count the matches per rule. The counts are written to the database as one entry
+   * per minute, language, and rule.
+   * @since 6.9
+   */
+  void logRuleMatches(String language, List<CheckResults> results) {
+    if (!disabled) {
+      long now = System.currentTimeMillis();
+      for (CheckResults result : results) {
+        for (RuleMatch match : result.getRuleMatches()) {
+          ruleMatchCounts.add(now, language, match.getRule().getFullId());
         }
       }
-    } catch (InterruptedException e) {
-      e.printStackTrace();
     }
   }
 
+  /**
+   * @return number of entries dropped because the queue was full
+   * @since 6.9
+   */
+  long getDroppedEntries() {
+    return droppedEntries.get();
+  }
+
   /**
    * For testing; wait until queue is empty.
    */
@@ -162,6 +200,7 @@ class DatabaseLogger {
     try (SqlSession session = sessionFactory.openSession(true)) {
       String[] statements = {
         "org.languagetool.server.LogMapper.createCheckLog",
+        "org.languagetool.server.LogMapper.createRuleMatchCounts",
         "org.languagetool.server.LogMapper.createPings",
         "org.languagetool.server.LogMapper.createServers",
         "org.languagetool.server.LogMapper.createClients"};
@@ -178,6 +217,7 @@ class DatabaseLogger {
   void dropTestTables() {
     try (SqlSession session = sessionFactory.openSession(true)) {
       session.delete("org.languagetool.server.LogMapper.dropCheckLog");
+      session.delete("org.languagetool.server.LogMapper.dropRuleMatchCounts");
       session.delete("org.languagetool.server.LogMapper.dropPings");
       session.delete("org.languagetool.server.LogMapper.dropServers");
       session.delete("org.languagetool.server.LogMapper.dropClients");
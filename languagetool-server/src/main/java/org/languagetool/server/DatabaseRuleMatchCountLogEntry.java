@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of matches of a rule in one minute, see {@link RuleMatchCounts}.
+ * @since 6.9
+ */
+class DatabaseRuleMatchCountLogEntry extends DatabaseLogEntry {
+
+  private final long minute;
+  private final String language;
+  private final String ruleId;
+  private final int matches;
+
+  DatabaseRuleMatchCountLogEntry(long minute, String language, String ruleId, int matches) {
+    this.minute = minute;
+    this.language = language;
+    this.ruleId = ruleId;
+    this.matches = matches;
+  }
+
+  String getLanguage() {
+    return language;
+  }
+
+  String getRuleId() {
+    return ruleId;
+  }
+
+  int getMatches() {
+    return matches;
+  }
+
+  @Override
+  public Map<Object, Object> getMapping() {
+    Calendar date = Calendar.getInstance();
+    date.setTimeInMillis(minute);
+    Map<Object, Object> map = new HashMap<>();
+    map.put("date", ServerTools.getSQLDatetimeString(date));
+    map.put("language", StringUtils.abbreviate(language, 30));
+    map.put("rule_id", StringUtils.abbreviate(ruleId, 128));
+    map.put("matches", matches);
+    return map;
+  }
+
+  @Override
+  public String getMappingIdentifier() {
+    return "org.languagetool.server.LogMapper.logRuleMatchCount";
+  }
+
+}
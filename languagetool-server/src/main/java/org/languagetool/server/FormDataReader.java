@@ -0,0 +1,140 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes {@code application/x-www-form-urlencoded} data while it is read from the request body,
+ * like {@link java.net.URLDecoder} does for a string. Compared to reading the whole body into a
+ * string, splitting it and decoding the parts, only the decoded parameters are kept in memory.
+ * Pairs without a {@code =} are ignored, for a repeated key the last value is used.
+ * @since 6.9
+ */
+final class FormDataReader {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final InputStream in;
+  private final long maxBytes;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int bufferPos;
+  private int bufferEnd;
+  private long bytesRead;
+
+  private FormDataReader(InputStream in, long maxBytes) {
+    this.in = in;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @param maxBytes maximum length of the encoded data
+   * @throws TextTooLongException if there are more than {@code maxBytes} bytes
+   * @throws BadRequestException if the data contains an invalid {@code %} escape sequence
+   */
+  static Map<String, String> read(InputStream in, long maxBytes) throws IOException {
+    return new FormDataReader(in, maxBytes).read();
+  }
+
+  private Map<String, String> read() throws IOException {
+    Map<String, String> params = new HashMap<>();
+    Bytes key = new Bytes();
+    Bytes value = new Bytes();
+    Bytes current = key;
+    boolean hasValue = false;
+    while (true) {
+      int b = next();
+      if (b == -1 || b == '&') {
+        if (hasValue) {
+          params.put(key.toString(), value.toString());
+        }
+        if (b == -1) {
+          return params;
+        }
+        key.clear();
+        value.clear();
+        current = key;
+        hasValue = false;
+      } else if (b == '=' && !hasValue) {
+        current = value;
+        hasValue = true;
+      } else if (b == '+') {
+        current.add(' ');
+      } else if (b == '%') {
+        int high = Character.digit(next(), 16);
+        int low = Character.digit(next(), 16);
+        if (high == -1 || low == -1) {
+          throw new BadRequestException("Could not decode query: invalid escape sequence after " + bytesRead + " bytes");
+        }
+        current.add(high << 4 | low);
+      } else {
+        current.add(b);
+      }
+    }
+  }
+
+  private int next() throws IOException {
+    if (bufferPos == bufferEnd) {
+      int read = in.read(buffer, 0, BUFFER_SIZE);
+      if (read <= 0) {
+        return -1;
+      }
+      bytesRead += read;
+      if (bytesRead > maxBytes) {
+        // don't stop at the maximum text length as other parameters are included, too, but
+        // we still need a limit here so we don't OOM if someone posts a few hundred MB:
+        throw new TextTooLongException("Your text's length exceeds this server's hard limit of " + maxBytes + " characters.");
+      }
+      bufferPos = 0;
+      bufferEnd = read;
+    }
+    return buffer[bufferPos++] & 0xff;
+  }
+
+  /**
+   * A growing byte array. Unlike {@link java.io.ByteArrayOutputStream}, it's not synchronized, as
+   * it's called once per byte of the request.
+   */
+  private static final class Bytes {
+    private byte[] bytes = new byte[64];
+    private int length;
+
+    void add(int b) {
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[length++] = (byte) b;
+    }
+
+    void clear() {
+      length = 0;
+    }
+
+    @Override
+    public String toString() {
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+  }
+
+}
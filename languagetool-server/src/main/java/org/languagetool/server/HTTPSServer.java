@@ -47,7 +47,7 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
  */
 public class HTTPSServer extends Server {
 
-  private final ThreadPoolExecutor executorService;
+  private final ExecutorService executorService;
 
   /**
    * Prepare a server on the given host and port - use run() to start it.
@@ -71,7 +71,8 @@ public class HTTPSServer extends Server {
       RequestLimiter limiter = getRequestLimiterOrNull(config);
       ErrorRequestLimiter errorLimiter = getErrorRequestLimiterOrNull(config);
       executorService = getExecutorService(config);
-      BlockingQueue<Runnable> workQueue = executorService.getQueue();
+      // no queue when running on virtual threads, LanguageToolHttpHandler then limits by the number of requests in progress
+      BlockingQueue<Runnable> workQueue = executorService instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executorService).getQueue() : null;
       httpHandler = new LanguageToolHttpHandler(config, allowedIps, runInternally, limiter, errorLimiter, workQueue, this);
       server.createContext("/", httpHandler);
       server.setExecutor(executorService);
@@ -31,6 +31,7 @@ import java.net.ServerSocket;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
@@ -46,7 +47,7 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
 @Slf4j
 public class HTTPServer extends Server {
 
-  private final ThreadPoolExecutor executorService;
+  private final ExecutorService executorService;
 
   /**
    * Prepare a server on the given port - use run() to start it. Accepts
@@ -105,8 +106,20 @@ public class HTTPServer extends Server {
       }
       RequestLimiter limiter = getRequestLimiterOrNull(config);
       ErrorRequestLimiter errorLimiter = getErrorRequestLimiterOrNull(config);
-      executorService = getExecutorService(config);
-      BlockingQueue<Runnable> workQueue = executorService.getQueue();
+      boolean jettyFrontEnd = config.getFrontEnd() == HTTPServerConfig.FrontEnd.jetty;
+      BlockingQueue<Runnable> jettyWorkQueue = null;
+      BlockingQueue<Runnable> workQueue;
+      if (jettyFrontEnd) {
+        // Jetty uses its own thread pool, which hands the requests to virtual threads if they are enabled
+        executorService = null;
+        jettyWorkQueue = JettyHttpServerFactory.createWorkQueue(config);
+        // requests on virtual threads don't wait in the queue, LanguageToolHttpHandler then limits by the number of requests in progress
+        workQueue = config.isVirtualThreads() ? null : jettyWorkQueue;
+      } else {
+        executorService = getExecutorService(config);
+        // no queue when running on virtual threads, LanguageToolHttpHandler then limits by the number of requests in progress
+        workQueue = executorService instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executorService).getQueue() : null;
+      }
       httpHandler = new LanguageToolHttpHandler(config, allowedIps, runInternally, limiter, errorLimiter, workQueue, this);
       //check if port is 0 for get random port from range
       if (port == 0) {
@@ -115,9 +128,15 @@ public class HTTPServer extends Server {
         port = getPortFromRange(minPort, maxPort);
       }
       InetSocketAddress address = host != null ? new InetSocketAddress(host, port) : new InetSocketAddress(port);
-      server = HttpServer.create(address, 0);
-      server.createContext("/", httpHandler);
-      server.setExecutor(executorService);
+      if (jettyFrontEnd) {
+        ServerTools.print("Using Jetty front end with HTTP/2 support");
+        server = JettyHttpServerFactory.create(address, config, jettyWorkQueue);
+        server.createContext("/", httpHandler);
+      } else {
+        server = HttpServer.create(address, config.getAcceptQueueSize());
+        server.createContext("/", httpHandler);
+        server.setExecutor(executorService);
+      }
 
       if (config.isPrometheusMonitoring()) {
         ServerMetricsCollector.init(config);
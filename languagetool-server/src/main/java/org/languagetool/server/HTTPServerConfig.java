@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.*;
 import org.languagetool.rules.spelling.morfologik.suggestions_ordering.SuggestionsOrdererConfig;
+import org.languagetool.tools.LtThreadPoolFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,14 @@ public class HTTPServerConfig {
 
   enum Mode { LanguageTool }
 
+  /** The HTTP implementation that accepts connections, see {@link HTTPServer}. */
+  enum FrontEnd {
+    /** the JDK's built-in {@code com.sun.net.httpserver} implementation */
+    jdk,
+    /** Jetty's NIO connector, supports HTTP/2 (h2c) and bounded request queues */
+    jetty
+  }
+
   public static final String DEFAULT_HOST = "localhost";
 
   /** The default port on which the server is running (8081). */
@@ -71,6 +80,16 @@ public class HTTPServerConfig {
   protected int maxCheckThreads = 10;
   protected int maxTextCheckerThreads; // default to same value as maxCheckThreads
   protected int textCheckerQueueSize = 8;
+  protected boolean virtualThreads = false;
+  protected boolean priorityScheduling = false;
+  protected boolean cancelSupersededChecks = false;
+  protected boolean cancelDisconnectedChecks = false;
+  protected boolean streamResponses = false;
+  protected double ruleProfilingSampleRate = 0;
+  protected String ruleProfileAccessToken = null;
+  protected FrontEnd frontEnd = FrontEnd.jdk;
+  protected int acceptQueueSize = 0;
+  protected int connectionIdleTimeoutMillis = 30_000;
   protected Mode mode;
   protected File languageModelDir = null;
   protected File ruleIdToConfidenceFile = null;
@@ -94,6 +113,8 @@ public class HTTPServerConfig {
   protected File remoteRulesConfigFile = null;
   protected int cacheSize = 0;
   protected long cacheTTLSeconds = 300;
+  protected int languageDetectionCacheSize = 0;
+  protected boolean stickySessionLanguage = false;
   protected float maxErrorsPerWordRate = 0;
   protected boolean suggestionsEnabled = true;
   protected int maxSpellingSuggestions = 0;
@@ -137,6 +158,7 @@ public class HTTPServerConfig {
   protected int databaseDownIntervalSeconds = 10;
 
   protected boolean dbLogging;
+  protected boolean dbLogRuleMatchCounts = false;
   protected boolean prometheusMonitoring = false;
   protected int prometheusPort = 9301;
   protected GlobalConfig globalConfig = new GlobalConfig();
@@ -193,9 +215,9 @@ public class HTTPServerConfig {
   protected String externalRolloutServiceApiKey = null;
 
   private static final List<String> KNOWN_OPTION_KEYS = Arrays.asList("abTest", "abTestClients", "abTestRollout",
-    "beolingusFile", "blockedReferrers", "cacheSize", "cacheTTLSeconds",
+    "beolingusFile", "blockedReferrers", "cacheSize", "cacheTTLSeconds", "languageDetectionCacheSize", "stickySessionLanguage",
     "dbDriver", "dbPassword", "dbUrl", "dbUsername", "disabledRuleIds", "fasttextBinary", "fasttextModel", "grammalectePassword",
-    "grammalecteServer", "grammalecteUser", "ipFingerprintFactor", "languageModel", "maxCheckThreads", "maxTextCheckerThreads", "textCheckerQueueSize", "maxCheckTimeMillis",
+    "grammalecteServer", "grammalecteUser", "ipFingerprintFactor", "languageModel", "maxCheckThreads", "maxTextCheckerThreads", "textCheckerQueueSize", "virtualThreads", "priorityScheduling", "cancelSupersededChecks", "cancelDisconnectedChecks", "streamResponses", "ruleProfilingSampleRate", "ruleProfileAccessToken", "frontEnd", "acceptQueueSize", "connectionIdleTimeoutMillis", "maxCheckTimeMillis",
     "maxCheckTimeWithApiKeyMillis", "maxErrorsPerWordRate", "maxPipelinePoolSize", "suggestionsEnabled", "maxSpellingSuggestions", "maxTextHardLength",
     "maxTextLength", "maxTextLengthWithApiKey", "maxWorkQueueSize", "pipelineCaching",
     "pipelineExpireTimeInSeconds", "pipelinePrewarming", "prometheusMonitoring", "prometheusPort", "remoteRulesFile",
@@ -210,7 +232,7 @@ public class HTTPServerConfig {
     "premiumAlways", "trustedSource",
     "redisPassword", "redisHost", "redisCertificate", "redisKey", "redisKeyPassword",
     "redisUseSentinel", "sentinelHost", "sentinelPort", "sentinelPassword", "sentinelMasterId",
-    "dbLogging", "premiumOnly", "nerUrl", "minPort", "maxPort", "localApiMode", "motherTongue", "preferredLanguages",
+    "dbLogging", "dbLogRuleMatchCounts", "premiumOnly", "nerUrl", "minPort", "maxPort", "localApiMode", "motherTongue", "preferredLanguages",
     "dictLimitUser", "dictLimitTeam", "styleGuideLimitUser", "styleGuideLimitTeam",
     "passwortLoginAccessListPath", "redisDictTTLSeconds", "requestLimitAccessToken", "trustedSources",
     "ruleIdToConfidenceFile", "jwtSecret", "externalRolloutServiceUrl", "externalRolloutServiceApiKey");
@@ -356,7 +378,7 @@ public class HTTPServerConfig {
         }
         String fasttextModel = getOptionalProperty(props, "fasttextModel", null);
         String fasttextBinary = getOptionalProperty(props, "fasttextBinary", null);
-        if (fasttextBinary != null && fasttextModel != null) {
+        if (fasttextModel != null) {
           setFasttextPaths(fasttextModel, fasttextBinary);
         }
         maxCheckThreads = Integer.parseInt(getOptionalProperty(props, "maxCheckThreads", "10"));
@@ -372,6 +394,33 @@ public class HTTPServerConfig {
         if (textCheckerQueueSize < 0) {
           throw new IllegalArgumentException("Invalid value for textCheckerQueueSize, must be >= 1: " + textCheckerQueueSize);
         }
+        virtualThreads = Boolean.parseBoolean(getOptionalProperty(props, "virtualThreads", "false").trim());
+        if (virtualThreads && !LtThreadPoolFactory.isVirtualThreadSupported()) {
+          throw new IllegalArgumentException("virtualThreads=true requires Java 21 or later, running on Java " + System.getProperty("java.version"));
+        }
+        priorityScheduling = Boolean.parseBoolean(getOptionalProperty(props, "priorityScheduling", "false").trim());
+        cancelSupersededChecks = Boolean.parseBoolean(getOptionalProperty(props, "cancelSupersededChecks", "false").trim());
+        cancelDisconnectedChecks = Boolean.parseBoolean(getOptionalProperty(props, "cancelDisconnectedChecks", "false").trim());
+        streamResponses = Boolean.parseBoolean(getOptionalProperty(props, "streamResponses", "false").trim());
+        ruleProfilingSampleRate = Double.parseDouble(getOptionalProperty(props, "ruleProfilingSampleRate", "0"));
+        if (ruleProfilingSampleRate < 0 || ruleProfilingSampleRate > 1) {
+          throw new IllegalArgumentException("Invalid value for ruleProfilingSampleRate, must be between 0 and 1: " + ruleProfilingSampleRate);
+        }
+        ruleProfileAccessToken = getOptionalProperty(props, "ruleProfileAccessToken", null);
+        String frontEndName = getOptionalProperty(props, "frontEnd", "jdk").trim();
+        try {
+          frontEnd = FrontEnd.valueOf(frontEndName);
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Invalid value for frontEnd, must be one of " + Arrays.toString(FrontEnd.values()) + ": " + frontEndName);
+        }
+        acceptQueueSize = Integer.parseInt(getOptionalProperty(props, "acceptQueueSize", "0"));
+        if (acceptQueueSize < 0) {
+          throw new IllegalArgumentException("Invalid value for acceptQueueSize, must be >= 0: " + acceptQueueSize);
+        }
+        connectionIdleTimeoutMillis = Integer.parseInt(getOptionalProperty(props, "connectionIdleTimeoutMillis", "30000"));
+        if (connectionIdleTimeoutMillis < 1) {
+          throw new IllegalArgumentException("Invalid value for connectionIdleTimeoutMillis, must be >= 1: " + connectionIdleTimeoutMillis);
+        }
 
         boolean atdMode = getOptionalProperty(props, "mode", "LanguageTool").equalsIgnoreCase("AfterTheDeadline");
         if (atdMode) {
@@ -399,6 +448,14 @@ public class HTTPServerConfig {
           throw new IllegalArgumentException("Use of cacheTTLSeconds without also setting cacheSize has no effect.");
         }
         cacheTTLSeconds = Integer.parseInt(getOptionalProperty(props, "cacheTTLSeconds", "300"));
+        languageDetectionCacheSize = Integer.parseInt(getOptionalProperty(props, "languageDetectionCacheSize", "0"));
+        if (languageDetectionCacheSize < 0) {
+          throw new IllegalArgumentException("Invalid value for languageDetectionCacheSize: " + languageDetectionCacheSize + ", use 0 to deactivate cache");
+        }
+        stickySessionLanguage = Boolean.parseBoolean(getOptionalProperty(props, "stickySessionLanguage", "false").trim());
+        if (stickySessionLanguage && languageDetectionCacheSize == 0) {
+          throw new IllegalArgumentException("Use of stickySessionLanguage without also setting languageDetectionCacheSize has no effect.");
+        }
         maxErrorsPerWordRate = Float.parseFloat(getOptionalProperty(props, "maxErrorsPerWordRate", "0"));
         suggestionsEnabled = Boolean.parseBoolean(getOptionalProperty(props, "suggestionsEnabled", "true"));
         maxSpellingSuggestions = Integer.parseInt(getOptionalProperty(props, "maxSpellingSuggestions", "0"));
@@ -453,6 +510,7 @@ public class HTTPServerConfig {
         databaseTimeoutRateThreshold = Integer.parseInt(getOptionalProperty(props, "dbTimeoutRateThreshold", "100"));
         databaseDownIntervalSeconds = Integer.parseInt(getOptionalProperty(props, "dbDownIntervalSeconds", "10"));
         dbLogging = Boolean.valueOf(getOptionalProperty(props, "dbLogging", "false").trim());
+        dbLogRuleMatchCounts = Boolean.parseBoolean(getOptionalProperty(props, "dbLogRuleMatchCounts", "false").trim());
         passwortLoginAccessListPath = getOptionalProperty(props, "passwortLoginAccessListPath", "");
         prometheusMonitoring = Boolean.valueOf(getOptionalProperty(props, "prometheusMonitoring", "false").trim());
         prometheusPort = Integer.parseInt(getOptionalProperty(props, "prometheusPort", "9301"));
@@ -562,12 +620,15 @@ public class HTTPServerConfig {
     }
   }
 
-  void setFasttextPaths(String fasttextModelPath, String fasttextBinaryPath) {
+  void setFasttextPaths(String fasttextModelPath, @Nullable String fasttextBinaryPath) {
     fasttextModel = new File(fasttextModelPath);
-    fasttextBinary = new File(fasttextBinaryPath);
     if (!fasttextModel.exists() || fasttextModel.isDirectory()) {
       throw new RuntimeException("Fasttext model path not valid (file doesn't exist or is a directory): " + fasttextModelPath);
     }
+    if (fasttextBinaryPath == null) {
+      return;
+    }
+    fasttextBinary = new File(fasttextBinaryPath);
     if (!fasttextBinary.exists() || fasttextBinary.isDirectory() || !fasttextBinary.canExecute()) {
       throw new RuntimeException("Fasttext binary path not valid (file doesn't exist, is a directory or not executable): " + fasttextBinaryPath);
     }
@@ -884,6 +945,141 @@ public class HTTPServerConfig {
     this.textCheckerQueueSize = textCheckerQueueSize;
   }
 
+  /**
+   * @param virtualThreads if true, HTTP requests and remote rule calls run on virtual threads (requires Java 21),
+   * while the actual text checking still runs on the bounded pool of {@link #getMaxTextCheckerThreads()} threads
+   * @since 6.9
+   */
+  void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  /** @since 6.9 */
+  boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * @param priorityScheduling if true, waiting text checks are run in order of estimated cost and
+   * user tier instead of first-in-first-out, see {@link CheckScheduler}
+   * @since 6.9
+   */
+  void setPriorityScheduling(boolean priorityScheduling) {
+    this.priorityScheduling = priorityScheduling;
+  }
+
+  /** @since 6.9 */
+  boolean isPriorityScheduling() {
+    return priorityScheduling;
+  }
+
+  /**
+   * @param cancelSupersededChecks if true, a request with a {@code textSessionId} cancels the still running
+   * check of an earlier request with the same session id, mode, and level from the same user
+   * @since 6.9
+   */
+  void setCancelSupersededChecks(boolean cancelSupersededChecks) {
+    this.cancelSupersededChecks = cancelSupersededChecks;
+  }
+
+  /** @since 6.9 */
+  boolean isCancelSupersededChecks() {
+    return cancelSupersededChecks;
+  }
+
+  /**
+   * @param cancelDisconnectedChecks if true, a running check is cancelled when its client closes the
+   *                                 connection (Linux only, see {@link ClientDisconnectMonitor})
+   * @since 6.9
+   */
+  void setCancelDisconnectedChecks(boolean cancelDisconnectedChecks) {
+    this.cancelDisconnectedChecks = cancelDisconnectedChecks;
+  }
+
+  /** @since 6.9 */
+  boolean isCancelDisconnectedChecks() {
+    return cancelDisconnectedChecks;
+  }
+
+  /**
+   * @param streamResponses if true, the JSON result of a check is written to the connection while it's
+   * being created, using chunked transfer encoding, instead of being created in memory first
+   * @since 6.9
+   */
+  void setStreamResponses(boolean streamResponses) {
+    this.streamResponses = streamResponses;
+  }
+
+  /** @since 6.9 */
+  boolean isStreamResponses() {
+    return streamResponses;
+  }
+
+  /**
+   * @param ruleProfilingSampleRate share of rule calls for which time, matches, and allocated memory are measured,
+   * e.g. {@code 0.01}, 0 disables rule profiling
+   * @since 6.9
+   */
+  void setRuleProfilingSampleRate(double ruleProfilingSampleRate) {
+    this.ruleProfilingSampleRate = ruleProfilingSampleRate;
+  }
+
+  /** @since 6.9 */
+  double getRuleProfilingSampleRate() {
+    return ruleProfilingSampleRate;
+  }
+
+  /**
+   * @param ruleProfileAccessToken secret value for the header X-Rule-Profile-Access-Token that's required
+   * to access /v2/admin/ruleProfile, {@code null} to only allow requests from localhost
+   * @since 6.9
+   */
+  void setRuleProfileAccessToken(String ruleProfileAccessToken) {
+    this.ruleProfileAccessToken = ruleProfileAccessToken;
+  }
+
+  /** @since 6.9 */
+  @Nullable
+  String getRuleProfileAccessToken() {
+    return ruleProfileAccessToken;
+  }
+
+  /** @since 6.9 */
+  FrontEnd getFrontEnd() {
+    return frontEnd;
+  }
+
+  /** @since 6.9 */
+  void setFrontEnd(FrontEnd frontEnd) {
+    this.frontEnd = Objects.requireNonNull(frontEnd);
+  }
+
+  /**
+   * @return maximum number of connections waiting to be accepted, {@code 0} means the system default
+   * @since 6.9
+   */
+  int getAcceptQueueSize() {
+    return acceptQueueSize;
+  }
+
+  /** @since 6.9 */
+  void setAcceptQueueSize(int acceptQueueSize) {
+    this.acceptQueueSize = acceptQueueSize;
+  }
+
+  /**
+   * @return time after which idle keep-alive connections are closed (only used with {@link FrontEnd#jetty})
+   * @since 6.9
+   */
+  int getConnectionIdleTimeoutMillis() {
+    return connectionIdleTimeoutMillis;
+  }
+
+  /** @since 6.9 */
+  void setConnectionIdleTimeoutMillis(int connectionIdleTimeoutMillis) {
+    this.connectionIdleTimeoutMillis = connectionIdleTimeoutMillis;
+  }
+
   /**
    * Set to {@code true} if this is running behind a (reverse) proxy which
    * sets the {@code X-forwarded-for} HTTP header. The last IP address (but not local IP addresses)
@@ -977,6 +1173,33 @@ public class HTTPServerConfig {
     this.cacheSize = sentenceCacheSize;
   }
 
+  /**
+   * @param languageDetectionCacheSize number of texts to keep the detected language for, {@code 0} to not cache detection results
+   * @since 6.9
+   */
+  void setLanguageDetectionCacheSize(int languageDetectionCacheSize) {
+    this.languageDetectionCacheSize = languageDetectionCacheSize;
+  }
+
+  /** @since 6.9 */
+  int getLanguageDetectionCacheSize() {
+    return languageDetectionCacheSize;
+  }
+
+  /**
+   * @param stickySessionLanguage if true, the language detected with high confidence for a {@code textSessionId}
+   * is used for the session's next texts until the text has changed a lot, requires {@link #setLanguageDetectionCacheSize(int)}
+   * @since 6.9
+   */
+  void setStickySessionLanguage(boolean stickySessionLanguage) {
+    this.stickySessionLanguage = stickySessionLanguage;
+  }
+
+  /** @since 6.9 */
+  boolean isStickySessionLanguage() {
+    return stickySessionLanguage;
+  }
+
   /**
    * Cache entry TTL; refreshed on access; in seconds
    * @since 4.6
@@ -1147,6 +1370,22 @@ public class HTTPServerConfig {
     return this.dbLogging;
   }
 
+  /**
+   * Whether the number of matches per rule should be logged to the database, aggregated per minute
+   * (requires {@code dbLogging}).
+   * @since 6.9
+   */
+  void setDatabaseLogRuleMatchCounts(boolean logRuleMatchCounts) {
+    this.dbLogRuleMatchCounts = logRuleMatchCounts;
+  }
+
+  /**
+   * @since 6.9
+   */
+  boolean getDatabaseLogRuleMatchCounts() {
+    return this.dbLogRuleMatchCounts;
+  }
+
 
   /**
    * timeout for database requests (for now, only requests for credentials to log in)
@@ -0,0 +1,92 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.jetty.http.spi.JettyHttpServer;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.languagetool.tools.LtThreadPoolFactory;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Creates an {@link HttpServer} that is backed by Jetty's non-blocking connector instead of the
+ * JDK's built-in server. Jetty implements the {@code com.sun.net.httpserver} API, so
+ * {@link LanguageToolHttpHandler} can be used unchanged. Compared to the JDK server, this supports
+ * HTTP/2 without TLS (h2c, via upgrade or prior knowledge), HTTP/1.1 pipelining, closing idle
+ * keep-alive connections and a bounded request queue. With {@code virtualThreads}, requests are
+ * handled on virtual threads, like with the JDK server.
+ * @since 6.9
+ */
+final class JettyHttpServerFactory {
+
+  private static final int ACCEPTORS = 1;
+  private static final int SELECTORS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private JettyHttpServerFactory() {
+  }
+
+  /**
+   * The queue of requests waiting for a thread. If {@code maxWorkQueueSize} is set, the queue is bounded
+   * to twice that size, so {@link LanguageToolHttpHandler} can still reject requests with a proper error
+   * message before Jetty needs to drop connections.
+   */
+  static BlockingQueue<Runnable> createWorkQueue(HTTPServerConfig config) {
+    if (config.getMaxWorkQueueSize() > 0) {
+      int capacity = config.getMaxWorkQueueSize() * 2;
+      return new BlockingArrayQueue<>(Math.min(capacity, 64), 64, capacity);
+    }
+    return new BlockingArrayQueue<>();
+  }
+
+  static HttpServer create(InetSocketAddress address, HTTPServerConfig config, BlockingQueue<Runnable> workQueue) {
+    // acceptor and selector threads are taken from the same pool, so add them to the request threads:
+    int maxThreads = config.getMaxCheckThreads() + ACCEPTORS + SELECTORS;
+    QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads, ACCEPTORS + SELECTORS + 1, 60_000, workQueue);
+    threadPool.setName(LtThreadPoolFactory.SERVER_POOL);
+    threadPool.setReservedThreads(0);
+    if (config.isVirtualThreads()) {
+      // Jetty then runs blocking tasks like our handler on virtual threads, the pool only runs the acceptor and selectors:
+      threadPool.setVirtualThreadsExecutor(LtThreadPoolFactory.createVirtualThreadExecutor(LtThreadPoolFactory.SERVER_POOL, true));
+    }
+    org.eclipse.jetty.server.Server jetty = new org.eclipse.jetty.server.Server(threadPool);
+    HttpConfiguration httpConfig = new HttpConfiguration();
+    httpConfig.setSendServerVersion(false);
+    ServerConnector connector = new ServerConnector(jetty, ACCEPTORS, SELECTORS,
+      new HttpConnectionFactory(httpConfig), new HTTP2CServerConnectionFactory(httpConfig));
+    connector.setHost(address.getHostString());
+    connector.setPort(address.getPort());
+    connector.setIdleTimeout(config.getConnectionIdleTimeoutMillis());
+    if (config.getAcceptQueueSize() > 0) {
+      connector.setAcceptQueueSize(config.getAcceptQueueSize());
+    }
+    jetty.addConnector(connector);
+    // JettyHttpServer.createContext() adds the contexts to this handler, it fails if there's none:
+    jetty.setHandler(new ContextHandlerCollection());
+    // 'false' -> the Jetty server gets started and stopped with the HttpServer:
+    return new JettyHttpServer(jetty, false);
+  }
+}
@@ -0,0 +1,167 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.DetectedLanguage;
+
+import java.lang.Character.UnicodeScript;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches language detection results. While the user is typing, clients send almost the same
+ * text again and again, so the result is kept per text, identified by a hash of the cleaned text
+ * and the language lists that influence the detection.
+ * With sticky sessions, the language detected with high confidence for a text session
+ * (the {@code textSessionId} parameter) is also used for the session's next texts, until
+ * the text's length has changed by more than {@link #MAX_STICKY_LENGTH_CHANGE} characters since the
+ * last detection or the text contains letters of a script that it didn't contain before.
+ * @since 6.9
+ */
+class LanguageDetectionCache {
+
+  static final int MIN_STICKY_LENGTH = 100;  // characters of the cleaned text
+  static final float MIN_STICKY_CONFIDENCE = 0.9f;
+  static final int MAX_STICKY_LENGTH_CHANGE = 200;
+
+  private static final HashFunction hashFunction = Hashing.murmur3_128();
+
+  // Guava's cache doesn't accept null values, so texts with no detected language are cached as Optional.empty():
+  private final Cache<Key, Optional<DetectedLanguage>> results;
+  @Nullable
+  private final Cache<String, SessionLanguage> sessions;
+  private final AtomicLong sessionHits = new AtomicLong();
+  private final AtomicLong sessionMisses = new AtomicLong();
+
+  /**
+   * @param maxSize maximum number of texts (and of sessions, if {@code stickySessions} is set) to keep
+   * @param stickySessions whether to re-use a session's language for its next texts
+   */
+  LanguageDetectionCache(int maxSize, long expireAfterAccessSeconds, boolean stickySessions) {
+    results = CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterAccess(expireAfterAccessSeconds, TimeUnit.SECONDS)
+      .recordStats()
+      .build();
+    sessions = stickySessions ? CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterAccess(expireAfterAccessSeconds, TimeUnit.SECONDS)
+      .build() : null;
+  }
+
+  /**
+   * @param cleanText the text as returned by {@code LanguageIdentifier.cleanAndShortenText()}
+   * @param sessionKey identifies the text session, {@code null} if there is none
+   * @param detector detects the language of {@code cleanText} if there's no cached result
+   */
+  @Nullable
+  DetectedLanguage get(String cleanText, List<String> noopLangs, List<String> preferredLangs, boolean forcePreferredLanguages,
+                       @Nullable String sessionKey, Supplier<DetectedLanguage> detector) {
+    Key key = new Key(hashFunction.hashString(cleanText, StandardCharsets.UTF_8),
+      List.copyOf(noopLangs), List.copyOf(preferredLangs), forcePreferredLanguages);
+    Set<UnicodeScript> scripts = null;
+    if (sessions != null && sessionKey != null) {
+      scripts = getScripts(cleanText);
+      SessionLanguage session = sessions.getIfPresent(sessionKey);
+      if (session != null && session.canBeUsedFor(key, cleanText.length(), scripts)) {
+        sessionHits.incrementAndGet();
+        ServerMetricsCollector.getInstance().logLanguageDetectionSession(true);
+        return session.detected;
+      }
+      sessionMisses.incrementAndGet();
+      ServerMetricsCollector.getInstance().logLanguageDetectionSession(false);
+    }
+    Optional<DetectedLanguage> result = results.getIfPresent(key);
+    if (result == null) {
+      result = Optional.ofNullable(detector.get());
+      results.put(key, result);
+    }
+    DetectedLanguage detected = result.orElse(null);
+    if (scripts != null) {
+      if (detected != null && detected.getDetectionConfidence() >= MIN_STICKY_CONFIDENCE && cleanText.length() >= MIN_STICKY_LENGTH) {
+        sessions.put(sessionKey, new SessionLanguage(key, cleanText.length(), scripts, detected));
+      } else {
+        sessions.invalidate(sessionKey);
+      }
+    }
+    return detected;
+  }
+
+  Cache<Key, Optional<DetectedLanguage>> getResults() {
+    return results;
+  }
+
+  /**
+   * @return the share of requests with a session whose language was taken from the session, or {@code 0}
+   */
+  double getSessionHitRate() {
+    long hits = sessionHits.get();
+    long total = hits + sessionMisses.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * The scripts of the letters in the text, not including {@link UnicodeScript#COMMON} and {@link UnicodeScript#INHERITED}.
+   */
+  static Set<UnicodeScript> getScripts(String text) {
+    Set<UnicodeScript> scripts = EnumSet.noneOf(UnicodeScript.class);
+    for (int i = 0; i < text.length(); ) {
+      int cp = text.codePointAt(i);
+      if (Character.isLetter(cp)) {
+        UnicodeScript script = UnicodeScript.of(cp);
+        if (script != UnicodeScript.COMMON && script != UnicodeScript.INHERITED) {
+          scripts.add(script);
+        }
+      }
+      i += Character.charCount(cp);
+    }
+    return scripts;
+  }
+
+  record Key(HashCode text, List<String> noopLangs, List<String> preferredLangs, boolean forcePreferredLanguages) {
+    boolean hasSameLanguages(Key other) {
+      return noopLangs.equals(other.noopLangs) && preferredLangs.equals(other.preferredLangs) &&
+        forcePreferredLanguages == other.forcePreferredLanguages;
+    }
+  }
+
+  /**
+   * The result of the last detection for a session.
+   */
+  private record SessionLanguage(Key key, int textLength, Set<UnicodeScript> scripts, DetectedLanguage detected) {
+    boolean canBeUsedFor(Key otherKey, int otherTextLength, Set<UnicodeScript> otherScripts) {
+      return key.hasSameLanguages(otherKey) &&
+        Math.abs(otherTextLength - textLength) <= MAX_STICKY_LENGTH_CHANGE &&
+        scripts.containsAll(otherScripts);
+    }
+  }
+
+}
@@ -39,8 +39,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -51,6 +50,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
 
 import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
 import static org.languagetool.server.ServerTools.getHttpReferrer;
@@ -261,6 +262,10 @@ class LanguageToolHttpHandler implements HttpHandler {
       } else if (e instanceof UnavailableException) {
         errorCode = HTTP_UNAVAILABLE;
         response = e.getMessage();
+      } else if (hasCause(e, CheckCancelledException.class)) {
+        errorCode = HttpURLConnection.HTTP_CONFLICT;
+        response = e.getMessage();
+        logStacktrace = false;
       } else {
         response = "Internal Error: " + e.getMessage();
         errorCode = HttpURLConnection.HTTP_INTERNAL_ERROR;
@@ -309,7 +314,7 @@ class LanguageToolHttpHandler implements HttpHandler {
     return requestId;
   }
 
-  private boolean hasCause(Exception e, Class<AuthException> clazz) {
+  private boolean hasCause(Exception e, Class<? extends Exception> clazz) {
     for (Throwable throwable : ExceptionUtils.getThrowableList(e)) {
       if (throwable.getClass().equals(clazz)) {
         return true;
@@ -319,8 +324,9 @@ class LanguageToolHttpHandler implements HttpHandler {
   }
 
   private boolean workQueueFull(HttpExchange httpExchange, Map<String, String> parameters, String response) throws IOException {
-    if (config.getMaxWorkQueueSize() != 0 && workQueue.size() > config.getMaxWorkQueueSize()) {
-      String message = response + " queue size: " + workQueue.size() + ", maximum size: " + config.getMaxWorkQueueSize();
+    int queueSize = getWorkQueueSize();
+    if (config.getMaxWorkQueueSize() != 0 && queueSize > config.getMaxWorkQueueSize()) {
+      String message = response + " queue size: " + queueSize + ", maximum size: " + config.getMaxWorkQueueSize();
       logError(message, HTTP_UNAVAILABLE, parameters, httpExchange);
       sendError(httpExchange, HTTP_UNAVAILABLE, "Error: " + response);
       return true;
@@ -328,6 +334,17 @@ class LanguageToolHttpHandler implements HttpHandler {
     return false;
   }
 
+  /**
+   * With virtual threads, there's no queue: every request gets its own thread. To keep the semantics
+   * of 'maxWorkQueueSize', count the requests in progress beyond 'maxCheckThreads' as queued.
+   */
+  private int getWorkQueueSize() {
+    if (workQueue != null) {
+      return workQueue.size();
+    }
+    return Math.max(0, reqCounter.getHandleCount() - config.getMaxCheckThreads());
+  }
+
   private boolean textCheckerQueueFull(HttpExchange httpExchange, String response) throws IOException {
     if(textCheckerV2.checkerQueueAlmostFull()) {
       sendError(httpExchange, HTTP_UNAVAILABLE, "Error: " + response);
@@ -439,40 +456,47 @@ class LanguageToolHttpHandler implements HttpHandler {
 
   private Map<String, String> getRequestQuery(HttpExchange httpExchange, URI requestedUri) throws IOException {
     Map<String, String> params = new HashMap<>();
-    if ("post".equalsIgnoreCase(httpExchange.getRequestMethod())) {
-      try (InputStreamReader isr = new InputStreamReader(httpExchange.getRequestBody(), ENCODING)) {
-        params.putAll(parseQuery(readerToString(isr, config.getMaxTextHardLength()), httpExchange));
+    if ("post".equalsIgnoreCase(httpExchange.getRequestMethod()) && ProtobufCheckFormat.isProtobuf(httpExchange)) {
+      try {
+        params.putAll(ProtobufCheckFormat.readParameters(getRequestBody(httpExchange), config.getMaxTextHardLength()));
+      } catch (ZipException e) {
+        throw new BadRequestException("Could not decompress gzip request body: " + e.getMessage());
+      }
+      params.putAll(parseQuery(requestedUri.getRawQuery(), httpExchange));
+      return params;
+    } else if ("post".equalsIgnoreCase(httpExchange.getRequestMethod())) {
+      try (InputStream in = getRequestBody(httpExchange)) {
+        // one character can be encoded as e.g. "%D8", plus estimated space for sending data (JSON):
+        long maxBytes = config.getMaxTextHardLength() * 10L;
+        params.putAll(FormDataReader.read(in, maxBytes));
         params.putAll(parseQuery(requestedUri.getRawQuery(), httpExchange));  // POST requests can have query parameters, too
         return params;
+      } catch (ZipException e) {
+        throw new BadRequestException("Could not decompress gzip request body: " + e.getMessage());
       }
     } else {
       return parseQuery(requestedUri.getRawQuery(), httpExchange);
     }
   }
 
-  private String readerToString(Reader reader, int maxTextLength) throws IOException {
-    StringBuilder sb = new StringBuilder();
-    char[] chars = new char[4000];
-    while (true) {
-      int readBytes = reader.read(chars, 0, 4000);
-      if (readBytes <= 0) {
-        break;
-      }
-      int generousMaxLength = maxTextLength * 10;  // one character can be encoded as e.g. "%D8", plus estimated space for sending data (JSON)
-      if (generousMaxLength < 0) {  // might happen as it can overflow
-        generousMaxLength = Integer.MAX_VALUE;
-      }
-      if (sb.length() > 0 && sb.length() > generousMaxLength) {
-        // don't stop at maxTextLength as that's the text length, but here also other parameters
-        // are included (still we need this check here so we don't OOM if someone posts a few hundred MB)...
-        throw new TextTooLongException("Your text's length exceeds this server's hard limit of " + generousMaxLength + " characters.");
+  /**
+   * The request body, decompressed if the client sent it with {@code Content-Encoding: gzip}. The length
+   * limits apply to the decompressed data.
+   */
+  private InputStream getRequestBody(HttpExchange httpExchange) throws IOException {
+    String contentEncoding = httpExchange.getRequestHeaders().getFirst("Content-Encoding");
+    if (contentEncoding == null || contentEncoding.equalsIgnoreCase("identity")) {
+      return httpExchange.getRequestBody();
+    } else if (contentEncoding.equalsIgnoreCase("gzip")) {
+      try {
+        return new GZIPInputStream(httpExchange.getRequestBody());
+      } catch (ZipException e) {
+        throw new BadRequestException("Could not decompress gzip request body: " + e.getMessage());
       }
-      sb.append(new String(chars, 0, readBytes));
     }
-    return sb.toString();
+    throw new BadRequestException("Unsupported Content-Encoding '" + contentEncoding + "', only 'gzip' is supported");
   }
 
-
   private Map<String, String> parseQuery(String query, HttpExchange httpExchange) throws UnsupportedEncodingException {
     Map<String, String> parameters = new HashMap<>();
     if (query != null) {
@@ -0,0 +1,128 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.sun.net.httpserver.HttpExchange;
+import org.languagetool.CheckResults;
+import org.languagetool.DetectedLanguage;
+import org.languagetool.rules.GRPCUtils;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.ml.MLServerProto.AnalyzedSentence;
+import org.languagetool.rules.ml.MLServerProto.ProcessRequest;
+import org.languagetool.rules.ml.MLServerProto.ProcessResponse;
+import org.languagetool.rules.ml.MLServerProto.ProcessingOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Binary alternative to the form-encoded request and JSON response of {@code /v2/check}, meant for
+ * backend-to-backend traffic with large texts. Clients {@code POST} a {@code ProcessRequest} from
+ * {@code ml_server.proto} (the same schema as {@link GRPCServer}'s {@code Process} call) with
+ * {@code Content-Type: application/x-protobuf} and get a {@code ProcessResponse} with the matches, warnings, and
+ * language information of the JSON response.
+ * The request is mapped to the usual parameters, so limits, caching, and the pipeline pool
+ * work like for JSON requests. Parameters not covered by the schema (e.g. {@code data}, {@code apiKey})
+ * can be added to the URL's query.
+ * @since 6.9
+ */
+final class ProtobufCheckFormat {
+
+  static final String CONTENT_TYPE = "application/x-protobuf";
+
+  private ProtobufCheckFormat() {
+  }
+
+  static boolean isProtobuf(HttpExchange httpExchange) {
+    String contentType = httpExchange.getRequestHeaders().getFirst("Content-Type");
+    return contentType != null && contentType.startsWith(CONTENT_TYPE);
+  }
+
+  /**
+   * @param maxTextLength the server's hard limit for the text length
+   */
+  static Map<String, String> readParameters(InputStream in, int maxTextLength) throws IOException {
+    // UTF-8 uses up to 4 bytes per character, plus some space for the options:
+    long maxBytes = Math.min(Integer.MAX_VALUE - 8, maxTextLength * 4L + 10_000);
+    byte[] bytes = in.readNBytes((int) maxBytes + 1);
+    if (bytes.length > maxBytes) {
+      throw new TextTooLongException("Your request's size exceeds this server's hard limit of " + maxBytes + " bytes.");
+    }
+    ProcessRequest request;
+    try {
+      request = ProcessRequest.parseFrom(bytes);
+    } catch (InvalidProtocolBufferException e) {
+      throw new BadRequestException("Could not parse protobuf request: " + e.getMessage());
+    }
+    return toParameters(request);
+  }
+
+  static Map<String, String> toParameters(ProcessRequest request) {
+    Map<String, String> params = new HashMap<>();
+    if (request.getSentencesCount() > 0) {
+      params.put("text", request.getSentencesList().stream().map(AnalyzedSentence::getText).collect(Collectors.joining()));
+    }
+    ProcessingOptions options = request.getOptions();
+    if (!options.getLanguage().isEmpty()) {
+      params.put("language", options.getLanguage());
+    }
+    params.put("level", GRPCUtils.fromGRPC(options.getLevel()).name().toLowerCase());
+    if (options.getEnabledOnly()) {
+      params.put("enabledOnly", "true");
+    }
+    if (options.getTempOff()) {
+      params.put("enableTempOffRules", "true");
+    }
+    if (options.getEnabledRulesCount() > 0) {
+      params.put("enabledRules", String.join(",", options.getEnabledRulesList()));
+    }
+    if (options.getDisabledRulesCount() > 0) {
+      params.put("disabledRules", String.join(",", options.getDisabledRulesList()));
+    }
+    // 'premium' is ignored, it's determined by the user's credentials like for JSON requests
+    return params;
+  }
+
+  /**
+   * @param hiddenMatches matches only shown as hints, like {@code hiddenMatches} in the JSON response
+   * @param incompleteResultsReason not {@code null} if the results are incomplete, like {@code warnings} in the JSON response
+   * @return a serialized {@code ProcessResponse} with all matches as {@code matches}, with positions relative to the text,
+   *   and the used and detected language like the {@code language} section of the JSON response
+   */
+  static byte[] toResponse(List<CheckResults> results, List<RuleMatch> hiddenMatches, String incompleteResultsReason, DetectedLanguage lang) {
+    ProcessResponse.Builder response = ProcessResponse.newBuilder();
+    for (CheckResults result : results) {
+      result.getRuleMatches().forEach(match -> response.addMatches(GRPCUtils.toGRPC(match)));
+    }
+    hiddenMatches.forEach(match -> response.addHiddenMatches(GRPCUtils.toGRPC(match)));
+    if (incompleteResultsReason != null) {
+      response.setIncompleteResultsReason(incompleteResultsReason);
+    }
+    response.setLanguage(lang.getGivenLanguage().getShortCodeWithCountryAndVariant());
+    response.setDetectedLanguage(lang.getDetectedLanguage().getShortCodeWithCountryAndVariant());
+    response.setDetectedLanguageConfidence(lang.getDetectionConfidence());
+    return response.build().toByteArray();
+  }
+
+}
@@ -21,19 +21,25 @@ package org.languagetool.server;
 import org.languagetool.JLanguageTool;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Limit the maximum number of request per IP address for a given time range.
+ * Requests are counted per IP address and per IP address and fingerprint in a {@link SlidingWindowCounter},
+ * so checking the limit takes constant time, independent of the number of requests.
  */
 class RequestLimiter {
 
-  // TODO: this only works if the period covered is larger than requestLimitPeriodInSeconds -
-  // we should add a sanity check that warns if that's not the case
-  static final int REQUEST_QUEUE_SIZE = 1000;
+  // text level rules cause much less load, so count them accordingly: sizes are counted
+  // in tenths of a character, text level checks count 1 per character, other checks 10
+  private static final int SIZE_FACTOR = 10;
+  private static final int TEXT_LEVEL_SIZE_FACTOR = 1;
+
+  private final Map<String, SlidingWindowCounter> ipCounters = new ConcurrentHashMap<>();
+  private final Map<String, SlidingWindowCounter> fingerprintCounters = new ConcurrentHashMap<>();
+  private final AtomicLong lastCleanupMillis = new AtomicLong(System.currentTimeMillis());
 
-  final List<RequestEvent> requestEvents = new CopyOnWriteArrayList<>();
-  
   private final int ipFingerprintFactor;
   private final List<String> whitelistUsers;
   private final int whitelistLimit;
@@ -117,13 +123,36 @@ class RequestLimiter {
       return;
     }
     int reqSize = getRequestSize(params);
-    while (requestEvents.size() > REQUEST_QUEUE_SIZE) {
-      requestEvents.remove(0);
-    }
-    requestEvents.add(new RequestEvent(ipAddress, new Date(), reqSize, computeFingerprint(httpHeader, params), ServerTools.getMode(params)));
+    logRequest(ipAddress, computeFingerprint(httpHeader, params), reqSize, ServerTools.getMode(params));
     checkLimit(ipAddress, params, httpHeader);
   }
 
+  void logRequest(String ipAddress, String fingerprint, int sizeInBytes, JLanguageTool.Mode mode) {
+    long now = System.currentTimeMillis();
+    long periodMillis = requestLimitPeriodInSeconds * 1000L;
+    long weightedSize = (long) sizeInBytes * (mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? TEXT_LEVEL_SIZE_FACTOR : SIZE_FACTOR);
+    ipCounters.computeIfAbsent(ipAddress, k -> new SlidingWindowCounter(periodMillis)).add(now, weightedSize);
+    if (ipFingerprintFactor > 0) {
+      fingerprintCounters.computeIfAbsent(getFingerprintKey(ipAddress, fingerprint), k -> new SlidingWindowCounter(periodMillis)).add(now, weightedSize);
+    }
+    removeOldCounters(now, periodMillis);
+  }
+
+  private static String getFingerprintKey(String ipAddress, String fingerprint) {
+    return ipAddress + "|" + fingerprint;
+  }
+
+  /**
+   * Remove the counters of clients without requests in the current period, at most once per period.
+   */
+  private void removeOldCounters(long now, long periodMillis) {
+    long lastCleanup = lastCleanupMillis.get();
+    if (now - lastCleanup > periodMillis && lastCleanupMillis.compareAndSet(lastCleanup, now)) {
+      ipCounters.values().removeIf(counter -> now - counter.getLastUpdateMillis() > periodMillis);
+      fingerprintCounters.values().removeIf(counter -> now - counter.getLastUpdateMillis() > periodMillis);
+    }
+  }
+
   private int getRequestSize(Map<String, String> params) {
     String text = params.get("text");
     if (text != null) {
@@ -183,97 +212,54 @@ class RequestLimiter {
   }
 
   void checkLimit(String ipAddress, Map<String, String> parameters, Map<String, List<String>> httpHeader) {
-    int requestsByIp = 0;
-    int requestSizeByIp = 0;
-    int requestsByFingerprint = 0;
-    int requestSizeByFingerprint = 0;
-    // all requests before this date are considered old:
-    Date thresholdDate = new Date(System.currentTimeMillis() - requestLimitPeriodInSeconds * 1000L);
     String fingerprint = computeFingerprint(httpHeader, parameters);
     String referer = getReferer(httpHeader);
     String userAgent = getUserAgent(httpHeader);
     Long clientId = getClientId(parameters);
     String user = parameters.get("username");
     boolean whitelistedUser = user != null && whitelistUsers.contains(user);
-    for (RequestEvent event : requestEvents) {
-      if (event.ip.equals(ipAddress) && event.date.after(thresholdDate)) {
-        // text level rules cause much less load, so count them accordingly
-        float modeFactor = event.mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? 0.1f : 1f;
-        requestsByIp++;
-        requestSizeByIp += event.getSizeInBytes() * modeFactor;
-        if (whitelistedUser) {
-          if (whitelistLimit <= 0 || requestsByIp < whitelistLimit) {
-            continue;
-          } else {
-            String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Whitelist request limit of " + whitelistLimit + " requests per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-        }
-        if (event.fingerprint.equals(fingerprint)) {
-          requestsByFingerprint++;
-          requestSizeByFingerprint += event.getSizeInBytes() * modeFactor;
-        }
-        if (ipFingerprintFactor > 0 && requestLimit > 0 && requestsByFingerprint > requestLimit) {
-          String msg = "limit: " + requestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-          throw new TooManyRequestsException("Client request limit of " + requestLimit + " requests per " +
-            requestLimitPeriodInSeconds + " seconds exceeded"); }
-        if (requestLimit > 0 && requestsByIp > ipRequestLimit) {
-          String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-          throw new TooManyRequestsException("IP request limit of " + ipRequestLimit + " requests per " +
-            requestLimitPeriodInSeconds + " seconds exceeded");
-        }
-        if (event.mode == JLanguageTool.Mode.TEXTLEVEL_ONLY) {
-          if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && requestSizeByFingerprint > requestLimitInBytes) {
-            String msg = "limit in Mode.TEXTLEVEL_ONLY: " + requestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded in text-level checks");
-          }
-          if (requestLimitInBytes > 0 && requestSizeByIp > ipRequestLimitInBytes) {
-            String msg = "limit in Mode.TEXTLEVEL_ONLY: " + ipRequestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded in text-level checks");
-          }
-        } else {
-          if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && requestSizeByFingerprint > requestLimitInBytes) {
-            String msg = "limit: " + requestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-          if (requestLimitInBytes > 0 && requestSizeByIp > ipRequestLimitInBytes) {
-            String msg = "limit: " + ipRequestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-        }
+    long now = System.currentTimeMillis();
+    SlidingWindowCounter ipCounter = ipCounters.get(ipAddress);
+    long requestsByIp = ipCounter != null ? ipCounter.getRequests(now) : 0;
+    if (whitelistedUser) {
+      if (whitelistLimit > 0 && requestsByIp >= whitelistLimit) {
+        String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
+        throw new TooManyRequestsException("Whitelist request limit of " + whitelistLimit + " requests per " +
+          requestLimitPeriodInSeconds + " seconds exceeded");
       }
+      return;
     }
-  }
-  
-  protected static class RequestEvent {
-
-    private final String ip;
-    private final Date date;
-    private final int sizeInBytes;
-    private final String fingerprint;
-    private final JLanguageTool.Mode mode;
-
-    RequestEvent(String ip, Date date, int sizeInBytes, String fingerprint, JLanguageTool.Mode mode) {
-      this.ip = ip;
-      this.date = new Date(date.getTime());
-      this.sizeInBytes = sizeInBytes;
-      this.fingerprint = fingerprint;
-      this.mode = mode;
+    long requestSizeByIp = ipCounter != null ? ipCounter.getSize(now) / SIZE_FACTOR : 0;
+    long requestsByFingerprint = 0;
+    long requestSizeByFingerprint = 0;
+    if (ipFingerprintFactor > 0) {
+      SlidingWindowCounter fingerprintCounter = fingerprintCounters.get(getFingerprintKey(ipAddress, fingerprint));
+      if (fingerprintCounter != null) {
+        requestsByFingerprint = fingerprintCounter.getRequests(now);
+        requestSizeByFingerprint = fingerprintCounter.getSize(now) / SIZE_FACTOR;
+      }
     }
-
-    protected Date getDate() {
-      return date;
+    if (ipFingerprintFactor > 0 && requestLimit > 0 && requestsByFingerprint > requestLimit) {
+      String msg = "limit: " + requestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
+      throw new TooManyRequestsException("Client request limit of " + requestLimit + " requests per " +
+        requestLimitPeriodInSeconds + " seconds exceeded");
     }
-    
-    int getSizeInBytes() {
-      return sizeInBytes;
+    if (requestLimit > 0 && requestsByIp > ipRequestLimit) {
+      String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
+      throw new TooManyRequestsException("IP request limit of " + ipRequestLimit + " requests per " +
+        requestLimitPeriodInSeconds + " seconds exceeded");
+    }
+    String textLevelInfo = ServerTools.getMode(parameters) == JLanguageTool.Mode.TEXTLEVEL_ONLY ? " in text-level checks" : "";
+    if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && requestSizeByFingerprint > requestLimitInBytes) {
+      String msg = "limit: " + requestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
+      throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
+        requestLimitPeriodInSeconds + " seconds exceeded" + textLevelInfo);
+    }
+    if (requestLimitInBytes > 0 && requestSizeByIp > ipRequestLimitInBytes) {
+      String msg = "limit: " + ipRequestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
+      throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
+        requestLimitPeriodInSeconds + " seconds exceeded" + textLevelInfo);
     }
-
   }
 
 }
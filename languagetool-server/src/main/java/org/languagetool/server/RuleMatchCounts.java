@@ -0,0 +1,89 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts rule matches per minute, language, and rule in memory, so they can be written to
+ * the database as one row per minute and rule instead of one row per match. If the counts
+ * are not written (e.g. because the database is slow), only the most recent minutes are kept.
+ * @since 6.9
+ */
+class RuleMatchCounts {
+
+  private static final long MINUTE_MILLIS = 60_000;
+  private static final int MAX_MINUTES = 60;
+
+  // start of minute -> language -> rule id -> matches
+  private final ConcurrentNavigableMap<Long, Map<String, Map<String, LongAdder>>> minutes = new ConcurrentSkipListMap<>();
+  private final AtomicLong droppedMinutes = new AtomicLong();
+
+  void add(long now, String language, String ruleId) {
+    long minute = now / MINUTE_MILLIS * MINUTE_MILLIS;
+    Map<String, Map<String, LongAdder>> languages = minutes.get(minute);
+    if (languages == null) {
+      languages = minutes.computeIfAbsent(minute, k -> new ConcurrentHashMap<>());
+      while (minutes.size() > MAX_MINUTES && minutes.pollFirstEntry() != null) {
+        droppedMinutes.incrementAndGet();
+        ServerMetricsCollector.getInstance().logDatabaseLogDropped(DatabaseRuleMatchCountLogEntry.class.getSimpleName());
+      }
+    }
+    languages.computeIfAbsent(language, k -> new ConcurrentHashMap<>())
+      .computeIfAbsent(ruleId, k -> new LongAdder())
+      .increment();
+  }
+
+  /**
+   * Remove the counts and return them as log entries.
+   * @param all if false, only minutes that ended at least a minute ago are returned, as other
+   *            threads might still be adding to later minutes
+   */
+  List<DatabaseRuleMatchCountLogEntry> drain(long now, boolean all) {
+    long currentMinute = now / MINUTE_MILLIS * MINUTE_MILLIS;
+    Set<Long> completed = all ? minutes.keySet() : minutes.headMap(currentMinute - MINUTE_MILLIS).keySet();
+    List<DatabaseRuleMatchCountLogEntry> entries = new ArrayList<>();
+    for (Long minute : completed) {
+      // remove() is atomic: a minute that another drain() or add() removed in the meantime is skipped, not returned twice
+      Map<String, Map<String, LongAdder>> languages = minutes.remove(minute);
+      if (languages == null) {
+        continue;
+      }
+      for (Map.Entry<String, Map<String, LongAdder>> language : languages.entrySet()) {
+        for (Map.Entry<String, LongAdder> rule : language.getValue().entrySet()) {
+          entries.add(new DatabaseRuleMatchCountLogEntry(minute, language.getKey(), rule.getKey(), rule.getValue().intValue()));
+        }
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * @return number of minutes whose counts were removed without being drained
+   */
+  long getDroppedMinutes() {
+    return droppedMinutes.get();
+  }
+
+}
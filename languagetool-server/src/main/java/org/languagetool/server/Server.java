@@ -28,7 +28,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_PORT;
 
@@ -127,8 +127,27 @@ abstract class Server {
     System.out.println("                 'maxSpellingSuggestions' - only this many spelling errors will have suggestions for performance reasons (optional,\n" +
                        "                                            affects Hunspell-based languages only)");
     System.out.println("                 'maxCheckThreads' - maximum number of threads working in parallel (optional)");
+    System.out.println("                 'virtualThreads' - set to 'true' to handle requests and remote rule calls on virtual threads (optional,\n" +
+                       "                                    requires Java 21, text checking still uses 'maxTextCheckerThreads' threads)");
+    System.out.println("                 'priorityScheduling' - set to 'true' to run waiting checks of short texts and premium users first instead of\n" +
+                       "                                        first-in-first-out, long texts still run eventually (optional, default: false)");
+    System.out.println("                 'cancelSupersededChecks' - set to 'true' to cancel a running check when a newer request with the same\n" +
+                       "                                            'textSessionId' arrives, only useful if clients don't check several parts of\n" +
+                       "                                            a text in parallel with the same session id (optional, default: false)");
+    System.out.println("                 'cancelDisconnectedChecks' - set to 'true' to cancel a running check when the client closes the\n" +
+                       "                                              connection, works on Linux only (optional, default: false)");
+    System.out.println("                 'streamResponses' - set to 'true' to write check results to the connection while they are serialized,\n" +
+                       "                                     using chunked transfer encoding, to save memory for large results (optional, default: false)");
+    System.out.println("                 'ruleProfilingSampleRate' - share of rule calls to measure time, matches, and memory allocation for,\n" +
+                       "                                             e.g. '0.01', see /v2/admin/ruleProfile and Prometheus metrics (optional, default: 0)");
+    System.out.println("                 'ruleProfileAccessToken' - secret value for the header X-Rule-Profile-Access-Token that's required to\n" +
+                       "                                            access /v2/admin/ruleProfile; without it, only requests from localhost are allowed,\n" +
+                       "                                            so set it if a proxy on the same host forwards requests (optional)");
     System.out.println("                 'cacheSize' - size of internal cache in number of sentences (optional, default: 0)");
     System.out.println("                 'cacheTTLSeconds' - how many seconds sentences are kept in cache (optional, default: 300 if 'cacheSize' is set)");
+    System.out.println("                 'languageDetectionCacheSize' - number of texts to cache the detected language for (optional, default: 0)");
+    System.out.println("                 'stickySessionLanguage' - set to 'true' to keep the language detected for a 'textSessionId' until its text\n" +
+                       "                                           changes a lot, requires 'languageDetectionCacheSize' (optional, default: false)");
     System.out.println("                 'requestLimit' - maximum number of requests per requestLimitPeriodInSeconds (optional)");
     System.out.println("                 'requestLimitInBytes' - maximum aggregated size of requests per requestLimitPeriodInSeconds (optional)");
     System.out.println("                 'timeoutRequestLimit' - maximum number of timeout request (optional)");
@@ -137,9 +156,13 @@ abstract class Server {
     System.out.println("                                   each with ngram occurrence counts; activates the confusion rule if supported (optional)");
     System.out.println("                 'fasttextModel' - a model file for better language detection (optional), see");
     System.out.println("                                   https://fasttext.cc/docs/en/language-identification.html");
-    System.out.println("                 'fasttextBinary' - compiled fasttext executable for language detection (optional), see");
-    System.out.println("                                    https://fasttext.cc/docs/en/support.html");
+    System.out.println("                 'fasttextBinary' - compiled fasttext executable for language detection, only needed for models");
+    System.out.println("                                    that cannot be loaded without it (optional), see https://fasttext.cc/docs/en/support.html");
     System.out.println("                 'maxWorkQueueSize' - reject request if request queue gets larger than this (optional)");
+    System.out.println("                 'acceptQueueSize' - maximum number of connections waiting to be accepted (optional, default: system default)");
+    System.out.println("                 'frontEnd' - 'jdk' (default) or 'jetty' for a non-blocking front end with HTTP/2 (h2c) support (optional,");
+    System.out.println("                              HTTP only, not HTTPS)");
+    System.out.println("                 'connectionIdleTimeoutMillis' - close idle keep-alive connections after this time (optional, 'jetty' only)");
     System.out.println("                 'rulesFile' - a file containing rules configuration, such as .languagetool.cfg (optional)");
     System.out.println("                 'blockedReferrers' - a comma-separated list of HTTP referrers (and 'Origin' headers) that are blocked and will not be served (optional)");
     System.out.println("                 'premiumOnly' - activate only the premium rules (optional)");
@@ -183,7 +206,12 @@ abstract class Server {
     }
   }
   
-  protected ThreadPoolExecutor getExecutorService(HTTPServerConfig config) {
+  protected ExecutorService getExecutorService(HTTPServerConfig config) {
+    if (config.isVirtualThreads()) {
+      // admission control happens in LanguageToolHttpHandler and TextChecker, the actual checks run on a bounded pool
+      ServerTools.print("Setting up virtual threads for request handling");
+      return LtThreadPoolFactory.createVirtualThreadExecutor(LtThreadPoolFactory.SERVER_POOL, false);
+    }
     int threadPoolSize = config.getMaxCheckThreads();
     ServerTools.print("Setting up thread pool with " + threadPoolSize + " threads");
 
@@ -19,7 +19,9 @@
 package org.languagetool.server;
 
 import com.google.common.cache.Cache;
+import io.prometheus.client.Collector;
 import io.prometheus.client.Counter;
+import io.prometheus.client.CounterMetricFamily;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.Info;
@@ -29,8 +31,11 @@ import io.prometheus.client.hotspot.DefaultExports;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Premium;
+import org.languagetool.tools.RuleProfiler;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 public class ServerMetricsCollector {
@@ -45,6 +50,17 @@ public class ServerMetricsCollector {
     INVALID_REQUEST
   }
 
+  /**
+   * Why the result of a check was not used.
+   * @since 6.9
+   */
+  public enum CancelReason {
+    SUPERSEDED,   // a newer request for the same text session arrived
+    TIMEOUT,      // the check took longer than allowed
+    DISCONNECTED, // the client closed the connection before the result was sent
+    SHUTDOWN      // the server is shutting down
+  }
+
   private static final double[] LATENCY_BUCKETS = {
     0.025, 0.05, .1, .25, .5, .75, 1., 2., 4., 6., 8., 10., 15.
   };
@@ -90,6 +106,28 @@ public class ServerMetricsCollector {
     .build("languagetool_check_speed_chars_per_second", "Histogram of relative check speed")
     .buckets(SPEED_BUCKETS).labelNames("language", "mode").register();
 
+  private final Histogram checkQueueWait = Histogram
+    .build("languagetool_check_queue_wait_seconds", "Histogram of time text checks waited for a thread")
+    .buckets(LATENCY_BUCKETS)
+    .labelNames("tier").register();
+  private final Gauge checkQueueSize = Gauge
+    .build("languagetool_check_queue_size", "Text checks waiting for a thread")
+    .labelNames("tier").register();
+
+  private final Counter cancelledCheckCounter = Counter
+    .build("languagetool_cancelled_checks_total", "Text checks whose result was not used")
+    .labelNames("reason").register();
+  private final Counter cancelledCharactersCounter = Counter
+    .build("languagetool_cancelled_characters_total", "Characters of text checks whose result was not used")
+    .labelNames("reason").register();
+  private final Counter cancelledComputationTimeCounter = Counter
+    .build("languagetool_cancelled_computation_time_seconds_total", "Time spent on text checks whose result was not used, in seconds")
+    .labelNames("reason").register();
+
+  private final Counter languageDetectionSessionCounter = Counter
+    .build("languagetool_language_detection_sessions_total", "Language detections of text sessions, by whether the session's language was re-used")
+    .labelNames("result").register();
+
   private final Counter requestErrorCounter = Counter
     .build("languagetool_request_errors_total", "Various request errors")
     .labelNames("reason").register();
@@ -105,6 +143,10 @@ public class ServerMetricsCollector {
   private final Counter failedHealthcheckCounter = Counter
     .build("languagetool_failed_healthchecks_total", "Failed healthchecks").register();
 
+  private final Counter droppedDatabaseLogCounter = Counter
+    .build("languagetool_database_log_dropped_total", "Log entries not written to the database because it couldn't keep up")
+    .labelNames("type").register();
+
   private final Info buildInfo = Info
     .build("languagetool_build", "Build information").register();
 
@@ -114,6 +156,8 @@ public class ServerMetricsCollector {
 
   private final CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
 
+  private final RuleProfileCollector ruleProfileMetrics = new RuleProfileCollector().register();
+
 
   public static void init(HTTPServerConfig config) throws IOException {
     DefaultExports.initialize();
@@ -127,6 +171,7 @@ public class ServerMetricsCollector {
     c.labels("maxWorkQueueSize").set(config.getMaxWorkQueueSize());
     c.labels("cacheSize").set(config.getCacheSize());
     c.labels("cacheTTLSeconds").set(config.getCacheTTLSeconds());
+    c.labels("languageDetectionCacheSize").set(config.getLanguageDetectionCacheSize());
     c.labels("maxCheckTimeMillisAnonymous").set(config.getMaxCheckTimeMillisAnonymous());
     c.labels("maxCheckTimeMillisLoggedIn").set(config.getMaxCheckTimeMillisLoggedIn());
     c.labels("maxCheckTimeMillisPremium").set(config.getMaxCheckTimeMillisPremium());
@@ -186,6 +231,43 @@ public class ServerMetricsCollector {
     checkSpeed.labels("", modeLabel).observe(speed);
   }
 
+  /**
+   * @param tier the queue of the check, e.g. the user's tier
+   * @since 6.9
+   */
+  public void logCheckQueued(String tier) {
+    checkQueueSize.labels(tier).inc();
+  }
+
+  /**
+   * @param tier the queue of the check, e.g. the user's tier
+   * @param milliseconds time the check waited in the queue before it started
+   * @since 6.9
+   */
+  public void logCheckDequeued(String tier, long milliseconds) {
+    checkQueueSize.labels(tier).dec();
+    checkQueueWait.labels(tier).observe((double) milliseconds / 1000.0);
+  }
+
+  /**
+   * @param milliseconds time between the start of the check and its cancellation
+   * @since 6.9
+   */
+  public void logCheckCancelled(CancelReason reason, int textSize, long milliseconds) {
+    String reasonLabel = reason.name().toLowerCase();
+    cancelledCheckCounter.labels(reasonLabel).inc();
+    cancelledCharactersCounter.labels(reasonLabel).inc(textSize);
+    cancelledComputationTimeCounter.labels(reasonLabel).inc((double) milliseconds / 1000.0);
+  }
+
+  /**
+   * @param reused whether the language detected for an earlier text of the session was used
+   * @since 6.9
+   */
+  public void logLanguageDetectionSession(boolean reused) {
+    languageDetectionSessionCounter.labels(reused ? "hit" : "miss").inc();
+  }
+
   public void logRequestError(RequestErrorType type) {
     requestErrorCounter.labels(type.name().toLowerCase()).inc();
   }
@@ -202,4 +284,38 @@ public class ServerMetricsCollector {
     failedHealthcheckCounter.inc();
   }
 
+  /** @since 6.9 */
+  public void logDatabaseLogDropped(String entryType) {
+    droppedDatabaseLogCounter.labels(entryType).inc();
+  }
+
+  /**
+   * Exposes the costliest rules measured by {@link RuleProfiler}. Only the top rules by time are
+   * exported, as there are too many rules to export all of them. The values are those of the
+   * sampled calls, not extrapolated to all calls.
+   */
+  static class RuleProfileCollector extends Collector {
+
+    private static final int MAX_RULES = 100;
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+      List<String> labels = Arrays.asList("language", "rule");
+      CounterMetricFamily calls = new CounterMetricFamily("languagetool_rule_sampled_calls", "Sampled calls of a rule", labels);
+      CounterMetricFamily seconds = new CounterMetricFamily("languagetool_rule_sampled_seconds", "Time of sampled calls of a rule", labels);
+      CounterMetricFamily matches = new CounterMetricFamily("languagetool_rule_sampled_matches", "Matches of sampled calls of a rule", labels);
+      CounterMetricFamily bytes = new CounterMetricFamily("languagetool_rule_sampled_allocated_bytes", "Memory allocated by sampled calls of a rule", labels);
+      if (RuleProfiler.isEnabled()) {
+        for (RuleProfiler.RuleStats stats : RuleProfiler.getTopRules(MAX_RULES, RuleProfiler.RuleStats.BY_TIME, null)) {
+          List<String> values = Arrays.asList(stats.getLanguage(), stats.getRuleId());
+          calls.addMetric(values, stats.getCalls());
+          seconds.addMetric(values, stats.getNanos() / 1.0E9);
+          matches.addMetric(values, stats.getMatches());
+          bytes.addMetric(values, stats.getAllocatedBytes());
+        }
+      }
+      return Arrays.asList(calls, seconds, matches, bytes);
+    }
+  }
+
 }
@@ -0,0 +1,53 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.server.ServerMetricsCollector.CancelReason;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the running check per text session. While a user keeps typing, the
+ * result of the previous check is outdated as soon as the next request arrives, so that
+ * check gets cancelled instead of using CPU for a result the client will ignore.
+ * @since 6.9
+ */
+class SessionChecks {
+
+  private final Map<String, CancellableCheck> runningChecks = new ConcurrentHashMap<>();
+
+  /**
+   * Register a check and cancel the previous check with the same key, if it's still running.
+   * @return true if a previous check was cancelled
+   */
+  boolean start(String key, CancellableCheck check) {
+    CancellableCheck previous = runningChecks.put(key, check);
+    return previous != null && previous.cancel(CancelReason.SUPERSEDED);
+  }
+
+  void finish(String key, CancellableCheck check) {
+    runningChecks.remove(key, check);
+  }
+
+  int size() {
+    return runningChecks.size();
+  }
+
+}
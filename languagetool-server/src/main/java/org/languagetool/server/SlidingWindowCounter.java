@@ -0,0 +1,89 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts requests and their size over the last {@code periodMillis}, in a fixed number of time buckets
+ * used as a ring buffer. Each bucket stores the bucket's time index in the upper 32 bits and the value
+ * in the lower 32 bits of a {@code long}, so that updating a bucket, including resetting it when it's
+ * re-used for a newer time index, is a single compare-and-set. Requests leave the window at the end
+ * of their bucket, i.e. up to one bucket (1/{@value #BUCKETS} of the period) early.
+ * @since 6.9
+ */
+class SlidingWindowCounter {
+
+  static final int BUCKETS = 20;
+
+  private static final long MAX_VALUE = 0xFFFFFFFFL;
+
+  private final long bucketMillis;
+  private final AtomicLongArray requests = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray sizes = new AtomicLongArray(BUCKETS);
+  private volatile long lastUpdateMillis;
+
+  SlidingWindowCounter(long periodMillis) {
+    this.bucketMillis = Math.max(1, periodMillis / BUCKETS);
+  }
+
+  void add(long nowMillis, long size) {
+    int bucket = (int) (nowMillis / bucketMillis);
+    int index = Math.floorMod(bucket, BUCKETS);
+    add(requests, index, bucket, 1);
+    add(sizes, index, bucket, size);
+    lastUpdateMillis = nowMillis;
+  }
+
+  long getRequests(long nowMillis) {
+    return sum(requests, (int) (nowMillis / bucketMillis));
+  }
+
+  long getSize(long nowMillis) {
+    return sum(sizes, (int) (nowMillis / bucketMillis));
+  }
+
+  long getLastUpdateMillis() {
+    return lastUpdateMillis;
+  }
+
+  private static void add(AtomicLongArray slots, int index, int bucket, long amount) {
+    while (true) {
+      long old = slots.get(index);
+      long value = (int) (old >>> 32) == bucket ? old & MAX_VALUE : 0;
+      long updated = ((long) bucket << 32) | Math.min(value + amount, MAX_VALUE);
+      if (slots.compareAndSet(index, old, updated)) {
+        return;
+      }
+    }
+  }
+
+  private static long sum(AtomicLongArray slots, int currentBucket) {
+    long sum = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      long slot = slots.get(i);
+      int age = currentBucket - (int) (slot >>> 32);  // int arithmetic, so overflow of the time index doesn't matter
+      if (age >= 0 && age < BUCKETS) {
+        sum += slot & MAX_VALUE;
+      }
+    }
+    return sum;
+  }
+
+}
@@ -38,11 +38,13 @@ import org.languagetool.rules.bitext.BitextRule;
 import org.languagetool.rules.spelling.morfologik.suggestions_ordering.SuggestionsOrdererConfig;
 import org.languagetool.tools.TelemetryProvider;
 import org.languagetool.tools.LtThreadPoolFactory;
+import org.languagetool.tools.RuleProfiler;
 import org.languagetool.tools.Tools;
 import org.slf4j.MDC;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -53,6 +55,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -74,10 +77,24 @@ abstract class TextChecker {
   protected abstract void setHeaders(HttpExchange httpExchange);
   protected abstract String getResponse(AnnotatedText text, Language language, DetectedLanguage lang, Language motherTongue, List<CheckResults> matches,
                                         List<RuleMatch> hiddenMatches, String incompleteResultReason, int compactMode, boolean showPremiumHint, JLanguageTool.Mode mode);
+
+  /**
+   * Write the same response as {@link #getResponse} to {@code out}. Sub classes can override this
+   * to write the response while it's being created instead of keeping all of it in memory.
+   * @since 6.9
+   */
+  protected void writeResponse(OutputStream out, AnnotatedText text, Language language, DetectedLanguage lang, Language motherTongue, List<CheckResults> matches,
+                               List<RuleMatch> hiddenMatches, String incompleteResultReason, int compactMode, boolean showPremiumHint, JLanguageTool.Mode mode) throws IOException {
+    out.write(getResponse(text, language, lang, motherTongue, matches, hiddenMatches, incompleteResultReason, compactMode, showPremiumHint, mode).getBytes(ENCODING));
+  }
   @NotNull
   protected abstract List<String> getPreferredVariants(Map<String, String> parameters);
+  /**
+   * @param sessionKey identifies the user's text session, {@code null} if the request has no {@code textSessionId}
+   */
   protected abstract DetectedLanguage getLanguage(String text, Map<String, String> parameters, List<String> preferredVariants,
-                                                  List<String> additionalDetectLangs, List<String> preferredLangs, boolean testMode);
+                                                  List<String> additionalDetectLangs, List<String> preferredLangs, boolean testMode,
+                                                  @Nullable String sessionKey);
   protected abstract boolean getLanguageAutoDetect(Map<String, String> parameters);
   @NotNull
   protected abstract List<String> getEnabledRuleIds(Map<String, String> parameters);
@@ -90,13 +107,32 @@ abstract class TextChecker {
 
   private static final String ENCODING = "UTF-8";
   private static final int CACHE_STATS_PRINT = 500; // print cache stats every n cache requests
+  private static final long LANGUAGE_DETECTION_CACHE_TTL_SECONDS = 600;
+  private static final long DISCONNECT_CHECK_INTERVAL_MILLIS = 1000;
   
   private final Map<String,Integer> languageCheckCounts = new HashMap<>();
   private final Queue<Runnable> workQueue;
   private final RequestCounter reqCounter;
   private final LanguageIdentifier languageIdentifier;
   private final ExecutorService executorService;
+  // only used with virtual threads: limits the checks running on executorService and the requests waiting for it
+  @Nullable
+  private final Semaphore checkAdmission;
+  // only used with priorityScheduling: orders the checks waiting for executorService
+  @Nullable
+  private final CheckScheduler scheduler;
+  private final int remoteRuleCount;
+  // only used with cancelSupersededChecks
+  @Nullable
+  private final SessionChecks sessionChecks;
+  // only used with cancelDisconnectedChecks
+  @Nullable
+  private final ClientDisconnectMonitor disconnectMonitor;
+  // checks whose result is still awaited, so they can be cancelled on shutdown
+  private final Set<CancellableCheck> runningChecks = ConcurrentHashMap.newKeySet();
   private final ResultCache cache;
+  @Nullable
+  private final LanguageDetectionCache languageDetectionCache;
   private final DatabaseLogger databaseLogger;
   private final Long logServerId;
   private final Random random = new Random();
@@ -193,14 +229,22 @@ abstract class TextChecker {
               config.getFasttextBinary(),
               config.getFasttextModel());
     }
-    this.executorService = LtThreadPoolFactory.createFixedThreadPoolExecutor(
-      LtThreadPoolFactory.TEXT_CHECKER_POOL,
-      config.getMaxTextCheckerThreads(), config.getMaxTextCheckerThreads(),
-      config.getTextCheckerQueueSize(),
-      60L, false, (thread, throwable) -> {
-        log.error("Thread: " + thread.getName() + " failed with: " + throwable.getMessage());
-      },
-      false);
+    if (config.isPriorityScheduling()) {
+      this.scheduler = new CheckScheduler(config.getMaxTextCheckerThreads(), config.getTextCheckerQueueSize());
+      this.executorService = scheduler.getExecutor();
+    } else {
+      this.scheduler = null;
+      this.executorService = LtThreadPoolFactory.createFixedThreadPoolExecutor(
+        LtThreadPoolFactory.TEXT_CHECKER_POOL,
+        config.getMaxTextCheckerThreads(), config.getMaxTextCheckerThreads(),
+        config.getTextCheckerQueueSize(),
+        60L, false, (thread, throwable) -> {
+          log.error("Thread: " + thread.getName() + " failed with: " + throwable.getMessage());
+        },
+        false);
+    }
+    // the scheduler limits its queue itself, so the admission isn't needed then:
+    this.checkAdmission = config.isVirtualThreads() && scheduler == null ? new Semaphore(config.getMaxTextCheckerThreads(), true) : null;
 
     // set up other pools used by text checker and remote rule
     //Need to use own thread pool, otherwise the text-checker thread-pool will be full very soon
@@ -212,7 +256,18 @@ abstract class TextChecker {
         log.error("Couldn't read RemoteRule configuration", e);
       }
     }
-    if (remoteRuleCount > 0) {
+    this.remoteRuleCount = remoteRuleCount;
+    this.sessionChecks = config.isCancelSupersededChecks() ? new SessionChecks() : null;
+    if (config.isCancelDisconnectedChecks() && !ClientDisconnectMonitor.isSupported()) {
+      log.warn("cancelDisconnectedChecks is only supported on Linux, checks of disconnected clients will not be cancelled");
+    }
+    this.disconnectMonitor = config.isCancelDisconnectedChecks() && ClientDisconnectMonitor.isSupported() ?
+      new ClientDisconnectMonitor(DISCONNECT_CHECK_INTERVAL_MILLIS) : null;
+    RuleProfiler.setSampleRate(config.getRuleProfilingSampleRate());
+    if (remoteRuleCount > 0 && config.isVirtualThreads()) {
+      // remote rules mostly wait for the network, no need to size a pool for that
+      LtThreadPoolFactory.createVirtualThreadExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL, true);
+    } else if (remoteRuleCount > 0) {
       LtThreadPoolFactory.createFixedThreadPoolExecutor(
         LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL,
         config.getMaxCheckThreads(),
@@ -227,6 +282,8 @@ abstract class TextChecker {
 
     this.cache = config.getCacheSize() > 0 ? new ResultCache(
       config.getCacheSize(), config.getCacheTTLSeconds(), TimeUnit.SECONDS) : null;
+    this.languageDetectionCache = config.getLanguageDetectionCacheSize() > 0 ? new LanguageDetectionCache(
+      config.getLanguageDetectionCacheSize(), LANGUAGE_DETECTION_CACHE_TTL_SECONDS, config.isStickySessionLanguage()) : null;
     this.databaseLogger = DatabaseLogger.getInstance();
     if (databaseLogger.isLogging()) {
       this.logServerId = DatabaseAccess.getInstance().getOrCreateServerId();
@@ -240,6 +297,9 @@ abstract class TextChecker {
       ServerMetricsCollector.getInstance().monitorCache("languagetool_sentences_cache", cache.getSentenceCache());
       ServerMetricsCollector.getInstance().monitorCache("languagetool_remote_matches_cache", cache.getRemoteMatchesCache());
     }
+    if (languageDetectionCache != null && !config.isLocalApiMode()) {
+      ServerMetricsCollector.getInstance().monitorCache("languagetool_language_detection_cache", languageDetectionCache.getResults());
+    }
 
     pipelinePool = new PipelinePool(config, cache, internalServer);
     if (config.isPipelinePrewarmingEnabled()) {
@@ -327,6 +387,10 @@ abstract class TextChecker {
   }
 
   void shutdownNow() {
+    runningChecks.forEach(check -> check.cancel(ServerMetricsCollector.CancelReason.SHUTDOWN));
+    if (disconnectMonitor != null) {
+      disconnectMonitor.shutdown();
+    }
     executorService.shutdownNow();
     RemoteRule.shutdown();
   }
@@ -477,8 +541,10 @@ abstract class TextChecker {
             Arrays.asList(params.get("noopLanguages").split(",")) : Collections.emptyList();
     List<String> preferredLangs = params.get("preferredLanguages") != null ?
             Arrays.asList(params.get("preferredLanguages").split(",")) : Collections.emptyList();
+    String detectionSessionKey = params.get("textSessionId") != null ?
+      (limits.getPremiumUid() != null ? limits.getPremiumUid().toString() : remoteAddress) + "/" + params.get("textSessionId") : null;
     DetectedLanguage detLang = TelemetryProvider.INSTANCE.createSpan(SPAN_NAME_PREFIX + "DetetectLanguage", Attributes.empty(), () -> getLanguage(aText.getPlainText(), params, preferredVariants, noopLangs, preferredLangs,
-      params.getOrDefault("ld", "control").equalsIgnoreCase("test")));
+      params.getOrDefault("ld", "control").equalsIgnoreCase("test"), detectionSessionKey));
     Language lang = detLang.getGivenLanguage();
 
     List<Rule> userRules = TelemetryProvider.INSTANCE.createSpan(SPAN_NAME_PREFIX + "GetUserRules", Attributes.empty(), () -> getUserRules(limits, lang, finalDictGroups));
@@ -611,24 +677,55 @@ abstract class TextChecker {
 
     int textSize = length;
     List<CheckResults> ruleMatchesSoFar = Collections.synchronizedList(new ArrayList<>());
+    AtomicLong checkStartTime = new AtomicLong();  // 0 while the check is waiting for a thread
+    long submitTime = System.currentTimeMillis();  // waiting for admission counts towards the maximum check time
     Future<List<CheckResults>> future;
     try {
-      future = executorService.submit(() -> {
+      Callable<List<CheckResults>> check = () -> {
         try (MDC.MDCCloseable c = MDC.putCloseable("rID", LanguageToolHttpHandler.getRequestId(httpExchange))) {
           log.debug("Starting text check on {} chars; params: {}", length, qParams);
           long time = System.currentTimeMillis();
+          checkStartTime.set(time);
           List<CheckResults> results = getRuleMatches(aText, lang, motherTongue, params, qParams, userConfig, f -> ruleMatchesSoFar.add(new CheckResults(Collections.singletonList(f), Collections.emptyList())));
           log.debug("Finished text check in {}ms. Starting suggestion generation.", System.currentTimeMillis() - time);
           time = System.currentTimeMillis();
           // generate suggestions, otherwise this is not part of the timeout logic and not properly measured in the metrics
-          results.stream().flatMap(r -> r.getRuleMatches().stream()).forEach(RuleMatch::computeLazySuggestedReplacements);
+          for (CheckResults result : results) {
+            for (RuleMatch match : result.getRuleMatches()) {
+              if (Thread.currentThread().isInterrupted()) {
+                return results;  // cancelled, the result won't be used
+              }
+              match.computeLazySuggestedReplacements();
+            }
+          }
           log.debug("Finished suggestion generation in {}ms, returning results.", System.currentTimeMillis() - time);
           return results;
         }
-      });
+      };
+      if (scheduler != null) {
+        boolean remoteRules = remoteRuleCount > 0 && mode != JLanguageTool.Mode.TEXTLEVEL_ONLY;
+        future = scheduler.submit(check, length, lang, level, remoteRules, limits, remoteAddress);
+      } else {
+        future = submitCheck(limits.getMaxCheckTimeMillis(), check);
+      }
     } catch (RejectedExecutionException e) {
       throw new UnavailableException("Server overloaded, please try again later", e);
     }
+    CancellableCheck cancellableCheck = new CancellableCheck(future);
+    runningChecks.add(cancellableCheck);
+    ClientDisconnectMonitor.Watch disconnectWatch = null;
+    if (disconnectMonitor != null) {
+      disconnectWatch = disconnectMonitor.watch(httpExchange.getLocalAddress(), httpExchange.getRemoteAddress(),
+        () -> cancellableCheck.cancel(ServerMetricsCollector.CancelReason.DISCONNECTED));
+    }
+    String sessionKey = null;
+    if (sessionChecks != null && params.get("textSessionId") != null) {
+      // only requests of the same user and of the same kind supersede each other, e.g. a client
+      // may check text-level rules and the other rules in parallel:
+      String user = limits.getPremiumUid() != null ? limits.getPremiumUid().toString() : remoteAddress;
+      sessionKey = user + "/" + params.get("textSessionId") + "/" + mode + "/" + level;
+      sessionChecks.start(sessionKey, cancellableCheck);
+    }
     String incompleteResultReason = null;
     List<CheckResults> res;
     Attributes textCheckingAttributes = Attributes.builder()
@@ -638,14 +735,17 @@ abstract class TextChecker {
             .put("dictionary.size", dictWords.size())
             .build();
     Integer finalCount = count;
-    Map.Entry<List<CheckResults>, String> resAndReason = TelemetryProvider.INSTANCE.createSpan(SPAN_NAME_PREFIX + "GetRuleMatches", textCheckingAttributes, (span) -> {
+    Map.Entry<List<CheckResults>, String> resAndReason;
+    try {
+      resAndReason = TelemetryProvider.INSTANCE.createSpan(SPAN_NAME_PREFIX + "GetRuleMatches", textCheckingAttributes, (span) -> {
         List<CheckResults> localRes;
         String localReason = null;
         try {
           if (limits.getMaxCheckTimeMillis() < 0) {
             localRes = future.get();
           } else {
-            localRes = future.get(limits.getMaxCheckTimeMillis(), TimeUnit.MILLISECONDS);
+            long remainingMillis = limits.getMaxCheckTimeMillis() - (System.currentTimeMillis() - submitTime);
+            localRes = future.get(Math.max(0, remainingMillis), TimeUnit.MILLISECONDS);
           }
         } catch (ExecutionException e) {
           future.cancel(true);
@@ -663,8 +763,17 @@ abstract class TextChecker {
           } else {
             throw new RuntimeException(ServerTools.cleanUserTextFromMessage(e.getMessage(), params) + ", detected: " + detLang, e);
           }
+        } catch (CancellationException e) {
+          ServerMetricsCollector.CancelReason reason = cancellableCheck.getCancelReason();
+          if (reason == null) {
+            // not cancelled by us, only an executor that's shutting down might do that
+            reason = ServerMetricsCollector.CancelReason.SHUTDOWN;
+          }
+          ServerMetricsCollector.getInstance().logCheckCancelled(reason, length, getCheckMillis(checkStartTime));
+          throw new CheckCancelledException(getCancelMessage(reason), e);
         } catch (TimeoutException e) {
-          boolean cancelled = future.cancel(true);
+          boolean cancelled = cancellableCheck.cancel(ServerMetricsCollector.CancelReason.TIMEOUT);
+          ServerMetricsCollector.getInstance().logCheckCancelled(ServerMetricsCollector.CancelReason.TIMEOUT, length, getCheckMillis(checkStartTime));
           Path loadFile = Paths.get("/proc/loadavg");  // works in Linux only(?)
           String loadInfo = loadFile.toFile().exists() ? Files.readAllLines(loadFile).toString() : "(unknown)";
           if (errorRequestLimiter != null) {
@@ -694,6 +803,15 @@ abstract class TextChecker {
         }
         return new AbstractMap.SimpleEntry(localRes, localReason);
       });
+    } finally {
+      if (sessionKey != null) {
+        sessionChecks.finish(sessionKey, cancellableCheck);
+      }
+      if (disconnectWatch != null) {
+        disconnectWatch.close();
+      }
+      runningChecks.remove(cancellableCheck);
+    }
     res = resAndReason.getKey();
     incompleteResultReason = resAndReason.getValue();
 
@@ -735,22 +853,46 @@ abstract class TextChecker {
     }
 
     int compactMode = Integer.parseInt(params.getOrDefault("c", "0"));
-    String response = getResponse(aText, lang, detLang, motherTongue, res, hiddenMatches, incompleteResultReason, compactMode,
-      limits.getPremiumUid() == null, qParams.mode);
-    if (qParams.callback != null) {
-      // JSONP - still needed today for the special case of hosting your own on-premise LT without SSL
-      // and using it from a local MS Word (not Online Word) - issue #89 in the add-in repo:
-      response = qParams.callback + "(" + response + ");";
+    String response = null;
+    boolean protobuf = ProtobufCheckFormat.isProtobuf(httpExchange);
+    if (!protobuf && !config.isStreamResponses()) {
+      response = getResponse(aText, lang, detLang, motherTongue, res, hiddenMatches, incompleteResultReason, compactMode,
+        limits.getPremiumUid() == null, qParams.mode);
+      if (qParams.callback != null) {
+        // JSONP - still needed today for the special case of hosting your own on-premise LT without SSL
+        // and using it from a local MS Word (not Online Word) - issue #89 in the add-in repo:
+        response = qParams.callback + "(" + response + ");";
+      }
     }
     String messageSent = "sent";
     String languageMessage = lang.getShortCodeWithCountryAndVariant();
     try {
-      httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
-      httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+      if (protobuf) {
+        byte[] bytes = ProtobufCheckFormat.toResponse(res, hiddenMatches, incompleteResultReason, detLang);
+        httpExchange.getResponseHeaders().set("Content-Type", ProtobufCheckFormat.CONTENT_TYPE);
+        httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+        httpExchange.getResponseBody().write(bytes);
+      } else if (response != null) {
+        httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
+        httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+      } else {
+        // length 0 = unknown length, the response is sent with chunked transfer encoding:
+        httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+        OutputStream out = httpExchange.getResponseBody();
+        if (qParams.callback != null) {
+          out.write((qParams.callback + "(").getBytes(ENCODING));
+        }
+        writeResponse(out, aText, lang, detLang, motherTongue, res, hiddenMatches, incompleteResultReason, compactMode,
+          limits.getPremiumUid() == null, qParams.mode);
+        if (qParams.callback != null) {
+          out.write(");".getBytes(ENCODING));
+        }
+      }
       ServerMetricsCollector.getInstance().logResponse(HttpURLConnection.HTTP_OK);
     } catch (IOException exception) {
       // the client is disconnected
       messageSent = "notSent: " + exception.getMessage();
+      ServerMetricsCollector.getInstance().logCheckCancelled(ServerMetricsCollector.CancelReason.DISCONNECTED, length, getCheckMillis(checkStartTime));
     }
     if (motherTongue != null) {
       languageMessage += " (mother tongue: " + motherTongue.getShortCodeWithCountryAndVariant() + ")";
@@ -805,6 +947,10 @@ abstract class TextChecker {
         databaseLogger.log(logEntry);
       }
     }
+    // the per-rule counts don't replace check_log, which has per-check data (user, client, text size, time):
+    if (config.getDatabaseLogRuleMatchCounts() && !config.isSkipLoggingRuleMatches()) {
+      databaseLogger.logRuleMatches(lang.getShortCodeWithCountryAndVariant(), res);
+    }
 
     if (databaseLogger.isLogging()) {
       if (System.currentTimeMillis() - pingsCleanDateMillis > PINGS_CLEAN_MILLIS && pings.size() < PINGS_MAX_SIZE) {
@@ -827,7 +973,75 @@ abstract class TextChecker {
     }
   }
 
+  /**
+   * Run the check on the text checker pool. With virtual threads, wait until the pool has a free thread
+   * so the CPU-bound checking is never oversubscribed, but only if not too many other requests are waiting already.
+   */
+  private Future<List<CheckResults>> submitCheck(long maxWaitMillis, Callable<List<CheckResults>> check) throws InterruptedException {
+    if (checkAdmission == null) {
+      return executorService.submit(check);
+    }
+    int maxWaiting = config.getTextCheckerQueueSize();
+    if (maxWaiting > 0 && checkAdmission.getQueueLength() >= maxWaiting) {
+      throw new RejectedExecutionException("Too many checks waiting: " + checkAdmission.getQueueLength());
+    }
+    boolean admitted;
+    if (maxWaitMillis < 0) {
+      checkAdmission.acquire();
+      admitted = true;
+    } else {
+      admitted = checkAdmission.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+    if (!admitted) {
+      throw new RejectedExecutionException("No free text checker thread after waiting " + maxWaitMillis + "ms");
+    }
+    FutureTask<List<CheckResults>> task = new FutureTask<List<CheckResults>>(check) {
+      @Override
+      public void run() {
+        // not in done(), which is already called by cancel() while the check might still be running:
+        try {
+          super.run();
+        } finally {
+          checkAdmission.release();
+        }
+      }
+    };
+    try {
+      executorService.execute(task);
+    } catch (RejectedExecutionException e) {
+      checkAdmission.release();
+      throw e;
+    }
+    return task;
+  }
+
+  private static String getCancelMessage(ServerMetricsCollector.CancelReason reason) {
+    switch (reason) {
+      case SUPERSEDED:
+        return "Check was cancelled because a newer request for the same text session arrived";
+      case DISCONNECTED:
+        return "Check was cancelled because the client closed the connection";
+      case SHUTDOWN:
+        return "Check was cancelled because the server is shutting down";
+      default:
+        return "Check was cancelled";
+    }
+  }
+
+  private static long getCheckMillis(AtomicLong checkStartTime) {
+    long startTime = checkStartTime.get();
+    return startTime == 0 ? 0 : System.currentTimeMillis() - startTime;
+  }
+
   public boolean checkerQueueAlmostFull() {
+    if (checkAdmission != null) {
+      int maxWaiting = config.getTextCheckerQueueSize();
+      int waiting = checkAdmission.getQueueLength();
+      if (maxWaiting > 0 && waiting > maxWaiting/2) {
+        log.warn("TextChecker admission is almost full, requests waiting: {} free threads: {}", waiting, checkAdmission.availablePermits());
+        return true;
+      }
+    }
     if (this.executorService instanceof ThreadPoolExecutor) {
       ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) this.executorService;
       int maxQueueSize = config.getTextCheckerQueueSize();
@@ -937,6 +1151,10 @@ abstract class TextChecker {
     try {
       settings = new PipelineSettings(lang, motherTongue, params, config.globalConfig, userConfig);
       lt = pipelinePool.getPipeline(settings);
+      // the check gets interrupted on timeout or when a newer request supersedes it; checking the
+      // interrupt flag of this thread also works from the threads that run parts of the check:
+      Thread checkThread = Thread.currentThread();
+      lt.setCheckCancelledCallback(checkThread::isInterrupted);
       Long textSessionId = userConfig.getTextSessionId();
       if (params.regressionTestMode) {
         textSessionId = -2L; // magic value for remote rule roll-out - includes all results, even from disabled models
@@ -945,6 +1163,7 @@ abstract class TextChecker {
         params.mode, params.level, params.toneTags, textSessionId));
     } finally {
       if (lt != null) {
+        lt.setCheckCancelledCallback(null);
         pipelinePool.returnPipeline(settings, lt);
       }
     }
@@ -992,14 +1211,29 @@ abstract class TextChecker {
   
   DetectedLanguage detectLanguageOfString(String text, String fallbackLanguage, List<String> preferredVariants,
                                           List<String> noopLangs, List<String> preferredLangs) {
-    return this.detectLanguageOfString(text, fallbackLanguage, preferredVariants, noopLangs, preferredLangs, false);
+    return this.detectLanguageOfString(text, fallbackLanguage, preferredVariants, noopLangs, preferredLangs, false, null);
   }
 
+  /**
+   * @param sessionKey identifies the user's text session, for {@link HTTPServerConfig#isStickySessionLanguage()}
+   */
   DetectedLanguage detectLanguageOfString(String text, String fallbackLanguage, List<String> preferredVariants,
-                                          List<String> noopLangs, List<String> preferredLangs, boolean forcePreferredLanguages) {
+                                          List<String> noopLangs, List<String> preferredLangs, boolean forcePreferredLanguages,
+                                          @Nullable String sessionKey) {
     Language lang;
     String cleanText = languageIdentifier.cleanAndShortenText(text);
-    DetectedLanguage detected = languageIdentifier.detectLanguage(cleanText, noopLangs, preferredLangs, forcePreferredLanguages);
+    DetectedLanguage detected;
+    if (languageDetectionCache != null) {
+      detected = languageDetectionCache.get(cleanText, noopLangs, preferredLangs, forcePreferredLanguages, sessionKey,
+        () -> languageIdentifier.detectLanguage(cleanText, noopLangs, preferredLangs, forcePreferredLanguages));
+      long requests = languageDetectionCache.getResults().stats().requestCount();
+      if (requests > 0 && requests % CACHE_STATS_PRINT == 0) {
+        log.info(String.format(Locale.ENGLISH, "Language detection cache stats: %.2f%% hit rate, %.2f%% session hit rate",
+          languageDetectionCache.getResults().stats().hitRate() * 100, languageDetectionCache.getSessionHitRate() * 100));
+      }
+    } else {
+      detected = languageIdentifier.detectLanguage(cleanText, noopLangs, preferredLangs, forcePreferredLanguages);
+    }
     if (detected == null) {
       lang = parseLanguage(fallbackLanguage != null ? fallbackLanguage : "en");
     } else {
@@ -20,6 +20,7 @@ package org.languagetool.server;
 
 import com.sun.net.httpserver.HttpExchange;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.languagetool.*;
 import org.languagetool.markup.AnnotatedText;
 import org.languagetool.rules.RuleMatch;
@@ -28,6 +29,7 @@ import org.languagetool.tools.StringTools;
 import org.languagetool.tools.RuleMatchesAsJsonSerializer;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -69,6 +71,15 @@ class V2TextChecker extends TextChecker {
       showPremiumHint, mode);
   }
 
+  @Override
+  protected void writeResponse(OutputStream out, AnnotatedText text, Language usedLang, DetectedLanguage lang, Language motherTongue, List<CheckResults> matches,
+                               List<RuleMatch> hiddenMatches, String incompleteResultsReason, int compactMode, boolean showPremiumHint, JLanguageTool.Mode mode) throws IOException {
+    RuleMatchesAsJsonSerializer serializer = new RuleMatchesAsJsonSerializer(compactMode, usedLang);
+    serializer.setRuleIdToConfidenceMap(confidenceMap);
+    serializer.ruleMatchesToJson2(matches, hiddenMatches, text, CONTEXT_SIZE, lang, incompleteResultsReason,
+      showPremiumHint, mode, out);
+  }
+
   @NotNull
   @Override
   protected List<String> getEnabledRuleIds(Map<String, String> parameters) {
@@ -114,10 +125,11 @@ class V2TextChecker extends TextChecker {
   @Override
   @NotNull
   protected DetectedLanguage getLanguage(String text, Map<String, String> parameters, List<String> preferredVariants,
-                                         List<String> noopLangs, List<String> preferredLangs, boolean testMode) {
+                                         List<String> noopLangs, List<String> preferredLangs, boolean testMode,
+                                         @Nullable String sessionKey) {
     String langParam = parameters.get("language");
     boolean forcePreferredLanguages = "true".equals(parameters.get("forcePreferredLanguages"));
-    DetectedLanguage detectedLang = detectLanguageOfString(text, null, preferredVariants, noopLangs, preferredLangs, forcePreferredLanguages);
+    DetectedLanguage detectedLang = detectLanguageOfString(text, null, preferredVariants, noopLangs, preferredLangs, forcePreferredLanguages, sessionKey);
     Language givenLang;
     if (getLanguageAutoDetect(parameters)) {
       givenLang = detectedLang.getDetectedLanguage();
@@ -0,0 +1,78 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.markup.AnnotatedText;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class AnnotatedTextJsonParserTest {
+
+  @Test
+  public void testText() {
+    AnnotatedText text = AnnotatedTextJsonParser.parse("{\"metaData\": {\"EmailToAddress\": \"foo@example.com\", \"myKey\": \"myValue\"}, \"text\": \"A test.\"}");
+    assertThat(text.getTextWithMarkup(), is("A test."));
+    assertThat(text.getGlobalMetaData(AnnotatedText.MetaDataKey.EmailToAddress, ""), is("foo@example.com"));
+    assertThat(text.getGlobalMetaData("myKey", ""), is("myValue"));
+  }
+
+  @Test
+  public void testAnnotation() {
+    AnnotatedText text = AnnotatedTextJsonParser.parse("{\"annotation\": [{\"text\": \"A \"}, {\"markup\": \"<b>\"}, {\"text\": \"test\"}," +
+      "{\"markup\": \"</b>\", \"ignored\": {\"x\": [1, 2]}}, {\"markup\": \"<p>\", \"interpretAs\": \"\\n\\n\"}, {\"text\": \"More.\"}]}");
+    assertThat(text.getTextWithMarkup(), is("A <b>test</b><p>More."));
+    assertThat(text.getPlainText(), is("A test\n\nMore."));
+    assertThat(text.getOriginalTextPositionFor(2, false), is(5));
+  }
+
+  @Test
+  public void testInvalid() {
+    assertInvalid("{\"text\": \"foo\", \"annotation\": []}", "not both");
+    assertInvalid("{\"foo\": \"bar\"}", "requires 'text' or 'annotation'");
+    assertInvalid("[]", "requires 'text' or 'annotation'");
+    assertInvalid("{\"annotation\": [{\"text\": \"a\", \"markup\": \"<b>\"}]}", "not both");
+    assertInvalid("{\"annotation\": [{\"text\": \"a\", \"interpretAs\": \" \"}]}", "'text' cannot be used with 'interpretAs'");
+    assertInvalid("{\"annotation\": [{\"foo\": \"a\"}]}", "Only 'text' and 'markup' are supported");
+    assertInvalid("{\"annotation\": [\"a\"]}", "Only 'text' and 'markup' are supported");
+    assertInvalid("{\"text\": ", "Could not parse JSON");
+    assertInvalid("{\"text\": \"foo\"} {\"text\": \"bar\"}", "unexpected content after the JSON object");
+    assertInvalid("{\"text\": \"foo\"}]", "Could not parse JSON");
+  }
+
+  @Test
+  public void testErrorMessageContainsJson() {
+    assertInvalid("{\"annotation\": [{\"text\": \"a\", \"markup\": \"<b>\"}]}",
+      "not both: {\"text\":\"a\",\"markup\":\"<b>\"}");
+    assertInvalid("{\"annotation\": [{\"foo\": [1, 2]}]}", "supported in 'annotation' list: {\"foo\":[1,2]}");
+    assertInvalid("{\"annotation\": [\"a\"]}", "supported in 'annotation' list: \"a\"");
+  }
+
+  private void assertInvalid(String data, String expectedMessage) {
+    try {
+      AnnotatedTextJsonParser.parse(data);
+      fail("Expected exception for " + data);
+    } catch (BadRequestException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(expectedMessage));
+    }
+  }
+
+}
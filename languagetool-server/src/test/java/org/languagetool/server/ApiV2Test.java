@@ -18,6 +18,7 @@
  */
 package org.languagetool.server;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -26,6 +27,7 @@ import org.junit.Test;
 import org.languagetool.*;
 import org.languagetool.markup.AnnotatedText;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.tools.RuleProfiler;
 
 import java.io.IOException;
 import java.util.*;
@@ -66,6 +68,46 @@ public class ApiV2Test {
     } catch (BadRequestException ignored) {}
   }
   
+  @Test
+  public void testRuleProfileRequest() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig();
+    ApiV2 apiV2 = new ApiV2(null, null);
+    RuleProfiler.setSampleRate(0.5);
+    try {
+      try {
+        apiV2.handleRequest("admin/ruleProfile", new FakeHttpExchange(), new HashMap<>(), null, "10.1.2.3", config);
+        fail();
+      } catch (AuthException ignored) {}
+      try {
+        apiV2.handleRequest("admin/ruleProfile", new FakeHttpExchange(), Collections.singletonMap("top", "abc"), null, "127.0.0.1", config);
+        fail();
+      } catch (BadRequestException ignored) {}
+      try {
+        apiV2.handleRequest("admin/ruleProfile", new FakeHttpExchange(), Collections.singletonMap("top", "-1"), null, "127.0.0.1", config);
+        fail();
+      } catch (BadRequestException ignored) {}
+      FakeHttpExchange httpExchange = new FakeHttpExchange();
+      apiV2.handleRequest("admin/ruleProfile", httpExchange, Collections.singletonMap("top", "5"), null, "127.0.0.1", config);
+      assertTrue(httpExchange.getOutput().contains("\"rules\""));
+
+      config.setRuleProfileAccessToken("secret");
+      try {
+        // with a token, localhost isn't enough, as a proxy on the same host would look like localhost:
+        apiV2.handleRequest("admin/ruleProfile", new FakeHttpExchange(), new HashMap<>(), null, "127.0.0.1", config);
+        fail();
+      } catch (AuthException ignored) {}
+      try {
+        apiV2.handleRequest("admin/ruleProfile", new TokenHttpExchange("wrong"), new HashMap<>(), null, "10.1.2.3", config);
+        fail();
+      } catch (AuthException ignored) {}
+      TokenHttpExchange tokenExchange = new TokenHttpExchange("secret");
+      apiV2.handleRequest("admin/ruleProfile", tokenExchange, new HashMap<>(), null, "10.1.2.3", config);
+      assertTrue(tokenExchange.getOutput().contains("\"rules\""));
+    } finally {
+      RuleProfiler.setSampleRate(0);
+    }
+  }
+
   @Test
   @Ignore("code is currently commented out")
   public void testRuleExamples() throws Exception {
@@ -81,6 +123,17 @@ public class ApiV2Test {
     assertTrue(httpExchange.getOutput().contains("The train arrived <marker>a hour</marker> ago."));
   }
   
+  static class TokenHttpExchange extends FakeHttpExchange {
+    private final Headers headers = new Headers();
+    TokenHttpExchange(String token) {
+      headers.add(ApiV2.RULE_PROFILE_ACCESS_TOKEN_HEADER, token);
+    }
+    @Override
+    public Headers getRequestHeaders() {
+      return headers;
+    }
+  }
+
   static class FakeTextChecker extends TextChecker {
     FakeTextChecker(HTTPServerConfig config, boolean internalServer, Queue<Runnable> workQueue, RequestCounter reqCounter) {
       super(config, internalServer, workQueue, reqCounter);
@@ -98,7 +151,7 @@ public class ApiV2Test {
       return new ArrayList<>();
     }
     @Override
-    protected DetectedLanguage getLanguage(String text, Map<String, String> parameters, List<String> preferredVariants, List<String> additionalDetectLangs, List<String> preferredLangs, boolean testMode) {
+    protected DetectedLanguage getLanguage(String text, Map<String, String> parameters, List<String> preferredVariants, List<String> additionalDetectLangs, List<String> preferredLangs, boolean testMode, String sessionKey) {
       return new DetectedLanguage(new FakeLanguage(), new FakeLanguage());
     }
     @Override
@@ -0,0 +1,97 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class CheckSchedulerTest {
+
+  private final Language lang = Languages.getLanguageForShortCode("en-US");
+  private final UserLimits anonymous = UserLimits.getDefaultLimits(new HTTPServerConfig());
+
+  @Test
+  public void testShortChecksRunFirst() throws Exception {
+    CheckScheduler scheduler = new CheckScheduler(1, 0);
+    try {
+      CountDownLatch blocker = new CountDownLatch(1);
+      List<String> order = Collections.synchronizedList(new ArrayList<>());
+      scheduler.submit(() -> blocker.await(), 10, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "1.1.1.1");
+      Future<Boolean> longCheck = scheduler.submit(() -> order.add("long"), 100_000, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "2.2.2.2");
+      Future<Boolean> shortCheck = scheduler.submit(() -> order.add("short"), 100, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "3.3.3.3");
+      blocker.countDown();
+      longCheck.get();
+      shortCheck.get();
+      assertThat(order.toString(), is("[short, long]"));
+    } finally {
+      scheduler.getExecutor().shutdownNow();
+    }
+  }
+
+  @Test
+  public void testQueueLimit() throws Exception {
+    CheckScheduler scheduler = new CheckScheduler(1, 1);
+    try {
+      CountDownLatch blocker = new CountDownLatch(1);
+      scheduler.submit(() -> blocker.await(), 10, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "1.1.1.1");
+      while (scheduler.getExecutor().getActiveCount() == 0) {
+        Thread.sleep(5);
+      }
+      scheduler.submit(() -> true, 10, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "1.1.1.1");
+      try {
+        scheduler.submit(() -> true, 10, lang, JLanguageTool.Level.DEFAULT, false, anonymous, "1.1.1.1");
+        fail();
+      } catch (RejectedExecutionException expected) {}
+      blocker.countDown();
+    } finally {
+      scheduler.getExecutor().shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCostEstimate() {
+    CheckScheduler scheduler = new CheckScheduler(1, 0);
+    try {
+      long initial = scheduler.estimateCostMillis("en/DEFAULT/false", 10_000);
+      for (int i = 0; i < 200; i++) {
+        scheduler.learnCost("en/DEFAULT/false", 10_000, 1000);
+      }
+      long learned = scheduler.estimateCostMillis("en/DEFAULT/false", 10_000);
+      assertTrue(learned > initial);
+      assertTrue(learned <= 1000);
+      assertThat(scheduler.estimateCostMillis("de/DEFAULT/false", 10_000), is(initial));
+    } finally {
+      scheduler.getExecutor().shutdownNow();
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class ClientDisconnectMonitorTest {
+
+  @Test
+  public void testGetClosedConnections() {
+    Set<String> closed = ClientDisconnectMonitor.getClosedConnections(Arrays.asList(
+      "  sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode",
+      "   0: 0100007F:1F90 00000000:0000 0A 00000000:00000000 00:00000000 00000000  1000        0 1 1 0 100 0 0 10 0",
+      "   1: 0100007F:1F90 0100007F:C350 08 00000000:00000000 00:00000000 00000000  1000        0 2 1 0 20 4 30 10 -1",
+      "   2: 0100007F:1F90 0100007F:C351 01 00000000:00000000 00:00000000 00000000  1000        0 3 1 0 20 4 30 10 -1"));
+    assertThat(closed.size(), is(1));
+    InetSocketAddress local = new InetSocketAddress("127.0.0.1", 8080);
+    Set<String> keys = ClientDisconnectMonitor.getConnectionKeys(local, new InetSocketAddress("127.0.0.1", 50000), ByteOrder.LITTLE_ENDIAN);
+    assertTrue(keys.contains("0100007F:1F90-0100007F:C350"));
+    assertTrue(keys.contains("0000000000000000FFFF00000100007F:1F90-0000000000000000FFFF00000100007F:C350"));
+    assertTrue(keys.stream().anyMatch(closed::contains));
+    Set<String> otherKeys = ClientDisconnectMonitor.getConnectionKeys(local, new InetSocketAddress("127.0.0.1", 50001), ByteOrder.LITTLE_ENDIAN);
+    assertFalse(otherKeys.stream().anyMatch(closed::contains));
+  }
+
+  @Test
+  public void testBigEndian() {
+    Set<String> keys = ClientDisconnectMonitor.getConnectionKeys(new InetSocketAddress("127.0.0.1", 8080),
+      new InetSocketAddress("10.0.0.2", 443), ByteOrder.BIG_ENDIAN);
+    assertTrue(keys.contains("7F000001:1F90-0A000002:01BB"));
+  }
+
+  @Test
+  public void testDisconnect() throws Exception {
+    assumeTrue(ClientDisconnectMonitor.isSupported());
+    ClientDisconnectMonitor monitor = new ClientDisconnectMonitor(20);
+    try (ServerSocket serverSocket = new ServerSocket(0)) {
+      Socket client = new Socket("localhost", serverSocket.getLocalPort());
+      try (Socket connection = serverSocket.accept()) {
+        CountDownLatch disconnected = new CountDownLatch(1);
+        ClientDisconnectMonitor.Watch watch = monitor.watch((InetSocketAddress) connection.getLocalSocketAddress(),
+          (InetSocketAddress) connection.getRemoteSocketAddress(), disconnected::countDown);
+        assertFalse(disconnected.await(200, TimeUnit.MILLISECONDS));
+        client.close();
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+        watch.close();
+      }
+    } finally {
+      monitor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Uses an in-memory HSQLDB instead of a real database.
+ */
+public class DatabaseLoggerTest {
+
+  private int origBatchWaitingTime;
+  private DatabaseLogger logger;
+
+  @Before
+  public void setUp() {
+    origBatchWaitingTime = DatabaseLogger.SQL_BATCH_WAITING_TIME;
+    DatabaseLogger.SQL_BATCH_WAITING_TIME = 500;
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort());
+    config.setDatabaseDriver("org.hsqldb.jdbcDriver");
+    config.setDatabaseUrl("jdbc:hsqldb:mem:testDb_" + System.currentTimeMillis() + "_" + Math.random());
+    config.setDatabaseUsername("");
+    config.setDatabasePassword("");
+    DatabaseAccess.init(config);
+    logger = new DatabaseLogger(10);
+    logger.start(DatabaseAccess.getInstance().sqlSessionFactory);
+    logger.createTestTables();
+  }
+
+  @After
+  public void tearDown() {
+    logger.disableLogging();
+    logger.dropTestTables();
+    DatabaseAccess.reset();
+    DatabaseLogger.SQL_BATCH_WAITING_TIME = origBatchWaitingTime;
+  }
+
+  @Test
+  public void testBoundedQueue() throws SQLException {
+    int entries = 1000;
+    for (int i = 0; i < entries; i++) {
+      logger.log(new DatabasePingLogEntry(1L, (long) i));
+    }
+    logger.flush();
+    // whatever wasn't written must have been counted as dropped:
+    assertThat(count("pings") + logger.getDroppedEntries(), is((long) entries));
+  }
+
+  @Test
+  public void testRuleMatchCounts() throws SQLException {
+    logger.log(new DatabaseRuleMatchCountLogEntry(System.currentTimeMillis(), "en-US", "RULE_A", 5));
+    logger.flush();
+    assertThat(count("rule_match_counts"), is(1L));
+  }
+
+  private long count(String table) throws SQLException {
+    try (SqlSession session = DatabaseAccess.getInstance().sqlSessionFactory.openSession();
+         Statement statement = session.getConnection().createStatement();
+         ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+      result.next();
+      return result.getLong(1);
+    }
+  }
+
+}
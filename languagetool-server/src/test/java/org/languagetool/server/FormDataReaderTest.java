@@ -0,0 +1,80 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class FormDataReaderTest {
+
+  @Test
+  public void testRead() throws IOException {
+    Map<String, String> params = read("language=en-US&text=This+is+a%20test%2E&&enabledRules=A%2CB&noValue&data=%7B%22a%22%3D1%7D");
+    assertThat(params.size(), is(4));
+    assertThat(params.get("language"), is("en-US"));
+    assertThat(params.get("text"), is("This is a test."));
+    assertThat(params.get("enabledRules"), is("A,B"));
+    assertThat(params.get("data"), is("{\"a\"=1}"));
+    assertNull(params.get("noValue"));
+  }
+
+  @Test
+  public void testSameAsUrlDecoder() throws IOException {
+    String text = "Ünïcödé ✓ 😀 and a=b&c, 100%";
+    Map<String, String> params = read("text=" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&raw=Größe=2&empty=");
+    assertThat(params.get("text"), is(text));
+    assertThat(params.get("raw"), is("Größe=2"));
+    assertThat(params.get("empty"), is(""));
+  }
+
+  @Test
+  public void testLongText() throws IOException {
+    String text = "a".repeat(100_000);
+    assertThat(read("text=" + text).get("text"), is(text));
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testInvalidEscape() throws IOException {
+    read("text=100%zz");
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testIncompleteEscape() throws IOException {
+    read("text=100%");
+  }
+
+  @Test(expected = TextTooLongException.class)
+  public void testTooLong() throws IOException {
+    FormDataReader.read(new ByteArrayInputStream(("text=" + "a".repeat(20_000)).getBytes(StandardCharsets.UTF_8)), 10_000);
+  }
+
+  private Map<String, String> read(String data) throws IOException {
+    return FormDataReader.read(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), 1_000_000);
+  }
+
+}
@@ -74,6 +74,22 @@ public class HTTPServerTest {
     }
   }
   
+  @Test
+  public void testHTTPServerWithJettyFrontEnd() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), true);
+    config.setFrontEnd(HTTPServerConfig.FrontEnd.jetty);
+    HTTPServer server = new HTTPServer(config);
+    try {
+      server.run();
+      assertTrue(server.isRunning());
+      String result = checkV2(GermanyGerman.getInstance(), "ein kleiner test.");
+      assertTrue(result, result.contains("UPPERCASE_SENTENCE_START"));
+    } finally {
+      server.stop();
+      assertFalse(server.isRunning());
+    }
+  }
+
   @Test
   @Ignore()
   public void testRandomPortHttpServer() {
@@ -0,0 +1,84 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Test;
+import org.languagetool.tools.LtThreadPoolFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class JettyHttpServerFactoryTest {
+
+  @Test
+  public void testStartAndHandleRequest() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    assertThat(request(config, exchange -> "ok"), is("ok"));
+  }
+
+  @Test
+  public void testVirtualThreads() throws Exception {
+    assumeTrue(LtThreadPoolFactory.isVirtualThreadSupported());
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    config.setVirtualThreads(true);
+    // Thread.isVirtual() is only available on Java 21:
+    Method isVirtual = Thread.class.getMethod("isVirtual");
+    assertThat(request(config, exchange -> String.valueOf(isVirtual.invoke(Thread.currentThread()))), is("true"));
+  }
+
+  private String request(HTTPServerConfig config, ResponseFunction responseFunction) throws Exception {
+    int port = config.getPort();
+    HttpServer server = JettyHttpServerFactory.create(new InetSocketAddress("localhost", port), config,
+      JettyHttpServerFactory.createWorkQueue(config));
+    server.createContext("/", exchange -> {
+      byte[] response;
+      try {
+        response = responseFunction.apply(exchange).getBytes(StandardCharsets.UTF_8);
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    server.start();
+    try (InputStream in = new URL("http://localhost:" + port + "/v2/languages").openStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  interface ResponseFunction {
+    String apply(HttpExchange exchange) throws Exception;
+  }
+
+}
@@ -0,0 +1,120 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.DetectedLanguage;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.lang.Character.UnicodeScript.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class LanguageDetectionCacheTest {
+
+  private static final List<String> NONE = Collections.emptyList();
+
+  private final Language english = Languages.getLanguageForShortCode("en-US");
+  private final AtomicInteger detections = new AtomicInteger();
+
+  @Test
+  public void testResultCache() {
+    LanguageDetectionCache cache = new LanguageDetectionCache(100, 60, false);
+    Supplier<DetectedLanguage> detector = detector(0.5f);
+    assertThat(cache.get("This is a test.", NONE, NONE, false, "session", detector).getDetectedLanguage(), is(english));
+    assertThat(cache.get("This is a test.", NONE, NONE, false, "session", detector).getDetectedLanguage(), is(english));
+    assertThat(detections.get(), is(1));
+    cache.get("This is a test.", NONE, Arrays.asList("en", "de"), false, null, detector);
+    cache.get("This is a test.", NONE, Arrays.asList("en", "de"), true, null, detector);
+    cache.get("This is a test!", NONE, NONE, false, null, detector);
+    assertThat(detections.get(), is(4));
+    assertThat(cache.getResults().stats().hitRate(), is(0.2));
+    assertThat(cache.getSessionHitRate(), is(0.0));
+  }
+
+  @Test
+  public void testNoLanguageDetected() {
+    LanguageDetectionCache cache = new LanguageDetectionCache(100, 60, false);
+    Supplier<DetectedLanguage> detector = () -> {
+      detections.incrementAndGet();
+      return null;
+    };
+    assertNull(cache.get("???", NONE, NONE, false, null, detector));
+    assertNull(cache.get("???", NONE, NONE, false, null, detector));
+    assertThat(detections.get(), is(1));
+  }
+
+  @Test
+  public void testStickySession() {
+    LanguageDetectionCache cache = new LanguageDetectionCache(100, 60, true);
+    Supplier<DetectedLanguage> detector = detector(0.95f);
+    String text = "This is a sentence that is long enough. ".repeat(4);
+    cache.get(text, NONE, NONE, false, "session", detector);
+    cache.get(text + "More text.", NONE, NONE, false, "session", detector);
+    cache.get(text + "More text, even more.", NONE, NONE, false, "session", detector);
+    assertThat(detections.get(), is(1));
+    assertThat(cache.getSessionHitRate(), is(2 / 3.0));
+    // other session or other languages:
+    cache.get(text + "More text.", NONE, NONE, false, "session2", detector);
+    cache.get(text + "More text.", NONE, Arrays.asList("en", "de"), false, "session", detector);
+    assertThat(detections.get(), is(3));
+    // too much new text:
+    cache.get(text.repeat(3), Arrays.asList("en", "de"), NONE, false, "session", detector);
+    cache.get(text.repeat(3), NONE, NONE, false, "session", detector);
+    assertThat(detections.get(), is(5));
+    // new script:
+    cache.get(text.repeat(3) + "Привет", NONE, NONE, false, "session", detector);
+    assertThat(detections.get(), is(6));
+  }
+
+  @Test
+  public void testNoStickySessionForUncertainResults() {
+    LanguageDetectionCache cache = new LanguageDetectionCache(100, 60, true);
+    String text = "This is a sentence that is long enough. ".repeat(4);
+    cache.get(text, NONE, NONE, false, "session", detector(0.5f));
+    cache.get(text + "More text.", NONE, NONE, false, "session", detector(0.95f));
+    assertThat(detections.get(), is(2));
+    cache.get("Short text.", NONE, NONE, false, "session2", detector(0.95f));
+    cache.get("Short text, more.", NONE, NONE, false, "session2", detector(0.95f));
+    assertThat(detections.get(), is(4));
+  }
+
+  @Test
+  public void testGetScripts() {
+    assertTrue(LanguageDetectionCache.getScripts("123 ... !").isEmpty());
+    assertThat(LanguageDetectionCache.getScripts("Ein Test, Привет"), is(EnumSet.of(LATIN, CYRILLIC)));
+  }
+
+  private Supplier<DetectedLanguage> detector(float confidence) {
+    return () -> {
+      detections.incrementAndGet();
+      return new DetectedLanguage(null, english, confidence, "test");
+    };
+  }
+
+}
@@ -0,0 +1,119 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.CheckResults;
+import org.languagetool.DetectedLanguage;
+import org.languagetool.Languages;
+import org.languagetool.rules.FakeRule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.ml.MLServerProto.AnalyzedSentence;
+import org.languagetool.rules.ml.MLServerProto.ProcessRequest;
+import org.languagetool.rules.ml.MLServerProto.ProcessResponse;
+import org.languagetool.rules.ml.MLServerProto.ProcessingOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class ProtobufCheckFormatTest {
+
+  @Test
+  public void testReadParameters() throws IOException {
+    ProcessRequest request = ProcessRequest.newBuilder()
+      .addSentences(AnalyzedSentence.newBuilder().setText("This is a test. "))
+      .addSentences(AnalyzedSentence.newBuilder().setText("And anothr one."))
+      .setOptions(ProcessingOptions.newBuilder()
+        .setLanguage("en-US")
+        .setLevel(ProcessingOptions.Level.picky)
+        .addDisabledRules("RULE_A")
+        .addDisabledRules("RULE_B"))
+      .build();
+    Map<String, String> params = ProtobufCheckFormat.readParameters(new ByteArrayInputStream(request.toByteArray()), 1000);
+    assertThat(params.get("text"), is("This is a test. And anothr one."));
+    assertThat(params.get("language"), is("en-US"));
+    assertThat(params.get("level"), is("picky"));
+    assertThat(params.get("disabledRules"), is("RULE_A,RULE_B"));
+    assertNull(params.get("enabledRules"));
+    assertNull(params.get("enabledOnly"));
+  }
+
+  @Test
+  public void testDefaultLevel() {
+    ProcessRequest request = ProcessRequest.newBuilder()
+      .setOptions(ProcessingOptions.newBuilder().setLanguage("de-DE").setLevel(ProcessingOptions.Level.defaultLevel))
+      .build();
+    assertThat(ProtobufCheckFormat.toParameters(request).get("level"), is("default"));
+  }
+
+  @Test(expected = TextTooLongException.class)
+  public void testTooLong() throws IOException {
+    ProcessRequest request = ProcessRequest.newBuilder()
+      .addSentences(AnalyzedSentence.newBuilder().setText("x".repeat(20_000)))
+      .build();
+    ProtobufCheckFormat.readParameters(new ByteArrayInputStream(request.toByteArray()), 10);
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testInvalidRequest() throws IOException {
+    ProtobufCheckFormat.readParameters(new ByteArrayInputStream(new byte[]{(byte) 0xff, 0x01, 0x02}), 1000);
+  }
+
+  @Test
+  public void testResponse() throws IOException {
+    List<CheckResults> results = Collections.singletonList(new CheckResults(
+      Collections.singletonList(new RuleMatch(new FakeRule("RULE_A"), null, 0, 4, "msg")), Collections.emptyList()));
+    List<RuleMatch> hiddenMatches = Collections.singletonList(new RuleMatch(new FakeRule("RULE_B"), null, 10, 13, "hidden"));
+    DetectedLanguage lang = new DetectedLanguage(Languages.getLanguageForShortCode("en-US"),
+      Languages.getLanguageForShortCode("de-DE"), 0.75f, "test");
+    byte[] bytes = ProtobufCheckFormat.toResponse(results, hiddenMatches, "Results are incomplete: timeout", lang);
+    ProcessResponse response = ProcessResponse.parseFrom(bytes);
+    assertThat(response.getMatchesCount(), is(1));
+    assertThat(response.getMatches(0).getId(), is("RULE_A"));
+    assertThat(response.getMatches(0).getOffset(), is(0));
+    assertThat(response.getMatches(0).getLength(), is(4));
+    assertThat(response.getHiddenMatchesCount(), is(1));
+    assertThat(response.getHiddenMatches(0).getId(), is("RULE_B"));
+    assertThat(response.getHiddenMatches(0).getOffset(), is(10));
+    assertThat(response.getIncompleteResultsReason(), is("Results are incomplete: timeout"));
+    assertThat(response.getLanguage(), is("en-US"));
+    assertThat(response.getDetectedLanguage(), is("de-DE"));
+    assertThat(response.getDetectedLanguageConfidence(), is(0.75f));
+  }
+
+  @Test
+  public void testCompleteResponse() throws IOException {
+    DetectedLanguage lang = new DetectedLanguage(Languages.getLanguageForShortCode("en-US"), Languages.getLanguageForShortCode("en-US"));
+    byte[] bytes = ProtobufCheckFormat.toResponse(Collections.emptyList(), Collections.emptyList(), null, lang);
+    ProcessResponse response = ProcessResponse.parseFrom(bytes);
+    assertThat(response.getMatchesCount(), is(0));
+    assertThat(response.getHiddenMatchesCount(), is(0));
+    assertThat(response.getIncompleteResultsReason(), is(""));
+    assertThat(response.getLanguage(), is("en-US"));
+    assertThat(response.getDetectedLanguage(), is("en-US"));
+  }
+
+}
@@ -0,0 +1,94 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RuleMatchCountsTest {
+
+  @Test
+  public void testAggregation() {
+    RuleMatchCounts counts = new RuleMatchCounts();
+    long minute = 1_000 * 60_000L;
+    counts.add(minute, "en-US", "RULE_A");
+    counts.add(minute + 10, "en-US", "RULE_A");
+    counts.add(minute + 59_999, "en-US", "RULE_B");
+    counts.add(minute + 20, "de-DE", "RULE_A");
+    counts.add(minute + 60_000, "en-US", "RULE_A");
+    // the previous minute may still get counts:
+    assertThat(counts.drain(minute + 60_001, false).size(), is(0));
+    List<DatabaseRuleMatchCountLogEntry> entries = counts.drain(minute + 120_000, false);
+    assertThat(entries.size(), is(3));
+    for (DatabaseRuleMatchCountLogEntry entry : entries) {
+      int expected = entry.getLanguage().equals("en-US") && entry.getRuleId().equals("RULE_A") ? 2 : 1;
+      assertThat(entry.getMatches(), is(expected));
+    }
+    assertThat(counts.drain(minute + 120_000, false).size(), is(0));
+    assertThat(counts.drain(minute + 120_000, true).size(), is(1));
+    assertThat(counts.drain(minute + 120_000, true).size(), is(0));
+  }
+
+  @Test
+  public void testOnlyRecentMinutesAreKept() {
+    RuleMatchCounts counts = new RuleMatchCounts();
+    for (int i = 0; i < 100; i++) {
+      counts.add(i * 60_000L, "en-US", "RULE_A");
+    }
+    assertThat(counts.getDroppedMinutes(), is(40L));
+    assertThat(counts.drain(100 * 60_000L, true).size(), is(60));
+  }
+
+
+  @Test
+  public void testConcurrentDrain() throws Exception {
+    RuleMatchCounts counts = new RuleMatchCounts();
+    for (int i = 0; i < 50; i++) {
+      counts.add(i * 60_000L, "en-US", "RULE_A");
+      counts.add(i * 60_000L, "en-US", "RULE_B");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return counts.drain(100 * 60_000L, true).size();
+        }));
+      }
+      start.countDown();
+      int drained = 0;
+      for (Future<Integer> future : futures) {
+        drained += future.get();
+      }
+      // every minute is returned exactly once:
+      assertThat(drained, is(100));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
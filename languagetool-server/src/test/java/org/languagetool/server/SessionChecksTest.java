@@ -0,0 +1,61 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.server.ServerMetricsCollector.CancelReason;
+
+import java.util.concurrent.FutureTask;
+
+import static org.junit.Assert.*;
+
+public class SessionChecksTest {
+
+  @Test
+  public void testNewerCheckCancelsOlder() {
+    SessionChecks checks = new SessionChecks();
+    CancellableCheck first = new CancellableCheck(new FutureTask<>(() -> "first"));
+    CancellableCheck second = new CancellableCheck(new FutureTask<>(() -> "second"));
+    CancellableCheck other = new CancellableCheck(new FutureTask<>(() -> "other"));
+    assertFalse(checks.start("user/1/ALL/DEFAULT", first));
+    assertFalse(checks.start("user/1/TEXTLEVEL_ONLY/DEFAULT", other));
+    assertTrue(checks.start("user/1/ALL/DEFAULT", second));
+    assertTrue(first.getFuture().isCancelled());
+    assertEquals(CancelReason.SUPERSEDED, first.getCancelReason());
+    assertFalse(second.getFuture().isCancelled());
+    assertNull(second.getCancelReason());
+    assertFalse(other.getFuture().isCancelled());
+    checks.finish("user/1/ALL/DEFAULT", first);  // already replaced, must not remove the newer check
+    assertEquals(2, checks.size());
+    checks.finish("user/1/ALL/DEFAULT", second);
+    checks.finish("user/1/TEXTLEVEL_ONLY/DEFAULT", other);
+    assertEquals(0, checks.size());
+  }
+
+  @Test
+  public void testFinishedCheckIsNotCancelled() {
+    SessionChecks checks = new SessionChecks();
+    FutureTask<String> first = new FutureTask<>(() -> "first");
+    first.run();
+    checks.start("user/1/ALL/DEFAULT", new CancellableCheck(first));
+    assertFalse(checks.start("user/1/ALL/DEFAULT", new CancellableCheck(new FutureTask<>(() -> "second"))));
+    assertFalse(first.isCancelled());
+  }
+
+}
@@ -0,0 +1,54 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SlidingWindowCounterTest {
+
+  @Test
+  public void testWindow() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(1000);  // 50ms buckets
+    long start = 1_700_000_000_000L;
+    counter.add(start, 10);
+    counter.add(start + 400, 20);
+    counter.add(start + 900, 30);
+    assertEquals(3, counter.getRequests(start + 900));
+    assertEquals(60, counter.getSize(start + 900));
+    assertEquals(2, counter.getRequests(start + 1000));  // the first request has left the window
+    assertEquals(50, counter.getSize(start + 1000));
+    assertEquals(1, counter.getRequests(start + 1400));
+    assertEquals(0, counter.getRequests(start + 1900));
+    counter.add(start + 2000, 5);  // re-uses the bucket of the first request
+    assertEquals(1, counter.getRequests(start + 2000));
+    assertEquals(5, counter.getSize(start + 2000));
+    assertEquals(start + 2000, counter.getLastUpdateMillis());
+  }
+
+  @Test
+  public void testNoOverflow() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(1000);
+    counter.add(0, Long.MAX_VALUE / 2);
+    counter.add(1, Long.MAX_VALUE / 2);
+    assertEquals(0xFFFFFFFFL, counter.getSize(1));
+  }
+
+}
@@ -0,0 +1,122 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.gui;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The part of a document that has been edited since its last check, in the document's current
+ * positions. Used for checking only the paragraphs that contain the changes.
+ * Changes are recorded on the event dispatch thread while a check may run in the background,
+ * so all methods are synchronized.
+ * @since 6.9
+ */
+class DirtyRegion {
+
+  private int start = -1;  // -1: nothing has changed
+  private int end;
+  private boolean all = true;  // the whole document needs to be checked
+  private int generation;
+
+  /**
+   * The state at the start of a check, used with {@link #clear(Snapshot)}.
+   */
+  record Snapshot(int start, int end, boolean all, int generation) {
+    boolean isEmpty() {
+      return !all && start == -1;
+    }
+  }
+
+  synchronized void inserted(int offset, int length) {
+    generation++;
+    if (start == -1) {
+      start = offset;
+      end = offset + length;
+    } else {
+      start = Math.min(shiftForInsert(start, offset, length), offset);
+      end = Math.max(shiftForInsert(end, offset, length), offset + length);
+    }
+  }
+
+  private static int shiftForInsert(int pos, int offset, int length) {
+    return pos > offset ? pos + length : pos;
+  }
+
+  synchronized void removed(int offset, int length) {
+    generation++;
+    if (start == -1) {
+      start = offset;
+      end = offset;
+    } else {
+      start = Math.min(shiftForRemove(start, offset, length), offset);
+      end = Math.max(shiftForRemove(end, offset, length), offset);
+    }
+  }
+
+  private static int shiftForRemove(int pos, int offset, int length) {
+    if (pos >= offset + length) {
+      return pos - length;
+    }
+    return Math.min(pos, offset);
+  }
+
+  /**
+   * Mark the whole document as changed, e.g. because the rules have changed.
+   */
+  synchronized void markAll() {
+    generation++;
+    all = true;
+  }
+
+  synchronized Snapshot snapshot() {
+    return new Snapshot(start, end, all, generation);
+  }
+
+  /**
+   * Mark the document as checked, unless it has changed since {@code snapshot} was taken.
+   * @return true if nothing has changed since {@code snapshot}, i.e. the check result is up-to-date
+   */
+  synchronized boolean clear(Snapshot snapshot) {
+    if (snapshot.generation() != generation) {
+      return false;
+    }
+    start = -1;
+    end = 0;
+    all = false;
+    return true;
+  }
+
+  /**
+   * Extend the range from {@code start} to {@code end} to whole paragraphs. Paragraphs are separated
+   * by an empty line, or by a line break if {@code singleLineBreaksMarksPara} is set.
+   * @return the start and end position of the paragraphs, or {@code null} if the range is not inside {@code text}
+   */
+  @Nullable
+  static int[] getParagraphs(String text, int start, int end, boolean singleLineBreaksMarksPara) {
+    if (start < 0 || end > text.length() || start > end) {
+      return null;
+    }
+    String separator = singleLineBreaksMarksPara ? "\n" : "\n\n";
+    int paraStart = start < separator.length() ? -1 : text.lastIndexOf(separator, start - separator.length());
+    paraStart = paraStart == -1 ? 0 : paraStart + separator.length();
+    int paraEnd = text.indexOf(separator, end);
+    return new int[] {paraStart, paraEnd == -1 ? text.length() : paraEnd};
+  }
+
+}
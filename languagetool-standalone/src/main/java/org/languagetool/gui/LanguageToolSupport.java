@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import org.languagetool.*;
 import org.languagetool.language.identifier.LanguageIdentifier;
 import org.languagetool.language.identifier.LanguageIdentifierService;
+import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.*;
 
 import javax.swing.*;
@@ -63,6 +64,8 @@ class LanguageToolSupport {
   private static final int MAX_RULES_PER_MENU = 12;
   //maximum category menu entries, if more create a More submenu
   private static final int MAX_CATEGORIES_PER_MENU = 12;
+  //in sentences, roughly, enough for a long book
+  private static final int RESULT_CACHE_SIZE = 50_000;
 
   private final UndoRedoSupport undo;
   private final LanguageIdentifier langIdentifier;
@@ -72,6 +75,9 @@ class LanguageToolSupport {
   private final ResourceBundle messages;
   private final List<RuleMatch> ruleMatches;
   private final List<Span> documentSpans;
+  // analyzed sentences and their matches, so that checking a text with few changes is fast:
+  private final ResultCache resultCache = new ResultCache(RESULT_CACHE_SIZE, 30, TimeUnit.MINUTES);
+  private final DirtyRegion dirtyRegion = new DirtyRegion();
 
   private MultiThreadedJLanguageTool languageTool;
   private ScheduledExecutorService checkExecutor;
@@ -81,6 +87,7 @@ class LanguageToolSupport {
   private AtomicInteger check;
   private boolean popupMenuEnabled = true;
   private boolean backgroundCheckEnabled = true;
+  private boolean incrementalCheckEnabled = true;
   private Configuration config;
   private boolean mustDetectLanguage = false;
 
@@ -152,8 +159,8 @@ class LanguageToolSupport {
     boolean update = false;
   
     Language language = languageTool.getLanguage();
-    languageTool = new MultiThreadedJLanguageTool(language, config.getMotherTongue(), 
-        new UserConfig(config.getConfigurableValues()));
+    languageTool = new MultiThreadedJLanguageTool(language, config.getMotherTongue(), 0,
+        null, new UserConfig(config.getConfigurableValues()), resultCache);
     config.initStyleCategories(languageTool.getAllRules());
 
     Set<String> disabledRules = config.getDisabledRuleIds();
@@ -248,8 +255,8 @@ class LanguageToolSupport {
       //if (languageTool != null) {
       //  languageTool.shutdownWhenDone();
       //}
-      languageTool = new MultiThreadedJLanguageTool(language, config.getMotherTongue(), 
-          new UserConfig(config.getConfigurableValues()));
+      languageTool = new MultiThreadedJLanguageTool(language, config.getMotherTongue(), 0,
+          null, new UserConfig(config.getConfigurableValues()), resultCache);
       config.initStyleCategories(languageTool.getAllRules());
       languageTool.setCleanOverlappingMatches(false);
       Tools.configureFromRules(languageTool, config);
@@ -315,6 +322,7 @@ class LanguageToolSupport {
       @Override
       public void insertUpdate(DocumentEvent e) {
         mustDetectLanguage = config.getAutoDetect();
+        dirtyRegion.inserted(e.getOffset(), e.getLength());
         recalculateSpans(e.getOffset(), e.getLength(), false);
         if (backgroundCheckEnabled) {
           checkDelayed(null);
@@ -324,6 +332,7 @@ class LanguageToolSupport {
       @Override
       public void removeUpdate(DocumentEvent e) {
         mustDetectLanguage = config.getAutoDetect();
+        dirtyRegion.removed(e.getOffset(), e.getLength());
         recalculateSpans(e.getOffset(), e.getLength(), true);
         if (backgroundCheckEnabled) {
           checkDelayed(null);
@@ -414,6 +423,19 @@ class LanguageToolSupport {
     }
   }
 
+  public boolean isIncrementalCheckEnabled() {
+    return incrementalCheckEnabled;
+  }
+
+  /**
+   * If enabled (the default), the background check after an edit only checks the edited paragraphs
+   * with the sentence-level rules, while the text-level rules still check the whole text.
+   * @since 6.9
+   */
+  public void setIncrementalCheckEnabled(boolean incrementalCheckEnabled) {
+    this.incrementalCheckEnabled = incrementalCheckEnabled;
+  }
+
   public void setLanguage(Language language) {
     reloadLanguageTool(language);
     if (backgroundCheckEnabled) {
@@ -681,6 +703,7 @@ class LanguageToolSupport {
   }
 
   public void checkImmediately(Object caller) {
+    dirtyRegion.markAll();
     check.getAndIncrement();
     checkExecutor.schedule(new RunnableImpl(caller), 0, TimeUnit.MILLISECONDS);
   }
@@ -698,12 +721,14 @@ class LanguageToolSupport {
   }
 
   private synchronized List<RuleMatch> checkText(Object caller) throws IOException {
+    boolean languageChanged = false;
     if (this.mustDetectLanguage) {
       mustDetectLanguage = false;
       if (!this.textComponent.getText().isEmpty()) {
         Language detectedLanguage = autoDetectLanguage(this.textComponent.getText());
         if (!detectedLanguage.equals(this.languageTool.getLanguage())) {
           reloadLanguageTool(detectedLanguage);
+          languageChanged = true;
           if (SwingUtilities.isEventDispatchThread()) {
             fireEvent(LanguageToolEvent.Type.LANGUAGE_CHANGED, caller);
           } else {
@@ -731,19 +756,51 @@ class LanguageToolSupport {
     }
 
     long startTime = System.currentTimeMillis();
-    List<RuleMatch> matches = this.languageTool.check(this.textComponent.getText());
+    String text = this.textComponent.getText();
+    DirtyRegion.Snapshot changes = dirtyRegion.snapshot();
+    int[] paragraphs = null;
+    if (incrementalCheckEnabled && !changes.all() && !languageChanged) {
+      paragraphs = DirtyRegion.getParagraphs(text, changes.start(), changes.end(),
+        languageTool.getLanguage().getSentenceTokenizer().singleLineBreaksMarksPara());
+    }
+    List<RuleMatch> matches;
+    List<RuleMatch> textLevelMatches;
+    if (paragraphs != null) {
+      // only the edited paragraphs, but the text-level rules need the whole text (its sentences come from the cache):
+      matches = new ArrayList<>();
+      for (RuleMatch match : languageTool.check(text.substring(paragraphs[0], paragraphs[1]), true, JLanguageTool.ParagraphHandling.ONLYNONPARA)) {
+        RuleMatch documentMatch = new RuleMatch(match);
+        documentMatch.setOffsetPosition(match.getFromPos() + paragraphs[0], match.getToPos() + paragraphs[0]);
+        matches.add(documentMatch);
+      }
+      // only the text-level rules, so the sentences' cached matches aren't touched:
+      textLevelMatches = languageTool.check(new AnnotatedTextBuilder().addText(text).build(), true,
+        JLanguageTool.ParagraphHandling.ONLYPARA, null, JLanguageTool.Mode.TEXTLEVEL_ONLY, JLanguageTool.Level.DEFAULT);
+    } else {
+      matches = this.languageTool.check(text);
+      textLevelMatches = null;
+    }
     long elapsedTime = System.currentTimeMillis() - startTime;
 
     int v = check.get();
     if (v == 0) {
-      if (!SwingUtilities.isEventDispatchThread()) {
-        SwingUtilities.invokeLater(() -> {
+      int[] checkedParagraphs = paragraphs;
+      Runnable update = () -> {
+        // if the text was edited during the check, the positions are outdated, but another check is already scheduled:
+        boolean upToDate = dirtyRegion.clear(changes);
+        if (checkedParagraphs != null) {
+          if (upToDate) {
+            updateHighlights(checkedParagraphs[0], checkedParagraphs[1], matches, textLevelMatches);
+          }
+        } else if (upToDate || !backgroundCheckEnabled) {
           updateHighlights(matches);
-          fireEvent(LanguageToolEvent.Type.CHECKING_FINISHED, caller, elapsedTime);
-        });
-      } else {
-        updateHighlights(matches);
+        }
         fireEvent(LanguageToolEvent.Type.CHECKING_FINISHED, caller, elapsedTime);
+      };
+      if (!SwingUtilities.isEventDispatchThread()) {
+        SwingUtilities.invokeLater(update);
+      } else {
+        update.run();
       }
     }
     return matches;
@@ -809,6 +866,31 @@ class LanguageToolSupport {
     prepareUpdateHighlights(matches, spans);
   }
 
+  /**
+   * Replace the matches of the paragraphs between {@code checkedFrom} and {@code checkedTo} and the matches of text-level rules.
+   */
+  private void updateHighlights(int checkedFrom, int checkedTo, List<RuleMatch> checkedMatches, List<RuleMatch> textLevelMatches) {
+    List<Span> spans = new ArrayList<>();
+    for (Span span : documentSpans) {
+      boolean outdated = span.rule instanceof TextLevelRule || (span.start >= checkedFrom && span.start < checkedTo);
+      if (!outdated) {
+        spans.add(span);
+      }
+    }
+    for (RuleMatch match : checkedMatches) {
+      spans.add(new Span(match));
+    }
+    for (RuleMatch match : textLevelMatches) {
+      spans.add(new Span(match));
+    }
+    spans.sort(Comparator.comparingInt(span -> span.start));
+    List<RuleMatch> matches = new ArrayList<>();
+    for (Span span : spans) {
+      matches.add(span.match);
+    }
+    prepareUpdateHighlights(matches, spans);
+  }
+
   private void prepareUpdateHighlights(List<RuleMatch> matches, List<Span> spans) {
     ruleMatches.clear();
     documentSpans.clear();
@@ -866,8 +948,10 @@ class LanguageToolSupport {
     private final List<String> replacement;
     private final Rule rule;
     private final URL url;
+    private final RuleMatch match;
 
     private Span(RuleMatch match) {
+      this.match = match;
       start = match.getFromPos();
       end = match.getToPos();
       String tmp = match.getShortMessage();
@@ -0,0 +1,78 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.gui;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class DirtyRegionTest {
+
+  @Test
+  public void testChanges() {
+    DirtyRegion region = new DirtyRegion();
+    assertTrue(region.snapshot().all());
+    assertTrue(region.clear(region.snapshot()));
+    assertTrue(region.snapshot().isEmpty());
+    region.inserted(10, 5);
+    region.inserted(2, 3);   // moves the first change to 13-18
+    assertRegion(region, 2, 18);
+    region.removed(0, 4);
+    assertRegion(region, 0, 14);
+    region.removed(20, 10);
+    assertRegion(region, 0, 20);
+  }
+
+  @Test
+  public void testOutdatedSnapshot() {
+    DirtyRegion region = new DirtyRegion();
+    region.clear(region.snapshot());
+    region.inserted(5, 1);
+    DirtyRegion.Snapshot snapshot = region.snapshot();
+    region.inserted(6, 1);
+    assertFalse(region.clear(snapshot));
+    assertRegion(region, 5, 7);
+    region.markAll();
+    snapshot = region.snapshot();
+    assertTrue(snapshot.all());
+    assertTrue(region.clear(snapshot));
+    assertTrue(region.snapshot().isEmpty());
+  }
+
+  @Test
+  public void testGetParagraphs() {
+    String text = "First para.\n\nSecond para,\nsame para.\n\nThird.";
+    assertThat(DirtyRegion.getParagraphs(text, 15, 16, false), is(new int[] {13, 36}));
+    assertThat(DirtyRegion.getParagraphs(text, 2, 14, false), is(new int[] {0, 36}));
+    assertThat(DirtyRegion.getParagraphs(text, 40, 40, false), is(new int[] {38, 44}));
+    assertThat(DirtyRegion.getParagraphs(text, 15, 16, true), is(new int[] {13, 25}));
+    assertNull(DirtyRegion.getParagraphs(text, -1, 0, false));
+    assertNull(DirtyRegion.getParagraphs(text, 40, 50, false));
+  }
+
+  private void assertRegion(DirtyRegion region, int start, int end) {
+    DirtyRegion.Snapshot snapshot = region.snapshot();
+    assertFalse(snapshot.all());
+    assertThat(snapshot.start(), is(start));
+    assertThat(snapshot.end(), is(end));
+  }
+
+}
@@ -25,6 +25,7 @@ import org.languagetool.markup.AnnotatedText;
 import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.CategoryId;
 import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.patterns.AbstractPatternRule;
 
 import java.io.File;
@@ -32,14 +33,22 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
- * Checks texts from one or more {@link SentenceSource}s.
+ * Checks texts from one or more {@link SentenceSource}s. This runs as a pipeline: one thread reads the
+ * sentences from the sources, several threads check them (each with its own {@link JLanguageTool}),
+ * and the main thread hands the results to the {@link ResultHandler} in input order. The queue between
+ * reading and writing is bounded, so reading waits if checking or writing cannot keep up.
  * @since 2.4
  */
 public class SentenceSourceChecker {
 
+  private static final int QUEUE_SIZE_PER_THREAD = 100;
+  private static final Future<SentenceResult> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
   private SentenceSourceChecker() {
     // no public constructor
   }
@@ -125,6 +134,8 @@ public class SentenceSourceChecker {
             .desc("Activate only rules from this XML file (e.g. 'grammar.xml')").build());
     options.addOption(Option.builder().longOpt("skip").hasArg()
             .desc("Skip this many sentences from input before actually checking sentences").build());
+    options.addOption(Option.builder().longOpt("threads").argName("number").hasArg()
+            .desc("number of threads that check sentences in parallel (default: one per processor)").build());
     options.addOption(Option.builder().longOpt("print-duration")
             .desc("Print the duration of analysis in milliseconds").build());
     options.addOption(Option.builder().longOpt("nerUrl").argName("url").hasArg()
@@ -161,6 +172,10 @@ public class SentenceSourceChecker {
     Pattern filter = options.hasOption("filter") ? Pattern.compile(options.getOptionValue("filter")) : null;
     String ruleSource = options.hasOption("rulesource") ? options.getOptionValue("rulesource") : null;
     int sentencesToSkip = options.hasOption("skip") ? Integer.parseInt(options.getOptionValue("skip")) : 0;
+    int threads = options.hasOption("threads") ? Integer.parseInt(options.getOptionValue("threads")) : Runtime.getRuntime().availableProcessors();
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be at least 1: " + threads);
+    }
     Language lang = Languages.getLanguageForShortCode(langCode);
     Language motherTongue = motherTongueCode != null ? Languages.getLanguageForShortCode(motherTongueCode) : null;
     GlobalConfig globalConfig = new GlobalConfig();
@@ -172,7 +187,8 @@ public class SentenceSourceChecker {
     if (options.hasOption("print-correct")) {
       System.out.println("In print-correct mode, will only print sentences for which no error is found.");
     }
-    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(lang, motherTongue, -1, globalConfig, null);
+    // only used to set up the rules, the checker threads copy its configuration:
+    JLanguageTool lt = new JLanguageTool(lang, Collections.emptyList(), motherTongue, null, globalConfig, null);
     lt.setCleanOverlappingMatches(false);
     if (languageModelDir != null) {
       lt.activateLanguageModelRules(languageModelDir);
@@ -224,14 +240,24 @@ public class SentenceSourceChecker {
     System.out.println("Context size: " + contextSize);
     System.out.println("Error limit: " + (maxErrors > 0 ? maxErrors : "no limit"));
     System.out.println("Skip: " + sentencesToSkip);
+    System.out.println("Checker threads: " + threads);
     //System.out.println("Version: " + JLanguageTool.VERSION + " (" + JLanguageTool.BUILD_DATE + ")");
 
     ResultHandler resultHandler = null;
     int ruleMatchCount = 0;
     int sentenceCount = 0;
-    int skipCount = 0;
     int ignoredCount = 0;
-    boolean skipMessageShown = false;
+    long checkStartTime = System.currentTimeMillis();
+    Set<String> activeRuleIds = lt.getAllActiveRules().stream().map(Rule::getId).collect(Collectors.toSet());
+    ThreadLocal<JLanguageTool> checkerLt = ThreadLocal.withInitial(() ->
+      createCheckerLanguageTool(lang, motherTongue, globalConfig, languageModelDir, remoteRules, activeRuleIds));
+    ExecutorService checkers = Executors.newFixedThreadPool(threads, r -> {
+      Thread thread = new Thread(r, "sentence-checker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    BlockingQueue<Future<SentenceResult>> pending = new ArrayBlockingQueue<>(threads * QUEUE_SIZE_PER_THREAD);
+    Thread reader = null;
     try {
       if (options.hasOption("csv"))  {
         resultHandler = new CSVHandler(maxSentences, maxErrors);
@@ -241,54 +267,54 @@ public class SentenceSourceChecker {
         resultHandler = new StdoutHandler(maxSentences, maxErrors, contextSize, options.hasOption("verbose"));
       }
       MixingSentenceSource mixingSource = MixingSentenceSource.create(Arrays.asList(fileNames), lang, filter);
-      while (mixingSource.hasNext()) {
-        Sentence sentence = mixingSource.next();
-        if (sentencesToSkip > 0 && skipCount < sentencesToSkip) {
-          if (skipCount % 5000 == 0) {
-            System.err.printf("%s sentences skipped...\n", NumberFormat.getNumberInstance(Locale.US).format(skipCount));
-          }
-          skipCount++;
-          continue;
-        } else if (sentencesToSkip > 0 && !skipMessageShown) {
-          System.err.println("Done skipping " + sentencesToSkip + " sentences.");
-          skipMessageShown = true;
-        }
-        try {
-          AnnotatedText annotatedText = new AnnotatedTextBuilder().addText(sentence.getText()).build();
-          CheckResults matches = lt.check2(annotatedText, true, JLanguageTool.ParagraphHandling.NORMAL, null,
-            JLanguageTool.Mode.ALL, JLanguageTool.Level.PICKY, new HashSet<>(Arrays.asList(ToneTag.values())), null);
-          if (options.hasOption("print-correct")) {
-            if (matches.getRuleMatches().size() == 0) {
-              System.out.println(sentence.getText());
-            }
-          } else {
-            resultHandler.handleResult(sentence, matches.getRuleMatches(), lang);
-          }
-          sentenceCount++;
-          if (sentenceCount % 5000 == 0) {
-            System.err.printf("%s sentences checked...\n", NumberFormat.getNumberInstance(Locale.US).format(sentenceCount));
-          }
-          ruleMatchCount += matches.getRuleMatches().size();
-        } catch (DocumentLimitReachedException | ErrorLimitReachedException e) {
-          throw e;
-        } catch (Exception e) {
+      reader = new Thread(() -> readSentences(mixingSource, sentencesToSkip, checkers, checkerLt, pending), "sentence-reader");
+      reader.setDaemon(true);
+      reader.start();
+      Future<SentenceResult> future;
+      while ((future = pending.take()) != END_OF_INPUT) {
+        SentenceResult result = getResult(future);
+        Sentence sentence = result.sentence;
+        if (result.exception != null) {
           if (options.hasOption("skip-exceptions")) {
-            e.printStackTrace();
+            result.exception.printStackTrace();
+            continue;
           } else {
-            throw new RuntimeException("Check failed on sentence: " + StringUtils.abbreviate(sentence.getText(), 250), e);
+            throw new RuntimeException("Check failed on sentence: " + StringUtils.abbreviate(sentence.getText(), 250), result.exception);
+          }
+        }
+        if (options.hasOption("print-correct")) {
+          if (result.matches.size() == 0) {
+            System.out.println(sentence.getText());
           }
+        } else {
+          resultHandler.handleResult(sentence, result.matches, lang);
+        }
+        sentenceCount++;
+        if (sentenceCount % 5000 == 0) {
+          System.err.printf(Locale.ENGLISH, "%s sentences checked (%.1f sentences/sec, %d queued)...\n",
+            NumberFormat.getNumberInstance(Locale.US).format(sentenceCount),
+            getSentencesPerSecond(sentenceCount, checkStartTime), pending.size());
         }
+        ruleMatchCount += result.matches.size();
       }
       ignoredCount = mixingSource.getIgnoredCount();
     } catch (DocumentLimitReachedException | ErrorLimitReachedException e) {
       System.out.println(getClass().getSimpleName() + ": " + e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
     } finally {
-      lt.shutdown();
+      if (reader != null) {
+        reader.interrupt();
+      }
+      checkers.shutdownNow();
       if (resultHandler != null) {
         System.out.printf(lang + ": %d total matches\n", ruleMatchCount);
         System.out.printf(lang + ": %d total sentences considered\n", sentenceCount);
         float matchesPerSentence = (float)ruleMatchCount / sentenceCount;
         System.out.printf(Locale.ENGLISH, lang + ": ø%.2f rule matches per sentence\n", matchesPerSentence);
+        System.out.printf(Locale.ENGLISH, lang + ": %.1f sentences/sec with %d checker threads\n",
+          getSentencesPerSecond(sentenceCount, checkStartTime), threads);
         System.out.printf(Locale.ENGLISH, lang + ": %d input lines ignored (e.g. not between %d and %d chars or at least %d tokens)\n", ignoredCount, 
           SentenceSource.MIN_SENTENCE_LENGTH, SentenceSource.MAX_SENTENCE_LENGTH, SentenceSource.MIN_SENTENCE_TOKEN_COUNT);
         if (options.hasOption("print-duration")) {
@@ -303,6 +329,104 @@ public class SentenceSourceChecker {
     }
   }
 
+  /**
+   * Reads the sentences and submits them for checking. Putting the pending checks into the bounded
+   * queue blocks if the queue is full, so reading never gets too far ahead of writing.
+   */
+  private static void readSentences(MixingSentenceSource source, int sentencesToSkip, ExecutorService checkers,
+                                    ThreadLocal<JLanguageTool> checkerLt, BlockingQueue<Future<SentenceResult>> pending) {
+    try {
+      try {
+        int skipCount = 0;
+        boolean skipMessageShown = false;
+        while (source.hasNext()) {
+          Sentence sentence = source.next();
+          if (sentencesToSkip > 0 && skipCount < sentencesToSkip) {
+            if (skipCount % 5000 == 0) {
+              System.err.printf("%s sentences skipped...\n", NumberFormat.getNumberInstance(Locale.US).format(skipCount));
+            }
+            skipCount++;
+            continue;
+          } else if (sentencesToSkip > 0 && !skipMessageShown) {
+            System.err.println("Done skipping " + sentencesToSkip + " sentences.");
+            skipMessageShown = true;
+          }
+          pending.put(checkers.submit(() -> check(sentence, checkerLt.get())));
+        }
+      } catch (RuntimeException e) {
+        CompletableFuture<SentenceResult> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        pending.put(failed);
+      }
+      pending.put(END_OF_INPUT);
+    } catch (InterruptedException e) {
+      // the writer has stopped, e.g. because the error limit has been reached
+    }
+  }
+
+  private static SentenceResult check(Sentence sentence, JLanguageTool lt) {
+    try {
+      AnnotatedText annotatedText = new AnnotatedTextBuilder().addText(sentence.getText()).build();
+      CheckResults matches = lt.check2(annotatedText, true, JLanguageTool.ParagraphHandling.NORMAL, null,
+        JLanguageTool.Mode.ALL, JLanguageTool.Level.PICKY, new HashSet<>(Arrays.asList(ToneTag.values())), null);
+      return new SentenceResult(sentence, matches.getRuleMatches(), null);
+    } catch (Exception e) {
+      return new SentenceResult(sentence, null, e);
+    }
+  }
+
+  private static SentenceResult getResult(Future<SentenceResult> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Creates a {@link JLanguageTool} for a checker thread with the same active rules as {@code activeRuleIds}.
+   */
+  private static JLanguageTool createCheckerLanguageTool(Language lang, Language motherTongue, GlobalConfig globalConfig,
+                                                         File languageModelDir, File remoteRules, Set<String> activeRuleIds) {
+    try {
+      JLanguageTool lt = new JLanguageTool(lang, Collections.emptyList(), motherTongue, null, globalConfig, null);
+      lt.setCleanOverlappingMatches(false);
+      if (languageModelDir != null) {
+        lt.activateLanguageModelRules(languageModelDir);
+      }
+      lt.activateRemoteRules(remoteRules);
+      for (Rule rule : lt.getAllRules()) {
+        if (activeRuleIds.contains(rule.getId())) {
+          lt.enableRule(rule.getId());
+        } else {
+          lt.disableRule(rule.getId());
+        }
+      }
+      return lt;
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create LanguageTool instance for " + lang, e);
+    }
+  }
+
+  private static float getSentencesPerSecond(int sentenceCount, long startTime) {
+    long millis = Math.max(1, System.currentTimeMillis() - startTime);
+    return sentenceCount * 1000.0f / millis;
+  }
+
+  private static class SentenceResult {
+    private final Sentence sentence;
+    private final List<RuleMatch> matches;
+    private final Exception exception;
+    SentenceResult(Sentence sentence, List<RuleMatch> matches, Exception exception) {
+      this.sentence = sentence;
+      this.matches = matches;
+      this.exception = exception;
+    }
+  }
+
   private static void enableOnlySpecifiedRules(String[] ruleIds, JLanguageTool lt) {
     for (Rule rule : lt.getAllRules()) {
       lt.disableRule(rule.getId());
@@ -28,10 +28,18 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.ExitableDirectoryReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.QueryTimeout;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.Directory;
@@ -41,6 +49,7 @@ import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Languages;
+import org.languagetool.MultiThreadedJLanguageTool;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.patterns.PatternRule;
@@ -59,6 +68,9 @@ import org.languagetool.tools.ContextTools;
 public class Searcher {
 
   private static final boolean WIKITEXT_OUTPUT = false;
+  // number of candidate sentences checked with one call in parallel mode:
+  private static final int CHECK_CHUNK_SIZE = 250;
+  private static final String CHECK_CHUNK_SEPARATOR = "\n\n";
   
   private final Directory directory;
   private final String fieldName;
@@ -71,6 +83,7 @@ public class Searcher {
   private IndexSearcher indexSearcher;
   private DirectoryReader reader;
   private boolean limitSearch = true;
+  private int threads = 0;
 
   public Searcher(Directory directory) {
     this(directory, FIELD_NAME_LOWERCASE);
@@ -135,6 +148,27 @@ public class Searcher {
     this.maxSearchTimeMillis = maxSearchTimeMillis;
   }
 
+  /**
+   * @return the number of threads used in parallel mode, {@code 0} if parallel mode is off
+   * @since 6.9
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Use {@code threads} threads for searching the index segments and for checking the candidate
+   * sentences. The time limit is then checked by the search and the checks themselves instead
+   * of a watchdog thread. Use {@code 0} (the default) to switch parallel mode off.
+   * @since 6.9
+   */
+  public void setThreads(int threads) {
+    if (threads < 0) {
+      throw new IllegalArgumentException("threads must be >= 0: " + threads);
+    }
+    this.threads = threads;
+  }
+
   public SearcherResult findRuleMatchesOnIndex(PatternRule rule, Language language) throws IOException, UnsupportedPatternRuleException {
     return findRuleMatchesOnIndex(rule, language, FIELD_NAME_LOWERCASE);
   }
@@ -143,6 +177,9 @@ public class Searcher {
    * @since 4.8
    */
   public SearcherResult findRuleMatchesOnIndex(PatternRule rule, Language language, String fieldName) throws IOException, UnsupportedPatternRuleException {
+    if (threads > 0) {
+      return findRuleMatchesOnIndexInParallel(rule, language, fieldName);
+    }
     // it seems wasteful to re-open the index every time, but I had strange problems (OOM, Array out of bounds, ...)
     // when not doing so...
     open();
@@ -160,7 +197,8 @@ public class Searcher {
       // instead of actual search/check time. Some resources are loaded lazily on first use
       // and the JIT hasn't warmed up the check/disambiguation code paths yet, so also run
       // one throwaway check here to pay that cost upfront instead of inside the clock:
-      JLanguageTool languageTool = getLanguageToolWithOneRule(language, rule);
+      JLanguageTool languageTool = new JLanguageTool(language);
+      keepOnlyRule(languageTool, rule);
       languageTool.check("Warm-up sentence to trigger lazy loading and JIT compilation.");
       SearchRunnable runnable = new SearchRunnable(indexSearcher, query, languageTool);
       Thread searchThread = new Thread(runnable);
@@ -211,6 +249,222 @@ public class Searcher {
     }
   }
 
+  private SearcherResult findRuleMatchesOnIndexInParallel(PatternRule rule, Language language, String fieldName) throws IOException, UnsupportedPatternRuleException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    MultiThreadedJLanguageTool languageTool = null;
+    SearchDeadline deadline = new SearchDeadline();
+    try (DirectoryReader reader = DirectoryReader.open(directory)) {
+      // the exitable reader stops expensive term enumerations (e.g. for regular expressions) once the deadline has passed:
+      IndexSearcher searcher = new IndexSearcher(ExitableDirectoryReader.wrap(reader, deadline), executor);
+      PatternRuleQueryBuilder patternRuleQueryBuilder = new PatternRuleQueryBuilder(language, searcher, fieldName);
+      Query query = patternRuleQueryBuilder.buildRelaxedQuery(rule);
+      if (query == null) {
+        throw new NullPointerException("Cannot search on null query for rule: " + rule.getId());
+      }
+      System.out.println("Running query: " + query);
+      // see findRuleMatchesOnIndex() for why the warm-up happens before the clock starts:
+      languageTool = new MultiThreadedJLanguageTool(language, threads);
+      keepOnlyRule(languageTool, rule);
+      languageTool.check("Warm-up sentence to trigger lazy loading and JIT compilation.");
+      languageTool.setCheckCancelledCallback(deadline::isExceeded);
+      deadline.start(limitSearch ? maxSearchTimeMillis : -1);
+
+      long luceneStartTime = System.currentTimeMillis();
+      TopDocs topDocs;
+      try {
+        topDocs = searcher.search(query, new DeadlineCollectorManager(deadline, maxHits));
+      } catch (RuntimeException e) {
+        if (hasCause(e, ExitableDirectoryReader.ExitingReaderException.class)) {
+          throw new SearchTimeoutException("Search timeout of " + maxSearchTimeMillis + "ms reached for query " + query);
+        }
+        throw e;
+      }
+      // the collectors stop early when the deadline has passed, the matches found so far are still checked:
+      boolean luceneTimeLimited = deadline.isExceeded();
+      long luceneTime = System.currentTimeMillis() - luceneStartTime;
+      long checkStartTime = System.currentTimeMillis();
+      MatchingSentencesResult res = findMatchingSentencesInParallel(searcher, topDocs, languageTool, deadline, query);
+      System.out.println("Check done in " + luceneTime + "/" + (System.currentTimeMillis() - checkStartTime)
+          + "ms (Lucene/matching) for " + topDocs.scoreDocs.length + " docs");
+
+      boolean tooManyLuceneMatches = topDocs.scoreDocs.length >= maxHits;
+      SearcherResult searcherResult = new SearcherResult(res.matchingSentences, res.docsChecked, query);
+      searcherResult.setMaxDocChecked(res.maxDocChecked);
+      searcherResult.setHasTooManyLuceneMatches(tooManyLuceneMatches);
+      searcherResult.setLuceneMatchCount(topDocs.totalHits);
+      searcherResult.setSkipHits(skipHits);
+      searcherResult.setNumDocs(reader.numDocs());
+      searcherResult.setResultIsTimeLimited(luceneTimeLimited);
+      if (tooManyLuceneMatches) {
+        searcherResult.setDocCount(maxHits);
+      } else {
+        searcherResult.setDocCount(getDocCount(new IndexSearcher(reader)));
+      }
+      return searcherResult;
+    } finally {
+      if (languageTool != null) {
+        languageTool.shutdown();
+      }
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Checks the candidate sentences in chunks. Each chunk is checked as one text, so the
+   * {@link MultiThreadedJLanguageTool} can analyze and check its sentences in parallel.
+   */
+  private MatchingSentencesResult findMatchingSentencesInParallel(IndexSearcher indexSearcher, TopDocs topDocs,
+      JLanguageTool languageTool, SearchDeadline deadline, Query query) throws IOException {
+    List<Document> candidates = new ArrayList<>();
+    int i = 0;
+    for (ScoreDoc match : topDocs.scoreDocs) {
+      i++;
+      if (i < skipHits) {
+        // needed for paging
+        continue;
+      }
+      candidates.add(indexSearcher.doc(match.doc));
+    }
+    List<MatchingSentence> matchingSentences = new ArrayList<>();
+    for (int chunkStart = 0; chunkStart < candidates.size(); chunkStart += CHECK_CHUNK_SIZE) {
+      List<Document> chunk = candidates.subList(chunkStart, Math.min(chunkStart + CHECK_CHUNK_SIZE, candidates.size()));
+      List<String> sentences = new ArrayList<>(chunk.size());
+      int[] sentenceStarts = new int[chunk.size()];
+      StringBuilder text = new StringBuilder();
+      for (int j = 0; j < chunk.size(); j++) {
+        String sentence = chunk.get(j).get(fieldName);
+        if (sentence == null) {
+          throw new RuntimeException("No field '" + fieldName + "' found in doc " + chunk.get(j));
+        }
+        sentences.add(sentence);
+        sentenceStarts[j] = text.length();
+        text.append(sentence).append(CHECK_CHUNK_SEPARATOR);
+      }
+      List<RuleMatch> ruleMatches = languageTool.check(text.toString());
+      if (deadline.isExceeded()) {
+        // the check has been cancelled, so its result might be incomplete
+        throw new SearchTimeoutException("Search timeout of " + maxSearchTimeMillis + "ms reached for query " + query);
+      }
+      List<List<RuleMatch>> matchesBySentence = new ArrayList<>(chunk.size());
+      for (int j = 0; j < chunk.size(); j++) {
+        matchesBySentence.add(new ArrayList<>());
+      }
+      for (RuleMatch ruleMatch : ruleMatches) {
+        int idx = Arrays.binarySearch(sentenceStarts, ruleMatch.getFromPos());
+        int j = idx >= 0 ? idx : -idx - 2;
+        int sentenceLength = sentences.get(j).length();
+        int fromPos = ruleMatch.getFromPos() - sentenceStarts[j];
+        int toPos = Math.min(ruleMatch.getToPos() - sentenceStarts[j], sentenceLength);
+        if (fromPos >= sentenceLength) {
+          continue;  // match on the separator
+        }
+        ruleMatch.setOffsetPosition(fromPos, toPos);
+        matchesBySentence.get(j).add(ruleMatch);
+      }
+      for (int j = 0; j < chunk.size(); j++) {
+        if (matchesBySentence.get(j).size() > 0) {
+          Document doc = chunk.get(j);
+          String sentence = sentences.get(j);
+          AnalyzedSentence analyzedSentence = languageTool.getAnalyzedSentence(sentence);
+          matchingSentences.add(new MatchingSentence(sentence, doc.get(SOURCE_FIELD_NAME), doc.get(Indexer.TITLE_FIELD_NAME),
+            analyzedSentence, matchesBySentence.get(j)));
+        }
+      }
+    }
+    return new MatchingSentencesResult(matchingSentences, i, candidates.size());
+  }
+
+  private static boolean hasCause(Throwable t, Class<? extends Throwable> clazz) {
+    for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+      if (clazz.isInstance(cause)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The time limit for the parallel mode. Lucene and LanguageTool poll it, so no watchdog thread is needed.
+   */
+  static class SearchDeadline implements QueryTimeout {
+    private volatile long deadlineNanos = Long.MAX_VALUE;
+
+    /**
+     * @param millis the time from now until the deadline, or a negative number for no limit
+     */
+    void start(long millis) {
+      deadlineNanos = millis < 0 ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    boolean isExceeded() {
+      return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return isExceeded();
+    }
+  }
+
+  /**
+   * Collects the top hits of each segment, stopping the collection when the deadline has passed.
+   */
+  static class DeadlineCollectorManager implements CollectorManager<DeadlineCollectorManager.DeadlineCollector, TopDocs> {
+    // check the deadline only every few hits, System.nanoTime() is not free:
+    private static final int CHECK_INTERVAL = 256;
+
+    private final SearchDeadline deadline;
+    private final int maxHits;
+
+    DeadlineCollectorManager(SearchDeadline deadline, int maxHits) {
+      this.deadline = deadline;
+      this.maxHits = maxHits;
+    }
+
+    @Override
+    public DeadlineCollector newCollector() {
+      return new DeadlineCollector(TopScoreDocCollector.create(maxHits), deadline);
+    }
+
+    @Override
+    public TopDocs reduce(Collection<DeadlineCollector> collectors) {
+      TopDocs[] topDocs = new TopDocs[collectors.size()];
+      int i = 0;
+      for (DeadlineCollector collector : collectors) {
+        topDocs[i++] = collector.topCollector.topDocs();
+      }
+      return TopDocs.merge(maxHits, topDocs);
+    }
+
+    static class DeadlineCollector extends FilterCollector {
+      private final TopScoreDocCollector topCollector;
+      private final SearchDeadline deadline;
+
+      DeadlineCollector(TopScoreDocCollector topCollector, SearchDeadline deadline) {
+        super(topCollector);
+        this.topCollector = topCollector;
+        this.deadline = deadline;
+      }
+
+      @Override
+      public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+        if (deadline.isExceeded()) {
+          throw new CollectionTerminatedException();
+        }
+        return new FilterLeafCollector(super.getLeafCollector(context)) {
+          private int count;
+          @Override
+          public void collect(int doc) throws IOException {
+            if (++count % CHECK_INTERVAL == 0 && deadline.isExceeded()) {
+              throw new CollectionTerminatedException();
+            }
+            super.collect(doc);
+          }
+        };
+      }
+    }
+  }
+
   private PossiblyLimitedTopDocs getTopDocs(Query query) throws IOException {
     TopScoreDocCollector topCollector = TopScoreDocCollector.create(maxHits);
     Counter clock = Counter.newCounter(true);
@@ -303,8 +557,7 @@ public class Searcher {
     }
   }
 
-  private JLanguageTool getLanguageToolWithOneRule(Language lang, PatternRule patternRule) {
-    JLanguageTool lt = new JLanguageTool(lang);
+  private static void keepOnlyRule(JLanguageTool lt, PatternRule patternRule) {
     for (Rule rule : lt.getAllActiveRules()) {
       if (!rule.getId().equals(patternRule.getId())) {
         lt.disableRule(rule.getId());
@@ -312,7 +565,6 @@ public class Searcher {
     }
     lt.addRule(patternRule);
     lt.enableRule(patternRule.getId()); // rule might be off by default
-    return lt;
   }
 
   static class PossiblyLimitedTopDocs {
@@ -326,16 +578,28 @@ public class Searcher {
   }
 
   private static void ensureCorrectUsageOrExit(String[] args) {
-    if (args.length < 3 || (args.length == 4 && !"--no_limit".equals(args[3]))) {
-      System.err.println("Usage: Searcher <ruleId> <languageCode> <indexDir> [--no_limit]");
+    if (args.length < 3 || !isValidOptions(Arrays.copyOfRange(args, 3, args.length))) {
+      System.err.println("Usage: Searcher <ruleId> <languageCode> <indexDir> [--no_limit] [--threads <n>]");
       System.err.println("\truleId       Id of the rule to search for (or comma-separated list of ids)");
       System.err.println("\tlanguageCode short language code, e.g. 'en' for English");
       System.err.println("\tindexDir     path to a directory containing the index");
       System.err.println("\t--no_limit   do not limit search time");
+      System.err.println("\t--threads    search index segments and check candidate sentences with this many threads");
       System.exit(1);
     }
   }
 
+  private static boolean isValidOptions(String[] options) {
+    for (int i = 0; i < options.length; i++) {
+      if ("--threads".equals(options[i]) && i + 1 < options.length && options[i + 1].matches("\\d+")) {
+        i++;
+      } else if (!"--no_limit".equals(options[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   class SearchRunnable implements Runnable {
 
     private final IndexSearcher indexSearcher;
@@ -417,8 +681,12 @@ public class Searcher {
     String languageCode = args[1];
     Language language = Languages.getLanguageForShortCode(languageCode);
     File indexDir = new File(args[2]);
-    boolean limitSearch = !(args.length > 3 && "--no_limit".equals(args[3]));
+    List<String> options = Arrays.asList(args).subList(3, args.length);
+    boolean limitSearch = !options.contains("--no_limit");
     Searcher searcher = new Searcher(new SimpleFSDirectory(indexDir.toPath()));
+    if (options.contains("--threads")) {
+      searcher.setThreads(Integer.parseInt(options.get(options.indexOf("--threads") + 1)));
+    }
     if (!limitSearch) {
       searcher.setMaxHits(100_000);
     }
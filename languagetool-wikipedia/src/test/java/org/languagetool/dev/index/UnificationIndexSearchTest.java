@@ -126,6 +126,29 @@ public class UnificationIndexSearchTest extends LuceneTestCase {
     }
   }
 
+  public void testUnificationMatchesThroughParallelPipeline() throws Exception {
+    PatternRule rule = (PatternRule) loadRules(CASE_UNIFICATION + ANCHORED_UNIFY_RULE).get(0);
+    try (Directory directory = new RAMDirectory()) {
+      index(directory, "I visited New York last year.", "I visited new York last year.", "We left New York.");
+      Searcher searcher = new Searcher(directory);
+      List<MatchingSentence> expected = searcher.findRuleMatchesOnIndex(rule, language).getMatchingSentences();
+      searcher.setThreads(2);
+      SearcherResult result = searcher.findRuleMatchesOnIndex(rule, language);
+      List<MatchingSentence> matches = result.getMatchingSentences();
+      assertEquals(3, result.getCheckedSentences());
+      assertEquals(2, expected.size());
+      assertEquals(expected.size(), matches.size());
+      for (int i = 0; i < matches.size(); i++) {
+        assertEquals(expected.get(i).getSentence(), matches.get(i).getSentence());
+        RuleMatch expectedMatch = expected.get(i).getRuleMatches().get(0);
+        RuleMatch match = matches.get(i).getRuleMatches().get(0);
+        // positions must be relative to the sentence, not to the chunk of sentences checked together:
+        assertEquals(expectedMatch.getFromPos(), match.getFromPos());
+        assertEquals(expectedMatch.getToPos(), match.getToPos());
+      }
+    }
+  }
+
   /**
    * Pins the known limitation: a rule whose only tokens are unified produces an empty relaxed query,
    * so {@link PatternRuleQueryBuilder} throws and the rule can never be searched (a recall hole, not